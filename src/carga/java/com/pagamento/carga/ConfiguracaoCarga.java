@@ -0,0 +1,133 @@
+package com.pagamento.carga;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ConfiguracaoCarga {
+
+    private String url;
+    private int taxa = 200;
+    private Duration duracao = Duration.ofSeconds(30);
+    private Duration aquecimento = Duration.ofSeconds(10);
+    private Map<OperacaoCarga, Integer> mistura = misturaPadrao();
+    private int pagamentosIniciais = 2000;
+    private long semente = 42L;
+    private Path saida = Paths.get("target", "carga-resultado.json");
+    private String execucao = "plataforma";
+
+    
+    public static ConfiguracaoCarga deArgumentos(String[] argumentos) {
+        ConfiguracaoCarga configuracao = new ConfiguracaoCarga();
+        for (String argumento : argumentos) {
+            if (!argumento.startsWith("--") || !argumento.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido, use --nome=valor: " + argumento);
+            }
+            String nome = argumento.substring(2, argumento.indexOf('='));
+            String valor = argumento.substring(argumento.indexOf('=') + 1);
+            configuracao.definir(nome, valor);
+        }
+
+        if (configuracao.taxa <= 0) {
+            throw new IllegalArgumentException("A taxa deve ser maior que zero");
+        }
+        return configuracao;
+    }
+
+    private void definir(String nome, String valor) {
+        switch (nome) {
+            case "url":
+                url = valor;
+                break;
+            case "taxa":
+                taxa = Integer.parseInt(valor);
+                break;
+            case "duracao":
+                duracao = Duration.ofSeconds(Long.parseLong(valor));
+                break;
+            case "aquecimento":
+                aquecimento = Duration.ofSeconds(Long.parseLong(valor));
+                break;
+            case "mistura":
+                mistura = lerMistura(valor);
+                break;
+            case "pagamentos-iniciais":
+                pagamentosIniciais = Integer.parseInt(valor);
+                break;
+            case "semente":
+                semente = Long.parseLong(valor);
+                break;
+            case "saida":
+                saida = Paths.get(valor);
+                break;
+            case "execucao":
+                if (!"plataforma".equals(valor) && !"virtual".equals(valor)) {
+                    throw new IllegalArgumentException("Execução inválida, use plataforma ou virtual: " + valor);
+                }
+                execucao = valor;
+                break;
+            default:
+                throw new IllegalArgumentException("Parâmetro de carga desconhecido: " + nome);
+        }
+    }
+
+    private static Map<OperacaoCarga, Integer> lerMistura(String valor) {
+        Map<OperacaoCarga, Integer> mistura = new EnumMap<>(OperacaoCarga.class);
+        for (String parte : valor.split(",")) {
+            String[] pesoOperacao = parte.trim().split("=");
+            if (pesoOperacao.length != 2) {
+                throw new IllegalArgumentException("Mistura inválida, use operacao=peso: " + parte);
+            }
+            mistura.put(OperacaoCarga.fromNome(pesoOperacao[0].trim()), Integer.parseInt(pesoOperacao[1].trim()));
+        }
+        return mistura;
+    }
+
+    private static Map<OperacaoCarga, Integer> misturaPadrao() {
+        Map<OperacaoCarga, Integer> mistura = new EnumMap<>(OperacaoCarga.class);
+        mistura.put(OperacaoCarga.CRIAR, 20);
+        mistura.put(OperacaoCarga.CONSULTAR, 45);
+        mistura.put(OperacaoCarga.BUSCAR, 15);
+        mistura.put(OperacaoCarga.ATUALIZAR_STATUS, 15);
+        mistura.put(OperacaoCarga.EXCLUIR, 5);
+        return mistura;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getTaxa() {
+        return taxa;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    public Duration getAquecimento() {
+        return aquecimento;
+    }
+
+    public Map<OperacaoCarga, Integer> getMistura() {
+        return mistura;
+    }
+
+    public int getPagamentosIniciais() {
+        return pagamentosIniciais;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public Path getSaida() {
+        return saida;
+    }
+
+    public String getExecucao() {
+        return execucao;
+    }
+}
@@ -0,0 +1,307 @@
+package com.pagamento.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pagamento.AplicacaoPagamento;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Modelo aberto: as requisições saem em instantes fixos, sem esperar as anteriores, e a latência é medida
+// a partir do instante pretendido, de modo que uma pausa do servidor aparece nos percentis (sem omissão coordenada)
+public class GeradorCarga {
+
+    private static final int TAMANHO_LOTE = 1000;
+    private static final String[] PAGADORES = {
+        "12345678901", "98765432100", "11122233344", "55566677788", "99988877766",
+        "12345678000195", "98765432000123", "11222333000144", "44555666000177", "77888999000100"
+    };
+
+    private final ConfiguracaoCarga configuracao;
+    private final HttpClient cliente;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<OperacaoCarga, MedicaoOperacao> medicoes = new EnumMap<>(OperacaoCarga.class);
+    private final Queue<Long> pendentes = new ConcurrentLinkedQueue<>();
+    private final List<Long> idsConsulta = new ArrayList<>();
+    private final OperacaoCarga[] sorteio;
+    private final Random aleatorio;
+    private String urlBase;
+
+    public GeradorCarga(ConfiguracaoCarga configuracao) {
+        this.configuracao = configuracao;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.aleatorio = new Random(configuracao.getSemente());
+        this.sorteio = montarSorteio(configuracao.getMistura());
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            medicoes.put(operacao, new MedicaoOperacao());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.deArgumentos(args);
+
+        ConfigurableApplicationContext contexto = null;
+        String url = configuracao.getUrl();
+        if (url == null) {
+            contexto = iniciarAplicacao(configuracao.getExecucao());
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            new GeradorCarga(configuracao).executar(url);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    
+    public void executar(String url) throws Exception {
+        this.urlBase = url + "/api/pagamentos";
+        popularPagamentos();
+
+        System.out.printf("Aquecendo por %ds a %d req/s...%n",
+                configuracao.getAquecimento().getSeconds(), configuracao.getTaxa());
+        disparar(configuracao.getAquecimento(), false);
+
+        System.out.printf("Medindo por %ds a %d req/s...%n",
+                configuracao.getDuracao().getSeconds(), configuracao.getTaxa());
+        disparar(configuracao.getDuracao(), true);
+
+        String relatorio = objectMapper.enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(montarRelatorio());
+        if (configuracao.getSaida().getParent() != null) {
+            Files.createDirectories(configuracao.getSaida().getParent());
+        }
+        Files.write(configuracao.getSaida(), relatorio.getBytes(StandardCharsets.UTF_8));
+        System.out.println(relatorio);
+    }
+
+    
+    private void disparar(Duration duracao, boolean medir) throws InterruptedException {
+        long intervaloNanos = TimeUnit.SECONDS.toNanos(1) / configuracao.getTaxa();
+        long totalRequisicoes = duracao.getSeconds() * configuracao.getTaxa();
+        long inicio = System.nanoTime();
+        List<CompletableFuture<Void>> emAndamento = new ArrayList<>();
+
+        for (long i = 0; i < totalRequisicoes; i++) {
+            long inicioPretendido = inicio + i * intervaloNanos;
+            long espera = inicioPretendido - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            OperacaoCarga operacao = sorteio[aleatorio.nextInt(sorteio.length)];
+            CompletableFuture<Void> requisicao = enviar(operacao, inicioPretendido, medir);
+            if (requisicao != null) {
+                emAndamento.add(requisicao);
+            }
+            if (emAndamento.size() >= 10_000) {
+                emAndamento.removeIf(CompletableFuture::isDone);
+            }
+        }
+
+        for (CompletableFuture<Void> requisicao : emAndamento) {
+            try {
+                requisicao.get(30, TimeUnit.SECONDS);
+            } catch (Exception ex) {
+                // a falha já foi contabilizada na medição da operação
+            }
+        }
+    }
+
+    
+    private CompletableFuture<Void> enviar(OperacaoCarga operacao, long inicioPretendido, boolean medir) {
+        MedicaoOperacao medicao = medicoes.get(operacao);
+        Long idPendente = null;
+        if (operacao.consomePagamentoPendente()) {
+            idPendente = pendentes.poll();
+            if (idPendente == null) {
+                if (medir) {
+                    medicao.registrarSemAlvo();
+                }
+                return null;
+            }
+        }
+
+        HttpRequest requisicao = montarRequisicao(operacao, idPendente);
+        return cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.ofString())
+                .handle((resposta, erro) -> {
+                    boolean sucesso = erro == null && resposta.statusCode() < 300;
+                    if (medir) {
+                        medicao.registrar(inicioPretendido, sucesso);
+                    }
+                    if (sucesso && operacao == OperacaoCarga.CRIAR) {
+                        pendentes.add(lerId(resposta.body()));
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest montarRequisicao(OperacaoCarga operacao, Long idPendente) {
+        switch (operacao) {
+            case CRIAR:
+                return post(urlBase, corpoPagamento(aleatorio.nextInt(PAGADORES.length)));
+            case CONSULTAR:
+                return get(urlBase + "/" + idsConsulta.get(aleatorio.nextInt(idsConsulta.size())));
+            case BUSCAR:
+                return get(urlBase + "/buscar?tamanho=20&cpfCnpj=" + PAGADORES[aleatorio.nextInt(PAGADORES.length)]);
+            case ATUALIZAR_STATUS:
+                return HttpRequest.newBuilder(URI.create(urlBase + "/" + idPendente + "/status"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"Processado com Sucesso\"}"))
+                        .build();
+            case EXCLUIR:
+                return HttpRequest.newBuilder(URI.create(urlBase + "/" + idPendente))
+                        .timeout(Duration.ofSeconds(30))
+                        .DELETE()
+                        .build();
+            default:
+                throw new IllegalStateException("Operação sem requisição: " + operacao);
+        }
+    }
+
+    
+    private void popularPagamentos() throws IOException, InterruptedException {
+        long segundos = configuracao.getAquecimento().getSeconds() + configuracao.getDuracao().getSeconds();
+        double fracaoPendentes = fracaoDaMistura(OperacaoCarga.ATUALIZAR_STATUS) + fracaoDaMistura(OperacaoCarga.EXCLUIR);
+        long necessarios = (long) Math.ceil(segundos * configuracao.getTaxa() * fracaoPendentes * 1.1);
+        long total = Math.max(configuracao.getPagamentosIniciais(), necessarios + configuracao.getPagamentosIniciais() / 2);
+
+        System.out.printf("Criando %d pagamentos iniciais...%n", total);
+        for (long criados = 0; criados < total; criados += TAMANHO_LOTE) {
+            StringBuilder lote = new StringBuilder("[");
+            int tamanho = (int) Math.min(TAMANHO_LOTE, total - criados);
+            for (int i = 0; i < tamanho; i++) {
+                lote.append(i == 0 ? "" : ",").append(corpoPagamento((int) ((criados + i) % PAGADORES.length)));
+            }
+            lote.append(']');
+
+            HttpResponse<String> resposta = cliente.send(post(urlBase + "/lote", lote.toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao criar pagamentos iniciais: " + resposta.body());
+            }
+            for (JsonNode item : objectMapper.readTree(resposta.body()).path("itens")) {
+                long id = item.path("pagamento").path("id").asLong();
+                // metade dos pagamentos fica reservada para consultas e nunca é alterada ou excluída
+                if (idsConsulta.size() < configuracao.getPagamentosIniciais() / 2) {
+                    idsConsulta.add(id);
+                } else {
+                    pendentes.add(id);
+                }
+            }
+        }
+    }
+
+    
+    private Map<String, Object> montarRelatorio() {
+        double segundos = configuracao.getDuracao().toMillis() / 1000.0;
+        Histogram total = new Histogram(3);
+        Map<String, Object> operacoes = new LinkedHashMap<>();
+        for (Map.Entry<OperacaoCarga, MedicaoOperacao> medicao : medicoes.entrySet()) {
+            if (configuracao.getMistura().getOrDefault(medicao.getKey(), 0) > 0) {
+                operacoes.put(medicao.getKey().getNome(), medicao.getValue().resumir(segundos));
+                total.add(medicao.getValue().getLatencias());
+            }
+        }
+
+        Map<String, Object> consolidado = new LinkedHashMap<>();
+        consolidado.put("requisicoes", total.getTotalCount());
+        consolidado.put("vazaoPorSegundo", MedicaoOperacao.arredondar(total.getTotalCount() / segundos));
+        consolidado.put("latenciaMs", MedicaoOperacao.percentis(total));
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("taxaAlvoPorSegundo", configuracao.getTaxa());
+        relatorio.put("execucao", configuracao.getUrl() == null ? configuracao.getExecucao() : "externa");
+        relatorio.put("duracaoSegundos", configuracao.getDuracao().getSeconds());
+        relatorio.put("total", consolidado);
+        relatorio.put("operacoes", operacoes);
+        return relatorio;
+    }
+
+    private double fracaoDaMistura(OperacaoCarga operacao) {
+        int soma = configuracao.getMistura().values().stream().mapToInt(Integer::intValue).sum();
+        return configuracao.getMistura().getOrDefault(operacao, 0) / (double) soma;
+    }
+
+    private long lerId(String corpo) {
+        try {
+            return objectMapper.readTree(corpo).path("id").asLong();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Resposta de criação inválida: " + corpo, ex);
+        }
+    }
+
+    private static OperacaoCarga[] montarSorteio(Map<OperacaoCarga, Integer> mistura) {
+        List<OperacaoCarga> sorteio = new ArrayList<>();
+        mistura.forEach((operacao, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                sorteio.add(operacao);
+            }
+        });
+        if (sorteio.isEmpty()) {
+            throw new IllegalArgumentException("A mistura deve ter ao menos uma operação com peso positivo");
+        }
+        return sorteio.toArray(new OperacaoCarga[0]);
+    }
+
+    private static String corpoPagamento(int pagador) {
+        return "{\"codigoDebito\":" + (1000 + pagador) + ",\"cpfCnpj\":\"" + PAGADORES[pagador]
+                + "\",\"metodoPagamento\":\"boleto\",\"valorPagamento\":100.50}";
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(String execucao) {
+        return new SpringApplicationBuilder(AplicacaoPagamento.class)
+                .run(
+                    "--server.port=0",
+                    "--pagamento.execucao.modo=" + execucao,
+                    "--pagamento.limite-requisicoes.habilitado=false",
+                    "--spring.datasource.url=jdbc:h2:mem:carga",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.pagamento=WARN",
+                    "--logging.level.org.springframework.web=WARN");
+    }
+}
@@ -0,0 +1,68 @@
+package com.pagamento.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MedicaoOperacao {
+
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder semAlvo = new LongAdder();
+
+    
+    public void registrar(long inicioPretendidoNanos, boolean sucesso) {
+        long latenciaMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicioPretendidoNanos);
+        latencias.recordValue(Math.min(latenciaMicros, LATENCIA_MAXIMA_MICROS));
+        if (!sucesso) {
+            erros.increment();
+        }
+    }
+
+    public void registrarSemAlvo() {
+        semAlvo.increment();
+    }
+
+    public long getTotal() {
+        return latencias.getTotalCount();
+    }
+
+    public Histogram getLatencias() {
+        return latencias;
+    }
+
+    
+    public Map<String, Object> resumir(double segundos) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("requisicoes", latencias.getTotalCount());
+        resumo.put("erros", erros.sum());
+        resumo.put("semAlvo", semAlvo.sum());
+        resumo.put("vazaoPorSegundo", arredondar(latencias.getTotalCount() / segundos));
+        resumo.put("latenciaMs", percentis(latencias));
+        return resumo;
+    }
+
+    static Map<String, Object> percentis(Histogram histograma) {
+        Map<String, Object> percentis = new LinkedHashMap<>();
+        percentis.put("p50", emMilissegundos(histograma.getValueAtPercentile(50)));
+        percentis.put("p90", emMilissegundos(histograma.getValueAtPercentile(90)));
+        percentis.put("p99", emMilissegundos(histograma.getValueAtPercentile(99)));
+        percentis.put("p99.9", emMilissegundos(histograma.getValueAtPercentile(99.9)));
+        percentis.put("max", emMilissegundos(histograma.getMaxValue()));
+        return percentis;
+    }
+
+    private static double emMilissegundos(long micros) {
+        return arredondar(micros / 1000.0);
+    }
+
+    static double arredondar(double valor) {
+        return Math.round(valor * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.pagamento.carga;
+
+public enum OperacaoCarga {
+    CRIAR("criar"),
+    CONSULTAR("consultar"),
+    BUSCAR("buscar"),
+    ATUALIZAR_STATUS("status"),
+    EXCLUIR("excluir");
+
+    private final String nome;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public static OperacaoCarga fromNome(String nome) {
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            if (operacao.nome.equals(nome)) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação de carga inválida: " + nome);
+    }
+
+    public boolean consomePagamentoPendente() {
+        return this == ATUALIZAR_STATUS || this == EXCLUIR;
+    }
+}
@@ -0,0 +1,119 @@
+package com.pagamento.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.SerializadorPagamentoResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Página máxima da listagem (500) em cada formato negociado pela v1. Que Smile e Protobuf encolhem o corpo em
+// relação ao JSON é verificado em ConfiguracaoFormatosBinariosTest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosBinariosBenchmark {
+
+    private static final int TAMANHO_PAGINA = 500;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String formato;
+
+    private PaginaPagamentosResponseDTO pagina;
+    private ObjectWriter escritor;
+    private ObjectReader leitor;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() throws Exception {
+        Jackson2ObjectMapperBuilder construtor = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new SimpleModule()
+                        .addSerializer(PagamentoResponseDTO.class, new SerializadorPagamentoResponseDTO()),
+                        new BlackbirdModule());
+
+        ObjectMapper objectMapper;
+        switch (formato) {
+            case "cbor":
+                objectMapper = construtor.factory(new CBORFactory()).build();
+                break;
+            case "smile":
+                objectMapper = construtor.factory(new SmileFactory()).build();
+                break;
+            case "protobuf":
+                objectMapper = construtor.factory(new ProtobufFactory())
+                        .serializerByType(BigDecimal.class, ToStringSerializer.instance)
+                        .build();
+                break;
+            default:
+                objectMapper = construtor.build();
+        }
+        escritor = objectMapper.writerFor(PaginaPagamentosResponseDTO.class);
+        leitor = objectMapper.readerFor(PaginaPagamentosResponseDTO.class);
+        if (formato.equals("protobuf")) {
+            NativeProtobufSchema esquemas = ProtobufSchemaLoader.std.loadNative(
+                    new ClassPathResource("proto/pagamentos.proto").getURL());
+            ProtobufSchema esquema = esquemas.forType("PaginaPagamentos");
+            escritor = escritor.with(esquema);
+            leitor = leitor.with(esquema);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        StatusPagamento[] status = StatusPagamento.values();
+        MetodoPagamento[] metodos = MetodoPagamento.values();
+        List<PagamentoResponseDTO> pagamentos = new ArrayList<>(TAMANHO_PAGINA);
+        for (long id = 1; id <= TAMANHO_PAGINA; id++) {
+            LocalDateTime criacao = agora.minusSeconds(id * 37);
+            pagamentos.add(new PagamentoResponseDTO(id, (int) (10000 + id % 900), "1234567890" + id % 10,
+                    metodos[(int) (id % metodos.length)], id % 4 == 0 ? "4111111111111111" : null,
+                    BigDecimal.valueOf(id * 137, 2), status[(int) (id % status.length)], criacao,
+                    criacao.plusNanos(id * 1_000_003), id % 5));
+        }
+        pagina = new PaginaPagamentosResponseDTO(pagamentos, TAMANHO_PAGINA, "NTAw");
+        corpo = escritor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return escritor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public PaginaPagamentosResponseDTO desserializarPagina() throws Exception {
+        return leitor.readValue(corpo);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pagamento.benchmark;
+
+import com.pagamento.AplicacaoPagamento;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Leitura de 2000 pagamentos ativos: entidade gerenciada copiada para o DTO x projeção direto no DTO.
+// A diferença de memória por linha aparece em gc.alloc.rate.norm (perfil benchmark roda com -prof gc)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeituraProjecaoBenchmark {
+
+    private static final int PAGAMENTOS = 2000;
+
+    private ConfigurableApplicationContext contexto;
+    private RepositorioPagamento repositorioPagamento;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(AplicacaoPagamento.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                    "--spring.datasource.url=jdbc:h2:mem:projecao",
+                    "--spring.sql.init.mode=never",
+                    "--spring.jpa.show-sql=false",
+                    "--pagamento.v2.habilitado=false",
+                    "--pagamento.outbox.habilitado=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.pagamento=WARN");
+        repositorioPagamento = contexto.getBean(RepositorioPagamento.class);
+
+        List<PagamentoRequestDTO> lote = new ArrayList<>(PAGAMENTOS / 2);
+        for (int i = 0; i < PAGAMENTOS / 2; i++) {
+            lote.add(new PagamentoRequestDTO(80000 + i, "00011122233", MetodoPagamento.PIX, null, new BigDecimal("1.00")));
+        }
+        ServicoPagamento servicoPagamento = contexto.getBean(ServicoPagamento.class);
+        servicoPagamento.criarPagamentosEmLote(lote);
+        servicoPagamento.criarPagamentosEmLote(lote);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<PagamentoResponseDTO> carregarEntidades() {
+        return repositorioPagamento.findByAtivoTrue().stream()
+                .map(PagamentoResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<PagamentoResponseDTO> lerProjecao() {
+        return repositorioPagamento.buscarPaginaAtivos(0L, PageRequest.of(0, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pagamento.benchmark;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.pagamento.servico.BaldesTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 64 threads consumindo tokens de 1 chave (um CNPJ concentrando o tráfego) até 4096 chaves (tráfego espalhado).
+// baldesTokens é o caminho usado pelo LimitadorRequisicoes; travaGlobal é o mesmo GCRA em um HashMap sob
+// synchronized, para comparação. A cota é alta o bastante para admitir tudo e medir só a disputa
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class LimitadorRequisicoesBenchmark {
+
+    private static final long INTERVALO = 1;
+    private static final long TOLERANCIA = Long.MAX_VALUE / 4;
+
+    @Param({"1", "64", "4096"})
+    private int chaves;
+
+    private String[] identificadores;
+    private BaldesTokens baldes;
+    private final Map<String, long[]> baldesComTrava = new HashMap<>();
+
+    @State(Scope.Thread)
+    public static class Sequencia {
+
+        private int proxima;
+
+        @Setup
+        public void preparar() {
+            proxima = (int) Thread.currentThread().getId() * 7919;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        identificadores = new String[chaves];
+        for (int i = 0; i < chaves; i++) {
+            identificadores[i] = "criacao:pagador:" + (10_000_000_000_000L + i);
+        }
+        baldes = new BaldesTokens(100_000, Duration.ofMinutes(1), Ticker.systemTicker());
+    }
+
+    @Benchmark
+    public long baldesTokens(Sequencia sequencia) {
+        return baldes.consumir(proximaChave(sequencia), INTERVALO, TOLERANCIA);
+    }
+
+    @Benchmark
+    public long travaGlobal(Sequencia sequencia) {
+        String chave = proximaChave(sequencia);
+        synchronized (baldesComTrava) {
+            long agora = System.nanoTime();
+            long[] chegadaTeorica = baldesComTrava.computeIfAbsent(chave, k -> new long[] {agora});
+            long base = chegadaTeorica[0] - agora > 0 ? chegadaTeorica[0] : agora;
+            if (base - agora > TOLERANCIA) {
+                return base - agora - TOLERANCIA;
+            }
+            chegadaTeorica[0] = base + INTERVALO;
+            return 0;
+        }
+    }
+
+    private String proximaChave(Sequencia sequencia) {
+        return identificadores[Math.floorMod(sequencia.proxima++, chaves)];
+    }
+}
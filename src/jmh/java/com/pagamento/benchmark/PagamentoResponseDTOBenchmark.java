@@ -0,0 +1,70 @@
+package com.pagamento.benchmark;
+
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagamentoResponseDTOBenchmark {
+
+    private Pagamento pagamentoCartao;
+    private Pagamento pagamentoPix;
+    private LocalDateTime agora;
+    private BigDecimal valor;
+
+    @Setup
+    public void preparar() {
+        pagamentoCartao = new Pagamento(12345, "12345678901", MetodoPagamento.CARTAO_CREDITO,
+                "4111111111111111", new BigDecimal("100.50"));
+        pagamentoCartao.setId(1L);
+        pagamentoCartao.setVersao(0L);
+        pagamentoCartao.setDataCriacao(LocalDateTime.now());
+        pagamentoCartao.setDataAtualizacao(LocalDateTime.now());
+
+        pagamentoPix = new Pagamento(12345, "12345678901234", MetodoPagamento.PIX, null, new BigDecimal("75.00"));
+        pagamentoPix.setId(2L);
+        pagamentoPix.setVersao(0L);
+        pagamentoPix.setDataCriacao(LocalDateTime.now());
+        pagamentoPix.setDataAtualizacao(LocalDateTime.now());
+
+        agora = LocalDateTime.now();
+        valor = new BigDecimal("100.50");
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO converterEntidadeComCartao() {
+        return new PagamentoResponseDTO(pagamentoCartao);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO converterEntidadeSemCartao() {
+        return new PagamentoResponseDTO(pagamentoPix);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO construirProjecao() {
+        return new PagamentoResponseDTO(1L, 12345, "12345678901", MetodoPagamento.CARTAO_CREDITO,
+                "4111111111111111", valor, StatusPagamento.PENDENTE_PROCESSAMENTO,
+                agora, agora, 0L);
+    }
+}
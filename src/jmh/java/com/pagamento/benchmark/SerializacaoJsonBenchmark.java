@@ -0,0 +1,116 @@
+package com.pagamento.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.SerializadorPagamentoResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+    private static final int TAMANHO_LISTA = 10_000;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper objectMapperPadrao;
+    private PagamentoResponseDTO resposta;
+    private PaginaPagamentosResponseDTO pagina;
+    private List<PagamentoResponseDTO> lista;
+    private byte[] requisicaoJson;
+
+    @Setup
+    public void preparar() throws Exception {
+        // Mesma configuração aplicada pelo Spring Boot ao ObjectMapper da aplicação, com os módulos de ConfiguracaoJson
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new SimpleModule()
+                        .addSerializer(PagamentoResponseDTO.class, new SerializadorPagamentoResponseDTO()),
+                        new BlackbirdModule())
+                .build();
+        // Referência: BeanSerializer por reflexão e LocalDateTimeSerializer do JSR-310
+        objectMapperPadrao = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime agora = LocalDateTime.now();
+        resposta = new PagamentoResponseDTO(1L, 12345, "12345678901", MetodoPagamento.CARTAO_CREDITO,
+                "4111111111111111", new BigDecimal("100.50"), StatusPagamento.PENDENTE_PROCESSAMENTO,
+                agora, agora, 0L);
+
+        List<PagamentoResponseDTO> pagamentos = new ArrayList<>(TAMANHO_PAGINA);
+        for (long id = 1; id <= TAMANHO_PAGINA; id++) {
+            pagamentos.add(new PagamentoResponseDTO(id, 12345, "12345678901", MetodoPagamento.PIX,
+                    null, new BigDecimal("100.50"), StatusPagamento.PROCESSADO_SUCESSO, agora, agora, 1L));
+        }
+        pagina = new PaginaPagamentosResponseDTO(pagamentos, TAMANHO_PAGINA, "NTA");
+
+        lista = new ArrayList<>(TAMANHO_LISTA);
+        StatusPagamento[] status = StatusPagamento.values();
+        MetodoPagamento[] metodos = MetodoPagamento.values();
+        for (long id = 1; id <= TAMANHO_LISTA; id++) {
+            LocalDateTime criacao = agora.minusSeconds(id * 37);
+            lista.add(new PagamentoResponseDTO(id, (int) (10000 + id % 900), "1234567890" + id % 10,
+                    metodos[(int) (id % metodos.length)], id % 4 == 0 ? "4111111111111111" : null,
+                    BigDecimal.valueOf(id * 137, 2), status[(int) (id % status.length)], criacao,
+                    criacao.plusNanos(id * 1_000_003), id % 5));
+        }
+
+        requisicaoJson = objectMapper.writeValueAsBytes(new PagamentoRequestDTO(12345, "12345678901",
+                MetodoPagamento.CARTAO_DEBITO, "4111111111111111", new BigDecimal("100.50")));
+    }
+
+    @Benchmark
+    public byte[] serializarResposta() throws Exception {
+        return objectMapper.writeValueAsBytes(resposta);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public byte[] serializarListaGrande() throws Exception {
+        return objectMapper.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public byte[] serializarListaGrandePadrao() throws Exception {
+        return objectMapperPadrao.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public PagamentoRequestDTO desserializarRequisicao() throws Exception {
+        return objectMapper.readValue(requisicaoJson, PagamentoRequestDTO.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.pagamento.benchmark;
+
+import com.pagamento.AplicacaoPagamento;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoPagamentoBenchmark {
+
+    private static final int PAGAMENTOS = 5000;
+    private static final int TAMANHO_LOTE = 1000;
+
+    private ConfigurableApplicationContext contexto;
+    private ServicoPagamento servicoPagamento;
+    private PagamentoRequestDTO requisicao;
+    private long[] ids;
+    private int proximo;
+    private Long idAlternado;
+    private boolean falhou;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(AplicacaoPagamento.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                    "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.pagamento=WARN",
+                    "--logging.level.org.springframework.web=WARN");
+        servicoPagamento = contexto.getBean(ServicoPagamento.class);
+
+        requisicao = new PagamentoRequestDTO(12345, "12345678901", MetodoPagamento.BOLETO,
+                null, new BigDecimal("100.50"));
+
+        List<PagamentoRequestDTO> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            lote.add(requisicao);
+        }
+        for (int i = 0; i < PAGAMENTOS / TAMANHO_LOTE; i++) {
+            servicoPagamento.criarPagamentosEmLote(lote);
+        }
+
+        PaginaPagamentosResponseDTO pagina = servicoPagamento.listarTodosPagamentos(null, 500);
+        ids = pagina.getPagamentos().stream().mapToLong(PagamentoResponseDTO::getId).toArray();
+        idAlternado = servicoPagamento.criarPagamento(requisicao).getId();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO obterPagamentoPorId() {
+        proximo = (proximo + 1) % ids.length;
+        return servicoPagamento.obterPagamentoPorId(ids[proximo]);
+    }
+
+    @Benchmark
+    public PaginaPagamentosResponseDTO listarPrimeiraPagina() {
+        return servicoPagamento.listarTodosPagamentos(null, 50);
+    }
+
+    @Benchmark
+    public PaginaPagamentosResponseDTO buscarPorStatus() {
+        return servicoPagamento.buscarPagamentos(null, null, StatusPagamento.PENDENTE_PROCESSAMENTO, null, 50);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO criarPagamento() {
+        return servicoPagamento.criarPagamento(requisicao);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO alternarStatus() {
+        falhou = !falhou;
+        return servicoPagamento.atualizarStatusPagamento(idAlternado,
+                falhou ? StatusPagamento.PROCESSADO_FALHA : StatusPagamento.PENDENTE_PROCESSAMENTO);
+    }
+}
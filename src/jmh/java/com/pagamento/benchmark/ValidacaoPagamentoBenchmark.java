@@ -0,0 +1,71 @@
+package com.pagamento.benchmark;
+
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.enums.MetodoPagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoPagamentoBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+    private PagamentoRequestDTO requisicaoValida;
+    private PagamentoRequestDTO requisicaoCartaoValida;
+    private PagamentoRequestDTO requisicaoInvalida;
+
+    @Setup
+    public void preparar() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+
+        requisicaoValida = new PagamentoRequestDTO(12345, "12345678901", MetodoPagamento.PIX,
+                null, new BigDecimal("100.50"));
+        requisicaoCartaoValida = new PagamentoRequestDTO(12345, "12345678901234", MetodoPagamento.CARTAO_CREDITO,
+                "4111111111111111", new BigDecimal("100.50"));
+        requisicaoInvalida = new PagamentoRequestDTO(-1, "123", MetodoPagamento.CARTAO_DEBITO,
+                "41", new BigDecimal("0.001"));
+    }
+
+    @TearDown
+    public void encerrar() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PagamentoRequestDTO>> validarRequisicaoValida() {
+        return validator.validate(requisicaoValida);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PagamentoRequestDTO>> validarRequisicaoComCartao() {
+        return validator.validate(requisicaoCartaoValida);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PagamentoRequestDTO>> validarRequisicaoInvalida() {
+        return validator.validate(requisicaoInvalida);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pagamento.configuracao;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConfiguracaoApiV2 {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "pagamento.v2", name = "habilitado", havingValue = "true", matchIfMissing = true)
+    public ServidorApiV2 servidorApiV2(PropriedadesApiV2 propriedades,
+                                       ObjectProvider<ServerProperties> propriedadesServidor) {
+        // Sem servidor web (testes com WebEnvironment.NONE) não há ServerProperties, e a v2 também não sobe
+        return new ServidorApiV2(propriedades,
+                propriedadesServidor.getIfAvailable(ServerProperties::new).getCompression());
+    }
+}
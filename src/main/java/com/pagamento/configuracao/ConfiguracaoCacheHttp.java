@@ -0,0 +1,22 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ConfiguracaoCacheHttp {
+
+    // Listagens não têm uma versão única: o ETag vem do hash do corpo e o 304 economiza a rede, não a consulta.
+    // É fraco porque o Tomcat não compacta respostas com ETag forte (a compressão mudaria os bytes)
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> filtroEtagListagens() {
+        ShallowEtagHeaderFilter filtro = new ShallowEtagHeaderFilter();
+        filtro.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/api/pagamentos", "/api/pagamentos/buscar");
+        return registro;
+    }
+}
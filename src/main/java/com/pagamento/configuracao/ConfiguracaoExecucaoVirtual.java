@@ -0,0 +1,49 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "pagamento.execucao", name = "modo", havingValue = "virtual")
+public class ConfiguracaoExecucaoVirtual implements WebMvcConfigurer {
+
+    private final ExecutorService executorVirtual = criarExecutorVirtual();
+
+    // Cada requisição (e as consultas ao repositório feitas nela) roda em uma thread virtual;
+    // quem limita a concorrência no banco passa a ser o pool de conexões, não o número de threads
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> executorVirtualTomcat() {
+        return protocolo -> protocolo.setExecutor(executorVirtual);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService executorVirtual() {
+        return executorVirtual;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(executorVirtual));
+    }
+
+    // O build ainda gera bytecode Java 11; o executor é obtido por reflexão quando a JVM é 21 ou superior
+    static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("O modo de execução virtual requer Java 21 ou superior (JVM atual: "
+                    + Runtime.version().feature() + ")", ex);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", ex);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.pagamento.dto.ErroResponseDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Consumidores e produtores em lote negociam CBOR, Smile ou Protobuf pelo Accept/Content-Type; JSON continua
+// o padrão. Os conversores vêm do Jackson2ObjectMapperBuilder do Spring Boot, então datas, módulos
+// (ConfiguracaoJson) e tolerância a campos desconhecidos são os mesmos do JSON
+@Configuration
+public class ConfiguracaoFormatosBinarios implements WebMvcConfigurer {
+
+    private static final String ESQUEMA_PROTOBUF = "proto/pagamentos.proto";
+
+    private final ConversorProtobuf conversorProtobuf;
+
+    public ConfiguracaoFormatosBinarios(Jackson2ObjectMapperBuilder construtor) throws IOException {
+        // valorPagamento é string no esquema: o decimal vai como texto exato, não como double
+        this.conversorProtobuf = new ConversorProtobuf(construtor.factory(new ProtobufFactory())
+                .serializerByType(BigDecimal.class, ToStringSerializer.instance)
+                .build(), carregarEsquemas());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder construtor) {
+        return new MappingJackson2CborHttpMessageConverter(construtor.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder construtor) {
+        return new MappingJackson2SmileHttpMessageConverter(construtor.factory(new SmileFactory()).build());
+    }
+
+    // CBOR e Smile substituem os conversores padrão na mesma posição, depois do JSON. O Protobuf não tem padrão
+    // para substituir: como bean iria para o início da lista e responderia a Accept */*, então entra no fim
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> conversores) {
+        conversores.add(conversorProtobuf);
+    }
+
+    static Map<Class<?>, ProtobufSchema> carregarEsquemas() throws IOException {
+        NativeProtobufSchema esquema = ProtobufSchemaLoader.std.loadNative(new ClassPathResource(ESQUEMA_PROTOBUF).getURL());
+
+        Map<Class<?>, ProtobufSchema> esquemas = new HashMap<>();
+        esquemas.put(PagamentoRequestDTO.class, esquema.forType("PagamentoRequest"));
+        esquemas.put(PagamentoResponseDTO.class, esquema.forType("PagamentoResponse"));
+        esquemas.put(PaginaPagamentosResponseDTO.class, esquema.forType("PaginaPagamentos"));
+        esquemas.put(ErroResponseDTO.class, esquema.forType("Erro"));
+        return esquemas;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.SerializadorPagamentoResponseDTO;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Os módulos entram no ObjectMapper do Spring Boot, o mesmo usado pela v2, pela exportação e pela caixa de saída
+@Configuration
+public class ConfiguracaoJson {
+
+    @Bean
+    public Module moduloPagamentos() {
+        return new SimpleModule("pagamentos")
+                .addSerializer(PagamentoResponseDTO.class, new SerializadorPagamentoResponseDTO());
+    }
+
+    // Os demais DTOs continuam no BeanSerializer, mas com getters e setters chamados por acessores gerados
+    @Bean
+    public Module moduloBlackbird() {
+        return new BlackbirdModule();
+    }
+}
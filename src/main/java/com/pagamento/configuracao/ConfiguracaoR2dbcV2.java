@@ -0,0 +1,72 @@
+package com.pagamento.configuracao;
+
+import com.pagamento.repositorio.ArquivoPagamentos;
+import com.pagamento.repositorio.RepositorioPagamentoReativo;
+import com.pagamento.servico.MaquinaEstadosPagamento;
+import com.pagamento.servico.MetricasPagamento;
+import com.pagamento.servico.NotificadorStatusPagamento;
+import com.pagamento.servico.RegrasPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import com.pagamento.servico.ServicoPagamentoReativo;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+// Acesso R2DBC da API v2, registrado só no contexto criado por ServidorApiV2: um ConnectionFactory no
+// contexto principal faria o Spring Boot deixar de configurar o DataSource (e o JPA) da v1
+@EnableR2dbcRepositories(basePackageClasses = RepositorioPagamentoReativo.class)
+public class ConfiguracaoR2dbcV2 {
+
+    private static final String PREFIXO_H2 = "jdbc:h2:";
+
+    // O R2DBC abre o mesmo banco do DataSource, então a v1 e a v2 enxergam os mesmos pagamentos
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties dataSource, PropriedadesApiV2 propriedades) {
+        String url = dataSource.determineUrl();
+        if (url == null || !url.startsWith(PREFIXO_H2)) {
+            throw new IllegalStateException("A API v2 requer um banco H2; URL configurada: " + url);
+        }
+
+        ConnectionFactory h2 = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(PREFIXO_H2.length()))
+                .username(dataSource.determineUsername())
+                .password(dataSource.determinePassword())
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(h2)
+                .initialSize(1)
+                .maxSize(propriedades.getTamanhoPool())
+                .build());
+    }
+
+    @Bean
+    public R2dbcEntityTemplate r2dbcEntityTemplate(ConnectionFactory connectionFactory) {
+        return new R2dbcEntityTemplate(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transacaoReativa(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Bean
+    public ServicoPagamentoReativo servicoPagamentoReativo(RepositorioPagamentoReativo repositorio,
+                                                           TransactionalOperator transacao,
+                                                           RegrasPagamento regras,
+                                                           MaquinaEstadosPagamento maquinaEstados,
+                                                           PropriedadesConcorrencia propriedadesConcorrencia,
+                                                           MetricasPagamento metricas,
+                                                           ServicoPagamento servicoPagamento,
+                                                           NotificadorStatusPagamento notificador,
+                                                           ArquivoPagamentos arquivo) {
+        return new ServicoPagamentoReativo(repositorio, transacao, regras, maquinaEstados, propriedadesConcorrencia,
+                metricas, servicoPagamento, notificador, arquivo);
+    }
+}
@@ -0,0 +1,35 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.controlador.ControladorPagamentoV2;
+import com.pagamento.servico.ServicoPagamentoReativo;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// Registrada apenas no contexto WebFlux criado por ServidorApiV2 (sem @Configuration para ficar fora da varredura
+// do contexto principal, onde o Spring MVC mapearia o controlador v2 também no Tomcat)
+@EnableWebFlux
+public class ConfiguracaoWebFluxV2 implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ConfiguracaoWebFluxV2(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    public ControladorPagamentoV2 controladorPagamentoV2(ServicoPagamentoReativo servicoPagamentoReativo) {
+        return new ControladorPagamentoV2(servicoPagamentoReativo);
+    }
+
+    // Mesmo ObjectMapper da v1: datas, enums e campos nulos saem no mesmo formato nas duas versões
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+    }
+}
@@ -0,0 +1,49 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Protobuf pelo Jackson: cada DTO tem uma mensagem em proto/pagamentos.proto e passa pelos mesmos
+// serializadores do JSON. Tipos sem mensagem (listas na raiz, por exemplo) ficam com os outros conversores
+public class ConversorProtobuf extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ProtobufSchema> esquemas;
+
+    public ConversorProtobuf(ObjectMapper objectMapper, Map<Class<?>, ProtobufSchema> esquemas) {
+        super(APPLICATION_PROTOBUF);
+        this.objectMapper = objectMapper;
+        this.esquemas = esquemas;
+    }
+
+    @Override
+    protected boolean supports(Class<?> tipo) {
+        return esquemas.containsKey(tipo);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> tipo, HttpInputMessage mensagem) throws IOException {
+        try {
+            return objectMapper.readerFor(tipo).with(esquemas.get(tipo)).readValue(mensagem.getBody());
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("Mensagem Protobuf inválida: " + ex.getOriginalMessage(),
+                    ex, mensagem);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object valor, HttpOutputMessage mensagem) throws IOException {
+        objectMapper.writer(esquemas.get(valor.getClass())).writeValue(mensagem.getBody(), valor);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pagamento.v2")
+public class PropriedadesApiV2 {
+
+    private boolean habilitado = true;
+
+    private int porta = 8082;
+
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private int tamanhoPool = 10;
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public int getPorta() {
+        return porta;
+    }
+
+    public void setPorta(int porta) {
+        this.porta = porta;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getTamanhoPool() {
+        return tamanhoPool;
+    }
+
+    public void setTamanhoPool(int tamanhoPool) {
+        this.tamanhoPool = tamanhoPool;
+    }
+}
@@ -0,0 +1,69 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.arquivamento")
+public class PropriedadesArquivamento {
+
+    private boolean habilitado = false;
+
+    private String diretorio = "arquivo-pagamentos";
+
+    private Duration retencao = Duration.ofDays(90);
+
+    private int tamanhoLote = 5000;
+
+    private int registrosPorBloco = 128;
+
+    private Duration intervalo = Duration.ofMinutes(10);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public String getDiretorio() {
+        return diretorio;
+    }
+
+    public void setDiretorio(String diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    public Duration getRetencao() {
+        return retencao;
+    }
+
+    public void setRetencao(Duration retencao) {
+        this.retencao = retencao;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public void setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public int getRegistrosPorBloco() {
+        return registrosPorBloco;
+    }
+
+    public void setRegistrosPorBloco(int registrosPorBloco) {
+        this.registrosPorBloco = registrosPorBloco;
+    }
+
+    public Duration getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Duration intervalo) {
+        this.intervalo = intervalo;
+    }
+}
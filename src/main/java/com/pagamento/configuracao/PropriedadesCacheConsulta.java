@@ -0,0 +1,29 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.cache-consulta")
+public class PropriedadesCacheConsulta {
+
+    private long tamanhoMaximo = 10000;
+
+    private Duration expiracao = Duration.ofSeconds(30);
+
+    public long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(long tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pagamento.concorrencia")
+public class PropriedadesConcorrencia {
+
+    private int maximoTentativas = 3;
+
+    public int getMaximoTentativas() {
+        return maximoTentativas;
+    }
+
+    public void setMaximoTentativas(int maximoTentativas) {
+        this.maximoTentativas = maximoTentativas;
+    }
+}
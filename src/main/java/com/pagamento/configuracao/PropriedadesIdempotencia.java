@@ -0,0 +1,49 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.idempotencia")
+public class PropriedadesIdempotencia {
+
+    private long tamanhoMaximoCache = 10_000;
+
+    private Duration expiracaoCache = Duration.ofMinutes(10);
+
+    private Duration tempoEspera = Duration.ofSeconds(10);
+
+    private Duration retencao = Duration.ofHours(24);
+
+    public long getTamanhoMaximoCache() {
+        return tamanhoMaximoCache;
+    }
+
+    public void setTamanhoMaximoCache(long tamanhoMaximoCache) {
+        this.tamanhoMaximoCache = tamanhoMaximoCache;
+    }
+
+    public Duration getExpiracaoCache() {
+        return expiracaoCache;
+    }
+
+    public void setExpiracaoCache(Duration expiracaoCache) {
+        this.expiracaoCache = expiracaoCache;
+    }
+
+    public Duration getTempoEspera() {
+        return tempoEspera;
+    }
+
+    public void setTempoEspera(Duration tempoEspera) {
+        this.tempoEspera = tempoEspera;
+    }
+
+    public Duration getRetencao() {
+        return retencao;
+    }
+
+    public void setRetencao(Duration retencao) {
+        this.retencao = retencao;
+    }
+}
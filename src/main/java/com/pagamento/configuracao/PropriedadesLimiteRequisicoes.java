@@ -0,0 +1,112 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pagamento.limite-requisicoes")
+public class PropriedadesLimiteRequisicoes {
+
+    private boolean habilitado = true;
+
+    private long maximoChaves = 100000;
+
+    private LimitesOperacao criacao = new LimitesOperacao(new Limite(20, 10), new Limite(200, 100));
+
+    private LimitesOperacao busca = new LimitesOperacao(new Limite(50, 25), new Limite(500, 250));
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public long getMaximoChaves() {
+        return maximoChaves;
+    }
+
+    public void setMaximoChaves(long maximoChaves) {
+        this.maximoChaves = maximoChaves;
+    }
+
+    public LimitesOperacao getCriacao() {
+        return criacao;
+    }
+
+    public void setCriacao(LimitesOperacao criacao) {
+        this.criacao = criacao;
+    }
+
+    public LimitesOperacao getBusca() {
+        return busca;
+    }
+
+    public void setBusca(LimitesOperacao busca) {
+        this.busca = busca;
+    }
+
+    // Cada operação tem um balde por pagador (cpfCnpj) e outro por cliente da API
+    public static class LimitesOperacao {
+
+        private Limite pagador;
+
+        private Limite cliente;
+
+        public LimitesOperacao() {
+            this(new Limite(), new Limite());
+        }
+
+        public LimitesOperacao(Limite pagador, Limite cliente) {
+            this.pagador = pagador;
+            this.cliente = cliente;
+        }
+
+        public Limite getPagador() {
+            return pagador;
+        }
+
+        public void setPagador(Limite pagador) {
+            this.pagador = pagador;
+        }
+
+        public Limite getCliente() {
+            return cliente;
+        }
+
+        public void setCliente(Limite cliente) {
+            this.cliente = cliente;
+        }
+    }
+
+    // capacidade: rajada aceita com o balde cheio; reposicaoPorSegundo: taxa sustentada
+    public static class Limite {
+
+        private int capacidade = 100;
+
+        private double reposicaoPorSegundo = 50;
+
+        public Limite() {
+        }
+
+        public Limite(int capacidade, double reposicaoPorSegundo) {
+            this.capacidade = capacidade;
+            this.reposicaoPorSegundo = reposicaoPorSegundo;
+        }
+
+        public int getCapacidade() {
+            return capacidade;
+        }
+
+        public void setCapacidade(int capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        public double getReposicaoPorSegundo() {
+            return reposicaoPorSegundo;
+        }
+
+        public void setReposicaoPorSegundo(double reposicaoPorSegundo) {
+            this.reposicaoPorSegundo = reposicaoPorSegundo;
+        }
+    }
+}
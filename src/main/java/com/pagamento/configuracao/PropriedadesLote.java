@@ -0,0 +1,17 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pagamento.lote")
+public class PropriedadesLote {
+
+    private int tamanhoMaximo = 1000;
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+}
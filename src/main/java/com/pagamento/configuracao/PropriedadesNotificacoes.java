@@ -0,0 +1,39 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.notificacoes")
+public class PropriedadesNotificacoes {
+
+    private int maximoAssinaturas = 40000;
+
+    private Duration tempoLimite = Duration.ofMinutes(30);
+
+    private Duration intervaloHeartbeat = Duration.ofSeconds(15);
+
+    public int getMaximoAssinaturas() {
+        return maximoAssinaturas;
+    }
+
+    public void setMaximoAssinaturas(int maximoAssinaturas) {
+        this.maximoAssinaturas = maximoAssinaturas;
+    }
+
+    public Duration getTempoLimite() {
+        return tempoLimite;
+    }
+
+    public void setTempoLimite(Duration tempoLimite) {
+        this.tempoLimite = tempoLimite;
+    }
+
+    public Duration getIntervaloHeartbeat() {
+        return intervaloHeartbeat;
+    }
+
+    public void setIntervaloHeartbeat(Duration intervaloHeartbeat) {
+        this.intervaloHeartbeat = intervaloHeartbeat;
+    }
+}
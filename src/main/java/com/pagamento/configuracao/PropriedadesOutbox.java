@@ -0,0 +1,59 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.outbox")
+public class PropriedadesOutbox {
+
+    private boolean habilitado = true;
+
+    private String destino = "log";
+
+    private String arquivo = "eventos-pagamentos.ndjson";
+
+    private int tamanhoLote = 500;
+
+    private Duration intervalo = Duration.ofSeconds(1);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public void setDestino(String destino) {
+        this.destino = destino;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public void setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public Duration getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Duration intervalo) {
+        this.intervalo = intervalo;
+    }
+}
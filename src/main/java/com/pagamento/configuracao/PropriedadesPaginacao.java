@@ -0,0 +1,34 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pagamento.paginacao")
+public class PropriedadesPaginacao {
+
+    private int tamanhoPadrao = 50;
+
+    private int tamanhoMaximo = 500;
+
+    public int getTamanhoPadrao() {
+        return tamanhoPadrao;
+    }
+
+    public void setTamanhoPadrao(int tamanhoPadrao) {
+        this.tamanhoPadrao = tamanhoPadrao;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public int resolverTamanho(Integer tamanhoSolicitado) {
+        if (tamanhoSolicitado == null || tamanhoSolicitado <= 0) {
+            return Math.min(tamanhoPadrao, tamanhoMaximo);
+        }
+        return Math.min(tamanhoSolicitado, tamanhoMaximo);
+    }
+}
@@ -0,0 +1,79 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.processamento")
+public class PropriedadesProcessamento {
+
+    private boolean habilitado = false;
+
+    private boolean processadorSimulado = false;
+
+    private int trabalhadores = 2;
+
+    private int tamanhoLote = 100;
+
+    private Duration intervaloOcioso = Duration.ofSeconds(1);
+
+    private Duration duracaoReivindicacao = Duration.ofMinutes(5);
+
+    private Duration tempoEncerramento = Duration.ofSeconds(30);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isProcessadorSimulado() {
+        return processadorSimulado;
+    }
+
+    public void setProcessadorSimulado(boolean processadorSimulado) {
+        this.processadorSimulado = processadorSimulado;
+    }
+
+    public int getTrabalhadores() {
+        return trabalhadores;
+    }
+
+    public void setTrabalhadores(int trabalhadores) {
+        this.trabalhadores = trabalhadores;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public void setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public Duration getIntervaloOcioso() {
+        return intervaloOcioso;
+    }
+
+    public void setIntervaloOcioso(Duration intervaloOcioso) {
+        this.intervaloOcioso = intervaloOcioso;
+    }
+
+    public Duration getDuracaoReivindicacao() {
+        return duracaoReivindicacao;
+    }
+
+    public void setDuracaoReivindicacao(Duration duracaoReivindicacao) {
+        this.duracaoReivindicacao = duracaoReivindicacao;
+    }
+
+    public Duration getTempoEncerramento() {
+        return tempoEncerramento;
+    }
+
+    public void setTempoEncerramento(Duration tempoEncerramento) {
+        this.tempoEncerramento = tempoEncerramento;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pagamento.configuracao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pagamento.resumos")
+public class PropriedadesResumos {
+
+    private boolean verificacaoHabilitada = true;
+
+    private boolean reparar = true;
+
+    private Duration intervaloVerificacao = Duration.ofHours(1);
+
+    public boolean isVerificacaoHabilitada() {
+        return verificacaoHabilitada;
+    }
+
+    public void setVerificacaoHabilitada(boolean verificacaoHabilitada) {
+        this.verificacaoHabilitada = verificacaoHabilitada;
+    }
+
+    public boolean isReparar() {
+        return reparar;
+    }
+
+    public void setReparar(boolean reparar) {
+        this.reparar = reparar;
+    }
+
+    public Duration getIntervaloVerificacao() {
+        return intervaloVerificacao;
+    }
+
+    public void setIntervaloVerificacao(Duration intervaloVerificacao) {
+        this.intervaloVerificacao = intervaloVerificacao;
+    }
+}
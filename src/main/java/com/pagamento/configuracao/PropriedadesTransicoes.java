@@ -0,0 +1,43 @@
+package com.pagamento.configuracao;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "pagamento.transicoes")
+public class PropriedadesTransicoes {
+
+    private Map<StatusPagamento, Set<StatusPagamento>> padrao = transicoesPadrao();
+
+    private Map<MetodoPagamento, Map<StatusPagamento, Set<StatusPagamento>>> porMetodo = new EnumMap<>(MetodoPagamento.class);
+
+    public Map<StatusPagamento, Set<StatusPagamento>> getPadrao() {
+        return padrao;
+    }
+
+    public void setPadrao(Map<StatusPagamento, Set<StatusPagamento>> padrao) {
+        this.padrao = padrao;
+    }
+
+    public Map<MetodoPagamento, Map<StatusPagamento, Set<StatusPagamento>>> getPorMetodo() {
+        return porMetodo;
+    }
+
+    public void setPorMetodo(Map<MetodoPagamento, Map<StatusPagamento, Set<StatusPagamento>>> porMetodo) {
+        this.porMetodo = porMetodo;
+    }
+
+    private static Map<StatusPagamento, Set<StatusPagamento>> transicoesPadrao() {
+        Map<StatusPagamento, Set<StatusPagamento>> transicoes = new EnumMap<>(StatusPagamento.class);
+        transicoes.put(StatusPagamento.PENDENTE_PROCESSAMENTO,
+                EnumSet.of(StatusPagamento.PROCESSADO_SUCESSO, StatusPagamento.PROCESSADO_FALHA));
+        transicoes.put(StatusPagamento.PROCESSADO_FALHA, EnumSet.of(StatusPagamento.PENDENTE_PROCESSAMENTO));
+        transicoes.put(StatusPagamento.PROCESSADO_SUCESSO, EnumSet.noneOf(StatusPagamento.class));
+        return transicoes;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.repositorio.ArquivoPagamentos;
+import com.pagamento.servico.MaquinaEstadosPagamento;
+import com.pagamento.servico.MetricasPagamento;
+import com.pagamento.servico.NotificadorStatusPagamento;
+import com.pagamento.servico.RegrasPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.resources.LoopResources;
+
+// Sobe a API v2 em um Reactor Netty próprio, com poucas threads de event loop, quando o Tomcat da v1 está no ar.
+// O contexto WebFlux não pode ser filho do principal (o @EnableWebFlux recusa uma hierarquia com Spring MVC); ele recebe
+// prontos os componentes compartilhados com a v1 e guarda só o acesso R2DBC e o controlador v2.
+public class ServidorApiV2 implements ApplicationListener<ServletWebServerInitializedEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorApiV2.class);
+
+    private static final Class<?>[] COMPARTILHADOS = {
+        DataSourceProperties.class, PropriedadesApiV2.class, PropriedadesConcorrencia.class, ObjectMapper.class,
+        RegrasPagamento.class, MaquinaEstadosPagamento.class, MetricasPagamento.class, ServicoPagamento.class,
+        NotificadorStatusPagamento.class, ArquivoPagamentos.class
+    };
+
+    private final PropriedadesApiV2 propriedades;
+    private final Compression compressao;
+
+    private AnnotationConfigApplicationContext contextoWebFlux;
+    private LoopResources eventLoop;
+    private WebServer servidor;
+
+    public ServidorApiV2(PropriedadesApiV2 propriedades, Compression compressao) {
+        this.propriedades = propriedades;
+        this.compressao = compressao;
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(ServletWebServerInitializedEvent evento) {
+        // Só reage ao servidor principal (o Actuator em porta própria publica o mesmo evento com outro namespace)
+        if (servidor != null || evento.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+
+        contextoWebFlux = criarContexto(evento.getApplicationContext());
+        HttpHandler manipulador = WebHttpHandlerBuilder.applicationContext(contextoWebFlux).build();
+
+        eventLoop = LoopResources.create("api-v2", Math.max(1, propriedades.getThreads()), true);
+        NettyReactiveWebServerFactory fabrica = new NettyReactiveWebServerFactory(propriedades.getPorta());
+        // Mesma regra de compressão do Tomcat (server.compression); o Netty ainda aceita deflate além de gzip
+        fabrica.setCompression(compressao);
+        fabrica.addServerCustomizers(servidorHttp -> servidorHttp.runOn(eventLoop));
+        servidor = fabrica.getWebServer(manipulador);
+        servidor.start();
+        log.info("API v2 reativa ouvindo na porta {} com {} threads", servidor.getPort(), propriedades.getThreads());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (servidor != null) {
+            servidor.stop();
+            servidor = null;
+        }
+        if (eventLoop != null) {
+            eventLoop.disposeLater().block();
+        }
+        if (contextoWebFlux != null) {
+            contextoWebFlux.close();
+        }
+    }
+
+    // Os compartilhados entram como singletons já inicializados: o contexto v2 não reaplica pós-processadores
+    // nem os destrói ao fechar, o ciclo de vida continua sendo do contexto principal
+    static AnnotationConfigApplicationContext criarContexto(ApplicationContext principal) {
+        AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext();
+        for (Class<?> tipo : COMPARTILHADOS) {
+            contexto.getBeanFactory().registerSingleton(tipo.getName(), principal.getBean(tipo));
+        }
+        contexto.register(ConfiguracaoR2dbcV2.class, ConfiguracaoWebFluxV2.class);
+        contexto.refresh();
+        return contexto;
+    }
+
+    public synchronized int getPorta() {
+        return servidor != null ? servidor.getPort() : -1;
+    }
+}
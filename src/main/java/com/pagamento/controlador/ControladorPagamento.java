@@ -1,31 +1,57 @@
 package com.pagamento.controlador;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.dto.EstatisticasCacheResponseDTO;
 import com.pagamento.dto.PagamentoRequestDTO;
 import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.AtualizacaoStatusLoteRequestDTO;
 import com.pagamento.dto.AtualizacaoStatusRequestDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.ResultadoAtualizacaoStatusLoteResponseDTO;
+import com.pagamento.dto.ResultadoLoteResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
 import com.pagamento.enums.StatusPagamento;
+import com.pagamento.servico.LimitadorRequisicoes;
+import com.pagamento.servico.NotificadorStatusPagamento;
 import com.pagamento.servico.ServicoPagamento;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/pagamentos")
 @Tag(name = "Pagamentos", description = "API para gerenciamento de pagamentos")
 public class ControladorPagamento {
 
+    private static final int LINHAS_POR_ENVIO = 500;
     private final ServicoPagamento servicoPagamento;
+    private final ObjectMapper objectMapper;
+    private final NotificadorStatusPagamento notificador;
+    private final LimitadorRequisicoes limitador;
 
-    public ControladorPagamento(ServicoPagamento servicoPagamento) {
+    public ControladorPagamento(ServicoPagamento servicoPagamento, ObjectMapper objectMapper,
+                                NotificadorStatusPagamento notificador, LimitadorRequisicoes limitador) {
         this.servicoPagamento = servicoPagamento;
+        this.objectMapper = objectMapper;
+        this.notificador = notificador;
+        this.limitador = limitador;
     }
 
     @PostMapping
@@ -33,55 +59,180 @@ public class ControladorPagamento {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Pagamento criado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "409", description = "Requisição com a mesma chave de idempotência em processamento"),
+        @ApiResponse(responseCode = "422", description = "Chave de idempotência reutilizada com outra requisição"),
+        @ApiResponse(responseCode = "429", description = "Limite de requisições do pagador ou do cliente excedido"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
 
     public ResponseEntity<PagamentoResponseDTO> criarPagamento(
-            @Valid @RequestBody PagamentoRequestDTO request) {
+            @Parameter(description = "Chave que torna a criação segura para novas tentativas")
+            @RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia,
+            @Valid @RequestBody PagamentoRequestDTO request,
+            HttpServletRequest requisicaoHttp) {
         
-        PagamentoResponseDTO response = servicoPagamento.criarPagamento(request);
+        limitador.admitirCriacao(request.getCpfCnpj(), requisicaoHttp.getRemoteAddr());
+        PagamentoResponseDTO response = chaveIdempotencia == null
+                ? servicoPagamento.criarPagamento(request)
+                : servicoPagamento.criarPagamento(request, chaveIdempotencia);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Criar pagamentos em lote", description = "Valida cada pagamento do lote individualmente e cria os válidos em uma única transação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado, com o resultado de cada item"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, acima do tamanho máximo ou maior que a cota de criação"),
+        @ApiResponse(responseCode = "429", description = "Limite de requisições do pagador ou do cliente excedido"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoLoteResponseDTO> criarPagamentosEmLote(
+            @RequestBody List<PagamentoRequestDTO> requisicoes,
+            HttpServletRequest requisicaoHttp) {
+
+        if (requisicoes != null) {
+            limitador.admitirCriacaoEmLote(requisicoes.stream()
+                    .map(requisicao -> requisicao == null ? null : requisicao.getCpfCnpj())
+                    .collect(Collectors.toList()), requisicaoHttp.getRemoteAddr());
+        }
+        ResultadoLoteResponseDTO resultado = servicoPagamento.criarPagamentosEmLote(requisicoes);
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping
-    @Operation(summary = "Listar todos os pagamentos", description = "Lista todos os pagamentos ativos")
+    @Operation(summary = "Listar todos os pagamentos", description = "Lista os pagamentos ativos em páginas navegadas por cursor")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de pagamentos recuperada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Página de pagamentos recuperada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor de paginação inválido"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     
-    public ResponseEntity<List<PagamentoResponseDTO>> listarTodosPagamentos() {
-        List<PagamentoResponseDTO> pagamentos = servicoPagamento.listarTodosPagamentos();
-        return ResponseEntity.ok(pagamentos);
+    public ResponseEntity<PaginaPagamentosResponseDTO> listarTodosPagamentos(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de pagamentos por página") @RequestParam(required = false) Integer tamanho) {
+        PaginaPagamentosResponseDTO pagina = servicoPagamento.listarTodosPagamentos(cursor, tamanho);
+        return ResponseEntity.ok(pagina);
     }
 
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar pagamentos com filtros", description = "Busca pagamentos aplicando filtros opcionais")
+    @Operation(summary = "Buscar pagamentos com filtros", description = "Busca pagamentos aplicando filtros opcionais, em páginas navegadas por cursor")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor de paginação inválido"),
+        @ApiResponse(responseCode = "429", description = "Limite de requisições do pagador ou do cliente excedido"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<PagamentoResponseDTO>> buscarPagamentos(
+    public ResponseEntity<PaginaPagamentosResponseDTO> buscarPagamentos(
             @Parameter(description = "Código do débito") @RequestParam(required = false) Integer codigoDebito,
             @Parameter(description = "CPF ou CNPJ do pagador") @RequestParam(required = false) String cpfCnpj,
-            @Parameter(description = "Status do pagamento") @RequestParam(required = false) StatusPagamento status) {
+            @Parameter(description = "Status do pagamento") @RequestParam(required = false) StatusPagamento status,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de pagamentos por página") @RequestParam(required = false) Integer tamanho,
+            HttpServletRequest requisicaoHttp) {
         
-        List<PagamentoResponseDTO> pagamentos = servicoPagamento.buscarPagamentos(codigoDebito, cpfCnpj, status);
-        return ResponseEntity.ok(pagamentos);
+        limitador.admitirBusca(cpfCnpj, requisicaoHttp.getRemoteAddr());
+        PaginaPagamentosResponseDTO pagina = servicoPagamento.buscarPagamentos(codigoDebito, cpfCnpj, status, cursor, tamanho);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar pagamentos", description = "Exporta os pagamentos ativos em JSON delimitado por linhas (NDJSON), aplicando filtros opcionais")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarPagamentos(
+            @Parameter(description = "Código do débito") @RequestParam(required = false) Integer codigoDebito,
+            @Parameter(description = "CPF ou CNPJ do pagador") @RequestParam(required = false) String cpfCnpj,
+            @Parameter(description = "Status do pagamento") @RequestParam(required = false) StatusPagamento status) {
+
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.setRootValueSeparator(null);
+                int[] linhasEscritas = {0};
+
+                servicoPagamento.exportarPagamentos(codigoDebito, cpfCnpj, status, pagamento -> {
+                    try {
+                        gerador.writeObject(pagamento);
+                        gerador.writeRaw('\n');
+                        if (linhasEscritas[0]++ % LINHAS_POR_ENVIO == 0) {
+                            gerador.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    @GetMapping("/cache/estatisticas")
+    @Operation(summary = "Estatísticas do cache de consulta", description = "Retorna acertos, falhas e remoções do cache usado na busca por ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<EstatisticasCacheResponseDTO> obterEstatisticasCache() {
+        return ResponseEntity.ok(servicoPagamento.obterEstatisticasCache());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pagamento por ID", description = "Busca um pagamento específico pelo seu ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pagamento encontrado"),
+        @ApiResponse(responseCode = "304", description = "Versão informada em If-None-Match ainda é a atual"),
         @ApiResponse(responseCode = "404", description = "Pagamento não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<PagamentoResponseDTO> obterPagamentoPorId(
-            @Parameter(description = "ID do pagamento", required = true) @PathVariable Long id) {
+            @Parameter(description = "ID do pagamento", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag obtido em uma consulta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
+        // Quem consulta em intervalos recebe 304 a partir só da versão, sem montar nem serializar o pagamento
+        if (ifNoneMatch != null) {
+            Long versaoAtual = servicoPagamento.obterVersaoPagamento(id);
+            if (VersaoPagamentoHttp.naoModificado(ifNoneMatch, versaoAtual)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(VersaoPagamentoHttp.etag(versaoAtual))
+                        .build();
+            }
+        }
+
         PagamentoResponseDTO pagamento = servicoPagamento.obterPagamentoPorId(id);
-        return ResponseEntity.ok(pagamento);
+        return ResponseEntity.ok()
+                .eTag(VersaoPagamentoHttp.etag(pagamento))
+                .body(pagamento);
+    }
+
+    @GetMapping("/{id}/transicoes")
+    @Operation(summary = "Listar transições permitidas", description = "Retorna os status para os quais o pagamento pode ser movido, conforme as regras do seu método de pagamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transições retornadas com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Pagamento não encontrado")
+    })
+    public ResponseEntity<TransicoesPagamentoResponseDTO> obterTransicoesPermitidas(
+            @Parameter(description = "ID do pagamento", required = true) @PathVariable Long id) {
+        
+        return ResponseEntity.ok(servicoPagamento.obterTransicoesPermitidas(id));
+    }
+
+    // Sem produces: o SseEmitter define o text/event-stream, e os erros (404, 503) continuam saindo em JSON
+    @GetMapping("/{id}/eventos")
+    @Operation(summary = "Acompanhar status do pagamento", description = "Abre um fluxo Server-Sent Events com o status atual e cada mudança confirmada; o fluxo termina quando o pagamento chega a um status final ou é excluído")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fluxo de eventos aberto"),
+        @ApiResponse(responseCode = "404", description = "Pagamento não encontrado"),
+        @ApiResponse(responseCode = "503", description = "Limite de assinaturas do nó atingido")
+    })
+    public SseEmitter acompanharStatus(
+            @Parameter(description = "ID do pagamento", required = true) @PathVariable Long id) {
+
+        return notificador.assinar(id);
     }
 
     @PutMapping("/{id}/status")
@@ -90,14 +241,36 @@ public class ControladorPagamento {
         @ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Transição de status inválida"),
         @ApiResponse(responseCode = "404", description = "Pagamento não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Pagamento alterado concorrentemente"),
+        @ApiResponse(responseCode = "412", description = "Versão informada em If-Match não é a atual"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<PagamentoResponseDTO> atualizarStatusPagamento(
             @Parameter(description = "ID do pagamento", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag obtido na consulta do pagamento")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AtualizacaoStatusRequestDTO request) {
         
-        PagamentoResponseDTO pagamentoAtualizado = servicoPagamento.atualizarStatusPagamento(id, request.getStatus());
-        return ResponseEntity.ok(pagamentoAtualizado);
+        PagamentoResponseDTO pagamentoAtualizado =
+                servicoPagamento.atualizarStatusPagamento(id, request.getStatus(), VersaoPagamentoHttp.versaoEsperada(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(VersaoPagamentoHttp.etag(pagamentoAtualizado))
+                .body(pagamentoAtualizado);
+    }
+
+    @PutMapping("/lote/status")
+    @Operation(summary = "Atualizar status em lote", description = "Aplica a mesma transição de status a vários pagamentos, seguindo as regras de transição")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado, com os IDs atualizados e os rejeitados"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos ou lote acima do tamanho máximo"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoAtualizacaoStatusLoteResponseDTO> atualizarStatusEmLote(
+            @Valid @RequestBody AtualizacaoStatusLoteRequestDTO request) {
+
+        ResultadoAtualizacaoStatusLoteResponseDTO resultado =
+                servicoPagamento.atualizarStatusEmLote(request.getIds(), request.getStatus());
+        return ResponseEntity.ok(resultado);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,171 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.AtualizacaoStatusRequestDTO;
+import com.pagamento.dto.ErroResponseDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.servico.ServicoPagamentoReativo;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Sem @RestController: o bean é registrado só no contexto WebFlux da v2 (ConfiguracaoWebFluxV2).
+// Os erros são tratados aqui porque o TratadorGlobalExcecoes depende da API de Servlet.
+@ResponseBody
+@RequestMapping("/api/v2/pagamentos")
+public class ControladorPagamentoV2 {
+
+    private final ServicoPagamentoReativo servicoPagamento;
+
+    public ControladorPagamentoV2(ServicoPagamentoReativo servicoPagamento) {
+        this.servicoPagamento = servicoPagamento;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PagamentoResponseDTO>> criarPagamento(@Valid @RequestBody PagamentoRequestDTO request) {
+        return servicoPagamento.criarPagamento(request)
+                .map(pagamento -> ResponseEntity.status(HttpStatus.CREATED).body(pagamento));
+    }
+
+    // Listagem e busca são transmitidas conforme o cliente consome (NDJSON ou array JSON), sem paginação
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<PagamentoResponseDTO> listarPagamentos() {
+        return servicoPagamento.buscarPagamentos(null, null, null);
+    }
+
+    @GetMapping(value = "/buscar", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<PagamentoResponseDTO> buscarPagamentos(@RequestParam(required = false) Integer codigoDebito,
+                                                       @RequestParam(required = false) String cpfCnpj,
+                                                       @RequestParam(required = false) StatusPagamento status) {
+        return servicoPagamento.buscarPagamentos(codigoDebito, cpfCnpj, status);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PagamentoResponseDTO>> obterPagamentoPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            return servicoPagamento.obterVersaoPagamento(id).flatMap(versaoAtual ->
+                    VersaoPagamentoHttp.naoModificado(ifNoneMatch, versaoAtual)
+                            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(VersaoPagamentoHttp.etag(versaoAtual))
+                                    .<PagamentoResponseDTO>build())
+                            : obterPagamentoPorId(id, null));
+        }
+
+        return servicoPagamento.obterPagamentoPorId(id)
+                .map(pagamento -> ResponseEntity.ok()
+                        .eTag(VersaoPagamentoHttp.etag(pagamento))
+                        .body(pagamento));
+    }
+
+    @GetMapping("/{id}/transicoes")
+    public Mono<TransicoesPagamentoResponseDTO> obterTransicoesPermitidas(@PathVariable Long id) {
+        return servicoPagamento.obterTransicoesPermitidas(id);
+    }
+
+    @PutMapping("/{id}/status")
+    public Mono<ResponseEntity<PagamentoResponseDTO>> atualizarStatusPagamento(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody AtualizacaoStatusRequestDTO request) {
+        
+        Long versaoEsperada = VersaoPagamentoHttp.versaoEsperada(ifMatch);
+        return servicoPagamento.atualizarStatusPagamento(id, request.getStatus(), versaoEsperada)
+                .map(pagamento -> ResponseEntity.ok()
+                        .eTag(VersaoPagamentoHttp.etag(pagamento))
+                        .body(pagamento));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> excluirPagamento(@PathVariable Long id) {
+        return servicoPagamento.excluirPagamento(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @ExceptionHandler(PagamentoNaoEncontradoException.class)
+    public ResponseEntity<ErroResponseDTO> tratarNaoEncontrado(RuntimeException ex, ServerHttpRequest request) {
+        return erro(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler({PagamentoInvalidoException.class, TransicaoStatusInvalidaException.class})
+    public ResponseEntity<ErroResponseDTO> tratarRequisicaoInvalida(RuntimeException ex, ServerHttpRequest request) {
+        return erro(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(VersaoPagamentoDivergenteException.class)
+    public ResponseEntity<ErroResponseDTO> tratarVersaoDivergente(RuntimeException ex, ServerHttpRequest request) {
+        return erro(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ConflitoAtualizacaoException.class)
+    public ResponseEntity<ErroResponseDTO> tratarConflito(RuntimeException ex, ServerHttpRequest request) {
+        return erro(HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErroResponseDTO> tratarValidacao(WebExchangeBindException ex, ServerHttpRequest request) {
+        List<String> detalhes = ex.getFieldErrors()
+                .stream()
+                .map(erro -> erro.getField() + ": " + erro.getDefaultMessage())
+                .collect(Collectors.toList());
+
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Validation Failed",
+            "Dados inválidos fornecidos",
+            request.getPath().value(),
+            detalhes
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erro);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErroResponseDTO> tratarEntradaInvalida(ServerWebInputException ex, ServerHttpRequest request) {
+        String mensagem = "Formato JSON inválido ou campos com tipos incorretos";
+
+        if (ex.getCause() instanceof TypeMismatchException && ex.getMethodParameter() != null) {
+            TypeMismatchException tipoIncorreto = (TypeMismatchException) ex.getCause();
+            Class<?> tipoRequerido = tipoIncorreto.getRequiredType();
+            mensagem = String.format("Parâmetro '%s' deve ser do tipo %s", ex.getMethodParameter().getParameterName(),
+                    tipoRequerido != null ? tipoRequerido.getSimpleName() : "desconhecido");
+        } else if (ex.getMostSpecificCause().getMessage() != null) {
+            String mensagemCausa = ex.getMostSpecificCause().getMessage();
+            if (mensagemCausa.contains("MetodoPagamento")) {
+                mensagem = "Método de pagamento inválido. Use: boleto, pix, cartao_credito ou cartao_debito";
+            } else if (mensagemCausa.contains("StatusPagamento")) {
+                mensagem = "Status de pagamento inválido";
+            }
+        }
+        return erro(HttpStatus.BAD_REQUEST, mensagem, request);
+    }
+
+    private ResponseEntity<ErroResponseDTO> erro(HttpStatus status, String mensagem, ServerHttpRequest request) {
+        ErroResponseDTO erro = new ErroResponseDTO(
+            status.value(),
+            status.getReasonPhrase(),
+            mensagem,
+            request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(erro);
+    }
+}
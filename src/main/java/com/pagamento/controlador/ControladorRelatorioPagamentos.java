@@ -0,0 +1,78 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.RelatorioPagamentosResponseDTO;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.servico.ServicoRelatorioPagamentos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/pagamentos/relatorios")
+@Tag(name = "Relatórios", description = "Totais de pagamentos ativos agregados no banco")
+public class ControladorRelatorioPagamentos {
+
+    private final ServicoRelatorioPagamentos servicoRelatorio;
+
+    public ControladorRelatorioPagamentos(ServicoRelatorioPagamentos servicoRelatorio) {
+        this.servicoRelatorio = servicoRelatorio;
+    }
+
+    @GetMapping("/por-status")
+    @Operation(summary = "Totais por status", description = "Quantidade e soma do valor dos pagamentos ativos agrupados por status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<RelatorioPagamentosResponseDTO> totalizarPorStatus(
+            @Parameter(description = "CPF ou CNPJ do pagador") @RequestParam(required = false) String cpfCnpj,
+            @Parameter(description = "Primeiro dia de criação (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @Parameter(description = "Último dia de criação, inclusive (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+
+        return ResponseEntity.ok(servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.STATUS, cpfCnpj, dataInicial, dataFinal));
+    }
+
+    @GetMapping("/por-metodo")
+    @Operation(summary = "Totais por método de pagamento", description = "Quantidade e soma do valor dos pagamentos ativos agrupados por método de pagamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<RelatorioPagamentosResponseDTO> totalizarPorMetodo(
+            @Parameter(description = "CPF ou CNPJ do pagador") @RequestParam(required = false) String cpfCnpj,
+            @Parameter(description = "Primeiro dia de criação (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @Parameter(description = "Último dia de criação, inclusive (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+
+        return ResponseEntity.ok(servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.METODO, cpfCnpj, dataInicial, dataFinal));
+    }
+
+    @GetMapping("/por-dia")
+    @Operation(summary = "Totais por dia de criação", description = "Quantidade e soma do valor dos pagamentos ativos agrupados pelo dia de criação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<RelatorioPagamentosResponseDTO> totalizarPorDia(
+            @Parameter(description = "CPF ou CNPJ do pagador") @RequestParam(required = false) String cpfCnpj,
+            @Parameter(description = "Primeiro dia de criação (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @Parameter(description = "Último dia de criação, inclusive (AAAA-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+
+        return ResponseEntity.ok(servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.DIA, cpfCnpj, dataInicial, dataFinal));
+    }
+}
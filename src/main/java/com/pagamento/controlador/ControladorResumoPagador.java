@@ -0,0 +1,49 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.ResumoPagadorResponseDTO;
+import com.pagamento.dto.VerificacaoResumosResponseDTO;
+import com.pagamento.servico.ServicoResumoPagador;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/pagamentos/resumos")
+@Tag(name = "Resumos por Pagador", description = "Saldo em aberto, pendências e último pagamento de cada CPF/CNPJ")
+public class ControladorResumoPagador {
+
+    private final ServicoResumoPagador servicoResumo;
+
+    public ControladorResumoPagador(ServicoResumoPagador servicoResumo) {
+        this.servicoResumo = servicoResumo;
+    }
+
+    @GetMapping("/{cpfCnpj}")
+    @Operation(summary = "Resumo do pagador", description = "Saldo em aberto, quantidade de pagamentos pendentes e data do último pagamento confirmado, mantidos a cada mudança de pagamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumo encontrado"),
+        @ApiResponse(responseCode = "404", description = "Pagador sem pagamentos registrados")
+    })
+    public ResponseEntity<ResumoPagadorResponseDTO> obterResumo(
+            @Parameter(description = "CPF ou CNPJ do pagador") @PathVariable String cpfCnpj) {
+
+        return ResponseEntity.ok(servicoResumo.obterResumo(cpfCnpj));
+    }
+
+    @PostMapping("/verificacao")
+    @Operation(summary = "Verificar resumos", description = "Compara todos os resumos com a tabela de pagamentos e corrige os divergentes quando o reparo está habilitado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Verificação concluída")
+    })
+    public ResponseEntity<VerificacaoResumosResponseDTO> verificarResumos() {
+        return ResponseEntity.ok(servicoResumo.verificarResumos());
+    }
+}
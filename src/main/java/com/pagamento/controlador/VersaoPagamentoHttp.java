@@ -0,0 +1,56 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+
+// ETag, If-Match e If-None-Match carregam a versão do pagamento da mesma forma nas APIs v1 e v2
+final class VersaoPagamentoHttp {
+
+    private VersaoPagamentoHttp() {}
+
+    static String etag(PagamentoResponseDTO pagamento) {
+        return etag(pagamento.getVersao());
+    }
+
+    static String etag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // If-None-Match usa comparação fraca (RFC 7232): W/"3" e "3" indicam a mesma versão
+    static boolean naoModificado(String ifNoneMatch, Long versaoAtual) {
+        if (ifNoneMatch == null || versaoAtual == null) {
+            return false;
+        }
+
+        for (String etag : ifNoneMatch.split(",")) {
+            String valor = etag.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.replace("\"", "").equals(String.valueOf(versaoAtual))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new VersaoPagamentoDivergenteException("Cabeçalho If-Match não corresponde a uma versão do pagamento");
+        }
+    }
+}
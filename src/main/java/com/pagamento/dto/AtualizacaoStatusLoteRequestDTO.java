@@ -0,0 +1,39 @@
+package com.pagamento.dto;
+
+import com.pagamento.enums.StatusPagamento;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+public class AtualizacaoStatusLoteRequestDTO {
+
+    @NotEmpty(message = "Lista de IDs é obrigatória")
+    private List<@NotNull(message = "ID não pode ser nulo") Long> ids;
+
+    @NotNull(message = "Status é obrigatório")
+    private StatusPagamento status;
+
+    public AtualizacaoStatusLoteRequestDTO() {}
+
+    public AtualizacaoStatusLoteRequestDTO(List<Long> ids, StatusPagamento status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public StatusPagamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPagamento status) {
+        this.status = status;
+    }
+}
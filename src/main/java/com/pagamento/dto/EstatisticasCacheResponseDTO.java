@@ -0,0 +1,61 @@
+package com.pagamento.dto;
+
+public class EstatisticasCacheResponseDTO {
+
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+    private double taxaAcerto;
+
+    public EstatisticasCacheResponseDTO() {}
+
+    public EstatisticasCacheResponseDTO(long tamanho, long acertos, long falhas, long remocoes, double taxaAcerto) {
+        this.tamanho = tamanho;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.taxaAcerto = taxaAcerto;
+    }
+
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public void setRemocoes(long remocoes) {
+        this.remocoes = remocoes;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pagamento.dto;
+
+import com.pagamento.entidade.EventoPagamento;
+
+import java.time.LocalDateTime;
+
+public class EventoPagamentoDTO {
+
+    private Long id;
+    private Long pagamentoId;
+    private String tipo;
+    private String metodoPagamento;
+    private String statusAnterior;
+    private String status;
+    private LocalDateTime dataOcorrencia;
+
+    public EventoPagamentoDTO() {}
+
+    public EventoPagamentoDTO(EventoPagamento evento) {
+        this.id = evento.getId();
+        this.pagamentoId = evento.getPagamentoId();
+        this.tipo = evento.getTipo().getValor();
+        this.metodoPagamento = evento.getMetodoPagamento().getValor();
+        this.statusAnterior = evento.getStatusAnterior() != null ? evento.getStatusAnterior().getDescricao() : null;
+        this.status = evento.getStatus().getDescricao();
+        this.dataOcorrencia = evento.getDataOcorrencia();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPagamentoId() {
+        return pagamentoId;
+    }
+
+    public void setPagamentoId(Long pagamentoId) {
+        this.pagamentoId = pagamentoId;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getMetodoPagamento() {
+        return metodoPagamento;
+    }
+
+    public void setMetodoPagamento(String metodoPagamento) {
+        this.metodoPagamento = metodoPagamento;
+    }
+
+    public String getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public void setStatusAnterior(String statusAnterior) {
+        this.statusAnterior = statusAnterior;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDataOcorrencia() {
+        return dataOcorrencia;
+    }
+
+    public void setDataOcorrencia(LocalDateTime dataOcorrencia) {
+        this.dataOcorrencia = dataOcorrencia;
+    }
+}
@@ -0,0 +1,61 @@
+package com.pagamento.dto;
+
+import java.util.List;
+
+public class ItemLoteResponseDTO {
+
+    private int indice;
+    private boolean criado;
+    private PagamentoResponseDTO pagamento;
+    private List<String> erros;
+
+    public ItemLoteResponseDTO() {}
+
+    public ItemLoteResponseDTO(int indice, boolean criado, PagamentoResponseDTO pagamento, List<String> erros) {
+        this.indice = indice;
+        this.criado = criado;
+        this.pagamento = pagamento;
+        this.erros = erros;
+    }
+
+    public static ItemLoteResponseDTO criado(int indice, PagamentoResponseDTO pagamento) {
+        return new ItemLoteResponseDTO(indice, true, pagamento, null);
+    }
+
+    public static ItemLoteResponseDTO rejeitado(int indice, List<String> erros) {
+        return new ItemLoteResponseDTO(indice, false, null, erros);
+    }
+
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public boolean isCriado() {
+        return criado;
+    }
+
+    public void setCriado(boolean criado) {
+        this.criado = criado;
+    }
+
+    public PagamentoResponseDTO getPagamento() {
+        return pagamento;
+    }
+
+    public void setPagamento(PagamentoResponseDTO pagamento) {
+        this.pagamento = pagamento;
+    }
+
+    public List<String> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<String> erros) {
+        this.erros = erros;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pagamento.dto;
+
+import com.pagamento.enums.StatusPagamento;
+
+public class NotificacaoStatusResponseDTO {
+
+    private Long pagamentoId;
+    private String statusAnterior;
+    private String status;
+    private boolean finalizado;
+
+    public NotificacaoStatusResponseDTO() {}
+
+    public NotificacaoStatusResponseDTO(Long pagamentoId, StatusPagamento statusAnterior, StatusPagamento status,
+                                        boolean finalizado) {
+        this.pagamentoId = pagamentoId;
+        this.statusAnterior = statusAnterior != null ? statusAnterior.getDescricao() : null;
+        this.status = status.getDescricao();
+        this.finalizado = finalizado;
+    }
+
+    public Long getPagamentoId() {
+        return pagamentoId;
+    }
+
+    public void setPagamentoId(Long pagamentoId) {
+        this.pagamentoId = pagamentoId;
+    }
+
+    public String getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public void setStatusAnterior(String statusAnterior) {
+        this.statusAnterior = statusAnterior;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public boolean isFinalizado() {
+        return finalizado;
+    }
+
+    public void setFinalizado(boolean finalizado) {
+        this.finalizado = finalizado;
+    }
+}
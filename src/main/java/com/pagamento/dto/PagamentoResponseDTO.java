@@ -1,6 +1,8 @@
 package com.pagamento.dto;
 
 import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -15,19 +17,30 @@ public class PagamentoResponseDTO {
     private String status;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
+    private Long versao;
 
     public PagamentoResponseDTO() {}
 
     public PagamentoResponseDTO(Pagamento pagamento) {
-        this.id = pagamento.getId();
-        this.codigoDebito = pagamento.getCodigoDebito();
-        this.cpfCnpj = pagamento.getCpfCnpj();
-        this.metodoPagamento = pagamento.getMetodoPagamento().getValor();
-        this.numeroCartao = mascaraNumeroCartao(pagamento.getNumeroCartao());
-        this.valorPagamento = pagamento.getValorPagamento();
-        this.status = pagamento.getStatus().getDescricao();
-        this.dataCriacao = pagamento.getDataCriacao();
-        this.dataAtualizacao = pagamento.getDataAtualizacao();
+        this(pagamento.getId(), pagamento.getCodigoDebito(), pagamento.getCpfCnpj(), pagamento.getMetodoPagamento(),
+             pagamento.getNumeroCartao(), pagamento.getValorPagamento(), pagamento.getStatus(),
+             pagamento.getDataCriacao(), pagamento.getDataAtualizacao(), pagamento.getVersao());
+    }
+
+    // Usado pelas consultas de projeção (SELECT new ...), que leem as colunas sem carregar a entidade
+    public PagamentoResponseDTO(Long id, Integer codigoDebito, String cpfCnpj, MetodoPagamento metodoPagamento,
+                                String numeroCartao, BigDecimal valorPagamento, StatusPagamento status,
+                                LocalDateTime dataCriacao, LocalDateTime dataAtualizacao, Long versao) {
+        this.id = id;
+        this.codigoDebito = codigoDebito;
+        this.cpfCnpj = cpfCnpj;
+        this.metodoPagamento = metodoPagamento.getValor();
+        this.numeroCartao = mascaraNumeroCartao(numeroCartao);
+        this.valorPagamento = valorPagamento;
+        this.status = status.getDescricao();
+        this.dataCriacao = dataCriacao;
+        this.dataAtualizacao = dataAtualizacao;
+        this.versao = versao;
     }
 
     private String mascaraNumeroCartao(String numeroCartao) {
@@ -115,4 +128,12 @@ public class PagamentoResponseDTO {
     public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
         this.dataAtualizacao = dataAtualizacao;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
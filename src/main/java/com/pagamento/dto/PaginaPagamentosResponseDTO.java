@@ -0,0 +1,47 @@
+package com.pagamento.dto;
+
+import java.util.List;
+
+public class PaginaPagamentosResponseDTO {
+
+    private List<PagamentoResponseDTO> pagamentos;
+    private int tamanhoPagina;
+    private String proximoCursor;
+
+    public PaginaPagamentosResponseDTO() {}
+
+    public PaginaPagamentosResponseDTO(List<PagamentoResponseDTO> pagamentos, int tamanhoPagina, String proximoCursor) {
+        this.pagamentos = pagamentos;
+        this.tamanhoPagina = tamanhoPagina;
+        this.proximoCursor = proximoCursor;
+    }
+
+
+    public List<PagamentoResponseDTO> getPagamentos() {
+        return pagamentos;
+    }
+
+    public void setPagamentos(List<PagamentoResponseDTO> pagamentos) {
+        this.pagamentos = pagamentos;
+    }
+
+    public int getTamanhoPagina() {
+        return tamanhoPagina;
+    }
+
+    public void setTamanhoPagina(int tamanhoPagina) {
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public boolean isPossuiProximaPagina() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.pagamento.dto;
+
+public class RejeicaoStatusResponseDTO {
+
+    private Long id;
+    private String motivo;
+
+    public RejeicaoStatusResponseDTO() {}
+
+    public RejeicaoStatusResponseDTO(Long id, String motivo) {
+        this.id = id;
+        this.motivo = motivo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public void setMotivo(String motivo) {
+        this.motivo = motivo;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pagamento.dto;
+
+import com.pagamento.enums.AgrupamentoRelatorio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class RelatorioPagamentosResponseDTO {
+
+    private AgrupamentoRelatorio agrupamento;
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private String cpfCnpj;
+    private long quantidadeTotal;
+    private BigDecimal valorTotal;
+    private List<TotalGrupoResponseDTO> grupos;
+
+    public RelatorioPagamentosResponseDTO() {}
+
+    public RelatorioPagamentosResponseDTO(AgrupamentoRelatorio agrupamento, LocalDate dataInicial, LocalDate dataFinal,
+                                          String cpfCnpj, long quantidadeTotal, BigDecimal valorTotal,
+                                          List<TotalGrupoResponseDTO> grupos) {
+        this.agrupamento = agrupamento;
+        this.dataInicial = dataInicial;
+        this.dataFinal = dataFinal;
+        this.cpfCnpj = cpfCnpj;
+        this.quantidadeTotal = quantidadeTotal;
+        this.valorTotal = valorTotal;
+        this.grupos = grupos;
+    }
+
+    public AgrupamentoRelatorio getAgrupamento() {
+        return agrupamento;
+    }
+
+    public void setAgrupamento(AgrupamentoRelatorio agrupamento) {
+        this.agrupamento = agrupamento;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public String getCpfCnpj() {
+        return cpfCnpj;
+    }
+
+    public void setCpfCnpj(String cpfCnpj) {
+        this.cpfCnpj = cpfCnpj;
+    }
+
+    public long getQuantidadeTotal() {
+        return quantidadeTotal;
+    }
+
+    public void setQuantidadeTotal(long quantidadeTotal) {
+        this.quantidadeTotal = quantidadeTotal;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public List<TotalGrupoResponseDTO> getGrupos() {
+        return grupos;
+    }
+
+    public void setGrupos(List<TotalGrupoResponseDTO> grupos) {
+        this.grupos = grupos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.pagamento.dto;
+
+import java.util.List;
+
+public class ResultadoAtualizacaoStatusLoteResponseDTO {
+
+    private String status;
+    private List<Long> atualizados;
+    private List<RejeicaoStatusResponseDTO> rejeitados;
+
+    public ResultadoAtualizacaoStatusLoteResponseDTO() {}
+
+    public ResultadoAtualizacaoStatusLoteResponseDTO(String status, List<Long> atualizados,
+                                                    List<RejeicaoStatusResponseDTO> rejeitados) {
+        this.status = status;
+        this.atualizados = atualizados;
+        this.rejeitados = rejeitados;
+    }
+
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Long> getAtualizados() {
+        return atualizados;
+    }
+
+    public void setAtualizados(List<Long> atualizados) {
+        this.atualizados = atualizados;
+    }
+
+    public List<RejeicaoStatusResponseDTO> getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(List<RejeicaoStatusResponseDTO> rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pagamento.dto;
+
+import java.util.List;
+
+public class ResultadoLoteResponseDTO {
+
+    private int totalRecebido;
+    private int totalCriado;
+    private int totalRejeitado;
+    private List<ItemLoteResponseDTO> itens;
+
+    public ResultadoLoteResponseDTO() {}
+
+    public ResultadoLoteResponseDTO(List<ItemLoteResponseDTO> itens) {
+        this.itens = itens;
+        this.totalRecebido = itens.size();
+        this.totalCriado = (int) itens.stream().filter(ItemLoteResponseDTO::isCriado).count();
+        this.totalRejeitado = totalRecebido - totalCriado;
+    }
+
+
+    public int getTotalRecebido() {
+        return totalRecebido;
+    }
+
+    public void setTotalRecebido(int totalRecebido) {
+        this.totalRecebido = totalRecebido;
+    }
+
+    public int getTotalCriado() {
+        return totalCriado;
+    }
+
+    public void setTotalCriado(int totalCriado) {
+        this.totalCriado = totalCriado;
+    }
+
+    public int getTotalRejeitado() {
+        return totalRejeitado;
+    }
+
+    public void setTotalRejeitado(int totalRejeitado) {
+        this.totalRejeitado = totalRejeitado;
+    }
+
+    public List<ItemLoteResponseDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemLoteResponseDTO> itens) {
+        this.itens = itens;
+    }
+}
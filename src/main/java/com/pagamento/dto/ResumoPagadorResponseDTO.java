@@ -0,0 +1,61 @@
+package com.pagamento.dto;
+
+import com.pagamento.entidade.ResumoPagador;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ResumoPagadorResponseDTO {
+
+    private String cpfCnpj;
+    private BigDecimal saldoAberto;
+    private Long quantidadePendentes;
+    private LocalDateTime dataUltimoPagamento;
+
+    public ResumoPagadorResponseDTO() {}
+
+    public ResumoPagadorResponseDTO(String cpfCnpj, BigDecimal saldoAberto, Long quantidadePendentes,
+                                    LocalDateTime dataUltimoPagamento) {
+        this.cpfCnpj = cpfCnpj;
+        this.saldoAberto = saldoAberto;
+        this.quantidadePendentes = quantidadePendentes;
+        this.dataUltimoPagamento = dataUltimoPagamento;
+    }
+
+    public ResumoPagadorResponseDTO(ResumoPagador resumo) {
+        this(resumo.getCpfCnpj(), resumo.getSaldoAberto(), resumo.getQuantidadePendentes(),
+             resumo.getDataUltimoPagamento());
+    }
+
+    public String getCpfCnpj() {
+        return cpfCnpj;
+    }
+
+    public void setCpfCnpj(String cpfCnpj) {
+        this.cpfCnpj = cpfCnpj;
+    }
+
+    public BigDecimal getSaldoAberto() {
+        return saldoAberto;
+    }
+
+    public void setSaldoAberto(BigDecimal saldoAberto) {
+        this.saldoAberto = saldoAberto;
+    }
+
+    public Long getQuantidadePendentes() {
+        return quantidadePendentes;
+    }
+
+    public void setQuantidadePendentes(Long quantidadePendentes) {
+        this.quantidadePendentes = quantidadePendentes;
+    }
+
+    public LocalDateTime getDataUltimoPagamento() {
+        return dataUltimoPagamento;
+    }
+
+    public void setDataUltimoPagamento(LocalDateTime dataUltimoPagamento) {
+        this.dataUltimoPagamento = dataUltimoPagamento;
+    }
+}
@@ -0,0 +1,187 @@
+package com.pagamento.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+// PagamentoResponseDTO é o objeto mais serializado da API (listagens, buscas, exportação, v2). Em vez do
+// BeanSerializer (introspecção e um acessor por propriedade) e do LocalDateTimeSerializer (DateTimeFormatter
+// a cada data), os campos são escritos em ordem fixa, com nomes e valores de status/método já codificados em
+// UTF-8. A saída é byte a byte a mesma do ObjectMapper padrão da aplicação
+public final class SerializadorPagamentoResponseDTO extends StdSerializer<PagamentoResponseDTO>
+        implements ContextualSerializer {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CODIGO_DEBITO = new SerializedString("codigoDebito");
+    private static final SerializableString CPF_CNPJ = new SerializedString("cpfCnpj");
+    private static final SerializableString METODO_PAGAMENTO = new SerializedString("metodoPagamento");
+    private static final SerializableString NUMERO_CARTAO = new SerializedString("numeroCartao");
+    private static final SerializableString VALOR_PAGAMENTO = new SerializedString("valorPagamento");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString DATA_CRIACAO = new SerializedString("dataCriacao");
+    private static final SerializableString DATA_ATUALIZACAO = new SerializedString("dataAtualizacao");
+    private static final SerializableString VERSAO = new SerializedString("versao");
+
+    // O DTO guarda a descrição do enum; a busca aqui troca a codificação da string pela cópia dos bytes prontos
+    private static final Map<String, SerializableString> VALORES_CODIFICADOS = new HashMap<>();
+
+    static {
+        for (StatusPagamento status : StatusPagamento.values()) {
+            VALORES_CODIFICADOS.put(status.getDescricao(), new SerializedString(status.getDescricao()));
+        }
+        for (MetodoPagamento metodo : MetodoPagamento.values()) {
+            VALORES_CODIFICADOS.put(metodo.getValor(), new SerializedString(metodo.getValor()));
+        }
+    }
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int TAMANHO_MAXIMO_DATA = 29;
+
+    private final JsonSerializer<Object> serializadorValor;
+
+    public SerializadorPagamentoResponseDTO() {
+        this(null);
+    }
+
+    private SerializadorPagamentoResponseDTO(JsonSerializer<Object> serializadorValor) {
+        super(PagamentoResponseDTO.class);
+        this.serializadorValor = serializadorValor;
+    }
+
+    // O valor segue o serializador de BigDecimal do ObjectMapper (resolvido uma vez por mapper): no Protobuf ele
+    // é texto, para o decimal não passar por double
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provedor, BeanProperty propriedade)
+            throws JsonMappingException {
+        return new SerializadorPagamentoResponseDTO(provedor.findValueSerializer(BigDecimal.class));
+    }
+
+    @Override
+    public void serialize(PagamentoResponseDTO pagamento, JsonGenerator gerador, SerializerProvider provedor)
+            throws IOException {
+        gerador.writeStartObject(pagamento);
+
+        gerador.writeFieldName(ID);
+        escreverNumero(gerador, pagamento.getId());
+        gerador.writeFieldName(CODIGO_DEBITO);
+        Integer codigoDebito = pagamento.getCodigoDebito();
+        if (codigoDebito == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeNumber(codigoDebito);
+        }
+        gerador.writeFieldName(CPF_CNPJ);
+        gerador.writeString(pagamento.getCpfCnpj());
+        gerador.writeFieldName(METODO_PAGAMENTO);
+        escreverValorConhecido(gerador, pagamento.getMetodoPagamento());
+        gerador.writeFieldName(NUMERO_CARTAO);
+        gerador.writeString(pagamento.getNumeroCartao());
+        gerador.writeFieldName(VALOR_PAGAMENTO);
+        BigDecimal valor = pagamento.getValorPagamento();
+        if (valor == null) {
+            gerador.writeNull();
+        } else if (serializadorValor != null) {
+            serializadorValor.serialize(valor, gerador, provedor);
+        } else {
+            gerador.writeNumber(valor);
+        }
+        gerador.writeFieldName(STATUS);
+        escreverValorConhecido(gerador, pagamento.getStatus());
+        gerador.writeFieldName(DATA_CRIACAO);
+        escreverData(gerador, pagamento.getDataCriacao());
+        gerador.writeFieldName(DATA_ATUALIZACAO);
+        escreverData(gerador, pagamento.getDataAtualizacao());
+        gerador.writeFieldName(VERSAO);
+        escreverNumero(gerador, pagamento.getVersao());
+
+        gerador.writeEndObject();
+    }
+
+    private static void escreverNumero(JsonGenerator gerador, Long numero) throws IOException {
+        if (numero == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeNumber(numero);
+        }
+    }
+
+    private static void escreverValorConhecido(JsonGenerator gerador, String valor) throws IOException {
+        SerializableString codificado = valor != null ? VALORES_CODIFICADOS.get(valor) : null;
+        if (codificado != null) {
+            gerador.writeString(codificado);
+        } else {
+            gerador.writeString(valor);
+        }
+    }
+
+    private static void escreverData(JsonGenerator gerador, LocalDateTime data) throws IOException {
+        if (data == null) {
+            gerador.writeNull();
+            return;
+        }
+
+        char[] texto = new char[TAMANHO_MAXIMO_DATA];
+        int tamanho = formatarData(data, texto);
+        if (tamanho < 0) {
+            gerador.writeString(data.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else {
+            gerador.writeString(texto, 0, tamanho);
+        }
+    }
+
+    // Mesmo texto de DateTimeFormatter.ISO_LOCAL_DATE_TIME: segundos sempre presentes e fração sem zeros à
+    // direita. Anos fora de 0000-9999 (que levam sinal) ficam com o formatador; retorna -1 nesse caso
+    static int formatarData(LocalDateTime data, char[] destino) {
+        int ano = data.getYear();
+        if (ano < 0 || ano > 9999) {
+            return -1;
+        }
+
+        int posicao = escreverDigitos(destino, 0, ano, 4);
+        destino[posicao++] = '-';
+        posicao = escreverDigitos(destino, posicao, data.getMonthValue(), 2);
+        destino[posicao++] = '-';
+        posicao = escreverDigitos(destino, posicao, data.getDayOfMonth(), 2);
+        destino[posicao++] = 'T';
+        posicao = escreverDigitos(destino, posicao, data.getHour(), 2);
+        destino[posicao++] = ':';
+        posicao = escreverDigitos(destino, posicao, data.getMinute(), 2);
+        destino[posicao++] = ':';
+        posicao = escreverDigitos(destino, posicao, data.getSecond(), 2);
+
+        int nano = data.getNano();
+        if (nano > 0) {
+            int digitos = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digitos--;
+            }
+            destino[posicao++] = '.';
+            posicao = escreverDigitos(destino, posicao, nano, digitos);
+        }
+        return posicao;
+    }
+
+    private static int escreverDigitos(char[] destino, int inicio, int valor, int digitos) {
+        for (int i = inicio + digitos - 1; i >= inicio; i--) {
+            destino[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return inicio + digitos;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pagamento.dto;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+
+import java.math.BigDecimal;
+
+public class TotalGrupoResponseDTO {
+
+    private String grupo;
+    private long quantidade;
+    private BigDecimal valorTotal;
+
+    public TotalGrupoResponseDTO() {}
+
+    // Construído direto pela consulta agrupada: o grupo chega como status, método ou dia, conforme o agrupamento
+    public TotalGrupoResponseDTO(Object grupo, Long quantidade, BigDecimal valorTotal) {
+        if (grupo instanceof StatusPagamento) {
+            this.grupo = ((StatusPagamento) grupo).getDescricao();
+        } else if (grupo instanceof MetodoPagamento) {
+            this.grupo = ((MetodoPagamento) grupo).getValor();
+        } else {
+            this.grupo = String.valueOf(grupo);
+        }
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public void setGrupo(String grupo) {
+        this.grupo = grupo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pagamento.dto;
+
+import java.util.List;
+
+public class TransicoesPagamentoResponseDTO {
+
+    private Long id;
+    private String statusAtual;
+    private List<String> proximosStatus;
+
+    public TransicoesPagamentoResponseDTO() {}
+
+    public TransicoesPagamentoResponseDTO(Long id, String statusAtual, List<String> proximosStatus) {
+        this.id = id;
+        this.statusAtual = statusAtual;
+        this.proximosStatus = proximosStatus;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatusAtual() {
+        return statusAtual;
+    }
+
+    public void setStatusAtual(String statusAtual) {
+        this.statusAtual = statusAtual;
+    }
+
+    public List<String> getProximosStatus() {
+        return proximosStatus;
+    }
+
+    public void setProximosStatus(List<String> proximosStatus) {
+        this.proximosStatus = proximosStatus;
+    }
+}
@@ -0,0 +1,40 @@
+package com.pagamento.dto;
+
+public class VerificacaoResumosResponseDTO {
+
+    private Integer verificados;
+    private Integer divergentes;
+    private Integer reparados;
+
+    public VerificacaoResumosResponseDTO() {}
+
+    public VerificacaoResumosResponseDTO(Integer verificados, Integer divergentes, Integer reparados) {
+        this.verificados = verificados;
+        this.divergentes = divergentes;
+        this.reparados = reparados;
+    }
+
+    public Integer getVerificados() {
+        return verificados;
+    }
+
+    public void setVerificados(Integer verificados) {
+        this.verificados = verificados;
+    }
+
+    public Integer getDivergentes() {
+        return divergentes;
+    }
+
+    public void setDivergentes(Integer divergentes) {
+        this.divergentes = divergentes;
+    }
+
+    public Integer getReparados() {
+        return reparados;
+    }
+
+    public void setReparados(Integer reparados) {
+        this.reparados = reparados;
+    }
+}
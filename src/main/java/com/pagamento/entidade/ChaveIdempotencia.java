@@ -0,0 +1,102 @@
+package com.pagamento.entidade;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_data_criacao", columnList = "data_criacao")
+})
+public class ChaveIdempotencia implements Persistable<String> {
+
+    @Id
+    @Column(name = "chave", length = 255)
+    private String chave;
+
+    @NotNull
+    @Column(name = "impressao_digital", length = 64)
+    private String impressaoDigital;
+
+    @Column(name = "pagamento_id")
+    private Long pagamentoId;
+
+    @NotNull
+    @Column(name = "resposta", length = 4000)
+    private String resposta;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Transient
+    private boolean nova = true;
+
+    public ChaveIdempotencia() {}
+
+    public ChaveIdempotencia(String chave, String impressaoDigital, Long pagamentoId, String resposta) {
+        this.chave = chave;
+        this.impressaoDigital = impressaoDigital;
+        this.pagamentoId = pagamentoId;
+        this.resposta = resposta;
+        this.dataCriacao = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoExistente() {
+        this.nova = false;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    // Getters e Setters
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getImpressaoDigital() {
+        return impressaoDigital;
+    }
+
+    public void setImpressaoDigital(String impressaoDigital) {
+        this.impressaoDigital = impressaoDigital;
+    }
+
+    public Long getPagamentoId() {
+        return pagamentoId;
+    }
+
+    public void setPagamentoId(Long pagamentoId) {
+        this.pagamentoId = pagamentoId;
+    }
+
+    public String getResposta() {
+        return resposta;
+    }
+
+    public void setResposta(String resposta) {
+        this.resposta = resposta;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+}
@@ -0,0 +1,116 @@
+package com.pagamento.entidade;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.enums.TipoEventoPagamento;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+// Caixa de saída (outbox): gravada na mesma transação da mudança do pagamento e esvaziada pelo RetransmissorEventos
+@Entity
+@Table(name = "payment_outbox")
+public class EventoPagamento {
+
+    // Sem blocos de ids (allocationSize 1): o id é obtido depois do bloqueio da linha do pagamento, então dois
+    // eventos do mesmo pagamento ficam sempre em ordem de id, mesmo com a v2 e outros nós gravando na mesma tabela
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_outbox_seq")
+    @SequenceGenerator(name = "payment_outbox_seq", sequenceName = "payment_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @NotNull
+    @Column(name = "pagamento_id")
+    private Long pagamentoId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo")
+    private TipoEventoPagamento tipo;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metodo_pagamento")
+    private MetodoPagamento metodoPagamento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_anterior")
+    private StatusPagamento statusAnterior;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private StatusPagamento status;
+
+    @Column(name = "data_ocorrencia")
+    private LocalDateTime dataOcorrencia;
+
+    public EventoPagamento() {}
+
+    public EventoPagamento(Long pagamentoId, TipoEventoPagamento tipo, MetodoPagamento metodoPagamento,
+                           StatusPagamento statusAnterior, StatusPagamento status) {
+        this.pagamentoId = pagamentoId;
+        this.tipo = tipo;
+        this.metodoPagamento = metodoPagamento;
+        this.statusAnterior = statusAnterior;
+        this.status = status;
+        this.dataOcorrencia = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPagamentoId() {
+        return pagamentoId;
+    }
+
+    public void setPagamentoId(Long pagamentoId) {
+        this.pagamentoId = pagamentoId;
+    }
+
+    public TipoEventoPagamento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEventoPagamento tipo) {
+        this.tipo = tipo;
+    }
+
+    public MetodoPagamento getMetodoPagamento() {
+        return metodoPagamento;
+    }
+
+    public void setMetodoPagamento(MetodoPagamento metodoPagamento) {
+        this.metodoPagamento = metodoPagamento;
+    }
+
+    public StatusPagamento getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public void setStatusAnterior(StatusPagamento statusAnterior) {
+        this.statusAnterior = statusAnterior;
+    }
+
+    public StatusPagamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPagamento status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDataOcorrencia() {
+        return dataOcorrencia;
+    }
+
+    public void setDataOcorrencia(LocalDateTime dataOcorrencia) {
+        this.dataOcorrencia = dataOcorrencia;
+    }
+}
@@ -10,11 +10,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_ativo_cpf_cnpj", columnList = "ativo, cpf_cnpj, data_criacao"),
+    @Index(name = "idx_payments_ativo_codigo_debito", columnList = "ativo, codigo_debito"),
+    @Index(name = "idx_payments_ativo_status", columnList = "ativo, status"),
+    // Cobre os relatórios por período: agrupamento e soma leem só o índice, sem ir às linhas da tabela
+    @Index(name = "idx_payments_ativo_data_criacao",
+           columnList = "ativo, data_criacao, status, metodo_pagamento, valor_pagamento")
+})
 public class Pagamento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -52,6 +60,17 @@ public class Pagamento {
     @Column(name = "ativo")
     private Boolean ativo = true;
 
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
+    // Reivindicação do motor de processamento: identifica o lote que detém o pagamento e até quando
+    @Column(name = "reivindicado_por", length = 36)
+    private String reivindicadoPor;
+
+    @Column(name = "reivindicado_em")
+    private LocalDateTime reivindicadoEm;
+
     public Pagamento() {
         this.status = StatusPagamento.PENDENTE_PROCESSAMENTO;
         this.dataCriacao = LocalDateTime.now();
@@ -156,4 +175,28 @@ public class Pagamento {
         this.ativo = ativo;
         this.dataAtualizacao = LocalDateTime.now();
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public String getReivindicadoPor() {
+        return reivindicadoPor;
+    }
+
+    public void setReivindicadoPor(String reivindicadoPor) {
+        this.reivindicadoPor = reivindicadoPor;
+    }
+
+    public LocalDateTime getReivindicadoEm() {
+        return reivindicadoEm;
+    }
+
+    public void setReivindicadoEm(LocalDateTime reivindicadoEm) {
+        this.reivindicadoEm = reivindicadoEm;
+    }
 }
@@ -0,0 +1,155 @@
+package com.pagamento.entidade;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Mapeamento R2DBC da tabela payments usado pela API v2; o esquema continua sendo o da entidade JPA Pagamento
+@Table("payments")
+public class RegistroPagamento {
+
+    @Id
+    private Long id;
+
+    @Column("codigo_debito")
+    private Integer codigoDebito;
+
+    @Column("cpf_cnpj")
+    private String cpfCnpj;
+
+    @Column("metodo_pagamento")
+    private MetodoPagamento metodoPagamento;
+
+    @Column("numero_cartao")
+    private String numeroCartao;
+
+    @Column("valor_pagamento")
+    private BigDecimal valorPagamento;
+
+    @Column("status")
+    private StatusPagamento status;
+
+    @Column("data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column("data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column("ativo")
+    private Boolean ativo;
+
+    @Version
+    @Column("versao")
+    private Long versao;
+
+    public RegistroPagamento() {
+    }
+
+    public RegistroPagamento(Long id, Integer codigoDebito, String cpfCnpj, MetodoPagamento metodoPagamento,
+                             String numeroCartao, BigDecimal valorPagamento) {
+        this.id = id;
+        this.codigoDebito = codigoDebito;
+        this.cpfCnpj = cpfCnpj;
+        this.metodoPagamento = metodoPagamento;
+        this.numeroCartao = numeroCartao;
+        this.valorPagamento = valorPagamento;
+        this.status = StatusPagamento.PENDENTE_PROCESSAMENTO;
+        this.dataCriacao = LocalDateTime.now();
+        this.dataAtualizacao = this.dataCriacao;
+        this.ativo = true;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getCodigoDebito() {
+        return codigoDebito;
+    }
+
+    public void setCodigoDebito(Integer codigoDebito) {
+        this.codigoDebito = codigoDebito;
+    }
+
+    public String getCpfCnpj() {
+        return cpfCnpj;
+    }
+
+    public void setCpfCnpj(String cpfCnpj) {
+        this.cpfCnpj = cpfCnpj;
+    }
+
+    public MetodoPagamento getMetodoPagamento() {
+        return metodoPagamento;
+    }
+
+    public void setMetodoPagamento(MetodoPagamento metodoPagamento) {
+        this.metodoPagamento = metodoPagamento;
+    }
+
+    public String getNumeroCartao() {
+        return numeroCartao;
+    }
+
+    public void setNumeroCartao(String numeroCartao) {
+        this.numeroCartao = numeroCartao;
+    }
+
+    public BigDecimal getValorPagamento() {
+        return valorPagamento;
+    }
+
+    public void setValorPagamento(BigDecimal valorPagamento) {
+        this.valorPagamento = valorPagamento;
+    }
+
+    public StatusPagamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPagamento status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Boolean getAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+}
@@ -0,0 +1,63 @@
+package com.pagamento.entidade;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Mantido por variações na mesma transação de cada mudança de pagamento (ResumosPagadores), nunca recalculado
+// na leitura; a verificação periódica compara com a tabela payments e corrige divergências
+@Entity
+@Table(name = "payer_summaries")
+public class ResumoPagador {
+
+    @Id
+    @Column(name = "cpf_cnpj", length = 14)
+    private String cpfCnpj;
+
+    @Column(name = "saldo_aberto", precision = 19, scale = 2, nullable = false)
+    private BigDecimal saldoAberto = BigDecimal.ZERO;
+
+    @Column(name = "quantidade_pendentes", nullable = false)
+    private long quantidadePendentes;
+
+    @Column(name = "data_ultimo_pagamento")
+    private LocalDateTime dataUltimoPagamento;
+
+    public ResumoPagador() {
+    }
+
+    public String getCpfCnpj() {
+        return cpfCnpj;
+    }
+
+    public void setCpfCnpj(String cpfCnpj) {
+        this.cpfCnpj = cpfCnpj;
+    }
+
+    public BigDecimal getSaldoAberto() {
+        return saldoAberto;
+    }
+
+    public void setSaldoAberto(BigDecimal saldoAberto) {
+        this.saldoAberto = saldoAberto;
+    }
+
+    public long getQuantidadePendentes() {
+        return quantidadePendentes;
+    }
+
+    public void setQuantidadePendentes(long quantidadePendentes) {
+        this.quantidadePendentes = quantidadePendentes;
+    }
+
+    public LocalDateTime getDataUltimoPagamento() {
+        return dataUltimoPagamento;
+    }
+
+    public void setDataUltimoPagamento(LocalDateTime dataUltimoPagamento) {
+        this.dataUltimoPagamento = dataUltimoPagamento;
+    }
+}
@@ -0,0 +1,20 @@
+package com.pagamento.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum AgrupamentoRelatorio {
+    STATUS("status"),
+    METODO("metodo"),
+    DIA("dia");
+
+    private final String valor;
+
+    AgrupamentoRelatorio(String valor) {
+        this.valor = valor;
+    }
+
+    @JsonValue
+    public String getValor() {
+        return valor;
+    }
+}
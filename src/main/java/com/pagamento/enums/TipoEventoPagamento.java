@@ -0,0 +1,20 @@
+package com.pagamento.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TipoEventoPagamento {
+    CRIADO("pagamento_criado"),
+    STATUS_ATUALIZADO("status_atualizado"),
+    EXCLUIDO("pagamento_excluido");
+
+    private final String valor;
+
+    TipoEventoPagamento(String valor) {
+        this.valor = valor;
+    }
+
+    @JsonValue
+    public String getValor() {
+        return valor;
+    }
+}
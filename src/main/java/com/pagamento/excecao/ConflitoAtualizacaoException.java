@@ -0,0 +1,8 @@
+package com.pagamento.excecao;
+
+public class ConflitoAtualizacaoException extends RuntimeException {
+    
+    public ConflitoAtualizacaoException(String mensagem) {
+        super(mensagem);
+    }
+}
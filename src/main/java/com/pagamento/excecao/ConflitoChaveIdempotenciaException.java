@@ -0,0 +1,8 @@
+package com.pagamento.excecao;
+
+public class ConflitoChaveIdempotenciaException extends RuntimeException {
+    
+    public ConflitoChaveIdempotenciaException(String mensagem) {
+        super(mensagem);
+    }
+}
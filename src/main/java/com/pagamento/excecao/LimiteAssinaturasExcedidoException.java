@@ -0,0 +1,8 @@
+package com.pagamento.excecao;
+
+public class LimiteAssinaturasExcedidoException extends RuntimeException {
+    
+    public LimiteAssinaturasExcedidoException(int limite) {
+        super("Limite de " + limite + " assinaturas de status atingido neste nó; tente novamente mais tarde");
+    }
+}
@@ -0,0 +1,15 @@
+package com.pagamento.excecao;
+
+public class LimiteRequisicoesExcedidoException extends RuntimeException {
+
+    private final long segundosEspera;
+
+    public LimiteRequisicoesExcedidoException(String chave, long segundosEspera) {
+        super("Limite de requisições excedido para o " + chave + "; tente novamente em " + segundosEspera + " s");
+        this.segundosEspera = segundosEspera;
+    }
+
+    public long getSegundosEspera() {
+        return segundosEspera;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pagamento.excecao;
+
+public class RequisicaoEmAndamentoException extends RuntimeException {
+    
+    public RequisicaoEmAndamentoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,6 +1,8 @@
 package com.pagamento.excecao;
 
 import com.pagamento.dto.ErroResponseDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -60,6 +62,95 @@ public class TratadorGlobalExcecoes {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erro);
     }
 
+    @ExceptionHandler(ConflitoChaveIdempotenciaException.class)
+    public ResponseEntity<ErroResponseDTO> tratarConflitoChaveIdempotenciaException(
+            ConflitoChaveIdempotenciaException ex, WebRequest request) {
+        
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.UNPROCESSABLE_ENTITY.value(),
+            "Unprocessable Entity",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(erro);
+    }
+
+    @ExceptionHandler(RequisicaoEmAndamentoException.class)
+    public ResponseEntity<ErroResponseDTO> tratarRequisicaoEmAndamentoException(
+            RequisicaoEmAndamentoException ex, WebRequest request) {
+        
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+    }
+
+    @ExceptionHandler(VersaoPagamentoDivergenteException.class)
+    public ResponseEntity<ErroResponseDTO> tratarVersaoPagamentoDivergenteException(
+            VersaoPagamentoDivergenteException ex, WebRequest request) {
+        
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(erro);
+    }
+
+    @ExceptionHandler({ConflitoAtualizacaoException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErroResponseDTO> tratarConflitoAtualizacaoException(
+            RuntimeException ex, WebRequest request) {
+        
+        String mensagem = ex instanceof ConflitoAtualizacaoException
+            ? ex.getMessage()
+            : "Pagamento foi alterado concorrentemente; tente novamente";
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            mensagem,
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+    }
+
+    @ExceptionHandler(LimiteAssinaturasExcedidoException.class)
+    public ResponseEntity<ErroResponseDTO> tratarLimiteAssinaturasExcedidoException(
+            LimiteAssinaturasExcedidoException ex, WebRequest request) {
+        
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(erro);
+    }
+
+    @ExceptionHandler(LimiteRequisicoesExcedidoException.class)
+    public ResponseEntity<ErroResponseDTO> tratarLimiteRequisicoesExcedidoException(
+            LimiteRequisicoesExcedidoException ex, WebRequest request) {
+        
+        ErroResponseDTO erro = new ErroResponseDTO(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosEspera()))
+                .body(erro);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErroResponseDTO> tratarExcecaoValidacao(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,12 @@
+package com.pagamento.excecao;
+
+public class VersaoPagamentoDivergenteException extends RuntimeException {
+    
+    public VersaoPagamentoDivergenteException(String mensagem) {
+        super(mensagem);
+    }
+    
+    public VersaoPagamentoDivergenteException(Long id, Long versaoEsperada, Long versaoAtual) {
+        super("Pagamento com ID " + id + " está na versão " + versaoAtual + ", mas a versão informada foi " + versaoEsperada);
+    }
+}
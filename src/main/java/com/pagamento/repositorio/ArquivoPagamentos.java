@@ -0,0 +1,116 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.configuracao.PropriedadesArquivamento;
+import com.pagamento.entidade.Pagamento;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Camada fria dos pagamentos: segmentos só de acréscimo, cada um gravado inteiro em um arquivo temporário e
+// publicado por rename atômico, então um segmento visível nunca está pela metade
+@Repository
+public class ArquivoPagamentos {
+
+    private static final String PREFIXO = "segmento-";
+    private static final String EXTENSAO = ".seg";
+
+    private final Path diretorio;
+    private final int registrosPorBloco;
+
+    // Mais recente primeiro; substituída inteira a cada segmento novo para a leitura não precisar de bloqueio
+    private volatile List<SegmentoArquivo> segmentos;
+    private long proximoSegmento;
+
+    public ArquivoPagamentos(PropriedadesArquivamento propriedades) {
+        this.diretorio = Paths.get(propriedades.getDiretorio());
+        this.registrosPorBloco = propriedades.getRegistrosPorBloco();
+        this.segmentos = abrirSegmentos();
+    }
+
+    public synchronized void gravar(List<Pagamento> pagamentos) {
+        if (pagamentos.isEmpty()) {
+            return;
+        }
+
+        List<Pagamento> ordenados = pagamentos.stream()
+                .sorted(Comparator.comparing(Pagamento::getId))
+                .collect(Collectors.toList());
+        try {
+            Files.createDirectories(diretorio);
+            Path destino = diretorio.resolve(String.format("%s%012d%s", PREFIXO, proximoSegmento, EXTENSAO));
+            Path temporario = diretorio.resolve(destino.getFileName() + ".tmp");
+            Files.deleteIfExists(temporario);
+            SegmentoArquivo.escrever(temporario, ordenados, registrosPorBloco);
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+
+            List<SegmentoArquivo> atualizados = new ArrayList<>(segmentos.size() + 1);
+            atualizados.add(SegmentoArquivo.abrir(destino));
+            atualizados.addAll(segmentos);
+            segmentos = Collections.unmodifiableList(atualizados);
+            proximoSegmento++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar segmento em " + diretorio, ex);
+        }
+    }
+
+    // Um pagamento só aparece em mais de um segmento se o arquivamento caiu entre gravar e remover da tabela;
+    // as cópias são iguais, então basta a primeira encontrada
+    public Optional<Pagamento> buscar(Long id) {
+        for (SegmentoArquivo segmento : segmentos) {
+            Optional<Pagamento> pagamento = segmento.buscar(id);
+            if (pagamento.isPresent()) {
+                return pagamento;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Pagamento> buscarAtivo(Long id) {
+        return buscar(id).filter(pagamento -> Boolean.TRUE.equals(pagamento.getAtivo()));
+    }
+
+    public int getTotalSegmentos() {
+        return segmentos.size();
+    }
+
+    
+    private List<SegmentoArquivo> abrirSegmentos() {
+        if (!Files.isDirectory(diretorio)) {
+            return Collections.emptyList();
+        }
+
+        List<Path> caminhos = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + EXTENSAO)) {
+            arquivos.forEach(caminhos::add);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao listar segmentos em " + diretorio, ex);
+        }
+        caminhos.sort(Comparator.comparing(Path::getFileName).reversed());
+
+        List<SegmentoArquivo> abertos = new ArrayList<>(caminhos.size());
+        for (Path caminho : caminhos) {
+            abertos.add(SegmentoArquivo.abrir(caminho));
+        }
+        if (!caminhos.isEmpty()) {
+            proximoSegmento = numero(caminhos.get(0)) + 1;
+        }
+        return Collections.unmodifiableList(abertos);
+    }
+
+    private long numero(Path caminho) {
+        String nome = caminho.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - EXTENSAO.length()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class EspecificacoesPagamento {
+
+    private EspecificacoesPagamento() {}
+
+    public static Specification<Pagamento> ativos() {
+        return (raiz, consulta, criteria) -> criteria.isTrue(raiz.get("ativo"));
+    }
+
+    public static Specification<Pagamento> comCodigoDebito(Integer codigoDebito) {
+        if (codigoDebito == null) {
+            return null;
+        }
+        return (raiz, consulta, criteria) -> criteria.equal(raiz.get("codigoDebito"), codigoDebito);
+    }
+
+    public static Specification<Pagamento> comCpfCnpj(String cpfCnpj) {
+        if (cpfCnpj == null) {
+            return null;
+        }
+        return (raiz, consulta, criteria) -> criteria.equal(raiz.get("cpfCnpj"), cpfCnpj);
+    }
+
+    public static Specification<Pagamento> comStatus(StatusPagamento status) {
+        if (status == null) {
+            return null;
+        }
+        return (raiz, consulta, criteria) -> criteria.equal(raiz.get("status"), status);
+    }
+
+    public static Specification<Pagamento> criadosAPartirDe(LocalDateTime inicio) {
+        if (inicio == null) {
+            return null;
+        }
+        return (raiz, consulta, criteria) -> criteria.greaterThanOrEqualTo(raiz.get("dataCriacao"), inicio);
+    }
+
+    public static Specification<Pagamento> criadosAntesDe(LocalDateTime fim) {
+        if (fim == null) {
+            return null;
+        }
+        return (raiz, consulta, criteria) -> criteria.lessThan(raiz.get("dataCriacao"), fim);
+    }
+
+    public static Specification<Pagamento> comIdApos(long ultimoId) {
+        return (raiz, consulta, criteria) -> criteria.greaterThan(raiz.get("id"), ultimoId);
+    }
+
+    // Filtros ausentes não geram predicado, para que o banco escolha o índice do filtro informado
+    public static Specification<Pagamento> ativosComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status) {
+        return Specification.where(ativos())
+                .and(comCodigoDebito(codigoDebito))
+                .and(comCpfCnpj(cpfCnpj))
+                .and(comStatus(status));
+    }
+
+    public static Specification<Pagamento> ativosNoPeriodo(String cpfCnpj, LocalDateTime inicio, LocalDateTime fim) {
+        return Specification.where(ativos())
+                .and(comCpfCnpj(cpfCnpj))
+                .and(criadosAPartirDe(inicio))
+                .and(criadosAntesDe(fim));
+    }
+}
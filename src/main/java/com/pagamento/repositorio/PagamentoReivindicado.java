@@ -0,0 +1,20 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.enums.MetodoPagamento;
+
+import java.math.BigDecimal;
+
+public interface PagamentoReivindicado {
+
+    Long getId();
+
+    Integer getCodigoDebito();
+
+    String getCpfCnpj();
+
+    MetodoPagamento getMetodoPagamento();
+
+    String getNumeroCartao();
+
+    BigDecimal getValorPagamento();
+}
@@ -0,0 +1,21 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RepositorioChaveIdempotencia extends JpaRepository<ChaveIdempotencia, String> {
+
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.dataCriacao < :limite")
+    int removerCriadasAntesDe(@Param("limite") LocalDateTime limite);
+}
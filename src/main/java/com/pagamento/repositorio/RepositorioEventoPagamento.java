@@ -0,0 +1,20 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.EventoPagamento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface RepositorioEventoPagamento extends JpaRepository<EventoPagamento, Long> {
+
+    // O bloqueio faz um segundo retransmissor (outro nó) esperar este lote ser removido em vez de publicá-lo de novo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EventoPagamento e ORDER BY e.id")
+    List<EventoPagamento> bloquearProximos(Pageable limite);
+}
@@ -1,17 +1,41 @@
 package com.pagamento.repositorio;
 
+import com.pagamento.dto.PagamentoResponseDTO;
 import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
 import com.pagamento.enums.StatusPagamento;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RepositorioPagamento extends JpaRepository<Pagamento, Long> {
+public interface RepositorioPagamento extends JpaRepository<Pagamento, Long>, RepositorioPagamentoCustomizado {
+
+    String SELECAO_RESPOSTA = "SELECT new com.pagamento.dto.PagamentoResponseDTO(p.id, p.codigoDebito, p.cpfCnpj, " +
+            "p.metodoPagamento, p.numeroCartao, p.valorPagamento, p.status, p.dataCriacao, p.dataAtualizacao, p.versao) ";
+
+    String SELECAO_SITUACAO = "SELECT p.id AS id, p.status AS status, p.metodoPagamento AS metodoPagamento, " +
+            "p.versao AS versao, p.cpfCnpj AS cpfCnpj, p.valorPagamento AS valorPagamento ";
+
+    // Saldo em aberto: tudo que ainda não foi pago com sucesso; último pagamento: a confirmação mais recente
+    String SELECAO_RESUMO = "SELECT p.cpfCnpj AS cpfCnpj, " +
+            "SUM(CASE WHEN p.status <> com.pagamento.enums.StatusPagamento.PROCESSADO_SUCESSO " +
+            "THEN p.valorPagamento ELSE 0 END) AS saldoAberto, " +
+            "SUM(CASE WHEN p.status = com.pagamento.enums.StatusPagamento.PENDENTE_PROCESSAMENTO " +
+            "THEN 1 ELSE 0 END) AS quantidadePendentes, " +
+            "MAX(CASE WHEN p.status = com.pagamento.enums.StatusPagamento.PROCESSADO_SUCESSO " +
+            "THEN p.dataAtualizacao END) AS dataUltimoPagamento ";
 
     
     List<Pagamento> findByAtivoTrue();
@@ -20,13 +44,122 @@ public interface RepositorioPagamento extends JpaRepository<Pagamento, Long> {
     Optional<Pagamento> findByIdAndAtivoTrue(Long id);
 
     
-    @Query("SELECT p FROM Pagamento p WHERE p.ativo = true " +
-           "AND (:codigoDebito IS NULL OR p.codigoDebito = :codigoDebito) " +
-           "AND (:cpfCnpj IS NULL OR p.cpfCnpj = :cpfCnpj) " +
-           "AND (:status IS NULL OR p.status = :status)")
-    List<Pagamento> encontrarComFiltros(@Param("codigoDebito") Integer codigoDebito,
-                                       @Param("cpfCnpj") String cpfCnpj,
-                                       @Param("status") StatusPagamento status);
+    @Query(SELECAO_RESPOSTA + "FROM Pagamento p WHERE p.ativo = true AND p.id > :ultimoId ORDER BY p.id")
+    List<PagamentoResponseDTO> buscarPaginaAtivos(@Param("ultimoId") Long ultimoId, Pageable limite);
+
+    
+    @Query(SELECAO_RESPOSTA + "FROM Pagamento p WHERE p.id = :id AND p.ativo = true")
+    Optional<PagamentoResponseDTO> buscarRespostaAtivaPorId(@Param("id") Long id);
+
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECAO_SITUACAO +
+           "FROM Pagamento p WHERE p.id IN :ids AND p.status IN :statusPermitidos AND p.ativo = true")
+    List<SituacaoPagamento> bloquearCandidatosParaTransicao(@Param("ids") Collection<Long> ids,
+                                                            @Param("statusPermitidos") Collection<StatusPagamento> statusPermitidos);
+
+    
+    @Modifying
+    @Query("UPDATE Pagamento p SET p.status = :novoStatus, p.dataAtualizacao = :dataAtualizacao, " +
+           "p.versao = p.versao + 1 WHERE p.id IN :ids AND p.status IN :statusPermitidos AND p.ativo = true")
+    int atualizarStatusEmLote(@Param("ids") Collection<Long> ids,
+                              @Param("statusPermitidos") Collection<StatusPagamento> statusPermitidos,
+                              @Param("novoStatus") StatusPagamento novoStatus,
+                              @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    
+    @Query(SELECAO_SITUACAO +
+           "FROM Pagamento p WHERE p.id IN :ids AND p.ativo = true")
+    List<SituacaoPagamento> buscarSituacaoAtivos(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECAO_SITUACAO +
+           "FROM Pagamento p WHERE p.id = :id AND p.ativo = true")
+    Optional<SituacaoPagamento> buscarSituacaoAtivo(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pagamento p SET p.status = :novoStatus, p.dataAtualizacao = :dataAtualizacao, " +
+           "p.versao = p.versao + 1 WHERE p.id = :id AND p.status = :statusAtual " +
+           "AND p.versao = :versaoAtual AND p.ativo = true")
+    int compararEAtualizarStatus(@Param("id") Long id,
+                                 @Param("statusAtual") StatusPagamento statusAtual,
+                                 @Param("versaoAtual") Long versaoAtual,
+                                 @Param("novoStatus") StatusPagamento novoStatus,
+                                 @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Query("SELECT p.id FROM Pagamento p WHERE p.status = :status AND p.ativo = true " +
+           "AND p.metodoPagamento IN :metodos AND (p.reivindicadoEm IS NULL OR p.reivindicadoEm < :expiracao) " +
+           "ORDER BY p.id")
+    List<Long> buscarDisponiveisParaProcessamento(@Param("status") StatusPagamento status,
+                                                  @Param("metodos") Collection<MetodoPagamento> metodos,
+                                                  @Param("expiracao") LocalDateTime expiracao,
+                                                  Pageable limite);
+
+    // A condição é reavaliada na escrita: entre dois nós que escolheram os mesmos candidatos, só um grava sua marca
+    @Transactional
+    @Modifying
+    @Query("UPDATE Pagamento p SET p.reivindicadoPor = :marca, p.reivindicadoEm = :agora " +
+           "WHERE p.id IN :ids AND p.status = :status AND p.ativo = true " +
+           "AND (p.reivindicadoEm IS NULL OR p.reivindicadoEm < :expiracao)")
+    int reivindicar(@Param("ids") Collection<Long> ids,
+                    @Param("status") StatusPagamento status,
+                    @Param("marca") String marca,
+                    @Param("agora") LocalDateTime agora,
+                    @Param("expiracao") LocalDateTime expiracao);
+
+    @Query("SELECT p.id AS id, p.codigoDebito AS codigoDebito, p.cpfCnpj AS cpfCnpj, " +
+           "p.metodoPagamento AS metodoPagamento, p.numeroCartao AS numeroCartao, p.valorPagamento AS valorPagamento " +
+           "FROM Pagamento p WHERE p.reivindicadoPor = :marca ORDER BY p.id")
+    List<PagamentoReivindicado> buscarReivindicados(@Param("marca") String marca);
+
+    // Trava as linhas do lote que ainda estão no status da reivindicação: uma mudança feita por outro caminho
+    // enquanto o lote processava (PUT de status, lote, v2) já gerou seu evento e fica de fora da conclusão
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECAO_SITUACAO +
+           "FROM Pagamento p WHERE p.id IN :ids AND p.reivindicadoPor = :marca AND p.status = :statusAtual " +
+           "AND p.ativo = true ORDER BY p.id")
+    List<SituacaoPagamento> bloquearReivindicadosPendentes(@Param("ids") Collection<Long> ids,
+                                                           @Param("marca") String marca,
+                                                           @Param("statusAtual") StatusPagamento statusAtual);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pagamento p SET p.status = :novoStatus, p.dataAtualizacao = :dataAtualizacao, " +
+           "p.versao = p.versao + 1 " +
+           "WHERE p.id IN :ids AND p.reivindicadoPor = :marca AND p.status = :statusAtual AND p.ativo = true")
+    int concluirProcessamento(@Param("ids") Collection<Long> ids,
+                              @Param("marca") String marca,
+                              @Param("statusAtual") StatusPagamento statusAtual,
+                              @Param("novoStatus") StatusPagamento novoStatus,
+                              @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Modifying
+    @Query("UPDATE Pagamento p SET p.reivindicadoPor = NULL, p.reivindicadoEm = NULL " +
+           "WHERE p.id IN :ids AND p.reivindicadoPor = :marca")
+    int liberarReivindicacao(@Param("ids") Collection<Long> ids, @Param("marca") String marca);
+
+    long countByStatusAndAtivoTrue(StatusPagamento status);
+
+    // Só a coluna de versão, para responder a If-None-Match sem montar o pagamento
+    @Query("SELECT p.versao FROM Pagamento p WHERE p.id = :id AND p.ativo = true")
+    Optional<Long> buscarVersaoAtiva(@Param("id") Long id);
+
+    // Candidatos ao arquivamento: excluídos e liquidados há mais que a retenção. Com transições configuráveis um
+    // liquidado ainda pode mudar de status, então a remoção confere a versão lida aqui
+    @Query("SELECT p FROM Pagamento p WHERE p.ativo = false " +
+           "OR (p.ativo = true AND p.status = :statusLiquidado AND p.dataAtualizacao < :limite) ORDER BY p.id")
+    List<Pagamento> buscarArquivaveis(@Param("statusLiquidado") StatusPagamento statusLiquidado,
+                                      @Param("limite") LocalDateTime limite,
+                                      Pageable lote);
+
+    @Modifying
+    @Query("DELETE FROM Pagamento p WHERE p.id = :id AND p.versao = :versaoArquivada")
+    int removerArquivado(@Param("id") Long id, @Param("versaoArquivada") Long versaoArquivada);
+
+    // Recalcula do zero os resumos mantidos por variação em payer_summaries; usado só na verificação
+    @Query(SELECAO_RESUMO + "FROM Pagamento p WHERE p.ativo = true GROUP BY p.cpfCnpj")
+    List<ResumoCalculado> calcularResumos();
+
+    @Query(SELECAO_RESUMO + "FROM Pagamento p WHERE p.ativo = true AND p.cpfCnpj = :cpfCnpj GROUP BY p.cpfCnpj")
+    Optional<ResumoCalculado> calcularResumo(@Param("cpfCnpj") String cpfCnpj);
 
     
     List<Pagamento> findByCodigoDebitoAndAtivoTrue(Integer codigoDebito);
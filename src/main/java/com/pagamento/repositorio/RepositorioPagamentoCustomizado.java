@@ -0,0 +1,24 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.enums.StatusPagamento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface RepositorioPagamentoCustomizado {
+
+    
+    List<PagamentoResponseDTO> buscarPaginaComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status,
+                                                     long ultimoId, int limite);
+
+    
+    Stream<PagamentoResponseDTO> transmitirComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status);
+
+    
+    List<TotalGrupoResponseDTO> totalizar(AgrupamentoRelatorio agrupamento, String cpfCnpj,
+                                          LocalDateTime inicio, LocalDateTime fim);
+}
@@ -0,0 +1,113 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.enums.StatusPagamento;
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+class RepositorioPagamentoCustomizadoImpl implements RepositorioPagamentoCustomizado {
+
+    private static final int TAMANHO_LOTE_LEITURA = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PagamentoResponseDTO> buscarPaginaComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status,
+                                                            long ultimoId, int limite) {
+        Specification<Pagamento> especificacao = EspecificacoesPagamento
+                .ativosComFiltros(codigoDebito, cpfCnpj, status)
+                .and(EspecificacoesPagamento.comIdApos(ultimoId));
+
+        return criarConsultaOrdenadaPorId(especificacao)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    // O H2 só transmite o resultado com LAZY_QUERY_EXECUTION. A opção vale para a sessão, então é ligada só na
+    // conexão da exportação e desligada ao fechar o fluxo, antes de a conexão voltar ao pool
+    @Override
+    public Stream<PagamentoResponseDTO> transmitirComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status) {
+        Session sessao = entityManager.unwrap(Session.class);
+        definirExecucaoPreguicosa(sessao, true);
+        try {
+            return criarConsultaOrdenadaPorId(EspecificacoesPagamento.ativosComFiltros(codigoDebito, cpfCnpj, status))
+                    .setHint(HINT_FETCH_SIZE, TAMANHO_LOTE_LEITURA)
+                    .getResultStream()
+                    .onClose(() -> definirExecucaoPreguicosa(sessao, false));
+        } catch (RuntimeException ex) {
+            definirExecucaoPreguicosa(sessao, false);
+            throw ex;
+        }
+    }
+
+    private static void definirExecucaoPreguicosa(Session sessao, boolean habilitada) {
+        sessao.doWork(conexao -> {
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("SET LAZY_QUERY_EXECUTION " + (habilitada ? "TRUE" : "FALSE"));
+            }
+        });
+    }
+
+    // Agrega no banco: só uma linha por grupo sai da consulta, e o índice (ativo, data_criacao, status,
+    // metodo_pagamento, valor_pagamento) cobre todas as colunas lidas quando não há filtro de CPF/CNPJ
+    @Override
+    public List<TotalGrupoResponseDTO> totalizar(AgrupamentoRelatorio agrupamento, String cpfCnpj,
+                                                 LocalDateTime inicio, LocalDateTime fim) {
+        CriteriaBuilder criteria = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TotalGrupoResponseDTO> consulta = criteria.createQuery(TotalGrupoResponseDTO.class);
+        Root<Pagamento> raiz = consulta.from(Pagamento.class);
+        Expression<?> grupo = expressaoAgrupamento(agrupamento, raiz);
+
+        consulta.select(criteria.construct(TotalGrupoResponseDTO.class,
+                        grupo, criteria.count(raiz), criteria.sum(raiz.<BigDecimal>get("valorPagamento"))))
+                .where(EspecificacoesPagamento.ativosNoPeriodo(cpfCnpj, inicio, fim).toPredicate(raiz, consulta, criteria))
+                .groupBy(grupo)
+                .orderBy(criteria.asc(grupo));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    private Expression<?> expressaoAgrupamento(AgrupamentoRelatorio agrupamento, Root<Pagamento> raiz) {
+        switch (agrupamento) {
+            case STATUS:
+                return raiz.get("status");
+            case METODO:
+                return raiz.get("metodoPagamento");
+            default:
+                return raiz.get("dataCriacao").as(LocalDate.class);
+        }
+    }
+
+    private TypedQuery<PagamentoResponseDTO> criarConsultaOrdenadaPorId(Specification<Pagamento> especificacao) {
+        CriteriaBuilder criteria = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PagamentoResponseDTO> consulta = criteria.createQuery(PagamentoResponseDTO.class);
+        Root<Pagamento> raiz = consulta.from(Pagamento.class);
+
+        consulta.select(criteria.construct(PagamentoResponseDTO.class,
+                        raiz.get("id"), raiz.get("codigoDebito"), raiz.get("cpfCnpj"), raiz.get("metodoPagamento"),
+                        raiz.get("numeroCartao"), raiz.get("valorPagamento"), raiz.get("status"),
+                        raiz.get("dataCriacao"), raiz.get("dataAtualizacao"), raiz.get("versao")))
+                .where(especificacao.toPredicate(raiz, consulta, criteria))
+                .orderBy(criteria.asc(raiz.get("id")));
+        return entityManager.createQuery(consulta);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.RegistroPagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface RepositorioPagamentoReativo extends R2dbcRepository<RegistroPagamento, Long>,
+        RepositorioPagamentoReativoCustomizado {
+
+    // Cada valor da sequência reserva um bloco de 50 ids para o Hibernate (pooled-lo); a v2 usa só o primeiro
+    @Query("SELECT NEXT VALUE FOR payments_seq")
+    Mono<Long> proximoId();
+
+    Mono<RegistroPagamento> findByIdAndAtivoTrue(Long id);
+
+    @Query("SELECT versao FROM payments WHERE id = :id AND ativo = TRUE")
+    Mono<Long> buscarVersaoAtiva(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE payments SET status = :novoStatus, data_atualizacao = :dataAtualizacao, versao = versao + 1 " +
+           "WHERE id = :id AND status = :statusAtual AND versao = :versaoAtual AND ativo = TRUE")
+    Mono<Integer> compararEAtualizarStatus(@Param("id") Long id,
+                                           @Param("statusAtual") StatusPagamento statusAtual,
+                                           @Param("versaoAtual") Long versaoAtual,
+                                           @Param("novoStatus") StatusPagamento novoStatus,
+                                           @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Modifying
+    @Query("UPDATE payments SET ativo = FALSE, data_atualizacao = :dataAtualizacao, versao = versao + 1 " +
+           "WHERE id = :id AND status = :statusAtual AND versao = :versaoAtual AND ativo = TRUE")
+    Mono<Integer> compararEDesativar(@Param("id") Long id,
+                                     @Param("statusAtual") StatusPagamento statusAtual,
+                                     @Param("versaoAtual") Long versaoAtual,
+                                     @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Caixa de saída (EventoPagamento): mesma sequência sem blocos usada pela v1, gravada na transação da mudança
+    @Modifying
+    @Query("INSERT INTO payment_outbox (id, pagamento_id, tipo, metodo_pagamento, status_anterior, status, " +
+           "data_ocorrencia) VALUES (NEXT VALUE FOR payment_outbox_seq, :pagamentoId, 'CRIADO', :metodo, NULL, " +
+           ":status, :dataOcorrencia)")
+    Mono<Integer> registrarCriacao(@Param("pagamentoId") Long pagamentoId,
+                                   @Param("metodo") MetodoPagamento metodo,
+                                   @Param("status") StatusPagamento status,
+                                   @Param("dataOcorrencia") LocalDateTime dataOcorrencia);
+
+    @Modifying
+    @Query("INSERT INTO payment_outbox (id, pagamento_id, tipo, metodo_pagamento, status_anterior, status, " +
+           "data_ocorrencia) VALUES (NEXT VALUE FOR payment_outbox_seq, :pagamentoId, 'STATUS_ATUALIZADO', " +
+           ":metodo, :statusAnterior, :status, :dataOcorrencia)")
+    Mono<Integer> registrarTransicao(@Param("pagamentoId") Long pagamentoId,
+                                     @Param("metodo") MetodoPagamento metodo,
+                                     @Param("statusAnterior") StatusPagamento statusAnterior,
+                                     @Param("status") StatusPagamento status,
+                                     @Param("dataOcorrencia") LocalDateTime dataOcorrencia);
+
+    @Modifying
+    @Query("INSERT INTO payment_outbox (id, pagamento_id, tipo, metodo_pagamento, status_anterior, status, " +
+           "data_ocorrencia) VALUES (NEXT VALUE FOR payment_outbox_seq, :pagamentoId, 'EXCLUIDO', :metodo, NULL, " +
+           ":status, :dataOcorrencia)")
+    Mono<Integer> registrarExclusao(@Param("pagamentoId") Long pagamentoId,
+                                    @Param("metodo") MetodoPagamento metodo,
+                                    @Param("status") StatusPagamento status,
+                                    @Param("dataOcorrencia") LocalDateTime dataOcorrencia);
+
+    // Resumo por pagador (ResumoPagador): as mesmas variações da v1, somadas pelo banco na transação da mudança
+    @Modifying
+    @Query("UPDATE payer_summaries SET saldo_aberto = saldo_aberto + :variacaoSaldo, " +
+           "quantidade_pendentes = quantidade_pendentes + :variacaoPendentes WHERE cpf_cnpj = :cpfCnpj")
+    Mono<Integer> aplicarVariacaoResumo(@Param("cpfCnpj") String cpfCnpj,
+                                        @Param("variacaoSaldo") BigDecimal variacaoSaldo,
+                                        @Param("variacaoPendentes") long variacaoPendentes);
+
+    @Modifying
+    @Query("INSERT INTO payer_summaries (cpf_cnpj, saldo_aberto, quantidade_pendentes) SELECT :cpfCnpj, 0, 0 " +
+           "WHERE NOT EXISTS (SELECT 1 FROM payer_summaries WHERE cpf_cnpj = :cpfCnpj)")
+    Mono<Integer> criarResumoSeAusente(@Param("cpfCnpj") String cpfCnpj);
+
+    @Modifying
+    @Query("UPDATE payer_summaries SET data_ultimo_pagamento = :dataPagamento WHERE cpf_cnpj = :cpfCnpj " +
+           "AND (data_ultimo_pagamento IS NULL OR data_ultimo_pagamento < :dataPagamento)")
+    Mono<Integer> registrarPagamentoResumo(@Param("cpfCnpj") String cpfCnpj,
+                                           @Param("dataPagamento") LocalDateTime dataPagamento);
+}
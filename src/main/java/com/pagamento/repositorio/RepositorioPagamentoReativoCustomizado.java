@@ -0,0 +1,11 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.RegistroPagamento;
+import com.pagamento.enums.StatusPagamento;
+import reactor.core.publisher.Flux;
+
+public interface RepositorioPagamentoReativoCustomizado {
+
+    
+    Flux<RegistroPagamento> transmitirComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status);
+}
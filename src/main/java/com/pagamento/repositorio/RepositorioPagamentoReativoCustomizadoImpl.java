@@ -0,0 +1,34 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.RegistroPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+class RepositorioPagamentoReativoCustomizadoImpl implements RepositorioPagamentoReativoCustomizado {
+
+    private final R2dbcEntityOperations operacoes;
+
+    RepositorioPagamentoReativoCustomizadoImpl(R2dbcEntityOperations operacoes) {
+        this.operacoes = operacoes;
+    }
+
+    @Override
+    public Flux<RegistroPagamento> transmitirComFiltros(Integer codigoDebito, String cpfCnpj, StatusPagamento status) {
+        // Mesmo critério de EspecificacoesPagamento: filtros ausentes não geram predicado
+        Criteria criterio = Criteria.where("ativo").isTrue();
+        if (codigoDebito != null) {
+            criterio = criterio.and("codigoDebito").is(codigoDebito);
+        }
+        if (cpfCnpj != null) {
+            criterio = criterio.and("cpfCnpj").is(cpfCnpj);
+        }
+        if (status != null) {
+            criterio = criterio.and("status").is(status);
+        }
+        return operacoes.select(Query.query(criterio).sort(Sort.by("id")), RegistroPagamento.class);
+    }
+}
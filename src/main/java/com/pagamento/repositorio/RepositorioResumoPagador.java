@@ -0,0 +1,36 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.ResumoPagador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RepositorioResumoPagador extends JpaRepository<ResumoPagador, String> {
+
+    // Variação aplicada pelo banco sobre o valor atual: duas transações do mesmo pagador se enfileiram na linha
+    // e nenhuma sobrescreve a outra
+    @Modifying
+    @Query("UPDATE ResumoPagador r SET r.saldoAberto = r.saldoAberto + :variacaoSaldo, " +
+           "r.quantidadePendentes = r.quantidadePendentes + :variacaoPendentes WHERE r.cpfCnpj = :cpfCnpj")
+    int aplicarVariacao(@Param("cpfCnpj") String cpfCnpj,
+                        @Param("variacaoSaldo") BigDecimal variacaoSaldo,
+                        @Param("variacaoPendentes") long variacaoPendentes);
+
+    @Modifying
+    @Query("UPDATE ResumoPagador r SET r.dataUltimoPagamento = :dataPagamento WHERE r.cpfCnpj = :cpfCnpj " +
+           "AND (r.dataUltimoPagamento IS NULL OR r.dataUltimoPagamento < :dataPagamento)")
+    int registrarPagamento(@Param("cpfCnpj") String cpfCnpj, @Param("dataPagamento") LocalDateTime dataPagamento);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ResumoPagador r WHERE r.cpfCnpj = :cpfCnpj")
+    Optional<ResumoPagador> bloquear(@Param("cpfCnpj") String cpfCnpj);
+}
@@ -0,0 +1,15 @@
+package com.pagamento.repositorio;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ResumoCalculado {
+
+    String getCpfCnpj();
+
+    BigDecimal getSaldoAberto();
+
+    Long getQuantidadePendentes();
+
+    LocalDateTime getDataUltimoPagamento();
+}
@@ -0,0 +1,232 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Segmento imutável do arquivo de pagamentos, ordenado por id:
+//   [bloco comprimido]... [índice: (primeiroId, ultimoId, posição, tamanho, tamanhoOriginal, registros) por bloco]
+//   [quantidade de blocos][MAGICO]
+// Só o índice esparso fica no heap; os blocos são lidos do mapeamento em memória e descomprimidos sob demanda
+final class SegmentoArquivo {
+
+    static final int MAGICO = 0x50414731;
+
+    private static final int TAMANHO_ENTRADA_INDICE = 8 + 8 + 8 + 4 + 4 + 4;
+    private static final int TAMANHO_RODAPE = 4 + 4;
+
+    private final Path caminho;
+    private final MappedByteBuffer mapa;
+    private final long[] primeirosIds;
+    private final long[] ultimosIds;
+    private final long[] posicoes;
+    private final int[] tamanhos;
+    private final int[] tamanhosOriginais;
+    private final int[] registros;
+
+    private SegmentoArquivo(Path caminho, MappedByteBuffer mapa, int blocos) {
+        this.caminho = caminho;
+        this.mapa = mapa;
+        this.primeirosIds = new long[blocos];
+        this.ultimosIds = new long[blocos];
+        this.posicoes = new long[blocos];
+        this.tamanhos = new int[blocos];
+        this.tamanhosOriginais = new int[blocos];
+        this.registros = new int[blocos];
+    }
+
+    static void escrever(Path destino, List<Pagamento> ordenadosPorId, int registrosPorBloco) {
+        int porBloco = Math.max(1, registrosPorBloco);
+        int blocos = (ordenadosPorId.size() + porBloco - 1) / porBloco;
+        ByteBuffer indice = ByteBuffer.allocate(blocos * TAMANHO_ENTRADA_INDICE + TAMANHO_RODAPE);
+        Deflater compressor = new Deflater();
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long posicao = 0;
+            for (int inicio = 0; inicio < ordenadosPorId.size(); inicio += porBloco) {
+                List<Pagamento> bloco = ordenadosPorId.subList(inicio, Math.min(inicio + porBloco, ordenadosPorId.size()));
+                byte[] original = serializar(bloco);
+                byte[] comprimido = comprimir(compressor, original);
+                escreverTudo(canal, ByteBuffer.wrap(comprimido));
+
+                indice.putLong(bloco.get(0).getId())
+                      .putLong(bloco.get(bloco.size() - 1).getId())
+                      .putLong(posicao)
+                      .putInt(comprimido.length)
+                      .putInt(original.length)
+                      .putInt(bloco.size());
+                posicao += comprimido.length;
+            }
+            indice.putInt(blocos).putInt(MAGICO).flip();
+            escreverTudo(canal, indice);
+            canal.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar o segmento " + destino, ex);
+        } finally {
+            compressor.end();
+        }
+    }
+
+    static SegmentoArquivo abrir(Path caminho) {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int tamanho = mapa.capacity();
+            if (tamanho < TAMANHO_RODAPE || mapa.getInt(tamanho - 4) != MAGICO) {
+                throw new IllegalStateException("Segmento de arquivo inválido: " + caminho);
+            }
+
+            int blocos = mapa.getInt(tamanho - TAMANHO_RODAPE);
+            SegmentoArquivo segmento = new SegmentoArquivo(caminho, mapa, blocos);
+            int entrada = tamanho - TAMANHO_RODAPE - blocos * TAMANHO_ENTRADA_INDICE;
+            for (int bloco = 0; bloco < blocos; bloco++, entrada += TAMANHO_ENTRADA_INDICE) {
+                segmento.primeirosIds[bloco] = mapa.getLong(entrada);
+                segmento.ultimosIds[bloco] = mapa.getLong(entrada + 8);
+                segmento.posicoes[bloco] = mapa.getLong(entrada + 16);
+                segmento.tamanhos[bloco] = mapa.getInt(entrada + 24);
+                segmento.tamanhosOriginais[bloco] = mapa.getInt(entrada + 28);
+                segmento.registros[bloco] = mapa.getInt(entrada + 32);
+            }
+            return segmento;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao abrir o segmento " + caminho, ex);
+        }
+    }
+
+    
+    Optional<Pagamento> buscar(long id) {
+        if (primeirosIds.length == 0 || id < primeirosIds[0] || id > ultimosIds[ultimosIds.length - 1]) {
+            return Optional.empty();
+        }
+
+        // Último bloco que começa em um id menor ou igual ao procurado
+        int posicao = Arrays.binarySearch(primeirosIds, id);
+        int bloco = posicao >= 0 ? posicao : -posicao - 2;
+        if (bloco < 0 || id > ultimosIds[bloco]) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(descomprimir(bloco)))) {
+            for (int registro = 0; registro < registros[bloco]; registro++) {
+                Pagamento pagamento = ler(entrada);
+                if (pagamento.getId() == id) {
+                    return Optional.of(pagamento);
+                }
+                if (pagamento.getId() > id) {
+                    break;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao ler o segmento " + caminho, ex);
+        }
+    }
+
+    Path getCaminho() {
+        return caminho;
+    }
+
+    private byte[] descomprimir(int bloco) {
+        ByteBuffer comprimido = mapa.duplicate();
+        comprimido.position((int) posicoes[bloco]).limit((int) posicoes[bloco] + tamanhos[bloco]);
+        byte[] original = new byte[tamanhosOriginais[bloco]];
+        Inflater descompressor = new Inflater();
+        try {
+            descompressor.setInput(comprimido);
+            int lidos = 0;
+            while (lidos < original.length && !descompressor.finished()) {
+                lidos += descompressor.inflate(original, lidos, original.length - lidos);
+            }
+            return original;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Bloco corrompido no segmento " + caminho, ex);
+        } finally {
+            descompressor.end();
+        }
+    }
+
+    private static byte[] comprimir(Deflater compressor, byte[] original) {
+        compressor.reset();
+        compressor.setInput(original);
+        compressor.finish();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, original.length / 2));
+        byte[] buffer = new byte[8192];
+        while (!compressor.finished()) {
+            saida.write(buffer, 0, compressor.deflate(buffer));
+        }
+        return saida.toByteArray();
+    }
+
+    private static byte[] serializar(List<Pagamento> bloco) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            for (Pagamento pagamento : bloco) {
+                saida.writeLong(pagamento.getId());
+                saida.writeInt(pagamento.getCodigoDebito());
+                saida.writeUTF(pagamento.getCpfCnpj());
+                saida.writeUTF(pagamento.getMetodoPagamento().name());
+                escreverOpcional(saida, pagamento.getNumeroCartao());
+                saida.writeUTF(pagamento.getValorPagamento().toPlainString());
+                saida.writeUTF(pagamento.getStatus().name());
+                saida.writeBoolean(Boolean.TRUE.equals(pagamento.getAtivo()));
+                escreverOpcional(saida, pagamento.getDataCriacao() != null ? pagamento.getDataCriacao().toString() : null);
+                escreverOpcional(saida, pagamento.getDataAtualizacao() != null ? pagamento.getDataAtualizacao().toString() : null);
+                saida.writeLong(pagamento.getVersao() != null ? pagamento.getVersao() : 0L);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Pagamento ler(DataInputStream entrada) throws IOException {
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(entrada.readLong());
+        pagamento.setCodigoDebito(entrada.readInt());
+        pagamento.setCpfCnpj(entrada.readUTF());
+        pagamento.setMetodoPagamento(MetodoPagamento.valueOf(entrada.readUTF()));
+        pagamento.setNumeroCartao(lerOpcional(entrada));
+        pagamento.setValorPagamento(new BigDecimal(entrada.readUTF()));
+        pagamento.setStatus(StatusPagamento.valueOf(entrada.readUTF()));
+        pagamento.setAtivo(entrada.readBoolean());
+        String dataCriacao = lerOpcional(entrada);
+        pagamento.setDataCriacao(dataCriacao != null ? LocalDateTime.parse(dataCriacao) : null);
+        String dataAtualizacao = lerOpcional(entrada);
+        pagamento.setDataAtualizacao(dataAtualizacao != null ? LocalDateTime.parse(dataAtualizacao) : null);
+        pagamento.setVersao(entrada.readLong());
+        return pagamento;
+    }
+
+    private static void escreverOpcional(DataOutputStream saida, String valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeUTF(valor);
+        }
+    }
+
+    private static String lerOpcional(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer dados) throws IOException {
+        while (dados.hasRemaining()) {
+            canal.write(dados);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+
+import java.math.BigDecimal;
+
+public interface SituacaoPagamento {
+
+    Long getId();
+
+    StatusPagamento getStatus();
+
+    MetodoPagamento getMetodoPagamento();
+
+    Long getVersao();
+
+    String getCpfCnpj();
+
+    BigDecimal getValorPagamento();
+}
@@ -0,0 +1,82 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesArquivamento;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.ArquivoPagamentos;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class ArquivadorPagamentos {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivadorPagamentos.class);
+
+    private final RepositorioPagamento repositorioPagamento;
+    private final ArquivoPagamentos arquivo;
+    private final PropriedadesArquivamento propriedades;
+    private final MetricasPagamento metricas;
+    private final TransactionTemplate transacao;
+
+    public ArquivadorPagamentos(RepositorioPagamento repositorioPagamento, ArquivoPagamentos arquivo,
+                                PropriedadesArquivamento propriedades, MetricasPagamento metricas,
+                                PlatformTransactionManager gerenciadorTransacao) {
+        this.repositorioPagamento = repositorioPagamento;
+        this.arquivo = arquivo;
+        this.propriedades = propriedades;
+        this.metricas = metricas;
+        this.transacao = new TransactionTemplate(gerenciadorTransacao);
+        metricas.monitorarArquivo(arquivo::getTotalSegmentos);
+    }
+
+    @Scheduled(fixedDelayString = "${pagamento.arquivamento.intervalo:PT10M}")
+    public void arquivarPeriodicamente() {
+        if (!propriedades.isHabilitado()) {
+            return;
+        }
+
+        try {
+            while (arquivarLote() >= Math.max(1, propriedades.getTamanhoLote())) {
+                log.debug("Ainda há pagamentos a arquivar; gravando o próximo segmento");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao arquivar pagamentos; o lote continua na tabela e será tentado no próximo ciclo", ex);
+        }
+    }
+
+    // Cada linha só sai da tabela se ainda estiver na versão lida: uma alteração concorrente (por exemplo uma
+    // transição configurada a partir de PROCESSADO_SUCESSO) a mantém na tabela. O segmento recebe apenas as
+    // linhas removidas e é gravado na mesma transação: se a gravação falhar a remoção é desfeita
+    public int arquivarLote() {
+        LocalDateTime limite = LocalDateTime.now().minus(propriedades.getRetencao());
+        Integer arquivados = transacao.execute(status -> {
+            List<Pagamento> lote = repositorioPagamento.buscarArquivaveis(StatusPagamento.PROCESSADO_SUCESSO, limite,
+                    PageRequest.of(0, Math.max(1, propriedades.getTamanhoLote())));
+            List<Pagamento> removidos = new ArrayList<>(lote.size());
+            for (Pagamento pagamento : lote) {
+                if (repositorioPagamento.removerArquivado(pagamento.getId(), pagamento.getVersao()) > 0) {
+                    removidos.add(pagamento);
+                }
+            }
+            if (removidos.isEmpty()) {
+                return 0;
+            }
+
+            arquivo.gravar(removidos);
+            return removidos.size();
+        });
+
+        metricas.registrarArquivados(arquivados);
+        return arquivados;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pagamento.servico;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Baldes de tokens no formato GCRA: cada chave guarda só o instante teórico da próxima chegada (TAT) em um
+// AtomicLong, atualizado por CAS. O mapa é um cache Caffeine limitado em chaves: leituras não travam e o
+// registro de acessos vai para buffers distribuídos entre threads, então não há trava global no caminho de uma
+// requisição. Uma chave expira depois de ficar inativa o bastante para o balde estar cheio de novo
+public class BaldesTokens {
+
+    private final Cache<String, AtomicLong> baldes;
+    private final Ticker relogio;
+
+    public BaldesTokens(long maximoChaves, Duration inatividade, Ticker relogio) {
+        this.relogio = relogio;
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterAccess(inatividade)
+                .ticker(relogio)
+                .recordStats()
+                .build();
+    }
+
+    // intervalo: nanos entre dois tokens; tolerancia: intervalo * (capacidade - 1).
+    // Retorna 0 se o token foi consumido ou, se não, os nanos até haver um disponível
+    public long consumir(String chave, long intervalo, long tolerancia) {
+        return consumir(chave, intervalo, tolerancia, 1);
+    }
+
+    // Consome quantidade tokens de uma vez, ou nenhum; quantidade acima da capacidade nunca é admitida
+    public long consumir(String chave, long intervalo, long tolerancia, int quantidade) {
+        long agora = relogio.read();
+        AtomicLong chegadaTeorica = baldes.get(chave, k -> new AtomicLong(agora));
+
+        while (true) {
+            long atual = chegadaTeorica.get();
+            long base = atual - agora > 0 ? atual : agora;
+            long adiantamento = base - agora + intervalo * (quantidade - 1);
+            if (adiantamento > tolerancia) {
+                return adiantamento - tolerancia;
+            }
+            if (chegadaTeorica.compareAndSet(atual, base + intervalo * quantidade)) {
+                return 0;
+            }
+        }
+    }
+
+    public Cache<String, AtomicLong> getBaldes() {
+        return baldes;
+    }
+}
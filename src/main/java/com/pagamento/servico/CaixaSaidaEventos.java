@@ -0,0 +1,50 @@
+package com.pagamento.servico;
+
+import com.pagamento.entidade.EventoPagamento;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.enums.TipoEventoPagamento;
+import com.pagamento.repositorio.RepositorioEventoPagamento;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// MANDATORY: o evento só existe se a mudança do pagamento for confirmada, e vice-versa.
+// As assinaturas SSE de status são avisadas pelo mesmo caminho, depois do commit
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class CaixaSaidaEventos {
+
+    private final RepositorioEventoPagamento repositorioEvento;
+    private final NotificadorStatusPagamento notificador;
+
+    public CaixaSaidaEventos(RepositorioEventoPagamento repositorioEvento, NotificadorStatusPagamento notificador) {
+        this.repositorioEvento = repositorioEvento;
+        this.notificador = notificador;
+    }
+
+    public void registrarCriacao(Collection<Pagamento> pagamentos) {
+        List<EventoPagamento> eventos = new ArrayList<>(pagamentos.size());
+        for (Pagamento pagamento : pagamentos) {
+            eventos.add(new EventoPagamento(pagamento.getId(), TipoEventoPagamento.CRIADO,
+                    pagamento.getMetodoPagamento(), null, pagamento.getStatus()));
+        }
+        repositorioEvento.saveAll(eventos);
+    }
+
+    public void registrarTransicao(Long pagamentoId, MetodoPagamento metodo, StatusPagamento de, StatusPagamento para) {
+        repositorioEvento.save(new EventoPagamento(pagamentoId, TipoEventoPagamento.STATUS_ATUALIZADO, metodo, de, para));
+        notificador.notificarTransicaoAposCommit(pagamentoId, metodo, de, para);
+    }
+
+    public void registrarExclusao(Pagamento pagamento) {
+        repositorioEvento.save(new EventoPagamento(pagamento.getId(), TipoEventoPagamento.EXCLUIDO,
+                pagamento.getMetodoPagamento(), null, pagamento.getStatus()));
+        notificador.notificarExclusaoAposCommit(pagamento.getId(), pagamento.getStatus());
+    }
+}
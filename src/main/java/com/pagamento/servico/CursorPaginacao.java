@@ -0,0 +1,41 @@
+package com.pagamento.servico;
+
+import com.pagamento.excecao.PagamentoInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class CursorPaginacao {
+
+    private static final String PREFIXO = "id:";
+
+    static final long INICIO = 0L;
+
+    private CursorPaginacao() {}
+
+    static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIXO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodificar(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return INICIO;
+        }
+
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(PREFIXO)) {
+                throw new PagamentoInvalidoException("Cursor de paginação inválido");
+            }
+            long ultimoId = Long.parseLong(conteudo.substring(PREFIXO.length()));
+            if (ultimoId < INICIO) {
+                throw new PagamentoInvalidoException("Cursor de paginação inválido");
+            }
+            return ultimoId;
+        } catch (IllegalArgumentException ex) {
+            throw new PagamentoInvalidoException("Cursor de paginação inválido");
+        }
+    }
+}
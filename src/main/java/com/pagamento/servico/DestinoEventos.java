@@ -0,0 +1,12 @@
+package com.pagamento.servico;
+
+import com.pagamento.dto.EventoPagamentoDTO;
+
+import java.util.List;
+
+public interface DestinoEventos {
+
+    // Deve publicar na ordem recebida e só retornar depois que o destino confirmou o lote inteiro;
+    // uma exceção mantém o lote na caixa de saída e ele é reenviado (entrega ao menos uma vez)
+    void publicar(List<EventoPagamentoDTO> eventos);
+}
@@ -0,0 +1,53 @@
+package com.pagamento.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.configuracao.PropriedadesOutbox;
+import com.pagamento.dto.EventoPagamentoDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Um evento JSON por linha (NDJSON), acrescentado ao arquivo; o lote só é confirmado depois do fsync
+@Component
+@ConditionalOnProperty(prefix = "pagamento.outbox", name = "destino", havingValue = "arquivo")
+public class DestinoEventosArquivo implements DestinoEventos {
+
+    private final ObjectMapper objectMapper;
+    private final Path arquivo;
+
+    public DestinoEventosArquivo(ObjectMapper objectMapper, PropriedadesOutbox propriedades) {
+        this.objectMapper = objectMapper;
+        this.arquivo = Paths.get(propriedades.getArquivo());
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoPagamentoDTO> eventos) {
+        try {
+            ByteArrayOutputStream linhas = new ByteArrayOutputStream();
+            for (EventoPagamentoDTO evento : eventos) {
+                linhas.write(objectMapper.writeValueAsBytes(evento));
+                linhas.write('\n');
+            }
+
+            try (FileChannel canal = FileChannel.open(arquivo,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer conteudo = ByteBuffer.wrap(linhas.toByteArray());
+                while (conteudo.hasRemaining()) {
+                    canal.write(conteudo);
+                }
+                canal.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar eventos em " + arquivo, ex);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.pagamento.servico;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.dto.EventoPagamentoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "pagamento.outbox", name = "destino", havingValue = "log", matchIfMissing = true)
+public class DestinoEventosLog implements DestinoEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoEventosLog.class);
+
+    private final ObjectMapper objectMapper;
+
+    public DestinoEventosLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publicar(List<EventoPagamentoDTO> eventos) {
+        for (EventoPagamentoDTO evento : eventos) {
+            try {
+                log.info("{}", objectMapper.writeValueAsString(evento));
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.pagamento.servico;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.pagamento.configuracao.PropriedadesLimiteRequisicoes;
+import com.pagamento.configuracao.PropriedadesLimiteRequisicoes.Limite;
+import com.pagamento.excecao.LimiteRequisicoesExcedidoException;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Controle de admissão da criação e da busca: um pagador (cpfCnpj) ou um cliente da API acima da sua cota
+// recebe 429 sem chegar ao banco, e os demais continuam sendo atendidos
+@Component
+public class LimitadorRequisicoes {
+
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean habilitado;
+    private final BaldesTokens baldes;
+    private final Cota criacaoPagador;
+    private final Cota criacaoCliente;
+    private final Cota buscaPagador;
+    private final Cota buscaCliente;
+
+    public LimitadorRequisicoes(PropriedadesLimiteRequisicoes propriedades, MetricasPagamento metricas) {
+        this.habilitado = propriedades.isHabilitado();
+        this.criacaoPagador = new Cota("criacao:pagador:", "pagador",
+                propriedades.getCriacao().getPagador(), metricas.contadorRejeicoesLimite("criacao", "pagador"));
+        this.criacaoCliente = new Cota("criacao:cliente:", "cliente",
+                propriedades.getCriacao().getCliente(), metricas.contadorRejeicoesLimite("criacao", "cliente"));
+        this.buscaPagador = new Cota("busca:pagador:", "pagador",
+                propriedades.getBusca().getPagador(), metricas.contadorRejeicoesLimite("busca", "pagador"));
+        this.buscaCliente = new Cota("busca:cliente:", "cliente",
+                propriedades.getBusca().getCliente(), metricas.contadorRejeicoesLimite("busca", "cliente"));
+
+        long inatividade = Math.max(NANOS_POR_SEGUNDO, Math.max(
+                Math.max(criacaoPagador.duracaoRajada(), criacaoCliente.duracaoRajada()),
+                Math.max(buscaPagador.duracaoRajada(), buscaCliente.duracaoRajada())));
+        this.baldes = new BaldesTokens(propriedades.getMaximoChaves(), Duration.ofNanos(inatividade),
+                Ticker.systemTicker());
+        metricas.monitorarCache(baldes.getBaldes(), "limiteRequisicoes");
+    }
+
+    public void admitirCriacao(String cpfCnpj, String cliente) {
+        admitir(criacaoPagador, cpfCnpj, criacaoCliente, cliente);
+    }
+
+    public void admitirBusca(String cpfCnpj, String cliente) {
+        admitir(buscaPagador, cpfCnpj, buscaCliente, cliente);
+    }
+
+    // Cada item do lote conta como uma criação: o pagador paga pelos seus itens e o cliente pelo lote inteiro
+    public void admitirCriacaoEmLote(List<String> cpfCnpjs, String cliente) {
+        if (!habilitado || cpfCnpjs == null || cpfCnpjs.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> itensPorPagador = new HashMap<>();
+        for (String cpfCnpj : cpfCnpjs) {
+            if (cpfCnpj != null) {
+                itensPorPagador.merge(cpfCnpj, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> pagador : itensPorPagador.entrySet()) {
+            consumir(criacaoPagador, pagador.getKey(), pagador.getValue());
+        }
+        if (cliente != null) {
+            consumir(criacaoCliente, cliente, cpfCnpjs.size());
+        }
+    }
+
+    private void admitir(Cota cotaPagador, String cpfCnpj, Cota cotaCliente, String cliente) {
+        if (!habilitado) {
+            return;
+        }
+        if (cpfCnpj != null) {
+            consumir(cotaPagador, cpfCnpj);
+        }
+        if (cliente != null) {
+            consumir(cotaCliente, cliente);
+        }
+    }
+
+    private void consumir(Cota cota, String identificador) {
+        consumir(cota, identificador, 1);
+    }
+
+    private void consumir(Cota cota, String identificador, int quantidade) {
+        if (quantidade > cota.capacidade) {
+            // Nem com o balde cheio o pedido passaria: esperar não adianta, o lote precisa ser dividido
+            throw new PagamentoInvalidoException("O lote excede a cota de criação por " + cota.chave
+                    + ": no máximo " + cota.capacidade + " pagamentos por requisição");
+        }
+        long espera = baldes.consumir(cota.prefixo + identificador, cota.intervalo, cota.tolerancia, quantidade);
+        if (espera > 0) {
+            cota.rejeicoes.increment();
+            // Retry-After só aceita segundos inteiros: arredonda para cima para o cliente não voltar cedo demais
+            throw new LimiteRequisicoesExcedidoException(cota.chave, (espera + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO);
+        }
+    }
+
+    private static final class Cota {
+
+        private final String prefixo;
+        private final String chave;
+        private final long intervalo;
+        private final long tolerancia;
+        private final int capacidade;
+        private final Counter rejeicoes;
+
+        private Cota(String prefixo, String chave, Limite limite, Counter rejeicoes) {
+            if (limite.getCapacidade() < 1 || !(limite.getReposicaoPorSegundo() > 0)) {
+                throw new IllegalStateException("Limite de requisições inválido em " + prefixo
+                        + " capacidade e reposição por segundo devem ser positivas");
+            }
+            this.prefixo = prefixo;
+            this.chave = chave;
+            this.intervalo = Math.max(1, Math.round(NANOS_POR_SEGUNDO / limite.getReposicaoPorSegundo()));
+            this.tolerancia = intervalo * (limite.getCapacidade() - 1);
+            this.capacidade = limite.getCapacidade();
+            this.rejeicoes = rejeicoes;
+        }
+
+        // Tempo para um balde vazio voltar a ficar cheio
+        private long duracaoRajada() {
+            return tolerancia + intervalo;
+        }
+    }
+}
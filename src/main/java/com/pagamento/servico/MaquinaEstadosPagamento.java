@@ -0,0 +1,85 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesTransicoes;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class MaquinaEstadosPagamento {
+
+    private static final StatusPagamento[] STATUS = StatusPagamento.values();
+
+    // Para cada método, o índice é o ordinal do status atual e cada bit ligado é um próximo status permitido
+    private final Map<MetodoPagamento, int[]> tabela = new EnumMap<>(MetodoPagamento.class);
+
+    public MaquinaEstadosPagamento(PropriedadesTransicoes propriedades) {
+        for (MetodoPagamento metodo : MetodoPagamento.values()) {
+            Map<StatusPagamento, Set<StatusPagamento>> transicoes = propriedades.getPorMetodo()
+                    .getOrDefault(metodo, Collections.emptyMap());
+
+            int[] proximos = new int[STATUS.length];
+            for (StatusPagamento atual : STATUS) {
+                Set<StatusPagamento> permitidos = transicoes.containsKey(atual)
+                        ? transicoes.get(atual)
+                        : propriedades.getPadrao().getOrDefault(atual, Collections.emptySet());
+                for (StatusPagamento proximo : permitidos) {
+                    proximos[atual.ordinal()] |= bit(proximo);
+                }
+            }
+            tabela.put(metodo, proximos);
+        }
+    }
+
+    public boolean permite(MetodoPagamento metodo, StatusPagamento atual, StatusPagamento novo) {
+        return (tabela.get(metodo)[atual.ordinal()] & bit(novo)) != 0;
+    }
+
+    public Set<StatusPagamento> proximosStatus(MetodoPagamento metodo, StatusPagamento atual) {
+        int proximos = tabela.get(metodo)[atual.ordinal()];
+        Set<StatusPagamento> resultado = EnumSet.noneOf(StatusPagamento.class);
+        for (StatusPagamento status : STATUS) {
+            if ((proximos & bit(status)) != 0) {
+                resultado.add(status);
+            }
+        }
+        return resultado;
+    }
+
+    
+    public Set<StatusPagamento> statusAnteriores(StatusPagamento novo) {
+        Set<StatusPagamento> anteriores = EnumSet.noneOf(StatusPagamento.class);
+        for (int[] proximos : tabela.values()) {
+            for (StatusPagamento atual : STATUS) {
+                if ((proximos[atual.ordinal()] & bit(novo)) != 0) {
+                    anteriores.add(atual);
+                }
+            }
+        }
+        return anteriores;
+    }
+
+    public void validarTransicao(MetodoPagamento metodo, StatusPagamento atual, StatusPagamento novo) {
+        if (permite(metodo, atual, novo)) {
+            return;
+        }
+
+        if (tabela.get(metodo)[atual.ordinal()] == 0) {
+            throw new TransicaoStatusInvalidaException(
+                "Pagamentos com status '" + atual.getDescricao() + "' não podem ser alterados"
+            );
+        }
+        throw new TransicaoStatusInvalidaException(atual, novo);
+    }
+
+    private static int bit(StatusPagamento status) {
+        return 1 << status.ordinal();
+    }
+}
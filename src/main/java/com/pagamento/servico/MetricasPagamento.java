@@ -0,0 +1,150 @@
+package com.pagamento.servico;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class MetricasPagamento {
+
+    private static final MetodoPagamento[] METODOS = MetodoPagamento.values();
+    private static final StatusPagamento[] STATUS = StatusPagamento.values();
+
+    private final MeterRegistry registro;
+
+    // Contadores criados na inicialização e indexados por [método][de][para]: o incremento não consulta o registro
+    private final Counter[][][] transicoes;
+    private final Counter[][][] rejeicoes;
+
+    private final Counter pagamentosReivindicados;
+    private final Counter pagamentosDevolvidos;
+    private final Timer duracaoLote;
+    private final Counter eventosPublicados;
+    private final Counter falhasPublicacao;
+    private final Counter divergenciasResumo;
+    private final Counter pagamentosArquivados;
+
+    public MetricasPagamento(MeterRegistry registro) {
+        this.registro = registro;
+        this.transicoes = registrarContadores("pagamentos.transicoes", "Transições de status aplicadas");
+        this.rejeicoes = registrarContadores("pagamentos.transicoes.rejeitadas", "Transições de status recusadas pelas regras");
+        this.pagamentosReivindicados = Counter.builder("pagamentos.processamento.reivindicados")
+                .description("Pagamentos reivindicados pelo motor de processamento")
+                .register(registro);
+        this.pagamentosDevolvidos = Counter.builder("pagamentos.processamento.devolvidos")
+                .description("Pagamentos devolvidos à fila sem resultado do processador")
+                .register(registro);
+        this.duracaoLote = Timer.builder("pagamentos.processamento.lote")
+                .description("Duração de um lote do motor de processamento, da reivindicação à gravação")
+                .publishPercentileHistogram()
+                .register(registro);
+        this.eventosPublicados = Counter.builder("pagamentos.outbox.publicados")
+                .description("Eventos da caixa de saída entregues ao destino")
+                .register(registro);
+        this.falhasPublicacao = Counter.builder("pagamentos.outbox.falhas")
+                .description("Lotes da caixa de saída recusados pelo destino e mantidos para reenvio")
+                .register(registro);
+        this.divergenciasResumo = Counter.builder("pagamentos.resumos.divergencias")
+                .description("Resumos por pagador encontrados divergentes da tabela de pagamentos na verificação")
+                .register(registro);
+        this.pagamentosArquivados = Counter.builder("pagamentos.arquivamento.arquivados")
+                .description("Pagamentos liquidados ou excluídos movidos da tabela para o arquivo")
+                .register(registro);
+    }
+
+    public void registrarTransicao(MetodoPagamento metodo, StatusPagamento de, StatusPagamento para) {
+        registrarTransicao(metodo, de, para, 1);
+    }
+
+    public void registrarTransicao(MetodoPagamento metodo, StatusPagamento de, StatusPagamento para, int quantidade) {
+        if (quantidade > 0) {
+            transicoes[metodo.ordinal()][de.ordinal()][para.ordinal()].increment(quantidade);
+        }
+    }
+
+    public void registrarRejeicao(MetodoPagamento metodo, StatusPagamento de, StatusPagamento para) {
+        rejeicoes[metodo.ordinal()][de.ordinal()][para.ordinal()].increment();
+    }
+
+    public void registrarLoteProcessado(int reivindicados, int concluidos, long duracaoNanos) {
+        pagamentosReivindicados.increment(reivindicados);
+        pagamentosDevolvidos.increment(reivindicados - concluidos);
+        duracaoLote.record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void registrarEventosPublicados(int quantidade) {
+        eventosPublicados.increment(quantidade);
+    }
+
+    public void registrarFalhaPublicacao() {
+        falhasPublicacao.increment();
+    }
+
+    public void registrarDivergenciasResumo(int quantidade) {
+        divergenciasResumo.increment(quantidade);
+    }
+
+    public void registrarArquivados(int quantidade) {
+        pagamentosArquivados.increment(quantidade);
+    }
+
+    public void monitorarProcessamento(Supplier<Number> pendentes, Supplier<Number> emAndamento) {
+        Gauge.builder("pagamentos.processamento.pendentes", pendentes)
+                .description("Pagamentos pendentes aguardando processamento")
+                .register(registro);
+        Gauge.builder("pagamentos.processamento.em.andamento", emAndamento)
+                .description("Pagamentos reivindicados e ainda em processamento")
+                .register(registro);
+    }
+
+    public void monitorarAssinaturas(Supplier<Number> assinaturas) {
+        Gauge.builder("pagamentos.notificacoes.assinaturas", assinaturas)
+                .description("Conexões SSE abertas aguardando mudanças de status")
+                .register(registro);
+    }
+
+    public void monitorarArquivo(Supplier<Number> segmentos) {
+        Gauge.builder("pagamentos.arquivamento.segmentos", segmentos)
+                .description("Segmentos do arquivo de pagamentos abertos por mapeamento em memória")
+                .register(registro);
+    }
+
+    public Counter contadorRejeicoesLimite(String operacao, String chave) {
+        return Counter.builder("pagamentos.limite.rejeicoes")
+                .description("Requisições recusadas com 429 pelo limite de requisições")
+                .tag("operacao", operacao)
+                .tag("chave", chave)
+                .register(registro);
+    }
+
+    public void monitorarCache(Cache<?, ?> cache, String nome) {
+        CaffeineCacheMetrics.monitor(registro, cache, nome, Collections.emptyList());
+    }
+
+    private Counter[][][] registrarContadores(String nome, String descricao) {
+        Counter[][][] contadores = new Counter[METODOS.length][STATUS.length][STATUS.length];
+        for (MetodoPagamento metodo : METODOS) {
+            for (StatusPagamento de : STATUS) {
+                for (StatusPagamento para : STATUS) {
+                    contadores[metodo.ordinal()][de.ordinal()][para.ordinal()] = Counter.builder(nome)
+                            .description(descricao)
+                            .tag("metodo", metodo.getValor())
+                            .tag("de", de.name())
+                            .tag("para", para.name())
+                            .register(registro);
+                }
+            }
+        }
+        return contadores;
+    }
+}
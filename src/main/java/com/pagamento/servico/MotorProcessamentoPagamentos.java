@@ -0,0 +1,191 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesProcessamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class MotorProcessamentoPagamentos implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorProcessamentoPagamentos.class);
+    private static final int MAXIMO_TENTATIVAS_CONCLUSAO = 3;
+
+    private final ServicoPagamento servicoPagamento;
+    private final RepositorioPagamento repositorioPagamento;
+    private final PropriedadesProcessamento propriedades;
+    private final MetricasPagamento metricas;
+    private final Map<MetodoPagamento, ProcessadorPagamento> processadores = new EnumMap<>(MetodoPagamento.class);
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicLong pendentes = new AtomicLong();
+
+    private volatile boolean executando;
+    private volatile CountDownLatch parada = new CountDownLatch(0);
+    private ExecutorService trabalhadores;
+
+    public MotorProcessamentoPagamentos(ServicoPagamento servicoPagamento, RepositorioPagamento repositorioPagamento,
+                                        PropriedadesProcessamento propriedades, MetricasPagamento metricas,
+                                        List<ProcessadorPagamento> processadores) {
+        this.servicoPagamento = servicoPagamento;
+        this.repositorioPagamento = repositorioPagamento;
+        this.propriedades = propriedades;
+        this.metricas = metricas;
+        for (ProcessadorPagamento processador : processadores) {
+            for (MetodoPagamento metodo : processador.getMetodosSuportados()) {
+                ProcessadorPagamento anterior = this.processadores.put(metodo, processador);
+                if (anterior != null) {
+                    throw new IllegalStateException("Mais de um processador registrado para o método " + metodo.getValor());
+                }
+            }
+        }
+        metricas.monitorarProcessamento(pendentes::get, emAndamento::get);
+    }
+
+    @Override
+    public void start() {
+        if (!propriedades.isHabilitado() || processadores.isEmpty()) {
+            return;
+        }
+
+        int quantidade = Math.max(1, propriedades.getTrabalhadores());
+        AtomicInteger sequencia = new AtomicInteger();
+        parada = new CountDownLatch(1);
+        executando = true;
+        trabalhadores = Executors.newFixedThreadPool(quantidade, tarefa -> {
+            Thread thread = new Thread(tarefa, "processador-pagamentos-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < quantidade; i++) {
+            trabalhadores.execute(this::executarTrabalhador);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!executando) {
+            return;
+        }
+
+        // Os trabalhadores terminam o lote em andamento e gravam o resultado antes de sair
+        executando = false;
+        parada.countDown();
+        trabalhadores.shutdown();
+        try {
+            if (!trabalhadores.awaitTermination(propriedades.getTempoEncerramento().toMillis(), TimeUnit.MILLISECONDS)) {
+                trabalhadores.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            trabalhadores.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // Retorna os pagamentos concluídos; zero deixa o trabalhador ocioso mesmo que o lote tenha sido reivindicado
+    public int processarLote() {
+        String marca = UUID.randomUUID().toString();
+        long inicio = System.nanoTime();
+
+        List<PagamentoReivindicado> lote = servicoPagamento.reivindicarParaProcessamento(marca,
+                processadores.keySet(), propriedades.getTamanhoLote(), propriedades.getDuracaoReivindicacao());
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        emAndamento.addAndGet(lote.size());
+        try {
+            Map<Long, StatusPagamento> resultados = processar(lote);
+            int concluidos = concluir(marca, lote, resultados);
+            metricas.registrarLoteProcessado(lote.size(), concluidos, System.nanoTime() - inicio);
+            return concluidos;
+        } finally {
+            emAndamento.addAndGet(-lote.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pagamento.processamento.intervalo-pendentes:PT15S}")
+    public void atualizarPendentes() {
+        pendentes.set(repositorioPagamento.countByStatusAndAtivoTrue(StatusPagamento.PENDENTE_PROCESSAMENTO));
+    }
+
+    private Map<Long, StatusPagamento> processar(List<PagamentoReivindicado> lote) {
+        Map<MetodoPagamento, List<PagamentoReivindicado>> porMetodo = new EnumMap<>(MetodoPagamento.class);
+        for (PagamentoReivindicado pagamento : lote) {
+            porMetodo.computeIfAbsent(pagamento.getMetodoPagamento(), metodo -> new ArrayList<>()).add(pagamento);
+        }
+
+        Map<Long, StatusPagamento> resultados = new HashMap<>();
+        for (Map.Entry<MetodoPagamento, List<PagamentoReivindicado>> grupo : porMetodo.entrySet()) {
+            try {
+                resultados.putAll(processadores.get(grupo.getKey()).processar(grupo.getValue()));
+            } catch (RuntimeException ex) {
+                // Sem resultado, os pagamentos do grupo ficam reivindicados até a marca expirar
+                log.warn("Falha ao processar {} pagamentos {}", grupo.getValue().size(), grupo.getKey().getValor(), ex);
+            }
+        }
+        return resultados;
+    }
+
+    private int concluir(String marca, List<PagamentoReivindicado> lote, Map<Long, StatusPagamento> resultados) {
+        // A gravação só altera linhas com a marca do lote, então repeti-la após um conflito de bloqueio é seguro
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return servicoPagamento.concluirProcessamento(marca, lote, resultados);
+            } catch (PessimisticLockingFailureException ex) {
+                if (tentativa >= MAXIMO_TENTATIVAS_CONCLUSAO) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private void executarTrabalhador() {
+        while (executando) {
+            int concluidos;
+            try {
+                concluidos = processarLote();
+            } catch (RuntimeException ex) {
+                log.error("Falha no ciclo do motor de processamento", ex);
+                concluidos = 0;
+            }
+
+            if (concluidos == 0 && aguardarParada()) {
+                return;
+            }
+        }
+    }
+
+    private boolean aguardarParada() {
+        try {
+            return parada.await(propriedades.getIntervaloOcioso().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesNotificacoes;
+import com.pagamento.dto.NotificacaoStatusResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.LimiteAssinaturasExcedidoException;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.SituacaoPagamento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Assinaturas SSE de status por pagamento. Cada conexão é só um SseEmitter no mapa: a requisição fica assíncrona
+// no Tomcat e não prende thread enquanto espera; os envios saem da thread que confirmou a mudança ou do heartbeat
+@Component
+public class NotificadorStatusPagamento {
+
+    static final String EVENTO_STATUS = "status";
+    static final String EVENTO_EXCLUSAO = "excluido";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificadorStatusPagamento.class);
+
+    private final Map<Long, Set<SseEmitter>> assinaturas = new ConcurrentHashMap<>();
+    private final AtomicInteger totalAssinaturas = new AtomicInteger();
+
+    private final RepositorioPagamento repositorioPagamento;
+    private final MaquinaEstadosPagamento maquinaEstados;
+    private final PropriedadesNotificacoes propriedades;
+
+    public NotificadorStatusPagamento(RepositorioPagamento repositorioPagamento, MaquinaEstadosPagamento maquinaEstados,
+                                      PropriedadesNotificacoes propriedades, MetricasPagamento metricas) {
+        this.repositorioPagamento = repositorioPagamento;
+        this.maquinaEstados = maquinaEstados;
+        this.propriedades = propriedades;
+        metricas.monitorarAssinaturas(totalAssinaturas::get);
+    }
+
+    public SseEmitter assinar(Long id) {
+        if (totalAssinaturas.incrementAndGet() > propriedades.getMaximoAssinaturas()) {
+            totalAssinaturas.decrementAndGet();
+            throw new LimiteAssinaturasExcedidoException(propriedades.getMaximoAssinaturas());
+        }
+
+        SseEmitter emissor = new SseEmitter(propriedades.getTempoLimite().toMillis());
+        assinaturas.computeIfAbsent(id, chave -> ConcurrentHashMap.newKeySet()).add(emissor);
+        emissor.onCompletion(() -> remover(id, emissor));
+        emissor.onTimeout(emissor::complete);
+        emissor.onError(erro -> remover(id, emissor));
+
+        // Registra antes de ler: uma mudança confirmada depois da leitura chega pela notificação, e o bloqueio no
+        // emissor impede que ela seja enviada antes do status atual
+        boolean finalizado;
+        synchronized (emissor) {
+            SituacaoPagamento situacao = repositorioPagamento.buscarSituacaoAtivo(id).orElse(null);
+            if (situacao == null) {
+                remover(id, emissor);
+                throw new PagamentoNaoEncontradoException(id);
+            }
+            finalizado = finalizado(situacao.getMetodoPagamento(), situacao.getStatus());
+            enviar(id, emissor, EVENTO_STATUS, new NotificacaoStatusResponseDTO(id, null, situacao.getStatus(), finalizado));
+        }
+        if (finalizado) {
+            emissor.complete();
+        }
+        return emissor;
+    }
+
+    // Só notifica depois do commit: o cliente nunca recebe um status que ainda pode ser desfeito
+    public void notificarTransicaoAposCommit(Long id, MetodoPagamento metodo, StatusPagamento de, StatusPagamento para) {
+        aposCommit(() -> notificarTransicao(id, metodo, de, para));
+    }
+
+    public void notificarExclusaoAposCommit(Long id, StatusPagamento status) {
+        aposCommit(() -> notificarExclusao(id, status));
+    }
+
+    public void notificarTransicao(Long id, MetodoPagamento metodo, StatusPagamento de, StatusPagamento para) {
+        Set<SseEmitter> emissores = assinaturas.get(id);
+        if (emissores == null) {
+            return;
+        }
+
+        boolean finalizado = finalizado(metodo, para);
+        NotificacaoStatusResponseDTO notificacao = new NotificacaoStatusResponseDTO(id, de, para, finalizado);
+        for (SseEmitter emissor : emissores) {
+            publicar(id, emissor, EVENTO_STATUS, notificacao, finalizado);
+        }
+    }
+
+    public void notificarExclusao(Long id, StatusPagamento status) {
+        Set<SseEmitter> emissores = assinaturas.get(id);
+        if (emissores == null) {
+            return;
+        }
+
+        NotificacaoStatusResponseDTO notificacao = new NotificacaoStatusResponseDTO(id, null, status, true);
+        for (SseEmitter emissor : emissores) {
+            publicar(id, emissor, EVENTO_EXCLUSAO, notificacao, true);
+        }
+    }
+
+    // Um único agendamento percorre todas as conexões; proxies e balanceadores não derrubam a conexão ociosa
+    // e clientes que já foram embora são descobertos pela falha de escrita
+    @Scheduled(fixedDelayString = "${pagamento.notificacoes.intervalo-heartbeat:PT15S}")
+    public void enviarHeartbeats() {
+        assinaturas.forEach((id, emissores) -> {
+            for (SseEmitter emissor : emissores) {
+                try {
+                    emissor.send(SseEmitter.event().comment("heartbeat"));
+                } catch (Exception ex) {
+                    remover(id, emissor);
+                }
+            }
+        });
+    }
+
+    public int getTotalAssinaturas() {
+        return totalAssinaturas.get();
+    }
+
+    private void publicar(Long id, SseEmitter emissor, String evento, NotificacaoStatusResponseDTO notificacao,
+                          boolean finalizado) {
+        synchronized (emissor) {
+            if (enviar(id, emissor, evento, notificacao) && finalizado) {
+                emissor.complete();
+                remover(id, emissor);
+            }
+        }
+    }
+
+    private boolean enviar(Long id, SseEmitter emissor, String evento, NotificacaoStatusResponseDTO notificacao) {
+        try {
+            emissor.send(SseEmitter.event().name(evento).data(notificacao));
+            return true;
+        } catch (Exception ex) {
+            log.debug("Assinatura do pagamento {} encerrada pelo cliente", id);
+            remover(id, emissor);
+            return false;
+        }
+    }
+
+    private void remover(Long id, SseEmitter emissor) {
+        assinaturas.computeIfPresent(id, (chave, emissores) -> {
+            if (emissores.remove(emissor)) {
+                totalAssinaturas.decrementAndGet();
+            }
+            return emissores.isEmpty() ? null : emissores;
+        });
+    }
+
+    private boolean finalizado(MetodoPagamento metodo, StatusPagamento status) {
+        return maquinaEstados.proximosStatus(metodo, status).isEmpty();
+    }
+
+    private void aposCommit(Runnable notificacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificacao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notificacao.run();
+            }
+        });
+    }
+}
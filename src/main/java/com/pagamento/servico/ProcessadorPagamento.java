@@ -0,0 +1,18 @@
+package com.pagamento.servico;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.PagamentoReivindicado;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProcessadorPagamento {
+
+    Set<MetodoPagamento> getMetodosSuportados();
+
+    // Retorna o status final por ID; pagamentos ausentes do resultado voltam para a fila quando a reivindicação
+    // expira (duracao-reivindicacao) e são tentados de novo
+    Map<Long, StatusPagamento> processar(List<PagamentoReivindicado> pagamentos);
+}
@@ -0,0 +1,32 @@
+package com.pagamento.servico;
+
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(prefix = "pagamento.processamento", name = "processador-simulado", havingValue = "true")
+public class ProcessadorPagamentoSimulado implements ProcessadorPagamento {
+
+    @Override
+    public Set<MetodoPagamento> getMetodosSuportados() {
+        return EnumSet.allOf(MetodoPagamento.class);
+    }
+
+    @Override
+    public Map<Long, StatusPagamento> processar(List<PagamentoReivindicado> pagamentos) {
+        Map<Long, StatusPagamento> resultados = new HashMap<>();
+        for (PagamentoReivindicado pagamento : pagamentos) {
+            resultados.put(pagamento.getId(), StatusPagamento.PROCESSADO_SUCESSO);
+        }
+        return resultados;
+    }
+}
@@ -0,0 +1,36 @@
+package com.pagamento.servico;
+
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import org.springframework.stereotype.Component;
+
+// Regras de negócio compartilhadas pela API v1 (ServicoPagamento) e pela v2 reativa (ServicoPagamentoReativo)
+@Component
+public class RegrasPagamento {
+
+    public void validarRequisicao(PagamentoRequestDTO request) {
+        if (request.getMetodoPagamento().isPagamentoComCartao()) {
+            if (request.getNumeroCartao() == null || request.getNumeroCartao().trim().isEmpty()) {
+                throw new PagamentoInvalidoException(
+                    "Número do cartão é obrigatório para pagamentos com cartão de crédito ou débito"
+                );
+            }
+        } else {
+            if (request.getNumeroCartao() != null && !request.getNumeroCartao().trim().isEmpty()) {
+                throw new PagamentoInvalidoException(
+                    "Número do cartão não deve ser informado para pagamentos que não sejam com cartão"
+                );
+            }
+        }
+    }
+
+    
+    public void validarExclusao(StatusPagamento status) {
+        if (status != StatusPagamento.PENDENTE_PROCESSAMENTO) {
+            throw new PagamentoInvalidoException(
+                "Só é possível excluir pagamentos com status 'Pendente de Processamento'"
+            );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.pagamento.servico;
+
+import com.pagamento.repositorio.RepositorioResumoPagador;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+// MANDATORY, como a caixa de saída: o resumo só muda junto com o pagamento que o alterou.
+// Cada mudança vira uma variação somada pelo banco; o resumo nunca é recalculado a partir de payments aqui
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class ResumosPagadores {
+
+    static final String CRIAR_SE_AUSENTE = "INSERT INTO payer_summaries (cpf_cnpj, saldo_aberto, quantidade_pendentes) " +
+            "SELECT ?, 0, 0 WHERE NOT EXISTS (SELECT 1 FROM payer_summaries WHERE cpf_cnpj = ?)";
+
+    private final RepositorioResumoPagador repositorioResumo;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResumosPagadores(RepositorioResumoPagador repositorioResumo, JdbcTemplate jdbcTemplate) {
+        this.repositorioResumo = repositorioResumo;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void aplicar(VariacoesResumoPagador variacoes) {
+        for (Map.Entry<String, VariacoesResumoPagador.Variacao> entrada : variacoes.porPagador().entrySet()) {
+            String cpfCnpj = entrada.getKey();
+            VariacoesResumoPagador.Variacao variacao = entrada.getValue();
+            if (variacao.isNula()) {
+                continue;
+            }
+
+            // Primeiro pagamento do pagador: cria a linha zerada e soma a variação sobre ela
+            if (repositorioResumo.aplicarVariacao(cpfCnpj, variacao.getSaldoAberto(),
+                    variacao.getQuantidadePendentes()) == 0) {
+                criarSeAusente(cpfCnpj);
+                repositorioResumo.aplicarVariacao(cpfCnpj, variacao.getSaldoAberto(), variacao.getQuantidadePendentes());
+            }
+            if (variacao.getDataUltimoPagamento() != null) {
+                repositorioResumo.registrarPagamento(cpfCnpj, variacao.getDataUltimoPagamento());
+            }
+        }
+    }
+
+    // Duas transações podem criar o mesmo pagador ao mesmo tempo; a perdedora espera a outra confirmar e recebe
+    // chave duplicada. O H2 desfaz só o comando que falhou e o JdbcTemplate não marca a transação JPA para
+    // rollback, então o pagamento segue; num banco que aborta a transação inteira (PostgreSQL) isto vira
+    // INSERT ... ON CONFLICT DO NOTHING
+    void criarSeAusente(String cpfCnpj) {
+        try {
+            jdbcTemplate.update(CRIAR_SE_AUSENTE, cpfCnpj, cpfCnpj);
+        } catch (DuplicateKeyException ex) {
+            // A linha foi criada pela transação concorrente
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesOutbox;
+import com.pagamento.dto.EventoPagamentoDTO;
+import com.pagamento.entidade.EventoPagamento;
+import com.pagamento.repositorio.RepositorioEventoPagamento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Component
+public class RetransmissorEventos implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RetransmissorEventos.class);
+
+    private final RepositorioEventoPagamento repositorioEvento;
+    private final DestinoEventos destino;
+    private final PropriedadesOutbox propriedades;
+    private final MetricasPagamento metricas;
+    private final TransactionTemplate transacao;
+    private final ReentrantLock ciclo = new ReentrantLock();
+
+    private volatile boolean executando;
+
+    public RetransmissorEventos(RepositorioEventoPagamento repositorioEvento, DestinoEventos destino,
+                                PropriedadesOutbox propriedades, MetricasPagamento metricas,
+                                PlatformTransactionManager gerenciadorTransacao) {
+        this.repositorioEvento = repositorioEvento;
+        this.destino = destino;
+        this.propriedades = propriedades;
+        this.metricas = metricas;
+        this.transacao = new TransactionTemplate(gerenciadorTransacao);
+    }
+
+    @Override
+    public void start() {
+        executando = true;
+    }
+
+    // Parado antes do fechamento do EntityManagerFactory: o agendador ainda dispara durante o encerramento e,
+    // com create-drop, encontraria a tabela payment_outbox já removida
+    @Override
+    public void stop() {
+        executando = false;
+        // Espera o ciclo em andamento terminar o lote atual
+        ciclo.lock();
+        ciclo.unlock();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Scheduled(fixedDelayString = "${pagamento.outbox.intervalo:PT1S}")
+    public void retransmitirPendentes() {
+        if (!propriedades.isHabilitado() || !ciclo.tryLock()) {
+            return;
+        }
+
+        try {
+            // Lote cheio indica fila acumulada: continua publicando sem esperar o próximo ciclo
+            while (executando && publicarLote() >= Math.max(1, propriedades.getTamanhoLote())) {
+                log.debug("Caixa de saída com eventos acumulados; publicando o próximo lote");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar eventos de pagamento; o lote será reenviado no próximo ciclo", ex);
+        } finally {
+            ciclo.unlock();
+        }
+    }
+
+    // Publica e remove na mesma transação, em ordem de id: se o destino falhar, nada é removido e o lote
+    // volta inteiro no próximo ciclo, sem que um evento posterior do mesmo pagamento passe à frente
+    public int publicarLote() {
+        Integer publicados = transacao.execute(status -> {
+            List<EventoPagamento> lote = repositorioEvento.bloquearProximos(
+                    PageRequest.of(0, Math.max(1, propriedades.getTamanhoLote())));
+            if (lote.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                destino.publicar(lote.stream().map(EventoPagamentoDTO::new).collect(Collectors.toList()));
+            } catch (RuntimeException ex) {
+                metricas.registrarFalhaPublicacao();
+                throw ex;
+            }
+            repositorioEvento.deleteAllInBatch(lote);
+            return lote.size();
+        });
+
+        metricas.registrarEventosPublicados(publicados);
+        return publicados;
+    }
+}
@@ -0,0 +1,207 @@
+package com.pagamento.servico;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pagamento.configuracao.PropriedadesIdempotencia;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.entidade.ChaveIdempotencia;
+import com.pagamento.excecao.ConflitoChaveIdempotenciaException;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.excecao.RequisicaoEmAndamentoException;
+import com.pagamento.repositorio.RepositorioChaveIdempotencia;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class ServicoIdempotencia {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final RepositorioChaveIdempotencia repositorioChaveIdempotencia;
+    private final TransactionTemplate transacao;
+    private final ObjectMapper objectMapper;
+    private final PropriedadesIdempotencia propriedades;
+    private final Cache<String, RespostaRegistrada> respostasRecentes;
+    private final ConcurrentMap<String, CompletableFuture<RespostaRegistrada>> emAndamento = new ConcurrentHashMap<>();
+
+    public ServicoIdempotencia(RepositorioChaveIdempotencia repositorioChaveIdempotencia,
+                               PlatformTransactionManager gerenciadorTransacao,
+                               ObjectMapper objectMapper,
+                               PropriedadesIdempotencia propriedades) {
+        this.repositorioChaveIdempotencia = repositorioChaveIdempotencia;
+        this.transacao = new TransactionTemplate(gerenciadorTransacao);
+        this.objectMapper = objectMapper;
+        this.propriedades = propriedades;
+        this.respostasRecentes = Caffeine.newBuilder()
+                .maximumSize(propriedades.getTamanhoMaximoCache())
+                .expireAfterWrite(propriedades.getExpiracaoCache())
+                .build();
+    }
+
+    
+    public PagamentoResponseDTO executar(String chave, Object requisicao, Supplier<PagamentoResponseDTO> operacao) {
+        validarChave(chave);
+        String impressaoDigital = calcularImpressaoDigital(requisicao);
+
+        RespostaRegistrada registrada = respostasRecentes.getIfPresent(chave);
+        if (registrada != null) {
+            return registrada.conferir(impressaoDigital);
+        }
+
+        CompletableFuture<RespostaRegistrada> execucao = new CompletableFuture<>();
+        CompletableFuture<RespostaRegistrada> execucaoExistente = emAndamento.putIfAbsent(chave, execucao);
+        if (execucaoExistente != null) {
+            return aguardar(execucaoExistente).conferir(impressaoDigital);
+        }
+
+        try {
+            RespostaRegistrada resposta = recuperarOuExecutar(chave, impressaoDigital, operacao);
+            respostasRecentes.put(chave, resposta);
+            execucao.complete(resposta);
+            return resposta.conferir(impressaoDigital);
+        } catch (RuntimeException ex) {
+            execucao.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            emAndamento.remove(chave, execucao);
+        }
+    }
+
+    
+    @Scheduled(fixedDelayString = "${pagamento.idempotencia.intervalo-limpeza:PT1H}")
+    public void removerChavesExpiradas() {
+        repositorioChaveIdempotencia.removerCriadasAntesDe(LocalDateTime.now().minus(propriedades.getRetencao()));
+    }
+
+    
+    private RespostaRegistrada recuperarOuExecutar(String chave, String impressaoDigital,
+                                                   Supplier<PagamentoResponseDTO> operacao) {
+        Optional<ChaveIdempotencia> chaveSalva = repositorioChaveIdempotencia.findById(chave);
+        if (chaveSalva.isPresent()) {
+            return converter(chaveSalva.get());
+        }
+
+        try {
+            return transacao.execute(status -> {
+                // A chave é gravada antes do pagamento: uma requisição concorrente em outra instância
+                // esbarra na chave primária e reaproveita a resposta em vez de criar um segundo pagamento
+                ChaveIdempotencia registro = new ChaveIdempotencia(chave, impressaoDigital, null, "{}");
+                repositorioChaveIdempotencia.saveAndFlush(registro);
+
+                PagamentoResponseDTO resposta = operacao.get();
+                registro.setPagamentoId(resposta.getId());
+                registro.setResposta(serializar(resposta));
+                return new RespostaRegistrada(impressaoDigital, resposta);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return repositorioChaveIdempotencia.findById(chave)
+                    .map(this::converter)
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    
+    private RespostaRegistrada aguardar(CompletableFuture<RespostaRegistrada> execucao) {
+        try {
+            return execucao.get(propriedades.getTempoEspera().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new RequisicaoEmAndamentoException(
+                "Uma requisição com a mesma chave de idempotência ainda está em processamento"
+            );
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmAndamentoException(
+                "Uma requisição com a mesma chave de idempotência ainda está em processamento"
+            );
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    
+    private RespostaRegistrada converter(ChaveIdempotencia chaveSalva) {
+        try {
+            PagamentoResponseDTO resposta = objectMapper.readValue(chaveSalva.getResposta(), PagamentoResponseDTO.class);
+            return new RespostaRegistrada(chaveSalva.getImpressaoDigital(), resposta);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Resposta armazenada para a chave de idempotência é inválida", ex);
+        }
+    }
+
+    
+    private String serializar(PagamentoResponseDTO resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Não foi possível armazenar a resposta da chave de idempotência", ex);
+        }
+    }
+
+    
+    private String calcularImpressaoDigital(Object requisicao) {
+        try {
+            byte[] conteudo = objectMapper.writeValueAsBytes(requisicao);
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(conteudo);
+            StringBuilder hexadecimal = new StringBuilder(resumo.length * 2);
+            for (byte b : resumo) {
+                hexadecimal.append(String.format("%02x", b));
+            }
+            return hexadecimal.toString();
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Não foi possível calcular a impressão digital da requisição", ex);
+        }
+    }
+
+    
+    private void validarChave(String chave) {
+        if (chave == null || chave.trim().isEmpty()) {
+            throw new PagamentoInvalidoException("Chave de idempotência não pode ser vazia");
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new PagamentoInvalidoException(
+                "Chave de idempotência deve ter no máximo " + TAMANHO_MAXIMO_CHAVE + " caracteres"
+            );
+        }
+    }
+
+    private static final class RespostaRegistrada {
+
+        private final String impressaoDigital;
+        private final PagamentoResponseDTO resposta;
+
+        private RespostaRegistrada(String impressaoDigital, PagamentoResponseDTO resposta) {
+            this.impressaoDigital = impressaoDigital;
+            this.resposta = resposta;
+        }
+
+        private PagamentoResponseDTO conferir(String impressaoDigitalRequisicao) {
+            if (!impressaoDigital.equals(impressaoDigitalRequisicao)) {
+                throw new ConflitoChaveIdempotenciaException(
+                    "Chave de idempotência já utilizada com uma requisição diferente"
+                );
+            }
+            return resposta;
+        }
+    }
+}
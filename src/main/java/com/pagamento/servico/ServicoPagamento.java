@@ -1,142 +1,567 @@
 package com.pagamento.servico;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pagamento.configuracao.PropriedadesCacheConsulta;
+import com.pagamento.configuracao.PropriedadesConcorrencia;
+import com.pagamento.configuracao.PropriedadesLote;
+import com.pagamento.configuracao.PropriedadesPaginacao;
+import com.pagamento.dto.EstatisticasCacheResponseDTO;
+import com.pagamento.dto.ItemLoteResponseDTO;
 import com.pagamento.dto.PagamentoRequestDTO;
 import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.RejeicaoStatusResponseDTO;
+import com.pagamento.dto.ResultadoAtualizacaoStatusLoteResponseDTO;
+import com.pagamento.dto.ResultadoLoteResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
 import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
 import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
 import com.pagamento.excecao.PagamentoInvalidoException;
 import com.pagamento.excecao.PagamentoNaoEncontradoException;
 import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.repositorio.ArquivoPagamentos;
 import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import com.pagamento.repositorio.SituacaoPagamento;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.validation.Validator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ServicoPagamento {
 
+    private static final int MAXIMO_TENTATIVAS_REIVINDICACAO = 3;
+
     private final RepositorioPagamento repositorioPagamento;
+    private final PropriedadesPaginacao propriedadesPaginacao;
+    private final PropriedadesLote propriedadesLote;
+    private final Validator validator;
+    private final ServicoIdempotencia servicoIdempotencia;
+    private final PropriedadesConcorrencia propriedadesConcorrencia;
+    private final MaquinaEstadosPagamento maquinaEstados;
+    private final RegrasPagamento regras;
+    private final MetricasPagamento metricas;
+    private final CaixaSaidaEventos caixaSaida;
+    private final ResumosPagadores resumos;
+    private final ArquivoPagamentos arquivo;
+    private final AsyncCache<Long, PagamentoResponseDTO> cacheConsulta;
 
-    public ServicoPagamento(RepositorioPagamento repositorioPagamento) {
+    public ServicoPagamento(RepositorioPagamento repositorioPagamento, PropriedadesPaginacao propriedadesPaginacao,
+                            PropriedadesLote propriedadesLote, Validator validator,
+                            ServicoIdempotencia servicoIdempotencia, PropriedadesConcorrencia propriedadesConcorrencia,
+                            PropriedadesCacheConsulta propriedadesCacheConsulta,
+                            MaquinaEstadosPagamento maquinaEstados, RegrasPagamento regras,
+                            MetricasPagamento metricas, CaixaSaidaEventos caixaSaida,
+                            ResumosPagadores resumos, ArquivoPagamentos arquivo) {
         this.repositorioPagamento = repositorioPagamento;
+        this.propriedadesPaginacao = propriedadesPaginacao;
+        this.propriedadesLote = propriedadesLote;
+        this.validator = validator;
+        this.servicoIdempotencia = servicoIdempotencia;
+        this.propriedadesConcorrencia = propriedadesConcorrencia;
+        this.maquinaEstados = maquinaEstados;
+        this.regras = regras;
+        this.metricas = metricas;
+        this.caixaSaida = caixaSaida;
+        this.resumos = resumos;
+        this.arquivo = arquivo;
+        this.cacheConsulta = Caffeine.newBuilder()
+                .maximumSize(propriedadesCacheConsulta.getTamanhoMaximo())
+                .expireAfterWrite(propriedadesCacheConsulta.getExpiracao())
+                .recordStats()
+                .buildAsync();
+        metricas.monitorarCache(cacheConsulta.synchronous(), "pagamentos.consulta");
     }
 
     
     public PagamentoResponseDTO criarPagamento(PagamentoRequestDTO request) {
-        validarRequisicaoPagamento(request);
+        regras.validarRequisicao(request);
         
-        Pagamento pagamento = new Pagamento(
-            request.getCodigoDebito(),
-            request.getCpfCnpj(),
-            request.getMetodoPagamento(),
-            request.getNumeroCartao(),
-            request.getValorPagamento()
-        );
+        return salvarNovoPagamento(request);
+    }
 
-        Pagamento pagamentoSalvo = repositorioPagamento.save(pagamento);
-        return new PagamentoResponseDTO(pagamentoSalvo);
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PagamentoResponseDTO criarPagamento(PagamentoRequestDTO request, String chaveIdempotencia) {
+        regras.validarRequisicao(request);
+
+        return servicoIdempotencia.executar(chaveIdempotencia, request, () -> salvarNovoPagamento(request));
+    }
+
+    
+    public ResultadoLoteResponseDTO criarPagamentosEmLote(List<PagamentoRequestDTO> requisicoes) {
+        if (requisicoes == null || requisicoes.isEmpty()) {
+            throw new PagamentoInvalidoException("O lote deve conter ao menos um pagamento");
+        }
+        if (requisicoes.size() > propriedadesLote.getTamanhoMaximo()) {
+            throw new PagamentoInvalidoException(
+                "O lote deve conter no máximo " + propriedadesLote.getTamanhoMaximo() + " pagamentos"
+            );
+        }
+
+        ItemLoteResponseDTO[] itens = new ItemLoteResponseDTO[requisicoes.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<Pagamento> pagamentosValidos = new ArrayList<>();
+
+        for (int indice = 0; indice < requisicoes.size(); indice++) {
+            PagamentoRequestDTO request = requisicoes.get(indice);
+            List<String> erros = validarItemLote(request);
+            if (erros.isEmpty()) {
+                indicesValidos.add(indice);
+                pagamentosValidos.add(novoPagamento(request));
+            } else {
+                itens[indice] = ItemLoteResponseDTO.rejeitado(indice, erros);
+            }
+        }
+
+        List<Pagamento> pagamentosSalvos = repositorioPagamento.saveAll(pagamentosValidos);
+        caixaSaida.registrarCriacao(pagamentosSalvos);
+        registrarCriacaoNosResumos(pagamentosSalvos);
+        for (int posicao = 0; posicao < pagamentosSalvos.size(); posicao++) {
+            int indice = indicesValidos.get(posicao);
+            itens[indice] = ItemLoteResponseDTO.criado(indice, new PagamentoResponseDTO(pagamentosSalvos.get(posicao)));
+        }
+
+        return new ResultadoLoteResponseDTO(Arrays.asList(itens));
     }
 
     
     @Transactional(readOnly = true)
-    public List<PagamentoResponseDTO> listarTodosPagamentos() {
-        return repositorioPagamento.findByAtivoTrue()
-                .stream()
-                .map(PagamentoResponseDTO::new)
-                .collect(Collectors.toList());
+    public PaginaPagamentosResponseDTO listarTodosPagamentos(String cursor, Integer tamanho) {
+        long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = propriedadesPaginacao.resolverTamanho(tamanho);
+
+        List<PagamentoResponseDTO> pagamentos = repositorioPagamento.buscarPaginaAtivos(
+                ultimoId, PageRequest.of(0, tamanhoPagina + 1));
+        return montarPagina(pagamentos, tamanhoPagina);
     }
 
     
     @Transactional(readOnly = true)
-    public List<PagamentoResponseDTO> buscarPagamentos(Integer codigoDebito, String cpfCnpj, StatusPagamento status) {
-        return repositorioPagamento.encontrarComFiltros(codigoDebito, cpfCnpj, status)
-                .stream()
-                .map(PagamentoResponseDTO::new)
-                .collect(Collectors.toList());
+    public PaginaPagamentosResponseDTO buscarPagamentos(Integer codigoDebito, String cpfCnpj, StatusPagamento status,
+                                                        String cursor, Integer tamanho) {
+        long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = propriedadesPaginacao.resolverTamanho(tamanho);
+
+        List<PagamentoResponseDTO> pagamentos = repositorioPagamento.buscarPaginaComFiltros(
+                codigoDebito, cpfCnpj, status, ultimoId, tamanhoPagina + 1);
+        return montarPagina(pagamentos, tamanhoPagina);
     }
 
     
     @Transactional(readOnly = true)
+    public void exportarPagamentos(Integer codigoDebito, String cpfCnpj, StatusPagamento status,
+                                   Consumer<PagamentoResponseDTO> consumidor) {
+        try (Stream<PagamentoResponseDTO> pagamentos =
+                     repositorioPagamento.transmitirComFiltros(codigoDebito, cpfCnpj, status)) {
+            pagamentos.forEach(consumidor);
+        }
+    }
+
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PagamentoResponseDTO obterPagamentoPorId(Long id) {
-        Pagamento pagamento = repositorioPagamento.findByIdAndAtivoTrue(id)
-                .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
-        return new PagamentoResponseDTO(pagamento);
+        // A carga roda fora do lock do cache: uma invalidação concorrente descarta a carga em andamento sem esperar o banco
+        CompletableFuture<PagamentoResponseDTO> carga = new CompletableFuture<>();
+        CompletableFuture<PagamentoResponseDTO> consulta = cacheConsulta.get(id, (chave, executor) -> carga);
+        if (consulta == carga) {
+            try {
+                // Pagamentos liquidados antigos saem da tabela para o arquivo (ArquivadorPagamentos)
+                carga.complete(repositorioPagamento.buscarRespostaAtivaPorId(id)
+                        .or(() -> arquivo.buscarAtivo(id).map(PagamentoResponseDTO::new))
+                        .orElseThrow(() -> new PagamentoNaoEncontradoException(id)));
+            } catch (RuntimeException ex) {
+                carga.completeExceptionally(ex);
+            }
+        }
+
+        try {
+            return consulta.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
     }
 
     
-    public PagamentoResponseDTO atualizarStatusPagamento(Long id, StatusPagamento novoStatus) {
-        Pagamento pagamento = repositorioPagamento.findByIdAndAtivoTrue(id)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Long obterVersaoPagamento(Long id) {
+        // O cache de consulta é invalidado a cada mudança; com ele preenchido, nem a coluna de versão é lida
+        CompletableFuture<PagamentoResponseDTO> emCache = cacheConsulta.getIfPresent(id);
+        if (emCache != null && emCache.isDone() && !emCache.isCompletedExceptionally()) {
+            return emCache.join().getVersao();
+        }
+
+        return repositorioPagamento.buscarVersaoAtiva(id)
+                .or(() -> arquivo.buscarAtivo(id).map(Pagamento::getVersao))
                 .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
+    }
 
-        validarTransicaoStatus(pagamento.getStatus(), novoStatus);
-        
-        pagamento.setStatus(novoStatus);
-        Pagamento pagamentoAtualizado = repositorioPagamento.save(pagamento);
-        
-        return new PagamentoResponseDTO(pagamentoAtualizado);
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TransicoesPagamentoResponseDTO obterTransicoesPermitidas(Long id) {
+        PagamentoResponseDTO pagamento = obterPagamentoPorId(id);
+        MetodoPagamento metodo = MetodoPagamento.fromValor(pagamento.getMetodoPagamento());
+        StatusPagamento statusAtual = StatusPagamento.fromDescricao(pagamento.getStatus());
+
+        List<String> proximosStatus = maquinaEstados.proximosStatus(metodo, statusAtual).stream()
+                .map(StatusPagamento::getDescricao)
+                .collect(Collectors.toList());
+        return new TransicoesPagamentoResponseDTO(id, pagamento.getStatus(), proximosStatus);
     }
 
     
-    public void excluirPagamento(Long id) {
-        Pagamento pagamento = repositorioPagamento.findByIdAndAtivoTrue(id)
-                .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EstatisticasCacheResponseDTO obterEstatisticasCache() {
+        CacheStats estatisticas = cacheConsulta.synchronous().stats();
+        return new EstatisticasCacheResponseDTO(
+            cacheConsulta.synchronous().estimatedSize(),
+            estatisticas.hitCount(),
+            estatisticas.missCount(),
+            estatisticas.evictionCount(),
+            estatisticas.hitRate()
+        );
+    }
+
+    
+    public PagamentoResponseDTO atualizarStatusPagamento(Long id, StatusPagamento novoStatus) {
+        return atualizarStatusPagamento(id, novoStatus, null);
+    }
+
+    
+    public PagamentoResponseDTO atualizarStatusPagamento(Long id, StatusPagamento novoStatus, Long versaoEsperada) {
+        int maximoTentativas = Math.max(1, propriedadesConcorrencia.getMaximoTentativas());
+
+        for (int tentativa = 1; tentativa <= maximoTentativas; tentativa++) {
+            SituacaoPagamento situacao = repositorioPagamento.buscarSituacaoAtivo(id)
+                    .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
+
+            if (versaoEsperada != null && !versaoEsperada.equals(situacao.getVersao())) {
+                throw new VersaoPagamentoDivergenteException(id, versaoEsperada, situacao.getVersao());
+            }
+            validarTransicao(situacao, novoStatus);
+
+            LocalDateTime agora = LocalDateTime.now();
+            int atualizados = repositorioPagamento.compararEAtualizarStatus(
+                    id, situacao.getStatus(), situacao.getVersao(), novoStatus, agora);
+            if (atualizados == 1) {
+                metricas.registrarTransicao(situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+                caixaSaida.registrarTransicao(id, situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+                resumos.aplicar(new VariacoesResumoPagador().transicao(situacao.getCpfCnpj(),
+                        situacao.getValorPagamento(), situacao.getStatus(), novoStatus, agora));
+                invalidarCacheAposCommit(Collections.singleton(id));
+                return repositorioPagamento.buscarRespostaAtivaPorId(id)
+                        .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
+            }
+        }
+
+        throw new ConflitoAtualizacaoException(
+            "Pagamento com ID " + id + " foi alterado concorrentemente; tente novamente"
+        );
+    }
 
-        if (pagamento.getStatus() != StatusPagamento.PENDENTE_PROCESSAMENTO) {
+    
+    public ResultadoAtualizacaoStatusLoteResponseDTO atualizarStatusEmLote(List<Long> ids, StatusPagamento novoStatus) {
+        if (ids == null || ids.isEmpty()) {
+            throw new PagamentoInvalidoException("O lote deve conter ao menos um ID");
+        }
+        if (ids.size() > propriedadesLote.getTamanhoMaximo()) {
             throw new PagamentoInvalidoException(
-                "Só é possível excluir pagamentos com status 'Pendente de Processamento'"
+                "O lote deve conter no máximo " + propriedadesLote.getTamanhoMaximo() + " IDs"
             );
         }
 
-        pagamento.setAtivo(false);
-        repositorioPagamento.save(pagamento);
+        Set<Long> idsSolicitados = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<StatusPagamento> statusAnteriores = maquinaEstados.statusAnteriores(novoStatus);
+
+        // O bloqueio alcança a união dos status de origem; a regra de cada método é aplicada sobre as linhas já travadas
+        List<SituacaoPagamento> candidatos = statusAnteriores.isEmpty()
+                ? Collections.emptyList()
+                : repositorioPagamento.bloquearCandidatosParaTransicao(idsSolicitados, statusAnteriores).stream()
+                        .filter(situacao -> maquinaEstados.permite(
+                                situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus))
+                        .collect(Collectors.toList());
+        List<Long> elegiveis = candidatos.stream().map(SituacaoPagamento::getId).collect(Collectors.toList());
+        if (!elegiveis.isEmpty()) {
+            LocalDateTime agora = LocalDateTime.now();
+            repositorioPagamento.atualizarStatusEmLote(elegiveis, statusAnteriores, novoStatus, agora);
+            VariacoesResumoPagador variacoes = new VariacoesResumoPagador();
+            for (SituacaoPagamento situacao : candidatos) {
+                metricas.registrarTransicao(situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+                caixaSaida.registrarTransicao(
+                        situacao.getId(), situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+                variacoes.transicao(situacao.getCpfCnpj(), situacao.getValorPagamento(), situacao.getStatus(),
+                        novoStatus, agora);
+            }
+            resumos.aplicar(variacoes);
+            invalidarCacheAposCommit(elegiveis);
+        }
+
+        Set<Long> atualizados = new HashSet<>(elegiveis);
+        List<Long> rejeitados = idsSolicitados.stream()
+                .filter(id -> !atualizados.contains(id))
+                .collect(Collectors.toList());
+
+        return new ResultadoAtualizacaoStatusLoteResponseDTO(
+            novoStatus.getDescricao(),
+            idsSolicitados.stream().filter(atualizados::contains).collect(Collectors.toList()),
+            motivarRejeicoes(rejeitados, novoStatus)
+        );
     }
 
     
-    private void validarRequisicaoPagamento(PagamentoRequestDTO request) {
-        
-        if (request.getMetodoPagamento().isPagamentoComCartao()) {
-            if (request.getNumeroCartao() == null || request.getNumeroCartao().trim().isEmpty()) {
-                throw new PagamentoInvalidoException(
-                    "Número do cartão é obrigatório para pagamentos com cartão de crédito ou débito"
-                );
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PagamentoReivindicado> reivindicarParaProcessamento(String marca, Set<MetodoPagamento> metodos,
+                                                                    int tamanhoLote, Duration duracaoReivindicacao) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiracao = agora.minus(duracaoReivindicacao);
+
+        // Cada tentativa grava a marca em uma transação curta; se outro trabalhador levar os mesmos
+        // candidatos ou vencer a disputa pelas linhas, a nova consulta já os exclui
+        for (int tentativa = 1; tentativa <= MAXIMO_TENTATIVAS_REIVINDICACAO; tentativa++) {
+            List<Long> candidatos = repositorioPagamento.buscarDisponiveisParaProcessamento(
+                    StatusPagamento.PENDENTE_PROCESSAMENTO, metodos, expiracao, PageRequest.of(0, tamanhoLote));
+            if (candidatos.isEmpty()) {
+                return Collections.emptyList();
             }
-        } else {
-           
-            if (request.getNumeroCartao() != null && !request.getNumeroCartao().trim().isEmpty()) {
-                throw new PagamentoInvalidoException(
-                    "Número do cartão não deve ser informado para pagamentos que não sejam com cartão"
-                );
+            try {
+                if (repositorioPagamento.reivindicar(candidatos, StatusPagamento.PENDENTE_PROCESSAMENTO,
+                        marca, agora, expiracao) > 0) {
+                    return repositorioPagamento.buscarReivindicados(marca);
+                }
+            } catch (PessimisticLockingFailureException ex) {
+                // A transação da reivindicação foi desfeita; nenhuma linha ficou marcada
             }
         }
+        return Collections.emptyList();
     }
 
     
-    private void validarTransicaoStatus(StatusPagamento statusAtual, StatusPagamento novoStatus) {
-        switch (statusAtual) {
-            case PENDENTE_PROCESSAMENTO:
-                if (novoStatus != StatusPagamento.PROCESSADO_SUCESSO &&
-                    novoStatus != StatusPagamento.PROCESSADO_FALHA) {
-                    throw new TransicaoStatusInvalidaException(statusAtual, novoStatus);
+    public int concluirProcessamento(String marca, List<PagamentoReivindicado> lote,
+                                     Map<Long, StatusPagamento> resultados) {
+        Map<Long, StatusPagamento> aceitos = new HashMap<>();
+        for (PagamentoReivindicado pagamento : lote) {
+            StatusPagamento resultado = resultados.get(pagamento.getId());
+            if (resultado != null && maquinaEstados.permite(
+                    pagamento.getMetodoPagamento(), StatusPagamento.PENDENTE_PROCESSAMENTO, resultado)) {
+                aceitos.put(pagamento.getId(), resultado);
+            }
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        int totalConcluido = 0;
+        if (!aceitos.isEmpty()) {
+            // Só as linhas travadas aqui são gravadas, então cada evento e variação do resumo corresponde a uma
+            // linha que esta conclusão de fato alterou
+            Map<StatusPagamento, Map<MetodoPagamento, List<SituacaoPagamento>>> concluidos =
+                    new EnumMap<>(StatusPagamento.class);
+            for (SituacaoPagamento pendente : repositorioPagamento.bloquearReivindicadosPendentes(
+                    aceitos.keySet(), marca, StatusPagamento.PENDENTE_PROCESSAMENTO)) {
+                concluidos.computeIfAbsent(aceitos.get(pendente.getId()), status -> new EnumMap<>(MetodoPagamento.class))
+                        .computeIfAbsent(pendente.getMetodoPagamento(), metodo -> new ArrayList<>())
+                        .add(pendente);
+            }
+
+            VariacoesResumoPagador variacoes = new VariacoesResumoPagador();
+            for (Map.Entry<StatusPagamento, Map<MetodoPagamento, List<SituacaoPagamento>>> porStatus : concluidos.entrySet()) {
+                StatusPagamento novoStatus = porStatus.getKey();
+                for (Map.Entry<MetodoPagamento, List<SituacaoPagamento>> porMetodo : porStatus.getValue().entrySet()) {
+                    List<Long> ids = porMetodo.getValue().stream().map(SituacaoPagamento::getId).collect(Collectors.toList());
+                    int atualizados = repositorioPagamento.concluirProcessamento(ids, marca,
+                            StatusPagamento.PENDENTE_PROCESSAMENTO, novoStatus, agora);
+                    metricas.registrarTransicao(porMetodo.getKey(), StatusPagamento.PENDENTE_PROCESSAMENTO,
+                            novoStatus, atualizados);
+                    invalidarCacheAposCommit(ids);
+                    totalConcluido += atualizados;
+
+                    for (SituacaoPagamento concluido : porMetodo.getValue()) {
+                        caixaSaida.registrarTransicao(concluido.getId(), concluido.getMetodoPagamento(),
+                                StatusPagamento.PENDENTE_PROCESSAMENTO, novoStatus);
+                        variacoes.transicao(concluido.getCpfCnpj(), concluido.getValorPagamento(),
+                                StatusPagamento.PENDENTE_PROCESSAMENTO, novoStatus, agora);
+                    }
                 }
-                break;
-                
-            case PROCESSADO_SUCESSO:
-            
-                throw new TransicaoStatusInvalidaException(
-                    "Pagamentos com status 'Processado com Sucesso' não podem ser alterados"
-                );
-                
-            case PROCESSADO_FALHA:
-                if (novoStatus != StatusPagamento.PENDENTE_PROCESSAMENTO) {
-                    throw new TransicaoStatusInvalidaException(statusAtual, novoStatus);
+            }
+            resumos.aplicar(variacoes);
+
+            // Pagamentos sem resultado válido continuam com a marca e só voltam à fila quando a reivindicação
+            // expira: um processador que falha não é chamado de novo para as mesmas linhas a cada lote
+            repositorioPagamento.liberarReivindicacao(lote.stream().map(PagamentoReivindicado::getId)
+                    .filter(aceitos::containsKey).collect(Collectors.toList()), marca);
+        }
+        return totalConcluido;
+    }
+
+    
+    public void excluirPagamento(Long id) {
+        Pagamento pagamento = repositorioPagamento.findByIdAndAtivoTrue(id)
+                .orElseThrow(() -> new PagamentoNaoEncontradoException(id));
+
+        regras.validarExclusao(pagamento.getStatus());
+
+        pagamento.setAtivo(false);
+        repositorioPagamento.save(pagamento);
+        caixaSaida.registrarExclusao(pagamento);
+        resumos.aplicar(new VariacoesResumoPagador().exclusao(
+                pagamento.getCpfCnpj(), pagamento.getValorPagamento(), pagamento.getStatus()));
+        invalidarCacheAposCommit(Collections.singleton(id));
+    }
+
+    
+    public void descartarDoCache(Collection<Long> ids) {
+        cacheConsulta.synchronous().invalidateAll(ids);
+    }
+
+    
+    private void invalidarCacheAposCommit(Collection<Long> ids) {
+        List<Long> chaves = new ArrayList<>(ids);
+        cacheConsulta.synchronous().invalidateAll(chaves);
+
+        // Uma leitura concorrente pode recarregar o valor antigo antes do commit; a segunda remoção descarta essa carga
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cacheConsulta.synchronous().invalidateAll(chaves);
                 }
-                break;
-                
-            default:
-                throw new TransicaoStatusInvalidaException(statusAtual, novoStatus);
+            });
+        }
+    }
+
+    
+    private PaginaPagamentosResponseDTO montarPagina(List<PagamentoResponseDTO> pagamentos, int tamanhoPagina) {
+        boolean possuiProximaPagina = pagamentos.size() > tamanhoPagina;
+        List<PagamentoResponseDTO> itens = possuiProximaPagina
+                ? new ArrayList<>(pagamentos.subList(0, tamanhoPagina))
+                : pagamentos;
+
+        String proximoCursor = possuiProximaPagina
+                ? CursorPaginacao.codificar(itens.get(itens.size() - 1).getId())
+                : null;
+        return new PaginaPagamentosResponseDTO(itens, tamanhoPagina, proximoCursor);
+    }
+
+    
+    private PagamentoResponseDTO salvarNovoPagamento(PagamentoRequestDTO request) {
+        Pagamento pagamentoSalvo = repositorioPagamento.save(novoPagamento(request));
+        caixaSaida.registrarCriacao(Collections.singletonList(pagamentoSalvo));
+        registrarCriacaoNosResumos(Collections.singletonList(pagamentoSalvo));
+        return new PagamentoResponseDTO(pagamentoSalvo);
+    }
+
+    
+    private void registrarCriacaoNosResumos(List<Pagamento> pagamentos) {
+        VariacoesResumoPagador variacoes = new VariacoesResumoPagador();
+        for (Pagamento pagamento : pagamentos) {
+            variacoes.criacao(pagamento.getCpfCnpj(), pagamento.getValorPagamento(), pagamento.getStatus());
+        }
+        resumos.aplicar(variacoes);
+    }
+
+    
+    private Pagamento novoPagamento(PagamentoRequestDTO request) {
+        return new Pagamento(
+            request.getCodigoDebito(),
+            request.getCpfCnpj(),
+            request.getMetodoPagamento(),
+            request.getNumeroCartao(),
+            request.getValorPagamento()
+        );
+    }
+
+    
+    private List<String> validarItemLote(PagamentoRequestDTO request) {
+        if (request == null) {
+            return Collections.singletonList("Pagamento do lote não pode ser nulo");
+        }
+
+        List<String> erros = validator.validate(request)
+                .stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        if (!erros.isEmpty()) {
+            return erros;
+        }
+
+        try {
+            regras.validarRequisicao(request);
+        } catch (PagamentoInvalidoException ex) {
+            return Collections.singletonList(ex.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    
+    private void validarTransicao(SituacaoPagamento situacao, StatusPagamento novoStatus) {
+        try {
+            maquinaEstados.validarTransicao(situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+        } catch (TransicaoStatusInvalidaException ex) {
+            metricas.registrarRejeicao(situacao.getMetodoPagamento(), situacao.getStatus(), novoStatus);
+            throw ex;
+        }
+    }
+
+    
+    private List<RejeicaoStatusResponseDTO> motivarRejeicoes(List<Long> rejeitados, StatusPagamento novoStatus) {
+        if (rejeitados.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, SituacaoPagamento> situacoes = repositorioPagamento.buscarSituacaoAtivos(rejeitados)
+                .stream()
+                .collect(Collectors.toMap(SituacaoPagamento::getId, situacao -> situacao));
+
+        return rejeitados.stream()
+                .map(id -> new RejeicaoStatusResponseDTO(id, motivoRejeicao(id, situacoes.get(id), novoStatus)))
+                .collect(Collectors.toList());
+    }
+
+    
+    private String motivoRejeicao(Long id, SituacaoPagamento situacao, StatusPagamento novoStatus) {
+        if (situacao == null) {
+            return new PagamentoNaoEncontradoException(id).getMessage();
+        }
+        try {
+            validarTransicao(situacao, novoStatus);
+        } catch (TransicaoStatusInvalidaException ex) {
+            return ex.getMessage();
         }
+        return "Status do pagamento foi alterado durante a atualização em lote";
     }
 }
@@ -0,0 +1,225 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesConcorrencia;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.entidade.RegistroPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.repositorio.ArquivoPagamentos;
+import com.pagamento.repositorio.RepositorioPagamentoReativo;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Espelha o ServicoPagamento para a API v2: as regras vêm dos mesmos componentes, só o acesso ao banco é reativo.
+// Sem @Service: o bean é criado em ConfiguracaoR2dbcV2, no contexto WebFlux da v2.
+public class ServicoPagamentoReativo {
+
+    private final RepositorioPagamentoReativo repositorio;
+    private final TransactionalOperator transacao;
+    private final RegrasPagamento regras;
+    private final MaquinaEstadosPagamento maquinaEstados;
+    private final PropriedadesConcorrencia propriedadesConcorrencia;
+    private final MetricasPagamento metricas;
+    private final ServicoPagamento servicoPagamento;
+    private final NotificadorStatusPagamento notificador;
+    private final ArquivoPagamentos arquivo;
+
+    public ServicoPagamentoReativo(RepositorioPagamentoReativo repositorio, TransactionalOperator transacao,
+                                   RegrasPagamento regras,
+                                   MaquinaEstadosPagamento maquinaEstados,
+                                   PropriedadesConcorrencia propriedadesConcorrencia,
+                                   MetricasPagamento metricas, ServicoPagamento servicoPagamento,
+                                   NotificadorStatusPagamento notificador, ArquivoPagamentos arquivo) {
+        this.repositorio = repositorio;
+        this.transacao = transacao;
+        this.regras = regras;
+        this.maquinaEstados = maquinaEstados;
+        this.propriedadesConcorrencia = propriedadesConcorrencia;
+        this.metricas = metricas;
+        this.servicoPagamento = servicoPagamento;
+        this.notificador = notificador;
+        this.arquivo = arquivo;
+    }
+
+    
+    public Mono<PagamentoResponseDTO> criarPagamento(PagamentoRequestDTO request) {
+        return Mono.fromRunnable(() -> regras.validarRequisicao(request))
+                .then(repositorio.proximoId())
+                .map(id -> new RegistroPagamento(id, request.getCodigoDebito(), request.getCpfCnpj(),
+                        request.getMetodoPagamento(), request.getNumeroCartao(), request.getValorPagamento()))
+                .flatMap(pagamento -> repositorio.save(pagamento)
+                        .flatMap(salvo -> repositorio.registrarCriacao(salvo.getId(), salvo.getMetodoPagamento(),
+                                        salvo.getStatus(), salvo.getDataCriacao())
+                                .then(aplicarNosResumos(new VariacoesResumoPagador().criacao(
+                                        salvo.getCpfCnpj(), salvo.getValorPagamento(), salvo.getStatus())))
+                                .thenReturn(salvo)))
+                .as(transacao::transactional)
+                .map(this::paraResposta);
+    }
+
+    
+    public Flux<PagamentoResponseDTO> buscarPagamentos(Integer codigoDebito, String cpfCnpj, StatusPagamento status) {
+        return repositorio.transmitirComFiltros(codigoDebito, cpfCnpj, status)
+                .map(this::paraResposta);
+    }
+
+    
+    public Mono<PagamentoResponseDTO> obterPagamentoPorId(Long id) {
+        // Mesmo recurso da v1 ao arquivo; a leitura do segmento mapeado não toca a rede nem o pool R2DBC
+        return repositorio.findByIdAndAtivoTrue(id)
+                .map(this::paraResposta)
+                .switchIfEmpty(Mono.fromCallable(() -> arquivo.buscarAtivo(id)
+                        .map(PagamentoResponseDTO::new)
+                        .orElseThrow(() -> new PagamentoNaoEncontradoException(id))));
+    }
+
+    
+    public Mono<Long> obterVersaoPagamento(Long id) {
+        return repositorio.buscarVersaoAtiva(id)
+                .switchIfEmpty(Mono.fromCallable(() -> arquivo.buscarAtivo(id)
+                        .map(Pagamento::getVersao)
+                        .orElseThrow(() -> new PagamentoNaoEncontradoException(id))));
+    }
+
+    
+    public Mono<TransicoesPagamentoResponseDTO> obterTransicoesPermitidas(Long id) {
+        return buscarAtivo(id).map(pagamento -> {
+            List<String> proximosStatus = maquinaEstados
+                    .proximosStatus(pagamento.getMetodoPagamento(), pagamento.getStatus()).stream()
+                    .map(StatusPagamento::getDescricao)
+                    .collect(Collectors.toList());
+            return new TransicoesPagamentoResponseDTO(id, pagamento.getStatus().getDescricao(), proximosStatus);
+        });
+    }
+
+    
+    public Mono<PagamentoResponseDTO> atualizarStatusPagamento(Long id, StatusPagamento novoStatus,
+                                                               Long versaoEsperada) {
+        return atualizarStatusPagamento(id, novoStatus, versaoEsperada, 1);
+    }
+
+    
+    public Mono<Void> excluirPagamento(Long id) {
+        return buscarAtivo(id)
+                .flatMap(pagamento -> {
+                    regras.validarExclusao(pagamento.getStatus());
+                    LocalDateTime agora = LocalDateTime.now();
+                    return repositorio.compararEDesativar(id, pagamento.getStatus(), pagamento.getVersao(), agora)
+                            .flatMap(atualizados -> atualizados == 1
+                                    ? repositorio.registrarExclusao(id, pagamento.getMetodoPagamento(),
+                                                    pagamento.getStatus(), agora)
+                                            .then(aplicarNosResumos(new VariacoesResumoPagador().exclusao(
+                                                    pagamento.getCpfCnpj(), pagamento.getValorPagamento(),
+                                                    pagamento.getStatus())))
+                                            .thenReturn(atualizados)
+                                    : Mono.just(atualizados))
+                            .as(transacao::transactional)
+                            .flatMap(atualizados -> atualizados == 1
+                                    ? Mono.<Void>fromRunnable(() -> {
+                                        servicoPagamento.descartarDoCache(Collections.singleton(id));
+                                        notificador.notificarExclusao(id, pagamento.getStatus());
+                                    })
+                                    : Mono.error(conflito(id)));
+                });
+    }
+
+    
+    private Mono<PagamentoResponseDTO> atualizarStatusPagamento(Long id, StatusPagamento novoStatus,
+                                                                Long versaoEsperada, int tentativa) {
+        return buscarAtivo(id).flatMap(pagamento -> {
+            if (versaoEsperada != null && !versaoEsperada.equals(pagamento.getVersao())) {
+                return Mono.error(new VersaoPagamentoDivergenteException(id, versaoEsperada, pagamento.getVersao()));
+            }
+            validarTransicao(pagamento, novoStatus);
+
+            LocalDateTime agora = LocalDateTime.now();
+            return repositorio.compararEAtualizarStatus(id, pagamento.getStatus(), pagamento.getVersao(),
+                            novoStatus, agora)
+                    .flatMap(atualizados -> atualizados == 1
+                            ? repositorio.registrarTransicao(id, pagamento.getMetodoPagamento(),
+                                            pagamento.getStatus(), novoStatus, agora)
+                                    .then(aplicarNosResumos(new VariacoesResumoPagador().transicao(
+                                            pagamento.getCpfCnpj(), pagamento.getValorPagamento(),
+                                            pagamento.getStatus(), novoStatus, agora)))
+                                    .thenReturn(atualizados)
+                            : Mono.just(atualizados))
+                    .as(transacao::transactional)
+                    .flatMap(atualizados -> {
+                        if (atualizados == 1) {
+                            metricas.registrarTransicao(pagamento.getMetodoPagamento(), pagamento.getStatus(), novoStatus);
+                            servicoPagamento.descartarDoCache(Collections.singleton(id));
+                            notificador.notificarTransicao(id, pagamento.getMetodoPagamento(), pagamento.getStatus(),
+                                    novoStatus);
+                            return obterPagamentoPorId(id);
+                        }
+                        // Outra requisição alterou o pagamento entre a leitura e a escrita: relê e revalida
+                        if (tentativa >= Math.max(1, propriedadesConcorrencia.getMaximoTentativas())) {
+                            return Mono.error(conflito(id));
+                        }
+                        return atualizarStatusPagamento(id, novoStatus, versaoEsperada, tentativa + 1);
+                    });
+        });
+    }
+
+    // Mesmo protocolo de ResumosPagadores: variação somada pelo banco, linha criada zerada no primeiro pagamento.
+    // No H2 a chave duplicada desfaz só o INSERT, não a transação
+    private Mono<Void> aplicarNosResumos(VariacoesResumoPagador variacoes) {
+        return Flux.fromIterable(variacoes.porPagador().entrySet())
+                .filter(entrada -> !entrada.getValue().isNula())
+                .concatMap(entrada -> {
+                    String cpfCnpj = entrada.getKey();
+                    VariacoesResumoPagador.Variacao variacao = entrada.getValue();
+                    Mono<Integer> aplicarVariacao = Mono.defer(() -> repositorio.aplicarVariacaoResumo(
+                            cpfCnpj, variacao.getSaldoAberto(), variacao.getQuantidadePendentes()));
+                    return aplicarVariacao
+                            .flatMap(atualizados -> atualizados > 0
+                                    ? Mono.just(atualizados)
+                                    : repositorio.criarResumoSeAusente(cpfCnpj)
+                                            .onErrorResume(DataIntegrityViolationException.class, ex -> Mono.just(0))
+                                            .then(aplicarVariacao))
+                            .then(variacao.getDataUltimoPagamento() != null
+                                    ? repositorio.registrarPagamentoResumo(cpfCnpj, variacao.getDataUltimoPagamento())
+                                    : Mono.just(0));
+                })
+                .then();
+    }
+
+    private Mono<RegistroPagamento> buscarAtivo(Long id) {
+        return repositorio.findByIdAndAtivoTrue(id)
+                .switchIfEmpty(Mono.error(() -> new PagamentoNaoEncontradoException(id)));
+    }
+
+    private void validarTransicao(RegistroPagamento pagamento, StatusPagamento novoStatus) {
+        try {
+            maquinaEstados.validarTransicao(pagamento.getMetodoPagamento(), pagamento.getStatus(), novoStatus);
+        } catch (TransicaoStatusInvalidaException ex) {
+            metricas.registrarRejeicao(pagamento.getMetodoPagamento(), pagamento.getStatus(), novoStatus);
+            throw ex;
+        }
+    }
+
+    private ConflitoAtualizacaoException conflito(Long id) {
+        return new ConflitoAtualizacaoException(
+            "Pagamento com ID " + id + " foi alterado concorrentemente; tente novamente"
+        );
+    }
+
+    private PagamentoResponseDTO paraResposta(RegistroPagamento pagamento) {
+        return new PagamentoResponseDTO(pagamento.getId(), pagamento.getCodigoDebito(), pagamento.getCpfCnpj(),
+                pagamento.getMetodoPagamento(), pagamento.getNumeroCartao(), pagamento.getValorPagamento(),
+                pagamento.getStatus(), pagamento.getDataCriacao(), pagamento.getDataAtualizacao(), pagamento.getVersao());
+    }
+}
@@ -0,0 +1,47 @@
+package com.pagamento.servico;
+
+import com.pagamento.dto.RelatorioPagamentosResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ServicoRelatorioPagamentos {
+
+    private final RepositorioPagamento repositorioPagamento;
+
+    public ServicoRelatorioPagamentos(RepositorioPagamento repositorioPagamento) {
+        this.repositorioPagamento = repositorioPagamento;
+    }
+
+    
+    public RelatorioPagamentosResponseDTO gerarRelatorio(AgrupamentoRelatorio agrupamento, String cpfCnpj,
+                                                         LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial != null && dataFinal != null && dataInicial.isAfter(dataFinal)) {
+            throw new PagamentoInvalidoException("Data inicial deve ser anterior ou igual à data final");
+        }
+
+        // As datas são dias inteiros: o fim vira o início do dia seguinte, sem excluir o último dia
+        LocalDateTime inicio = dataInicial != null ? dataInicial.atStartOfDay() : null;
+        LocalDateTime fim = dataFinal != null ? dataFinal.plusDays(1).atStartOfDay() : null;
+        List<TotalGrupoResponseDTO> grupos = repositorioPagamento.totalizar(agrupamento, cpfCnpj, inicio, fim);
+
+        long quantidadeTotal = 0;
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (TotalGrupoResponseDTO grupo : grupos) {
+            quantidadeTotal += grupo.getQuantidade();
+            valorTotal = valorTotal.add(grupo.getValorTotal());
+        }
+        return new RelatorioPagamentosResponseDTO(agrupamento, dataInicial, dataFinal, cpfCnpj,
+                quantidadeTotal, valorTotal, grupos);
+    }
+}
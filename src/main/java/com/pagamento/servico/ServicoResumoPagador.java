@@ -0,0 +1,178 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesResumos;
+import com.pagamento.dto.ResumoPagadorResponseDTO;
+import com.pagamento.dto.VerificacaoResumosResponseDTO;
+import com.pagamento.entidade.ResumoPagador;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.RepositorioResumoPagador;
+import com.pagamento.repositorio.ResumoCalculado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class ServicoResumoPagador {
+
+    private static final Logger log = LoggerFactory.getLogger(ServicoResumoPagador.class);
+
+    private enum Conferencia { CONFERE, DIVERGENTE, REPARADO }
+
+    private final RepositorioResumoPagador repositorioResumo;
+    private final RepositorioPagamento repositorioPagamento;
+    private final ResumosPagadores resumos;
+    private final PropriedadesResumos propriedades;
+    private final MetricasPagamento metricas;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate transacao;
+
+    public ServicoResumoPagador(RepositorioResumoPagador repositorioResumo, RepositorioPagamento repositorioPagamento,
+                                ResumosPagadores resumos, PropriedadesResumos propriedades,
+                                MetricasPagamento metricas, PlatformTransactionManager gerenciadorTransacao) {
+        this.repositorioResumo = repositorioResumo;
+        this.repositorioPagamento = repositorioPagamento;
+        this.resumos = resumos;
+        this.propriedades = propriedades;
+        this.metricas = metricas;
+        this.leitura = new TransactionTemplate(gerenciadorTransacao);
+        this.leitura.setReadOnly(true);
+        this.transacao = new TransactionTemplate(gerenciadorTransacao);
+    }
+
+    
+    // Leitura por chave primária: o custo não depende de quantos pagamentos o pagador tem
+    @Transactional(readOnly = true)
+    public ResumoPagadorResponseDTO obterResumo(String cpfCnpj) {
+        return repositorioResumo.findById(cpfCnpj)
+                .map(ResumoPagadorResponseDTO::new)
+                .orElseThrow(() -> new PagamentoNaoEncontradoException("Resumo não encontrado para o CPF/CNPJ: " + cpfCnpj));
+    }
+
+    
+    // Também roda na inicialização: pagamentos carregados fora da aplicação (data.sql, cargas manuais) ganham resumo
+    @Scheduled(fixedDelayString = "${pagamento.resumos.intervalo-verificacao:PT1H}")
+    public void verificarPeriodicamente() {
+        if (!propriedades.isVerificacaoHabilitada()) {
+            return;
+        }
+
+        try {
+            verificarResumos();
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao verificar os resumos por pagador; nova tentativa no próximo ciclo", ex);
+        }
+    }
+
+    
+    public VerificacaoResumosResponseDTO verificarResumos() {
+        Set<String> verificados = new TreeSet<>();
+        Set<String> suspeitos = new TreeSet<>();
+        leitura.executeWithoutResult(status -> {
+            Map<String, ResumoCalculado> calculados = new HashMap<>();
+            for (ResumoCalculado calculado : repositorioPagamento.calcularResumos()) {
+                calculados.put(calculado.getCpfCnpj(), calculado);
+            }
+            for (ResumoPagador resumo : repositorioResumo.findAll()) {
+                verificados.add(resumo.getCpfCnpj());
+                if (!confere(resumo, calculados.remove(resumo.getCpfCnpj()))) {
+                    suspeitos.add(resumo.getCpfCnpj());
+                }
+            }
+            for (ResumoCalculado semResumo : calculados.values()) {
+                verificados.add(semResumo.getCpfCnpj());
+                if (!confere(null, semResumo)) {
+                    suspeitos.add(semResumo.getCpfCnpj());
+                }
+            }
+        });
+
+        // As duas leituras acima não são atômicas com as transações em andamento: cada suspeito é conferido de
+        // novo com a linha do resumo travada, e só o que ainda diverge conta como divergência
+        int divergentes = 0;
+        int reparados = 0;
+        for (String cpfCnpj : suspeitos) {
+            Conferencia conferencia = transacao.execute(status -> conferirERepararSeNecessario(cpfCnpj));
+            if (conferencia != Conferencia.CONFERE) {
+                divergentes++;
+            }
+            if (conferencia == Conferencia.REPARADO) {
+                reparados++;
+            }
+        }
+
+        if (divergentes > 0) {
+            metricas.registrarDivergenciasResumo(divergentes);
+            log.warn("{} resumo(s) por pagador divergente(s) da tabela de pagamentos; {} reparado(s)",
+                    divergentes, reparados);
+        }
+        return new VerificacaoResumosResponseDTO(verificados.size(), divergentes, reparados);
+    }
+
+    
+    private Conferencia conferirERepararSeNecessario(String cpfCnpj) {
+        ResumoPagador resumo = repositorioResumo.bloquear(cpfCnpj).orElse(null);
+        ResumoCalculado calculado = repositorioPagamento.calcularResumo(cpfCnpj).orElse(null);
+        if (confere(resumo, calculado)) {
+            return Conferencia.CONFERE;
+        }
+        if (!propriedades.isReparar()) {
+            return Conferencia.DIVERGENTE;
+        }
+
+        if (resumo == null) {
+            resumos.criarSeAusente(cpfCnpj);
+            resumo = repositorioResumo.bloquear(cpfCnpj)
+                    .orElseThrow(() -> new IllegalStateException("Resumo do pagador " + cpfCnpj + " não foi criado"));
+            calculado = repositorioPagamento.calcularResumo(cpfCnpj).orElse(null);
+        }
+        resumo.setSaldoAberto(saldoAberto(calculado));
+        resumo.setQuantidadePendentes(quantidadePendentes(calculado));
+        resumo.setDataUltimoPagamento(maisRecente(resumo.getDataUltimoPagamento(),
+                calculado != null ? calculado.getDataUltimoPagamento() : null));
+        return Conferencia.REPARADO;
+    }
+
+    private boolean confere(ResumoPagador resumo, ResumoCalculado calculado) {
+        BigDecimal saldoAberto = saldoAberto(calculado);
+        long quantidadePendentes = quantidadePendentes(calculado);
+        LocalDateTime dataUltimoPagamento = calculado != null ? calculado.getDataUltimoPagamento() : null;
+        // Pagador sem resumo e sem pagamentos ativos equivale a um resumo zerado
+        if (resumo == null) {
+            return saldoAberto.signum() == 0 && quantidadePendentes == 0 && dataUltimoPagamento == null;
+        }
+        // Pagamentos liquidados antigos saem da tabela para o arquivo (ArquivadorPagamentos): a data recalculada
+        // é só um limite inferior para a data do resumo
+        return resumo.getSaldoAberto().compareTo(saldoAberto) == 0
+                && resumo.getQuantidadePendentes() == quantidadePendentes
+                && Objects.equals(maisRecente(resumo.getDataUltimoPagamento(), dataUltimoPagamento),
+                                  resumo.getDataUltimoPagamento());
+    }
+
+    private LocalDateTime maisRecente(LocalDateTime primeira, LocalDateTime segunda) {
+        if (primeira == null || (segunda != null && segunda.isAfter(primeira))) {
+            return segunda;
+        }
+        return primeira;
+    }
+
+    private BigDecimal saldoAberto(ResumoCalculado calculado) {
+        return calculado != null && calculado.getSaldoAberto() != null ? calculado.getSaldoAberto() : BigDecimal.ZERO;
+    }
+
+    private long quantidadePendentes(ResumoCalculado calculado) {
+        return calculado != null && calculado.getQuantidadePendentes() != null ? calculado.getQuantidadePendentes() : 0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pagamento.servico;
+
+import com.pagamento.enums.StatusPagamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Acumula o efeito de uma transação sobre os resumos de cada pagador. O TreeMap aplica as variações sempre
+// na mesma ordem de CPF/CNPJ, então duas transações que tocam os mesmos pagadores não travam uma à outra
+public class VariacoesResumoPagador {
+
+    private final Map<String, Variacao> porPagador = new TreeMap<>();
+
+    public VariacoesResumoPagador criacao(String cpfCnpj, BigDecimal valor, StatusPagamento status) {
+        variacao(cpfCnpj).somar(saldoAberto(status, valor), pendentes(status));
+        return this;
+    }
+
+    public VariacoesResumoPagador transicao(String cpfCnpj, BigDecimal valor, StatusPagamento de,
+                                            StatusPagamento para, LocalDateTime quando) {
+        Variacao variacao = variacao(cpfCnpj);
+        variacao.somar(saldoAberto(para, valor).subtract(saldoAberto(de, valor)), pendentes(para) - pendentes(de));
+        if (para == StatusPagamento.PROCESSADO_SUCESSO) {
+            variacao.registrarPagamento(quando);
+        }
+        return this;
+    }
+
+    public VariacoesResumoPagador exclusao(String cpfCnpj, BigDecimal valor, StatusPagamento status) {
+        variacao(cpfCnpj).somar(saldoAberto(status, valor).negate(), -pendentes(status));
+        return this;
+    }
+
+    public Map<String, Variacao> porPagador() {
+        return Collections.unmodifiableMap(porPagador);
+    }
+
+    
+    // Mesmas regras da consulta de recálculo em RepositorioPagamento.SELECAO_RESUMO
+    static BigDecimal saldoAberto(StatusPagamento status, BigDecimal valor) {
+        return status == StatusPagamento.PROCESSADO_SUCESSO ? BigDecimal.ZERO : valor;
+    }
+
+    static long pendentes(StatusPagamento status) {
+        return status == StatusPagamento.PENDENTE_PROCESSAMENTO ? 1 : 0;
+    }
+
+    private Variacao variacao(String cpfCnpj) {
+        return porPagador.computeIfAbsent(cpfCnpj, chave -> new Variacao());
+    }
+
+    public static class Variacao {
+
+        private BigDecimal saldoAberto = BigDecimal.ZERO;
+        private long quantidadePendentes;
+        private LocalDateTime dataUltimoPagamento;
+
+        private void somar(BigDecimal saldo, long pendentes) {
+            saldoAberto = saldoAberto.add(saldo);
+            quantidadePendentes += pendentes;
+        }
+
+        private void registrarPagamento(LocalDateTime quando) {
+            if (dataUltimoPagamento == null || dataUltimoPagamento.isBefore(quando)) {
+                dataUltimoPagamento = quando;
+            }
+        }
+
+        public BigDecimal getSaldoAberto() {
+            return saldoAberto;
+        }
+
+        public long getQuantidadePendentes() {
+            return quantidadePendentes;
+        }
+
+        public LocalDateTime getDataUltimoPagamento() {
+            return dataUltimoPagamento;
+        }
+
+        public boolean isNula() {
+            return saldoAberto.signum() == 0 && quantidadePendentes == 0 && dataUltimoPagamento == null;
+        }
+    }
+}
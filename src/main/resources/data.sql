@@ -1,6 +1,8 @@
-INSERT INTO payments (codigo_debito, cpf_cnpj, metodo_pagamento, numero_cartao, valor_pagamento, status, data_criacao, data_atualizacao, ativo) VALUES
-(12345, '12345678901', 'PIX', NULL, 150.50, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true),
-(67890, '98765432000123', 'BOLETO', NULL, 300.00, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true),
-(11111, '11122233344', 'CARTAO_CREDITO', '1234567890123456', 99.99, 'PROCESSADO_SUCESSO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true),
-(22222, '55566677788', 'CARTAO_DEBITO', '9876543210987654', 250.75, 'PROCESSADO_FALHA', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true),
-(33333, '12345678901', 'PIX', NULL, 500.00, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true);
+INSERT INTO payments (id, codigo_debito, cpf_cnpj, metodo_pagamento, numero_cartao, valor_pagamento, status, data_criacao, data_atualizacao, ativo, versao) VALUES
+(1, 12345, '12345678901', 'PIX', NULL, 150.50, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true, 0),
+(2, 67890, '98765432000123', 'BOLETO', NULL, 300.00, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true, 0),
+(3, 11111, '11122233344', 'CARTAO_CREDITO', '1234567890123456', 99.99, 'PROCESSADO_SUCESSO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true, 0),
+(4, 22222, '55566677788', 'CARTAO_DEBITO', '9876543210987654', 250.75, 'PROCESSADO_FALHA', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true, 0),
+(5, 33333, '12345678901', 'PIX', NULL, 500.00, 'PENDENTE_PROCESSAMENTO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true, 0);
+
+ALTER SEQUENCE payments_seq RESTART WITH 6;
@@ -0,0 +1,95 @@
+package com.pagamento.configuracao;
+
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:cachehttp",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false"
+})
+@DisplayName("Testes de ETag e Compressão das Respostas")
+class ConfiguracaoCacheHttpTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    // O cliente do JDK não descompacta sozinho: Content-Encoding e os bytes chegam como o servidor enviou
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        List<PagamentoRequestDTO> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requisicoes.add(new PagamentoRequestDTO(60000, "60000000000", MetodoPagamento.PIX, null,
+                    new BigDecimal("12.00")));
+        }
+        servicoPagamento.criarPagamentosEmLote(requisicoes);
+    }
+
+    @Test
+    @DisplayName("Deve compactar a listagem com gzip e devolver 304 para o ETag fraco repetido")
+    void deveCompactarListagemEDevolver304ParaEtagRepetido() throws Exception {
+        HttpResponse<byte[]> resposta = consultar("/buscar?cpfCnpj=60000000000&tamanho=20", null);
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        try (GZIPInputStream corpo = new GZIPInputStream(new ByteArrayInputStream(resposta.body()))) {
+            assertThat(new String(corpo.readAllBytes(), StandardCharsets.UTF_8)).contains("\"cpfCnpj\":\"60000000000\"");
+        }
+
+        String etag = resposta.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(etag).startsWith("W/\"");
+
+        HttpResponse<byte[]> repetida = consultar("/buscar?cpfCnpj=60000000000&tamanho=20", etag);
+        assertThat(repetida.statusCode()).isEqualTo(304);
+        assertThat(repetida.body()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve compactar respostas abaixo do tamanho mínimo")
+    void naoDeveCompactarRespostasPequenas() throws Exception {
+        Long id = servicoPagamento.criarPagamento(new PagamentoRequestDTO(60001, "60000000001", MetodoPagamento.PIX,
+                null, new BigDecimal("12.00"))).getId();
+
+        HttpResponse<byte[]> resposta = consultar("/" + id, null);
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(resposta.headers().firstValue(HttpHeaders.ETAG)).hasValue("\"0\"");
+    }
+
+    private HttpResponse<byte[]> consultar(String caminho, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/api/pagamentos" + caminho))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if (ifNoneMatch != null) {
+            requisicao.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,54 @@
+package com.pagamento.configuracao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+@DisplayName("Testes da Configuração de Execução em Threads Virtuais")
+class ConfiguracaoExecucaoVirtualTest {
+
+    private static final int VERSAO_JAVA = Runtime.version().feature();
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+        .withUserConfiguration(ConfiguracaoExecucaoVirtual.class);
+
+    @Test
+    @DisplayName("Não deve registrar o executor virtual no modo plataforma")
+    void naoDeveRegistrarExecutorVirtualNoModoPlataforma() {
+        contexto
+            .withPropertyValues("pagamento.execucao.modo=plataforma")
+            .run(aplicacao -> assertThat(aplicacao).doesNotHaveBean(ConfiguracaoExecucaoVirtual.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar o modo virtual em JVMs anteriores ao Java 21")
+    void deveRecusarModoVirtualAntesDoJava21() {
+        assumeTrue(VERSAO_JAVA < 21);
+
+        assertThatThrownBy(ConfiguracaoExecucaoVirtual::criarExecutorVirtual)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("requer Java 21 ou superior");
+    }
+
+    @Test
+    @DisplayName("Deve executar as tarefas em threads virtuais a partir do Java 21")
+    void deveExecutarTarefasEmThreadsVirtuais() throws Exception {
+        assumeTrue(VERSAO_JAVA >= 21);
+
+        ExecutorService executor = ConfiguracaoExecucaoVirtual.criarExecutorVirtual();
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                .get(5, TimeUnit.SECONDS);
+
+            assertThat(virtual).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.pagamento.configuracao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.pagamento.dto.ErroResponseDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.servico.ServicoPagamento;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:formatosbinarios",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false"
+})
+@DisplayName("Testes dos Formatos Binários (CBOR, Smile e Protobuf)")
+class ConfiguracaoFormatosBinariosTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String PROTOBUF = "application/x-protobuf";
+    private static final String CPF = "61000000000";
+
+    private static Map<Class<?>, ProtobufSchema> esquemas;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+    private final ObjectMapper protobuf = Jackson2ObjectMapperBuilder.json().factory(new ProtobufFactory())
+            .serializerByType(BigDecimal.class, ToStringSerializer.instance)
+            .build();
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @BeforeAll
+    static void carregarEsquemas() throws Exception {
+        esquemas = ConfiguracaoFormatosBinarios.carregarEsquemas();
+    }
+
+    @Test
+    @DisplayName("Deve criar pagamento enviado e respondido em CBOR")
+    void deveCriarPagamentoEmCbor() throws Exception {
+        byte[] corpo = cbor.writeValueAsBytes(requisicao(MetodoPagamento.PIX, "12.34"));
+
+        HttpResponse<byte[]> resposta = enviar("POST", "", CBOR, CBOR, corpo);
+
+        assertThat(resposta.statusCode()).isEqualTo(201);
+        assertThat(resposta.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(CBOR);
+        PagamentoResponseDTO criado = cbor.readValue(resposta.body(), PagamentoResponseDTO.class);
+        assertThat(criado.getValorPagamento()).isEqualByComparingTo("12.34");
+        assertThat(criado.getMetodoPagamento()).isEqualTo("pix");
+        assertThat(criado.getDataCriacao()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter JSON quando o cliente aceita qualquer formato")
+    void deveManterJsonQuandoClienteAceitaQualquerFormato() throws Exception {
+        criarPagamentos(1);
+
+        HttpResponse<byte[]> resposta = enviar("GET", "/buscar?cpfCnpj=" + CPF, "*/*", null, null);
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue("application/json");
+    }
+
+    @Test
+    @DisplayName("Deve devolver em Smile a mesma página da busca em JSON, em menos bytes")
+    void deveDevolverMesmaPaginaEmSmile() throws Exception {
+        criarPagamentos(30);
+
+        HttpResponse<byte[]> respostaJson = enviar("GET", "/buscar?cpfCnpj=" + CPF, "application/json", null, null);
+        HttpResponse<byte[]> respostaSmile = enviar("GET", "/buscar?cpfCnpj=" + CPF, SMILE, null, null);
+
+        assertThat(respostaSmile.statusCode()).isEqualTo(200);
+        assertThat(respostaSmile.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(SMILE);
+        assertThat(smile.readValue(respostaSmile.body(), PaginaPagamentosResponseDTO.class))
+            .usingRecursiveComparison()
+            .isEqualTo(json.readValue(respostaJson.body(), PaginaPagamentosResponseDTO.class));
+        assertThat(respostaSmile.body().length).isLessThan(respostaJson.body().length);
+    }
+
+    @Test
+    @DisplayName("Deve criar e buscar pagamentos em Protobuf sem perder valor nem datas, em menos bytes")
+    void deveCriarEBuscarEmProtobuf() throws Exception {
+        byte[] corpo = protobuf.writer(esquemas.get(PagamentoRequestDTO.class))
+                .writeValueAsBytes(requisicao(MetodoPagamento.CARTAO_CREDITO, "99999999.99"));
+
+        HttpResponse<byte[]> criacao = enviar("POST", "", PROTOBUF, PROTOBUF, corpo);
+
+        assertThat(criacao.statusCode()).isEqualTo(201);
+        PagamentoResponseDTO criado = protobuf.readerFor(PagamentoResponseDTO.class)
+                .with(esquemas.get(PagamentoResponseDTO.class)).readValue(criacao.body());
+        assertThat(criado.getValorPagamento()).isEqualTo(new BigDecimal("99999999.99"));
+        assertThat(criado.getNumeroCartao()).isEqualTo("**** **** **** 1111");
+        assertThat(criado.getStatus()).isEqualTo("Pendente de Processamento");
+
+        HttpResponse<byte[]> busca = enviar("GET", "/buscar?cpfCnpj=" + CPF, PROTOBUF, null, null);
+        HttpResponse<byte[]> buscaJson = enviar("GET", "/buscar?cpfCnpj=" + CPF, "application/json", null, null);
+
+        assertThat(busca.statusCode()).isEqualTo(200);
+        PaginaPagamentosResponseDTO pagina = protobuf.readerFor(PaginaPagamentosResponseDTO.class)
+                .with(esquemas.get(PaginaPagamentosResponseDTO.class)).readValue(busca.body());
+        assertThat(pagina.getPagamentos()).extracting(PagamentoResponseDTO::getId).contains(criado.getId());
+        assertThat(pagina)
+            .usingRecursiveComparison()
+            .isEqualTo(json.readValue(buscaJson.body(), PaginaPagamentosResponseDTO.class));
+        assertThat(busca.body().length).isLessThan(buscaJson.body().length);
+    }
+
+    @Test
+    @DisplayName("Deve validar a requisição binária e responder o erro no formato pedido")
+    void deveValidarRequisicaoBinaria() throws Exception {
+        PagamentoRequestDTO invalida = requisicao(MetodoPagamento.PIX, "0.00");
+        byte[] corpo = protobuf.writer(esquemas.get(PagamentoRequestDTO.class)).writeValueAsBytes(invalida);
+
+        HttpResponse<byte[]> resposta = enviar("POST", "", PROTOBUF, PROTOBUF, corpo);
+
+        assertThat(resposta.statusCode()).isEqualTo(400);
+        ErroResponseDTO erro = protobuf.readerFor(ErroResponseDTO.class)
+                .with(esquemas.get(ErroResponseDTO.class)).readValue(resposta.body());
+        assertThat(erro.getStatus()).isEqualTo(400);
+        assertThat(erro.getDetalhes()).anyMatch(detalhe -> detalhe.contains("maior que zero"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 para corpo Protobuf malformado")
+    void deveResponder400ParaProtobufMalformado() throws Exception {
+        HttpResponse<byte[]> resposta = enviar("POST", "", "application/json", PROTOBUF, new byte[] {(byte) 0xFF, 0x01});
+
+        assertThat(resposta.statusCode()).isEqualTo(400);
+        assertThat(json.readTree(resposta.body()).get("status").asInt()).isEqualTo(400);
+    }
+
+    private void criarPagamentos(int quantidade) {
+        List<PagamentoRequestDTO> requisicoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            requisicoes.add(requisicao(MetodoPagamento.BOLETO, "10.00"));
+        }
+        servicoPagamento.criarPagamentosEmLote(requisicoes);
+    }
+
+    private PagamentoRequestDTO requisicao(MetodoPagamento metodo, String valor) {
+        String numeroCartao = metodo == MetodoPagamento.CARTAO_CREDITO ? "4111111111111111" : null;
+        return new PagamentoRequestDTO(61000, CPF, metodo, numeroCartao, new BigDecimal(valor));
+    }
+
+    private HttpResponse<byte[]> enviar(String metodo, String caminho, String aceita, String tipoCorpo, byte[] corpo)
+            throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/api/pagamentos" + caminho))
+                .header(HttpHeaders.ACCEPT, aceita)
+                .method(metodo, corpo == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(corpo));
+        if (tipoCorpo != null) {
+            requisicao.header(HttpHeaders.CONTENT_TYPE, tipoCorpo);
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -1,14 +1,30 @@
 package com.pagamento.controlador;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.dto.AtualizacaoStatusLoteRequestDTO;
 import com.pagamento.dto.AtualizacaoStatusRequestDTO;
+import com.pagamento.dto.EstatisticasCacheResponseDTO;
+import com.pagamento.dto.ItemLoteResponseDTO;
 import com.pagamento.dto.PagamentoRequestDTO;
 import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.RejeicaoStatusResponseDTO;
+import com.pagamento.dto.ResultadoAtualizacaoStatusLoteResponseDTO;
+import com.pagamento.dto.ResultadoLoteResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
 import com.pagamento.enums.MetodoPagamento;
 import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
+import com.pagamento.excecao.ConflitoChaveIdempotenciaException;
+import com.pagamento.excecao.LimiteAssinaturasExcedidoException;
+import com.pagamento.excecao.LimiteRequisicoesExcedidoException;
 import com.pagamento.excecao.PagamentoInvalidoException;
 import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.excecao.RequisicaoEmAndamentoException;
 import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.servico.LimitadorRequisicoes;
+import com.pagamento.servico.NotificadorStatusPagamento;
 import com.pagamento.servico.ServicoPagamento;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,14 +35,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +64,12 @@ class ControladorPagamentoTest {
     @MockBean
     private ServicoPagamento servicoPagamento;
 
+    @MockBean
+    private NotificadorStatusPagamento notificador;
+
+    @MockBean
+    private LimitadorRequisicoes limitador;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -64,6 +93,7 @@ class ControladorPagamentoTest {
         pagamentoResponseDTO.setStatus("Pendente de Processamento");
         pagamentoResponseDTO.setDataCriacao(LocalDateTime.now());
         pagamentoResponseDTO.setDataAtualizacao(LocalDateTime.now());
+        pagamentoResponseDTO.setVersao(0L);
     }
 
     @Nested
@@ -91,6 +121,25 @@ class ControladorPagamentoTest {
             verify(servicoPagamento).criarPagamento(any(PagamentoRequestDTO.class));
         }
 
+        @Test
+        @DisplayName("Deve retornar status 429 com Retry-After quando o pagador excede o limite")
+        void deveRetornarStatus429QuandoPagadorExcedeLimite() throws Exception {
+            
+            doThrow(new LimiteRequisicoesExcedidoException("pagador", 3))
+                .when(limitador).admitirCriacao("12345678901", "127.0.0.1");
+
+            
+            mockMvc.perform(post("/api/pagamentos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pagamentoRequestDTO)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "3"))
+                    .andExpect(jsonPath("$.status").value(429))
+                    .andExpect(jsonPath("$.mensagem").value(containsString("pagador")));
+
+            verify(servicoPagamento, never()).criarPagamento(any(PagamentoRequestDTO.class));
+        }
+
         @Test
         @DisplayName("Deve retornar status 400 quando dados são inválidos")
         void deveRetornarStatus400QuandoDadosSaoInvalidos() throws Exception {
@@ -127,6 +176,120 @@ class ControladorPagamentoTest {
                     .andExpect(jsonPath("$.metodoPagamento").value("cartao_credito"))
                     .andExpect(jsonPath("$.numeroCartao").value("1234567890123456"));
         }
+
+        @Test
+        @DisplayName("Deve repassar o cabeçalho Idempotency-Key ao serviço")
+        void deveRepassarCabecalhoIdempotencyKeyAoServico() throws Exception {
+            
+            when(servicoPagamento.criarPagamento(any(PagamentoRequestDTO.class), eq("chave-123")))
+                .thenReturn(pagamentoResponseDTO);
+
+            
+            mockMvc.perform(post("/api/pagamentos")
+                    .header("Idempotency-Key", "chave-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pagamentoRequestDTO)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(1L));
+
+            verify(servicoPagamento).criarPagamento(any(PagamentoRequestDTO.class), eq("chave-123"));
+            verify(servicoPagamento, never()).criarPagamento(any(PagamentoRequestDTO.class));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 422 quando chave é reutilizada com outra requisição")
+        void deveRetornarStatus422QuandoChaveReutilizadaComOutraRequisicao() throws Exception {
+            
+            when(servicoPagamento.criarPagamento(any(PagamentoRequestDTO.class), eq("chave-123")))
+                .thenThrow(new ConflitoChaveIdempotenciaException("Chave de idempotência já utilizada com uma requisição diferente"));
+
+            
+            mockMvc.perform(post("/api/pagamentos")
+                    .header("Idempotency-Key", "chave-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pagamentoRequestDTO)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.erro").value("Unprocessable Entity"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 409 quando requisição com a mesma chave está em processamento")
+        void deveRetornarStatus409QuandoRequisicaoComMesmaChaveEmProcessamento() throws Exception {
+            
+            when(servicoPagamento.criarPagamento(any(PagamentoRequestDTO.class), eq("chave-123")))
+                .thenThrow(new RequisicaoEmAndamentoException("Uma requisição com a mesma chave de idempotência ainda está em processamento"));
+
+            
+            mockMvc.perform(post("/api/pagamentos")
+                    .header("Idempotency-Key", "chave-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pagamentoRequestDTO)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.erro").value("Conflict"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Criação em Lote - POST /api/pagamentos/lote")
+    class CriacaoLoteTests {
+
+        @Test
+        @DisplayName("Deve retornar o resultado de cada item do lote")
+        void deveRetornarResultadoDeCadaItemDoLote() throws Exception {
+            
+            ResultadoLoteResponseDTO resultado = new ResultadoLoteResponseDTO(Arrays.asList(
+                ItemLoteResponseDTO.criado(0, pagamentoResponseDTO),
+                ItemLoteResponseDTO.rejeitado(1, Arrays.asList("cpfCnpj: CPF deve ter 11 dígitos ou CNPJ deve ter 14 dígitos"))
+            ));
+            when(servicoPagamento.criarPagamentosEmLote(anyList())).thenReturn(resultado);
+
+            
+            mockMvc.perform(post("/api/pagamentos/lote")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Arrays.asList(pagamentoRequestDTO, pagamentoRequestDTO))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalRecebido").value(2))
+                    .andExpect(jsonPath("$.totalCriado").value(1))
+                    .andExpect(jsonPath("$.totalRejeitado").value(1))
+                    .andExpect(jsonPath("$.itens[0].criado").value(true))
+                    .andExpect(jsonPath("$.itens[0].pagamento.id").value(1L))
+                    .andExpect(jsonPath("$.itens[1].criado").value(false))
+                    .andExpect(jsonPath("$.itens[1].erros[0]").value("cpfCnpj: CPF deve ter 11 dígitos ou CNPJ deve ter 14 dígitos"));
+
+            verify(servicoPagamento).criarPagamentosEmLote(anyList());
+        }
+
+        @Test
+        @DisplayName("Deve cobrar cada item do lote nas cotas e retornar 429 sem criar quando excedidas")
+        void deveRetornarStatus429QuandoLoteExcedeLimite() throws Exception {
+            
+            doThrow(new LimiteRequisicoesExcedidoException("pagador", 2))
+                .when(limitador).admitirCriacaoEmLote(Arrays.asList("12345678901", "12345678901"), "127.0.0.1");
+
+            
+            mockMvc.perform(post("/api/pagamentos/lote")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Arrays.asList(pagamentoRequestDTO, pagamentoRequestDTO))))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "2"));
+
+            verifyNoInteractions(servicoPagamento);
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 400 quando o lote é vazio")
+        void deveRetornarStatus400QuandoLoteVazio() throws Exception {
+            
+            when(servicoPagamento.criarPagamentosEmLote(anyList()))
+                .thenThrow(new PagamentoInvalidoException("O lote deve conter ao menos um pagamento"));
+
+            
+            mockMvc.perform(post("/api/pagamentos/lote")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.mensagem").value("O lote deve conter ao menos um pagamento"));
+        }
     }
 
     @Nested
@@ -146,28 +309,64 @@ class ControladorPagamentoTest {
             pagamento2.setStatus("Pendente de Processamento");
             
             List<PagamentoResponseDTO> pagamentos = Arrays.asList(pagamentoResponseDTO, pagamento2);
-            when(servicoPagamento.listarTodosPagamentos()).thenReturn(pagamentos);
+            when(servicoPagamento.listarTodosPagamentos(null, null))
+                .thenReturn(new PaginaPagamentosResponseDTO(pagamentos, 50, null));
 
             
             mockMvc.perform(get("/api/pagamentos"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1L))
-                    .andExpect(jsonPath("$[1].id").value(2L))
-                    .andExpect(jsonPath("$[0].metodoPagamento").value("pix"))
-                    .andExpect(jsonPath("$[1].metodoPagamento").value("boleto"));
+                    .andExpect(jsonPath("$.pagamentos", hasSize(2)))
+                    .andExpect(jsonPath("$.pagamentos[0].id").value(1L))
+                    .andExpect(jsonPath("$.pagamentos[1].id").value(2L))
+                    .andExpect(jsonPath("$.pagamentos[0].metodoPagamento").value("pix"))
+                    .andExpect(jsonPath("$.pagamentos[1].metodoPagamento").value("boleto"))
+                    .andExpect(jsonPath("$.possuiProximaPagina").value(false));
+        }
+
+        @Test
+        @DisplayName("Deve repassar cursor e tamanho e retornar o próximo cursor")
+        void deveRepassarCursorETamanhoERetornarProximoCursor() throws Exception {
+            
+            when(servicoPagamento.listarTodosPagamentos("aWQ6MTA", 1))
+                .thenReturn(new PaginaPagamentosResponseDTO(Arrays.asList(pagamentoResponseDTO), 1, "aWQ6MQ"));
+
+            
+            mockMvc.perform(get("/api/pagamentos")
+                    .param("cursor", "aWQ6MTA")
+                    .param("tamanho", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pagamentos", hasSize(1)))
+                    .andExpect(jsonPath("$.tamanhoPagina").value(1))
+                    .andExpect(jsonPath("$.proximoCursor").value("aWQ6MQ"))
+                    .andExpect(jsonPath("$.possuiProximaPagina").value(true));
+
+            verify(servicoPagamento).listarTodosPagamentos("aWQ6MTA", 1);
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 400 quando o cursor é inválido")
+        void deveRetornarStatus400QuandoCursorInvalido() throws Exception {
+            
+            when(servicoPagamento.listarTodosPagamentos("invalido", null))
+                .thenThrow(new PagamentoInvalidoException("Cursor de paginação inválido"));
+
+            
+            mockMvc.perform(get("/api/pagamentos").param("cursor", "invalido"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.mensagem").value("Cursor de paginação inválido"));
         }
 
         @Test
         @DisplayName("Deve retornar lista vazia quando não há pagamentos")
         void deveRetornarListaVaziaQuandoNaoHaPagamentos() throws Exception {
             
-            when(servicoPagamento.listarTodosPagamentos()).thenReturn(Arrays.asList());
+            when(servicoPagamento.listarTodosPagamentos(null, null))
+                .thenReturn(new PaginaPagamentosResponseDTO(Arrays.asList(), 50, null));
 
             
             mockMvc.perform(get("/api/pagamentos"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(0)));
+                    .andExpect(jsonPath("$.pagamentos", hasSize(0)));
         }
     }
 
@@ -180,8 +379,8 @@ class ControladorPagamentoTest {
         void deveBuscarPagamentosComFiltros() throws Exception {
             
             List<PagamentoResponseDTO> pagamentos = Arrays.asList(pagamentoResponseDTO);
-            when(servicoPagamento.buscarPagamentos(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO))
-                .thenReturn(pagamentos);
+            when(servicoPagamento.buscarPagamentos(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO, null, null))
+                .thenReturn(new PaginaPagamentosResponseDTO(pagamentos, 50, null));
 
             
             mockMvc.perform(get("/api/pagamentos/buscar")
@@ -189,10 +388,31 @@ class ControladorPagamentoTest {
                     .param("cpfCnpj", "12345678901")
                     .param("status", "PENDENTE_PROCESSAMENTO"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(1)))
-                    .andExpect(jsonPath("$[0].id").value(1L));
+                    .andExpect(jsonPath("$.pagamentos", hasSize(1)))
+                    .andExpect(jsonPath("$.pagamentos[0].id").value(1L));
+
+            verify(servicoPagamento).buscarPagamentos(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO, null, null);
+        }
+
+        @Test
+        @DisplayName("Deve limitar a busca pelo endereço de origem, ignorando o cabeçalho X-Cliente-Id")
+        void deveLimitarBuscaPeloEnderecoDeOrigem() throws Exception {
+            
+            doThrow(new LimiteRequisicoesExcedidoException("cliente", 1))
+                .when(limitador).admitirBusca("12345678901", "10.0.0.7");
 
-            verify(servicoPagamento).buscarPagamentos(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO);
+            
+            mockMvc.perform(get("/api/pagamentos/buscar")
+                    .param("cpfCnpj", "12345678901")
+                    .header("X-Cliente-Id", "cliente-novo-a-cada-chamada")
+                    .with(requisicao -> {
+                        requisicao.setRemoteAddr("10.0.0.7");
+                        return requisicao;
+                    }))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+
+            verifyNoInteractions(servicoPagamento);
         }
 
         @Test
@@ -200,15 +420,74 @@ class ControladorPagamentoTest {
         void deveBuscarPagamentosSemFiltros() throws Exception {
             
             List<PagamentoResponseDTO> pagamentos = Arrays.asList(pagamentoResponseDTO);
-            when(servicoPagamento.buscarPagamentos(null, null, null))
-                .thenReturn(pagamentos);
+            when(servicoPagamento.buscarPagamentos(null, null, null, null, null))
+                .thenReturn(new PaginaPagamentosResponseDTO(pagamentos, 50, null));
 
             
             mockMvc.perform(get("/api/pagamentos/buscar"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(1)));
+                    .andExpect(jsonPath("$.pagamentos", hasSize(1)));
+
+            verify(servicoPagamento).buscarPagamentos(null, null, null, null, null);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Exportação - GET /api/pagamentos/exportar")
+    class ExportacaoTests {
+
+        @Test
+        @DisplayName("Deve exportar pagamentos em NDJSON, um por linha")
+        @SuppressWarnings("unchecked")
+        void deveExportarPagamentosEmNdjson() throws Exception {
+            
+            PagamentoResponseDTO pagamento2 = new PagamentoResponseDTO();
+            pagamento2.setId(2L);
+            pagamento2.setMetodoPagamento("boleto");
+            
+            doAnswer(invocacao -> {
+                Consumer<PagamentoResponseDTO> consumidor = invocacao.getArgument(3);
+                consumidor.accept(pagamentoResponseDTO);
+                consumidor.accept(pagamento2);
+                return null;
+            }).when(servicoPagamento).exportarPagamentos(isNull(), eq("12345678901"), isNull(), any(Consumer.class));
+
+            
+            MvcResult resultado = mockMvc.perform(get("/api/pagamentos/exportar").param("cpfCnpj", "12345678901"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String corpo = mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] linhas = corpo.split("\n");
+            assertThat(corpo.endsWith("\n"), is(true));
+            assertThat(linhas, arrayWithSize(2));
+            assertThat(objectMapper.readTree(linhas[0]).get("id").asLong(), is(1L));
+            assertThat(objectMapper.readTree(linhas[1]).get("metodoPagamento").asText(), is("boleto"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Estatísticas do Cache - GET /api/pagamentos/cache/estatisticas")
+    class EstatisticasCacheTests {
 
-            verify(servicoPagamento).buscarPagamentos(null, null, null);
+        @Test
+        @DisplayName("Deve retornar os contadores do cache de consulta")
+        void deveRetornarContadoresDoCacheDeConsulta() throws Exception {
+            
+            when(servicoPagamento.obterEstatisticasCache())
+                .thenReturn(new EstatisticasCacheResponseDTO(1L, 9L, 1L, 0L, 0.9));
+
+            
+            mockMvc.perform(get("/api/pagamentos/cache/estatisticas"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.acertos").value(9))
+                    .andExpect(jsonPath("$.falhas").value(1))
+                    .andExpect(jsonPath("$.remocoes").value(0))
+                    .andExpect(jsonPath("$.taxaAcerto").value(0.9));
         }
     }
 
@@ -225,6 +504,7 @@ class ControladorPagamentoTest {
             
             mockMvc.perform(get("/api/pagamentos/1"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"0\""))
                     .andExpect(jsonPath("$.id").value(1L))
                     .andExpect(jsonPath("$.codigoDebito").value(12345));
 
@@ -242,6 +522,66 @@ class ControladorPagamentoTest {
             mockMvc.perform(get("/api/pagamentos/999"))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Deve retornar status 304 sem corpo quando If-None-Match tem a versão atual")
+        void deveRetornarStatus304QuandoVersaoNaoMudou() throws Exception {
+            
+            when(servicoPagamento.obterVersaoPagamento(1L)).thenReturn(2L);
+
+            
+            mockMvc.perform(get("/api/pagamentos/1").header("If-None-Match", "W/\"1\", \"2\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"2\""))
+                    .andExpect(content().string(""));
+
+            verify(servicoPagamento, never()).obterPagamentoPorId(any());
+        }
+
+        @Test
+        @DisplayName("Deve retornar o pagamento quando If-None-Match tem versão antiga")
+        void deveRetornarPagamentoQuandoVersaoMudou() throws Exception {
+            
+            when(servicoPagamento.obterVersaoPagamento(1L)).thenReturn(0L);
+            when(servicoPagamento.obterPagamentoPorId(1L)).thenReturn(pagamentoResponseDTO);
+
+            
+            mockMvc.perform(get("/api/pagamentos/1").header("If-None-Match", "\"5\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"0\""))
+                    .andExpect(jsonPath("$.id").value(1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Transições Permitidas - GET /api/pagamentos/{id}/transicoes")
+    class TransicoesPermitidasTests {
+
+        @Test
+        @DisplayName("Deve listar os próximos status permitidos do pagamento")
+        void deveListarProximosStatusPermitidos() throws Exception {
+            
+            when(servicoPagamento.obterTransicoesPermitidas(1L)).thenReturn(new TransicoesPagamentoResponseDTO(
+                1L, "Processado com Falha", Collections.emptyList()));
+
+            
+            mockMvc.perform(get("/api/pagamentos/1/transicoes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.statusAtual").value("Processado com Falha"))
+                    .andExpect(jsonPath("$.proximosStatus").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 404 quando pagamento não é encontrado")
+        void deveRetornarStatus404QuandoPagamentoNaoEncontrado() throws Exception {
+            
+            when(servicoPagamento.obterTransicoesPermitidas(999L))
+                .thenThrow(new PagamentoNaoEncontradoException(999L));
+
+            
+            mockMvc.perform(get("/api/pagamentos/999/transicoes"))
+                    .andExpect(status().isNotFound());
+        }
     }
 
     @Nested
@@ -256,7 +596,7 @@ class ControladorPagamentoTest {
             requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
             
             pagamentoResponseDTO.setStatus("Processado com Sucesso");
-            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO))
+            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, null))
                 .thenReturn(pagamentoResponseDTO);
 
             
@@ -267,7 +607,7 @@ class ControladorPagamentoTest {
                     .andExpect(jsonPath("$.id").value(1L))
                     .andExpect(jsonPath("$.status").value("Processado com Sucesso"));
 
-            verify(servicoPagamento).atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO);
+            verify(servicoPagamento).atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, null);
         }
 
         @Test
@@ -277,7 +617,7 @@ class ControladorPagamentoTest {
             AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
             requestDTO.setStatus(StatusPagamento.PROCESSADO_FALHA);
             
-            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_FALHA))
+            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_FALHA, null))
                 .thenThrow(new TransicaoStatusInvalidaException(StatusPagamento.PROCESSADO_SUCESSO, StatusPagamento.PROCESSADO_FALHA));
 
             
@@ -294,7 +634,7 @@ class ControladorPagamentoTest {
             AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
             requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
             
-            when(servicoPagamento.atualizarStatusPagamento(999L, StatusPagamento.PROCESSADO_SUCESSO))
+            when(servicoPagamento.atualizarStatusPagamento(999L, StatusPagamento.PROCESSADO_SUCESSO, null))
                 .thenThrow(new PagamentoNaoEncontradoException(999L));
 
             
@@ -303,6 +643,153 @@ class ControladorPagamentoTest {
                     .content(objectMapper.writeValueAsString(requestDTO)))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Deve repassar a versão do If-Match e devolver o novo ETag")
+        void deveRepassarVersaoDoIfMatchEDevolverNovoETag() throws Exception {
+            
+            AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
+            requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            
+            pagamentoResponseDTO.setVersao(4L);
+            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, 3L))
+                .thenReturn(pagamentoResponseDTO);
+
+            
+            mockMvc.perform(put("/api/pagamentos/1/status")
+                    .header("If-Match", "\"3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4\""));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 412 quando versão do If-Match não é a atual")
+        void deveRetornarStatus412QuandoVersaoDoIfMatchNaoEAtual() throws Exception {
+            
+            AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
+            requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            
+            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, 3L))
+                .thenThrow(new VersaoPagamentoDivergenteException(1L, 3L, 4L));
+
+            
+            mockMvc.perform(put("/api/pagamentos/1/status")
+                    .header("If-Match", "\"3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.erro").value("Precondition Failed"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 412 quando If-Match não é uma versão")
+        void deveRetornarStatus412QuandoIfMatchNaoEVersao() throws Exception {
+            
+            AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
+            requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+
+            
+            mockMvc.perform(put("/api/pagamentos/1/status")
+                    .header("If-Match", "\"abc\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isPreconditionFailed());
+
+            verifyNoInteractions(servicoPagamento);
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 409 quando as tentativas se esgotam")
+        void deveRetornarStatus409QuandoTentativasSeEsgotam() throws Exception {
+            
+            AtualizacaoStatusRequestDTO requestDTO = new AtualizacaoStatusRequestDTO();
+            requestDTO.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            
+            when(servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, null))
+                .thenThrow(new ConflitoAtualizacaoException("Pagamento com ID 1 foi alterado concorrentemente; tente novamente"));
+
+            
+            mockMvc.perform(put("/api/pagamentos/1/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isConflict());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Atualização de Status em Lote - PUT /api/pagamentos/lote/status")
+    class AtualizacaoStatusLoteTests {
+
+        @Test
+        @DisplayName("Deve retornar IDs atualizados e rejeitados")
+        void deveRetornarIdsAtualizadosERejeitados() throws Exception {
+            
+            AtualizacaoStatusLoteRequestDTO requestDTO = new AtualizacaoStatusLoteRequestDTO(
+                Arrays.asList(1L, 2L), StatusPagamento.PROCESSADO_SUCESSO);
+            when(servicoPagamento.atualizarStatusEmLote(Arrays.asList(1L, 2L), StatusPagamento.PROCESSADO_SUCESSO))
+                .thenReturn(new ResultadoAtualizacaoStatusLoteResponseDTO("Processado com Sucesso", Arrays.asList(1L),
+                    Arrays.asList(new RejeicaoStatusResponseDTO(2L, "Pagamento não encontrado com ID: 2"))));
+
+            
+            mockMvc.perform(put("/api/pagamentos/lote/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("Processado com Sucesso"))
+                    .andExpect(jsonPath("$.atualizados[0]").value(1L))
+                    .andExpect(jsonPath("$.rejeitados[0].id").value(2L))
+                    .andExpect(jsonPath("$.rejeitados[0].motivo").value("Pagamento não encontrado com ID: 2"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 400 quando a lista de IDs está vazia")
+        void deveRetornarStatus400QuandoListaDeIdsVazia() throws Exception {
+            
+            AtualizacaoStatusLoteRequestDTO requestDTO = new AtualizacaoStatusLoteRequestDTO(
+                Arrays.asList(), StatusPagamento.PROCESSADO_SUCESSO);
+
+            
+            mockMvc.perform(put("/api/pagamentos/lote/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.detalhes[0]").value("ids: Lista de IDs é obrigatória"));
+
+            verifyNoInteractions(servicoPagamento);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Acompanhamento de Status - GET /api/pagamentos/{id}/eventos")
+    class AcompanhamentoStatusTests {
+
+        @Test
+        @DisplayName("Deve retornar status 404 em JSON quando pagamento não existe")
+        void deveRetornarStatus404QuandoPagamentoNaoExiste() throws Exception {
+            
+            when(notificador.assinar(999L)).thenThrow(new PagamentoNaoEncontradoException(999L));
+
+            
+            mockMvc.perform(get("/api/pagamentos/999/eventos")
+                    .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.mensagem").value("Pagamento não encontrado com ID: 999"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar status 503 quando o limite de assinaturas é atingido")
+        void deveRetornarStatus503QuandoLimiteDeAssinaturasEAtingido() throws Exception {
+            
+            when(notificador.assinar(1L)).thenThrow(new LimiteAssinaturasExcedidoException(40000));
+
+            
+            mockMvc.perform(get("/api/pagamentos/1/eventos")
+                    .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.erro").value("Service Unavailable"));
+        }
     }
 
     @Nested
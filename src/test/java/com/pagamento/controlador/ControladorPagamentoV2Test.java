@@ -0,0 +1,503 @@
+package com.pagamento.controlador;
+
+import com.pagamento.configuracao.ServidorApiV2;
+import com.pagamento.dto.AtualizacaoStatusRequestDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.entidade.EventoPagamento;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.entidade.ResumoPagador;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.enums.TipoEventoPagamento;
+import com.pagamento.repositorio.RepositorioEventoPagamento;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.RepositorioResumoPagador;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:apiv2",
+    "pagamento.v2.porta=0",
+    "pagamento.v2.threads=2",
+    "pagamento.outbox.habilitado=false"
+})
+@DisplayName("Testes do Controlador de Pagamento v2 (WebFlux + R2DBC)")
+class ControladorPagamentoV2Test {
+
+    private static final String CPF_V2 = "70000000000";
+
+    @Autowired
+    private ServidorApiV2 servidor;
+
+    @Autowired
+    private RepositorioPagamento repositorioPagamento;
+
+    @Autowired
+    private RepositorioEventoPagamento repositorioEvento;
+
+    @Autowired
+    private RepositorioResumoPagador repositorioResumo;
+
+    private WebTestClient cliente;
+
+    @BeforeEach
+    void setUp() {
+        cliente = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + servidor.getPorta() + "/api/v2/pagamentos")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Testes de Criação de Pagamento - POST /api/v2/pagamentos")
+    class CriacaoPagamentoTests {
+
+        @Test
+        @DisplayName("Deve criar pagamento visível também na API v1")
+        void deveCriarPagamentoVisivelNaApiV1() {
+            PagamentoResponseDTO criado = cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requisicao(MetodoPagamento.PIX, null))
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(PagamentoResponseDTO.class)
+                    .returnResult().getResponseBody();
+
+            assertThat(criado.getId()).isNotNull();
+            assertThat(criado.getStatus()).isEqualTo("Pendente de Processamento");
+            assertThat(criado.getVersao()).isZero();
+            assertThat(repositorioPagamento.findByIdAndAtivoTrue(criado.getId())).isPresent();
+        }
+
+        @Test
+        @DisplayName("Deve aplicar as mesmas regras de cartão da API v1")
+        void deveAplicarRegrasDeCartao() {
+            cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requisicao(MetodoPagamento.CARTAO_CREDITO, null))
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo(
+                        "Número do cartão é obrigatório para pagamentos com cartão de crédito ou débito");
+        }
+
+        @Test
+        @DisplayName("Deve retornar detalhes de validação para campos obrigatórios ausentes")
+        void deveRetornarDetalhesDeValidacao() {
+            cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"codigoDebito\": 1}")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.erro").isEqualTo("Validation Failed")
+                    .jsonPath("$.detalhes.length()").isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar método de pagamento desconhecido")
+        void deveRejeitarMetodoDesconhecido() {
+            cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"codigoDebito\": 1, \"cpfCnpj\": \"" + CPF_V2 + "\", " +
+                               "\"metodoPagamento\": \"cheque\", \"valorPagamento\": 10}")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo(
+                        "Método de pagamento inválido. Use: boleto, pix, cartao_credito ou cartao_debito");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Listagem e Busca - GET /api/v2/pagamentos")
+    class ListagemTests {
+
+        @Test
+        @DisplayName("Deve transmitir a busca como NDJSON em ordem de id")
+        void deveTransmitirBuscaComoNdjson() {
+            String cpf = "70000000001";
+            List<Pagamento> pagamentos = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                pagamentos.add(new Pagamento(70000 + i, cpf, MetodoPagamento.BOLETO, null, new BigDecimal("10.00")));
+            }
+            repositorioPagamento.saveAll(pagamentos);
+
+            Flux<PagamentoResponseDTO> corpo = cliente.get()
+                    .uri(uri -> uri.path("/buscar").queryParam("cpfCnpj", cpf).build())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(PagamentoResponseDTO.class)
+                    .getResponseBody();
+
+            List<PagamentoResponseDTO> recebidos = corpo.collectList().block();
+            assertThat(recebidos).hasSize(5);
+            assertThat(recebidos).extracting(PagamentoResponseDTO::getId).isSorted();
+            assertThat(recebidos).extracting(PagamentoResponseDTO::getCpfCnpj).containsOnly(cpf);
+        }
+
+        @Test
+        @DisplayName("Deve filtrar por status")
+        void deveFiltrarPorStatus() {
+            String cpf = "70000000002";
+            Pagamento processado = new Pagamento(70010, cpf, MetodoPagamento.PIX, null, new BigDecimal("10.00"));
+            processado.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            repositorioPagamento.save(processado);
+            repositorioPagamento.save(new Pagamento(70011, cpf, MetodoPagamento.PIX, null, new BigDecimal("10.00")));
+
+            cliente.get()
+                    .uri(uri -> uri.path("/buscar")
+                            .queryParam("cpfCnpj", cpf)
+                            .queryParam("status", "PROCESSADO_SUCESSO")
+                            .build())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.length()").isEqualTo(1)
+                    .jsonPath("$[0].codigoDebito").isEqualTo(70010);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 para status inválido na busca")
+        void deveRetornar400ParaStatusInvalido() {
+            cliente.get()
+                    .uri(uri -> uri.path("/buscar").queryParam("status", "abc").build())
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo("Parâmetro 'status' deve ser do tipo StatusPagamento");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Consulta - GET /api/v2/pagamentos/{id}")
+    class ConsultaTests {
+
+        @Test
+        @DisplayName("Deve retornar pagamento com ETag da versão")
+        void deveRetornarPagamentoComEtag() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.get().uri("/{id}", id)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(id)
+                    .jsonPath("$.metodoPagamento").isEqualTo("boleto");
+        }
+
+        @Test
+        @DisplayName("Deve retornar 304 enquanto a versão do If-None-Match é a atual")
+        void deveRetornar304EnquantoVersaoNaoMuda() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.get().uri("/{id}", id)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                    .expectBody().isEmpty();
+
+            cliente.put().uri("/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_SUCESSO))
+                    .exchange()
+                    .expectStatus().isOk();
+
+            cliente.get().uri("/{id}", id)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo("Processado com Sucesso");
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 para pagamento inexistente")
+        void deveRetornar404ParaPagamentoInexistente() {
+            cliente.get().uri("/{id}", 999999)
+                    .exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo("Pagamento não encontrado com ID: 999999");
+        }
+
+        @Test
+        @DisplayName("Deve listar as transições permitidas pela máquina de estados")
+        void deveListarTransicoesPermitidas() {
+            Long id = salvar(MetodoPagamento.PIX);
+
+            cliente.get().uri("/{id}/transicoes", id)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.statusAtual").isEqualTo("Pendente de Processamento")
+                    .jsonPath("$.proximosStatus.length()").isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Atualização de Status - PUT /api/v2/pagamentos/{id}/status")
+    class AtualizacaoStatusTests {
+
+        @Test
+        @DisplayName("Deve atualizar status com If-Match e devolver o novo ETag")
+        void deveAtualizarStatusComIfMatch() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.put().uri("/{id}/status", id)
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_SUCESSO))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo("Processado com Sucesso");
+
+            Pagamento salvo = repositorioPagamento.findById(id).orElseThrow();
+            assertThat(salvo.getStatus()).isEqualTo(StatusPagamento.PROCESSADO_SUCESSO);
+            assertThat(salvo.getVersao()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 412 quando o If-Match não corresponde à versão atual")
+        void deveRetornar412ComVersaoDivergente() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.put().uri("/{id}/status", id)
+                    .header(HttpHeaders.IF_MATCH, "\"3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_SUCESSO))
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 para transição não permitida")
+        void deveRetornar400ParaTransicaoInvalida() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.put().uri("/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PENDENTE_PROCESSAMENTO))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Deve aplicar exatamente uma transição quando várias requisições disputam o mesmo pagamento")
+        void deveAplicarUmaTransicaoSobDisputa() throws Exception {
+            Long id = salvar(MetodoPagamento.BOLETO);
+            int requisicoes = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+            CountDownLatch largada = new CountDownLatch(1);
+
+            try {
+                List<Future<HttpStatus>> resultados = new ArrayList<>();
+                for (int i = 0; i < requisicoes; i++) {
+                    Callable<HttpStatus> tarefa = () -> {
+                        largada.await();
+                        return cliente.put().uri("/{id}/status", id)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_SUCESSO))
+                                .exchange()
+                                .returnResult(Void.class)
+                                .getStatus();
+                    };
+                    resultados.add(executor.submit(tarefa));
+                }
+                largada.countDown();
+
+                int sucessos = 0;
+                for (Future<HttpStatus> resultado : resultados) {
+                    HttpStatus status = resultado.get(30, TimeUnit.SECONDS);
+                    assertThat(status).isIn(HttpStatus.OK, HttpStatus.BAD_REQUEST, HttpStatus.CONFLICT);
+                    if (status == HttpStatus.OK) {
+                        sucessos++;
+                    }
+                }
+                assertThat(sucessos).isEqualTo(1);
+                assertThat(repositorioPagamento.findById(id).orElseThrow().getVersao()).isEqualTo(1L);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da Caixa de Saída de Eventos")
+    class CaixaSaidaTests {
+
+        @Test
+        @DisplayName("Deve registrar criação, transição e exclusão feitas pela v2 na caixa de saída")
+        void deveRegistrarEventosDaV2() {
+            Long id = cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requisicao(MetodoPagamento.BOLETO, null))
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(PagamentoResponseDTO.class)
+                    .returnResult().getResponseBody().getId();
+            cliente.put().uri("/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_FALHA))
+                    .exchange()
+                    .expectStatus().isOk();
+            cliente.put().uri("/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PENDENTE_PROCESSAMENTO))
+                    .exchange()
+                    .expectStatus().isOk();
+            cliente.delete().uri("/{id}", id)
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            List<EventoPagamento> eventos = repositorioEvento.findAll().stream()
+                    .filter(evento -> evento.getPagamentoId().equals(id))
+                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                    .collect(Collectors.toList());
+            assertThat(eventos).extracting(EventoPagamento::getTipo).containsExactly(
+                TipoEventoPagamento.CRIADO, TipoEventoPagamento.STATUS_ATUALIZADO,
+                TipoEventoPagamento.STATUS_ATUALIZADO, TipoEventoPagamento.EXCLUIDO);
+            assertThat(eventos.get(1).getStatusAnterior()).isEqualTo(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            assertThat(eventos.get(1).getStatus()).isEqualTo(StatusPagamento.PROCESSADO_FALHA);
+            assertThat(eventos).extracting(EventoPagamento::getMetodoPagamento).containsOnly(MetodoPagamento.BOLETO);
+        }
+
+        @Test
+        @DisplayName("Não deve registrar evento quando a transição é recusada")
+        void naoDeveRegistrarEventoQuandoTransicaoERecusada() {
+            Long id = salvar(MetodoPagamento.BOLETO);
+
+            cliente.put().uri("/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PENDENTE_PROCESSAMENTO))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+
+            assertThat(repositorioEvento.findAll())
+                .noneMatch(evento -> evento.getPagamentoId().equals(id));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Resumo por Pagador")
+    class ResumoPagadorTests {
+
+        @Test
+        @DisplayName("Deve manter o resumo do pagador nas criações, transições e exclusões da v2")
+        void deveManterResumoNasMudancasDaV2() {
+            String cpfCnpj = "71000000000";
+            Long pago = criar(cpfCnpj, "30.00");
+            Long excluido = criar(cpfCnpj, "12.50");
+            criar(cpfCnpj, "7.25");
+            cliente.put().uri("/{id}/status", pago)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new AtualizacaoStatusRequestDTO(StatusPagamento.PROCESSADO_SUCESSO))
+                    .exchange()
+                    .expectStatus().isOk();
+            cliente.delete().uri("/{id}", excluido)
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            ResumoPagador resumo = repositorioResumo.findById(cpfCnpj).orElseThrow();
+            assertThat(resumo.getSaldoAberto()).isEqualByComparingTo("7.25");
+            assertThat(resumo.getQuantidadePendentes()).isEqualTo(1);
+            assertThat(resumo.getDataUltimoPagamento())
+                .isEqualTo(repositorioPagamento.findById(pago).orElseThrow().getDataAtualizacao());
+        }
+
+        private Long criar(String cpfCnpj, String valor) {
+            PagamentoRequestDTO request = requisicao(MetodoPagamento.BOLETO, null);
+            request.setCpfCnpj(cpfCnpj);
+            request.setValorPagamento(new BigDecimal(valor));
+            return cliente.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(PagamentoResponseDTO.class)
+                    .returnResult().getResponseBody().getId();
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Exclusão - DELETE /api/v2/pagamentos/{id}")
+    class ExclusaoTests {
+
+        @Test
+        @DisplayName("Deve desativar pagamento pendente")
+        void deveDesativarPagamentoPendente() {
+            Long id = salvar(MetodoPagamento.PIX);
+
+            cliente.delete().uri("/{id}", id)
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            assertThat(repositorioPagamento.findByIdAndAtivoTrue(id)).isEmpty();
+            cliente.get().uri("/{id}", id)
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+
+        @Test
+        @DisplayName("Deve recusar exclusão de pagamento já processado")
+        void deveRecusarExclusaoDePagamentoProcessado() {
+            Pagamento processado = new Pagamento(70020, CPF_V2, MetodoPagamento.PIX, null, new BigDecimal("10.00"));
+            processado.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            Long id = repositorioPagamento.save(processado).getId();
+
+            cliente.delete().uri("/{id}", id)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo(
+                        "Só é possível excluir pagamentos com status 'Pendente de Processamento'");
+        }
+    }
+
+    private Long salvar(MetodoPagamento metodo) {
+        return repositorioPagamento.save(
+            new Pagamento(70100, CPF_V2, metodo, null, new BigDecimal("25.00"))
+        ).getId();
+    }
+
+    private PagamentoRequestDTO requisicao(MetodoPagamento metodo, String numeroCartao) {
+        PagamentoRequestDTO request = new PagamentoRequestDTO();
+        request.setCodigoDebito(70200);
+        request.setCpfCnpj(CPF_V2);
+        request.setMetodoPagamento(metodo);
+        request.setNumeroCartao(numeroCartao);
+        request.setValorPagamento(new BigDecimal("42.00"));
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.RelatorioPagamentosResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.servico.ServicoRelatorioPagamentos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ControladorRelatorioPagamentos.class)
+@DisplayName("Testes do Controlador de Relatórios de Pagamento")
+class ControladorRelatorioPagamentosTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ServicoRelatorioPagamentos servicoRelatorio;
+
+    @Test
+    @DisplayName("Deve retornar totais por status com o período informado")
+    void deveRetornarTotaisPorStatus() throws Exception {
+        
+        LocalDate inicio = LocalDate.of(2026, 3, 1);
+        LocalDate fim = LocalDate.of(2026, 3, 31);
+        when(servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.STATUS, "12345678901", inicio, fim))
+            .thenReturn(new RelatorioPagamentosResponseDTO(AgrupamentoRelatorio.STATUS, inicio, fim, "12345678901",
+                3L, new BigDecimal("45.00"), Collections.singletonList(
+                    new TotalGrupoResponseDTO(StatusPagamento.PROCESSADO_SUCESSO, 3L, new BigDecimal("45.00")))));
+
+        
+        mockMvc.perform(get("/api/pagamentos/relatorios/por-status")
+                    .param("cpfCnpj", "12345678901")
+                    .param("dataInicial", "2026-03-01")
+                    .param("dataFinal", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.agrupamento").value("status"))
+                .andExpect(jsonPath("$.dataInicial").value("2026-03-01"))
+                .andExpect(jsonPath("$.quantidadeTotal").value(3))
+                .andExpect(jsonPath("$.grupos[0].grupo").value("Processado com Sucesso"))
+                .andExpect(jsonPath("$.grupos[0].valorTotal").value(45.00));
+    }
+
+    @Test
+    @DisplayName("Deve consultar cada agrupamento pelo seu endpoint")
+    void deveConsultarCadaAgrupamento() throws Exception {
+        
+        when(servicoRelatorio.gerarRelatorio(any(), any(), any(), any()))
+            .thenReturn(new RelatorioPagamentosResponseDTO());
+
+        
+        mockMvc.perform(get("/api/pagamentos/relatorios/por-metodo")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/pagamentos/relatorios/por-dia")).andExpect(status().isOk());
+
+        
+        verify(servicoRelatorio).gerarRelatorio(AgrupamentoRelatorio.METODO, null, null, null);
+        verify(servicoRelatorio).gerarRelatorio(AgrupamentoRelatorio.DIA, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 para data em formato inválido")
+    void deveRetornarStatus400ParaDataInvalida() throws Exception {
+        
+        mockMvc.perform(get("/api/pagamentos/relatorios/por-dia").param("dataInicial", "01/03/2026"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Parâmetro 'dataInicial' deve ser do tipo LocalDate"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 para período invertido")
+    void deveRetornarStatus400ParaPeriodoInvertido() throws Exception {
+        
+        when(servicoRelatorio.gerarRelatorio(any(), any(), any(), any()))
+            .thenThrow(new PagamentoInvalidoException("Data inicial deve ser anterior ou igual à data final"));
+
+        
+        mockMvc.perform(get("/api/pagamentos/relatorios/por-dia")
+                    .param("dataInicial", "2026-03-02")
+                    .param("dataFinal", "2026-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Data inicial deve ser anterior ou igual à data final"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.pagamento.controlador;
+
+import com.pagamento.dto.ResumoPagadorResponseDTO;
+import com.pagamento.dto.VerificacaoResumosResponseDTO;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.servico.ServicoResumoPagador;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ControladorResumoPagador.class)
+@DisplayName("Testes do Controlador de Resumos por Pagador")
+class ControladorResumoPagadorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ServicoResumoPagador servicoResumo;
+
+    @Test
+    @DisplayName("Deve retornar o resumo do pagador")
+    void deveRetornarResumoDoPagador() throws Exception {
+        
+        when(servicoResumo.obterResumo("12345678901")).thenReturn(new ResumoPagadorResponseDTO(
+            "12345678901", new BigDecimal("150.75"), 2L, LocalDateTime.of(2026, 3, 10, 14, 30)));
+
+        
+        mockMvc.perform(get("/api/pagamentos/resumos/12345678901"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cpfCnpj").value("12345678901"))
+                .andExpect(jsonPath("$.saldoAberto").value(150.75))
+                .andExpect(jsonPath("$.quantidadePendentes").value(2))
+                .andExpect(jsonPath("$.dataUltimoPagamento").value("2026-03-10T14:30:00"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 404 para pagador sem resumo")
+    void deveRetornarStatus404ParaPagadorSemResumo() throws Exception {
+        
+        when(servicoResumo.obterResumo("00000000000")).thenThrow(
+            new PagamentoNaoEncontradoException("Resumo não encontrado para o CPF/CNPJ: 00000000000"));
+
+        
+        mockMvc.perform(get("/api/pagamentos/resumos/00000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.mensagem").value("Resumo não encontrado para o CPF/CNPJ: 00000000000"));
+    }
+
+    @Test
+    @DisplayName("Deve executar a verificação dos resumos sob demanda")
+    void deveExecutarVerificacaoSobDemanda() throws Exception {
+        
+        when(servicoResumo.verificarResumos()).thenReturn(new VerificacaoResumosResponseDTO(10, 1, 1));
+
+        
+        mockMvc.perform(post("/api/pagamentos/resumos/verificacao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.verificados").value(10))
+                .andExpect(jsonPath("$.divergentes").value(1))
+                .andExpect(jsonPath("$.reparados").value(1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pagamento.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Serializador de PagamentoResponseDTO")
+class SerializadorPagamentoResponseDTOTest {
+
+    private final ObjectMapper padrao = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper otimizado = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new SimpleModule()
+                    .addSerializer(PagamentoResponseDTO.class, new SerializadorPagamentoResponseDTO()))
+            .build();
+
+    @Test
+    @DisplayName("Deve gerar os mesmos bytes do ObjectMapper padrão")
+    void deveGerarMesmosBytesDoObjectMapperPadrao() throws Exception {
+        List<PagamentoResponseDTO> pagamentos = Arrays.asList(
+            new PagamentoResponseDTO(1L, 12345, "12345678901", MetodoPagamento.CARTAO_CREDITO, "4111111111111111",
+                    new BigDecimal("100.50"), StatusPagamento.PENDENTE_PROCESSAMENTO,
+                    LocalDateTime.of(2024, 1, 5, 9, 30), LocalDateTime.of(2024, 1, 5, 9, 30, 7, 120_000_000), 3L),
+            new PagamentoResponseDTO(2L, 1, "12.345.678/0001-90", MetodoPagamento.PIX, null,
+                    new BigDecimal("1E+3"), StatusPagamento.PROCESSADO_SUCESSO,
+                    LocalDateTime.of(999, 12, 31, 23, 59, 59, 1), LocalDateTime.of(10000, 1, 1, 0, 0), 0L),
+            new PagamentoResponseDTO()
+        );
+        PagamentoResponseDTO semMapeamento = new PagamentoResponseDTO();
+        semMapeamento.setStatus("Status \"desconhecido\" ção");
+        semMapeamento.setMetodoPagamento("boleto");
+
+        for (PagamentoResponseDTO pagamento : pagamentos) {
+            assertThat(new String(otimizado.writeValueAsBytes(pagamento)))
+                .isEqualTo(new String(padrao.writeValueAsBytes(pagamento)));
+        }
+        assertThat(otimizado.writeValueAsString(semMapeamento)).isEqualTo(padrao.writeValueAsString(semMapeamento));
+        assertThat(otimizado.writeValueAsBytes(new PaginaPagamentosResponseDTO(pagamentos, 3, "Mw")))
+            .isEqualTo(padrao.writeValueAsBytes(new PaginaPagamentosResponseDTO(pagamentos, 3, "Mw")));
+    }
+
+    @Test
+    @DisplayName("Deve formatar datas como o ISO_LOCAL_DATE_TIME")
+    void deveFormatarDatasComoIsoLocalDateTime() {
+        Random aleatorio = new Random(42);
+        List<LocalDateTime> datas = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            datas.add(LocalDateTime.of(aleatorio.nextInt(10_000), 1 + aleatorio.nextInt(12), 1 + aleatorio.nextInt(28),
+                    aleatorio.nextInt(24), aleatorio.nextInt(60), aleatorio.nextInt(60),
+                    aleatorio.nextBoolean() ? aleatorio.nextInt(1_000_000_000) : aleatorio.nextInt(1000) * 1_000_000));
+        }
+        datas.add(LocalDateTime.of(2024, 2, 29, 0, 0));
+        datas.add(LocalDateTime.of(2024, 2, 29, 0, 0, 0, 100));
+
+        char[] texto = new char[29];
+        for (LocalDateTime data : datas) {
+            int tamanho = SerializadorPagamentoResponseDTO.formatarData(data, texto);
+
+            assertThat(new String(texto, 0, tamanho)).isEqualTo(data.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.configuracao.PropriedadesArquivamento;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Arquivo de Pagamentos")
+class ArquivoPagamentosTest {
+
+    @TempDir
+    Path diretorio;
+
+    private PropriedadesArquivamento propriedades;
+
+    @BeforeEach
+    void setUp() {
+        propriedades = new PropriedadesArquivamento();
+        propriedades.setDiretorio(diretorio.toString());
+        propriedades.setRegistrosPorBloco(16);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar cada pagamento gravado em segmentos de vários blocos")
+    void deveEncontrarPagamentosGravados() {
+        ArquivoPagamentos arquivo = new ArquivoPagamentos(propriedades);
+        List<Pagamento> pagamentos = new ArrayList<>();
+        for (long id = 1; id <= 300; id += 3) {
+            pagamentos.add(pagamento(id, StatusPagamento.PROCESSADO_SUCESSO, true));
+        }
+        Collections.shuffle(pagamentos);
+
+        arquivo.gravar(pagamentos);
+
+        for (Pagamento esperado : pagamentos) {
+            assertThat(arquivo.buscar(esperado.getId())).hasValueSatisfying(encontrado -> {
+                assertThat(encontrado.getCpfCnpj()).isEqualTo(esperado.getCpfCnpj());
+                assertThat(encontrado.getValorPagamento()).isEqualByComparingTo(esperado.getValorPagamento());
+                assertThat(encontrado.getStatus()).isEqualTo(StatusPagamento.PROCESSADO_SUCESSO);
+                assertThat(encontrado.getDataAtualizacao()).isEqualTo(esperado.getDataAtualizacao());
+                assertThat(encontrado.getVersao()).isEqualTo(esperado.getVersao());
+            });
+        }
+        assertThat(arquivo.buscar(2L)).isEmpty();
+        assertThat(arquivo.buscar(0L)).isEmpty();
+        assertThat(arquivo.buscar(1000L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve reabrir os segmentos existentes e continuar a numeração")
+    void deveReabrirSegmentosExistentes() throws IOException {
+        ArquivoPagamentos arquivo = new ArquivoPagamentos(propriedades);
+        arquivo.gravar(List.of(pagamento(10L, StatusPagamento.PROCESSADO_SUCESSO, true)));
+        arquivo.gravar(List.of(pagamento(20L, StatusPagamento.PENDENTE_PROCESSAMENTO, false)));
+
+        ArquivoPagamentos reaberto = new ArquivoPagamentos(propriedades);
+        reaberto.gravar(List.of(pagamento(30L, StatusPagamento.PROCESSADO_SUCESSO, true)));
+
+        assertThat(reaberto.getTotalSegmentos()).isEqualTo(3);
+        assertThat(reaberto.buscar(10L)).isPresent();
+        assertThat(reaberto.buscar(30L)).isPresent();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.map(caminho -> caminho.getFileName().toString()).sorted().collect(Collectors.toList()))
+                .containsExactly("segmento-000000000000.seg", "segmento-000000000001.seg", "segmento-000000000002.seg");
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve devolver pagamento excluído na busca de ativos")
+    void naoDeveDevolverExcluidoNaBuscaDeAtivos() {
+        ArquivoPagamentos arquivo = new ArquivoPagamentos(propriedades);
+        arquivo.gravar(List.of(
+            pagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, true),
+            pagamento(2L, StatusPagamento.PENDENTE_PROCESSAMENTO, false)));
+
+        assertThat(arquivo.buscarAtivo(1L)).isPresent();
+        assertThat(arquivo.buscar(2L)).hasValueSatisfying(pagamento -> assertThat(pagamento.getAtivo()).isFalse());
+        assertThat(arquivo.buscarAtivo(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recusar segmento sem rodapé válido")
+    void deveRecusarSegmentoInvalido() throws IOException {
+        Files.write(diretorio.resolve("segmento-000000000000.seg"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThatThrownBy(() -> new ArquivoPagamentos(propriedades))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Segmento de arquivo inválido");
+    }
+
+    private Pagamento pagamento(long id, StatusPagamento status, boolean ativo) {
+        Pagamento pagamento = new Pagamento((int) id, String.format("%011d", id), MetodoPagamento.PIX, null,
+                new BigDecimal(id + ".25"));
+        pagamento.setId(id);
+        pagamento.setStatus(status);
+        pagamento.setAtivo(ativo);
+        pagamento.setDataCriacao(LocalDateTime.of(2025, 1, 1, 10, 0));
+        pagamento.setDataAtualizacao(LocalDateTime.of(2025, 1, 2, 11, 30, 15, 123456000));
+        pagamento.setVersao(id % 4);
+        return pagamento;
+    }
+}
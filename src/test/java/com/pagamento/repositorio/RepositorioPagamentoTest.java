@@ -0,0 +1,296 @@
+package com.pagamento.repositorio;
+
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.pagamento.repositorio.RepositorioPagamentoTest$CapturadorSql")
+@DisplayName("Testes do Repositório de Pagamento")
+class RepositorioPagamentoTest {
+
+    private static final String CPF = "00011122233";
+
+    @Autowired
+    private RepositorioPagamento repositorioPagamento;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Pagamento pagamentoPix;
+    private Pagamento pagamentoBoleto;
+
+    @BeforeEach
+    void setUp() {
+        pagamentoPix = repositorioPagamento.save(
+            new Pagamento(90001, CPF, MetodoPagamento.PIX, null, new BigDecimal("10.00")));
+        pagamentoBoleto = repositorioPagamento.save(
+            new Pagamento(90002, CPF, MetodoPagamento.BOLETO, null, new BigDecimal("20.00")));
+        pagamentoBoleto.setStatus(StatusPagamento.PROCESSADO_FALHA);
+
+        Pagamento pagamentoInativo = new Pagamento(90001, CPF, MetodoPagamento.PIX, null, new BigDecimal("30.00"));
+        pagamentoInativo.setAtivo(false);
+        repositorioPagamento.save(pagamentoInativo);
+        repositorioPagamento.flush();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar somente os filtros informados")
+    void deveAplicarSomenteFiltrosInformados() {
+        
+        List<PagamentoResponseDTO> resultado = repositorioPagamento.buscarPaginaComFiltros(null, CPF, null, 0L, 10);
+
+        
+        assertThat(resultado).extracting(PagamentoResponseDTO::getId)
+            .containsExactly(pagamentoPix.getId(), pagamentoBoleto.getId());
+        assertThat(CapturadorSql.ultimo)
+            .contains("cpf_cnpj=?")
+            .doesNotContain("codigo_debito=")
+            .doesNotContain("status=")
+            .doesNotContainIgnoringCase("is null");
+    }
+
+    @Test
+    @DisplayName("Deve combinar filtros e avançar a partir do último id")
+    void deveCombinarFiltrosEAvancarAPartirDoUltimoId() {
+        
+        List<PagamentoResponseDTO> porStatus = repositorioPagamento.buscarPaginaComFiltros(
+            null, CPF, StatusPagamento.PROCESSADO_FALHA, 0L, 10);
+        List<PagamentoResponseDTO> aposPrimeiro = repositorioPagamento.buscarPaginaComFiltros(
+            null, CPF, null, pagamentoPix.getId(), 10);
+
+        
+        assertThat(porStatus).extracting(PagamentoResponseDTO::getId).containsExactly(pagamentoBoleto.getId());
+        assertThat(aposPrimeiro).extracting(PagamentoResponseDTO::getId).containsExactly(pagamentoBoleto.getId());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir apenas pagamentos ativos que atendem aos filtros")
+    void deveTransmitirApenasPagamentosAtivosFiltrados() {
+        
+        List<Long> ids;
+        try (Stream<PagamentoResponseDTO> pagamentos = repositorioPagamento.transmitirComFiltros(90001, null, null)) {
+            ids = pagamentos.map(PagamentoResponseDTO::getId).collect(Collectors.toList());
+        }
+
+        
+        assertThat(ids).containsExactly(pagamentoPix.getId());
+    }
+
+    @Test
+    @DisplayName("Deve ler páginas e consultas por ID direto em DTOs, sem entidades no contexto de persistência")
+    void deveLerDiretoEmDtosSemEntidadesNoContexto() {
+        
+        entityManager.clear();
+
+        
+        List<PagamentoResponseDTO> pagina = repositorioPagamento.buscarPaginaAtivos(0L, PageRequest.of(0, 100));
+        List<PagamentoResponseDTO> filtrados = repositorioPagamento.buscarPaginaComFiltros(null, CPF, null, 0L, 10);
+        PagamentoResponseDTO porId = repositorioPagamento.buscarRespostaAtivaPorId(pagamentoPix.getId())
+            .orElseThrow(IllegalStateException::new);
+
+        
+        assertThat(pagina).extracting(PagamentoResponseDTO::getId).contains(pagamentoPix.getId(), pagamentoBoleto.getId());
+        assertThat(filtrados).hasSize(2);
+        assertThat(porId.getMetodoPagamento()).isEqualTo("pix");
+        assertThat(porId.getStatus()).isEqualTo("Pendente de Processamento");
+        assertThat(porId.getVersao()).isEqualTo(0L);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Projeção deve retornar os mesmos campos que a entidade copiada para o DTO")
+    void projecaoDeveRetornarMesmosCamposQueEntidade() {
+        
+        Pagamento pagamentoCartao = repositorioPagamento.save(
+            new Pagamento(90004, CPF, MetodoPagamento.CARTAO_CREDITO, "4111111111111111", new BigDecimal("40.00")));
+        repositorioPagamento.flush();
+        entityManager.clear();
+
+        
+        List<PagamentoResponseDTO> porEntidade = repositorioPagamento.findByAtivoTrue().stream()
+            .map(PagamentoResponseDTO::new)
+            .collect(Collectors.toList());
+        List<PagamentoResponseDTO> porProjecao =
+            repositorioPagamento.buscarPaginaAtivos(0L, PageRequest.of(0, Integer.MAX_VALUE));
+
+        
+        assertThat(porProjecao).extracting(PagamentoResponseDTO::getId).contains(pagamentoCartao.getId());
+        assertThat(porProjecao)
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrderElementsOf(porEntidade);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar em lote apenas pagamentos ativos em status anterior permitido")
+    void deveAtualizarEmLoteApenasPagamentosElegiveis() {
+        
+        List<Long> ids = Arrays.asList(pagamentoPix.getId(), pagamentoBoleto.getId(), 999999L);
+        List<StatusPagamento> anteriores = Arrays.asList(StatusPagamento.PENDENTE_PROCESSAMENTO);
+
+        
+        List<SituacaoPagamento> candidatos = repositorioPagamento.bloquearCandidatosParaTransicao(ids, anteriores);
+        List<Long> elegiveis = candidatos.stream().map(SituacaoPagamento::getId).collect(Collectors.toList());
+        int atualizados = repositorioPagamento.atualizarStatusEmLote(
+            elegiveis, anteriores, StatusPagamento.PROCESSADO_SUCESSO, LocalDateTime.now());
+        entityManager.clear();
+
+        
+        assertThat(candidatos)
+            .extracting(SituacaoPagamento::getId, SituacaoPagamento::getMetodoPagamento)
+            .containsExactly(tuple(pagamentoPix.getId(), MetodoPagamento.PIX));
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(repositorioPagamento.buscarSituacaoAtivos(ids))
+            .extracting(SituacaoPagamento::getId, SituacaoPagamento::getStatus)
+            .containsExactlyInAnyOrder(
+                tuple(pagamentoPix.getId(), StatusPagamento.PROCESSADO_SUCESSO),
+                tuple(pagamentoBoleto.getId(), StatusPagamento.PROCESSADO_FALHA));
+    }
+
+    @Test
+    @DisplayName("Plano de execução (H2 EXPLAIN) deve usar o índice (ativo, cpf_cnpj) na busca por CPF/CNPJ")
+    void deveUsarIndiceCpfCnpj() {
+        
+        repositorioPagamento.buscarPaginaComFiltros(null, CPF, null, 0L, 10);
+
+        
+        assertThat(explicar(CapturadorSql.ultimo, CPF, 0L, 10))
+            .containsIgnoringCase("IDX_PAYMENTS_ATIVO_CPF_CNPJ");
+    }
+
+    @Test
+    @DisplayName("Plano de execução (H2 EXPLAIN) deve usar o índice (ativo, codigo_debito) na busca por código do débito")
+    void deveUsarIndiceCodigoDebito() {
+        
+        repositorioPagamento.buscarPaginaComFiltros(90001, null, null, 0L, 10);
+
+        
+        assertThat(explicar(CapturadorSql.ultimo, 90001, 0L, 10))
+            .containsIgnoringCase("IDX_PAYMENTS_ATIVO_CODIGO_DEBITO");
+    }
+
+    @Test
+    @DisplayName("Plano de execução (H2 EXPLAIN) deve usar o índice (ativo, status) na busca por status")
+    void deveUsarIndiceStatus() {
+        
+        repositorioPagamento.buscarPaginaComFiltros(null, null, StatusPagamento.PROCESSADO_FALHA, 0L, 10);
+
+        
+        assertThat(explicar(CapturadorSql.ultimo, StatusPagamento.PROCESSADO_FALHA.name(), 0L, 10))
+            .containsIgnoringCase("IDX_PAYMENTS_ATIVO_STATUS");
+    }
+
+    @Test
+    @DisplayName("Deve totalizar no banco por status e por método apenas os pagamentos ativos")
+    void deveTotalizarPorStatusEMetodo() {
+        
+        List<TotalGrupoResponseDTO> porStatus = repositorioPagamento.totalizar(AgrupamentoRelatorio.STATUS, CPF, null, null);
+        List<TotalGrupoResponseDTO> porMetodo = repositorioPagamento.totalizar(AgrupamentoRelatorio.METODO, CPF, null, null);
+
+        
+        assertThat(porStatus)
+            .extracting(TotalGrupoResponseDTO::getGrupo, TotalGrupoResponseDTO::getQuantidade, TotalGrupoResponseDTO::getValorTotal)
+            .containsExactly(
+                tuple("Pendente de Processamento", 1L, new BigDecimal("10.00")),
+                tuple("Processado com Falha", 1L, new BigDecimal("20.00")));
+        assertThat(porMetodo)
+            .extracting(TotalGrupoResponseDTO::getGrupo, TotalGrupoResponseDTO::getValorTotal)
+            .containsExactly(tuple("boleto", new BigDecimal("20.00")), tuple("pix", new BigDecimal("10.00")));
+        assertThat(CapturadorSql.ultimo).containsIgnoringCase("group by");
+    }
+
+    @Test
+    @DisplayName("Deve totalizar por dia de criação dentro do período informado")
+    void deveTotalizarPorDiaNoPeriodo() {
+        
+        String cpf = "00011122244";
+        salvarCriadoEm(cpf, "5.00", LocalDateTime.of(2026, 3, 1, 23, 59));
+        salvarCriadoEm(cpf, "7.50", LocalDateTime.of(2026, 3, 2, 0, 0));
+        salvarCriadoEm(cpf, "2.50", LocalDateTime.of(2026, 3, 2, 18, 30));
+        salvarCriadoEm(cpf, "100.00", LocalDateTime.of(2026, 3, 3, 0, 0));
+
+        
+        List<TotalGrupoResponseDTO> porDia = repositorioPagamento.totalizar(AgrupamentoRelatorio.DIA, cpf,
+                LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 3, 3, 0, 0));
+
+        
+        assertThat(porDia)
+            .extracting(TotalGrupoResponseDTO::getGrupo, TotalGrupoResponseDTO::getQuantidade, TotalGrupoResponseDTO::getValorTotal)
+            .containsExactly(
+                tuple("2026-03-01", 1L, new BigDecimal("5.00")),
+                tuple("2026-03-02", 2L, new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("Plano de execução (H2 EXPLAIN) deve usar o índice de cobertura por data de criação nos relatórios por período")
+    void deveUsarIndiceDataCriacaoNosRelatorios() {
+        LocalDateTime inicio = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+        
+        repositorioPagamento.totalizar(AgrupamentoRelatorio.STATUS, null, inicio, fim);
+
+        
+        assertThat(explicar(CapturadorSql.ultimo, inicio, fim))
+            .containsIgnoringCase("IDX_PAYMENTS_ATIVO_DATA_CRIACAO");
+    }
+
+    @Test
+    @DisplayName("Plano de execução (H2 EXPLAIN) deve usar o índice (ativo, cpf_cnpj, data_criacao) nos relatórios de um pagador")
+    void deveUsarIndiceCpfCnpjNosRelatorios() {
+        LocalDateTime inicio = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        
+        repositorioPagamento.totalizar(AgrupamentoRelatorio.METODO, CPF, inicio, null);
+
+        
+        assertThat(explicar(CapturadorSql.ultimo, CPF, inicio))
+            .containsIgnoringCase("IDX_PAYMENTS_ATIVO_CPF_CNPJ");
+    }
+
+    private void salvarCriadoEm(String cpf, String valor, LocalDateTime dataCriacao) {
+        Pagamento pagamento = new Pagamento(90003, cpf, MetodoPagamento.PIX, null, new BigDecimal(valor));
+        pagamento.setDataCriacao(dataCriacao);
+        repositorioPagamento.saveAndFlush(pagamento);
+    }
+
+    private String explicar(String sql, Object... parametros) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros);
+    }
+
+    public static class CapturadorSql implements StatementInspector {
+
+        static volatile String ultimo;
+
+        @Override
+        public String inspect(String sql) {
+            ultimo = sql;
+            return sql;
+        }
+    }
+}
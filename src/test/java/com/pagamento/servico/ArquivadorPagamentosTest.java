@@ -0,0 +1,165 @@
+package com.pagamento.servico;
+
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.repositorio.ArquivoPagamentos;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.RepositorioResumoPagador;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:arquivamento",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false",
+    "pagamento.resumos.verificacao-habilitada=false",
+    "pagamento.arquivamento.habilitado=false",
+    "pagamento.arquivamento.tamanho-lote=2",
+    "pagamento.arquivamento.retencao=30d"
+})
+@DisplayName("Testes do Arquivamento de Pagamentos")
+class ArquivadorPagamentosTest {
+
+    @TempDir
+    static Path diretorio;
+
+    @DynamicPropertySource
+    static void configurarDiretorio(DynamicPropertyRegistry registro) {
+        registro.add("pagamento.arquivamento.diretorio", () -> diretorio.toString());
+    }
+
+    @Autowired
+    private ArquivadorPagamentos arquivador;
+
+    @Autowired
+    private ArquivoPagamentos arquivo;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private ServicoResumoPagador servicoResumo;
+
+    @SpyBean
+    private RepositorioPagamento repositorioPagamento;
+
+    @Autowired
+    private RepositorioResumoPagador repositorioResumo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve mover liquidados antigos e excluídos para o arquivo e mantê-los consultáveis")
+    void deveMoverParaArquivoEManterConsultavel() {
+        servicoResumo.verificarResumos();
+        String cpfCnpj = "68000000000";
+        Long liquidadoAntigo = criar(cpfCnpj, "10.00");
+        Long liquidadoRecente = criar(cpfCnpj, "20.00");
+        Long excluido = criar(cpfCnpj, "30.00");
+        Long pendente = criar(cpfCnpj, "40.00");
+        servicoPagamento.atualizarStatusPagamento(liquidadoAntigo, StatusPagamento.PROCESSADO_SUCESSO);
+        servicoPagamento.atualizarStatusPagamento(liquidadoRecente, StatusPagamento.PROCESSADO_SUCESSO);
+        servicoPagamento.excluirPagamento(excluido);
+        jdbcTemplate.update("UPDATE payments SET data_atualizacao = ? WHERE id = ?",
+            LocalDateTime.now().minusDays(31), liquidadoAntigo);
+        LocalDateTime ultimoPagamento = repositorioResumo.findById(cpfCnpj).orElseThrow().getDataUltimoPagamento();
+
+        arquivarTudo();
+
+        assertThat(repositorioPagamento.findById(liquidadoAntigo)).isEmpty();
+        assertThat(repositorioPagamento.findById(excluido)).isEmpty();
+        assertThat(repositorioPagamento.findById(liquidadoRecente)).isPresent();
+        assertThat(repositorioPagamento.findById(pendente)).isPresent();
+        assertThat(arquivo.buscar(excluido)).isPresent();
+
+        PagamentoResponseDTO arquivado = servicoPagamento.obterPagamentoPorId(liquidadoAntigo);
+        assertThat(arquivado.getStatus()).isEqualTo("Processado com Sucesso");
+        assertThat(arquivado.getValorPagamento()).isEqualByComparingTo("10.00");
+        assertThatThrownBy(() -> servicoPagamento.obterPagamentoPorId(excluido))
+            .isInstanceOf(PagamentoNaoEncontradoException.class);
+
+        assertThat(servicoResumo.verificarResumos().getDivergentes()).isZero();
+        assertThat(repositorioResumo.findById(cpfCnpj).orElseThrow().getDataUltimoPagamento())
+            .isEqualTo(ultimoPagamento);
+    }
+
+    @Test
+    @DisplayName("Deve gravar um segmento por lote e parar quando não há candidatos")
+    void deveGravarUmSegmentoPorLote() {
+        arquivarTudo();
+        int segmentosAntes = arquivo.getTotalSegmentos();
+        for (int i = 0; i < 5; i++) {
+            servicoPagamento.excluirPagamento(criar("69000000000", "1.00"));
+        }
+
+        assertThat(arquivador.arquivarLote()).isEqualTo(2);
+        assertThat(arquivador.arquivarLote()).isEqualTo(2);
+        assertThat(arquivador.arquivarLote()).isEqualTo(1);
+        assertThat(arquivador.arquivarLote()).isZero();
+        assertThat(arquivo.getTotalSegmentos()).isEqualTo(segmentosAntes + 3);
+    }
+
+    @Test
+    @DisplayName("Não deve remover nem arquivar liquidado alterado entre a leitura e a remoção")
+    void naoDeveArquivarLiquidadoAlteradoDuranteArquivamento() {
+        arquivarTudo();
+        Long liquidado = criar("69500000000", "15.00");
+        servicoPagamento.atualizarStatusPagamento(liquidado, StatusPagamento.PROCESSADO_SUCESSO);
+        jdbcTemplate.update("UPDATE payments SET data_atualizacao = ? WHERE id = ?",
+            LocalDateTime.now().minusDays(31), liquidado);
+        // O spy de um repositório delega ao proxy original pela resposta padrão; callRealMethod não alcança a interface
+        Answer<?> repositorioReal = mockingDetails(repositorioPagamento).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocacao -> {
+            List<?> lote = (List<?>) repositorioReal.answer(invocacao);
+            jdbcTemplate.update("UPDATE payments SET status = ?, versao = versao + 1 WHERE id = ?",
+                StatusPagamento.PROCESSADO_FALHA.name(), liquidado);
+            return lote;
+        }).when(repositorioPagamento).buscarArquivaveis(any(), any(), any());
+
+        int arquivados;
+        try {
+            arquivados = arquivador.arquivarLote();
+        } finally {
+            reset(repositorioPagamento);
+        }
+
+        assertThat(arquivados).isZero();
+        assertThat(repositorioPagamento.findById(liquidado))
+            .hasValueSatisfying(pagamento -> assertThat(pagamento.getStatus()).isEqualTo(StatusPagamento.PROCESSADO_FALHA));
+        assertThat(arquivo.buscar(liquidado)).isEmpty();
+    }
+
+    private void arquivarTudo() {
+        while (arquivador.arquivarLote() > 0) {
+            // esvazia os candidatos, inclusive os do data.sql
+        }
+    }
+
+    private Long criar(String cpfCnpj, String valor) {
+        return servicoPagamento.criarPagamento(
+            new PagamentoRequestDTO(68000, cpfCnpj, MetodoPagamento.BOLETO, null, new BigDecimal(valor))).getId();
+    }
+}
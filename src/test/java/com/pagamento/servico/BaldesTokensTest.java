@@ -0,0 +1,130 @@
+package com.pagamento.servico;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes dos Baldes de Tokens")
+class BaldesTokensTest {
+
+    private static final long INTERVALO = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong agora = new AtomicLong(1_000_000_000L);
+    private final Ticker relogio = agora::get;
+
+    @Test
+    @DisplayName("Deve aceitar a rajada da capacidade e repor um token por intervalo")
+    void deveAceitarRajadaEReporTokens() {
+        BaldesTokens baldes = new BaldesTokens(100, Duration.ofMinutes(1), relogio);
+        long tolerancia = INTERVALO * 4;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(baldes.consumir("pagador", INTERVALO, tolerancia)).isZero();
+        }
+        assertThat(baldes.consumir("pagador", INTERVALO, tolerancia)).isEqualTo(INTERVALO);
+
+        agora.addAndGet(INTERVALO / 2);
+        assertThat(baldes.consumir("pagador", INTERVALO, tolerancia)).isEqualTo(INTERVALO / 2);
+
+        agora.addAndGet(INTERVALO / 2);
+        assertThat(baldes.consumir("pagador", INTERVALO, tolerancia)).isZero();
+        assertThat(baldes.consumir("pagador", INTERVALO, tolerancia)).isEqualTo(INTERVALO);
+    }
+
+    @Test
+    @DisplayName("Deve consumir vários tokens de uma vez ou nenhum")
+    void deveConsumirVariosTokensDeUmaVez() {
+        BaldesTokens baldes = new BaldesTokens(100, Duration.ofMinutes(1), relogio);
+        long tolerancia = INTERVALO * 4;
+
+        assertThat(baldes.consumir("lote", INTERVALO, tolerancia, 3)).isZero();
+        assertThat(baldes.consumir("lote", INTERVALO, tolerancia, 3)).isEqualTo(INTERVALO);
+        assertThat(baldes.consumir("lote", INTERVALO, tolerancia, 2)).isZero();
+        assertThat(baldes.consumir("lote", INTERVALO, tolerancia)).isEqualTo(INTERVALO);
+        assertThat(baldes.consumir("cheio", INTERVALO, tolerancia, 6)).isEqualTo(INTERVALO);
+    }
+
+    @Test
+    @DisplayName("Deve manter um balde independente por chave")
+    void deveManterBaldeIndependentePorChave() {
+        BaldesTokens baldes = new BaldesTokens(100, Duration.ofMinutes(1), relogio);
+
+        assertThat(baldes.consumir("a", INTERVALO, 0)).isZero();
+        assertThat(baldes.consumir("a", INTERVALO, 0)).isPositive();
+
+        assertThat(baldes.consumir("b", INTERVALO, 0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve acumular tokens acima da capacidade durante a inatividade")
+    void naoDeveAcumularTokensAcimaDaCapacidade() {
+        BaldesTokens baldes = new BaldesTokens(100, Duration.ofMinutes(1), relogio);
+        baldes.consumir("pagador", INTERVALO, INTERVALO);
+
+        agora.addAndGet(INTERVALO * 50);
+
+        assertThat(baldes.consumir("pagador", INTERVALO, INTERVALO)).isZero();
+        assertThat(baldes.consumir("pagador", INTERVALO, INTERVALO)).isZero();
+        assertThat(baldes.consumir("pagador", INTERVALO, INTERVALO)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve manter o número de chaves dentro do máximo")
+    void deveManterChavesDentroDoMaximo() {
+        BaldesTokens baldes = new BaldesTokens(50, Duration.ofMinutes(1), relogio);
+
+        for (int i = 0; i < 1000; i++) {
+            baldes.consumir("pagador-" + i, INTERVALO, 0);
+        }
+        baldes.getBaldes().cleanUp();
+
+        assertThat(baldes.getBaldes().estimatedSize()).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Deve admitir exatamente a capacidade com 64 threads disputando a mesma chave")
+    void deveAdmitirExatamenteCapacidadeSobContencao() throws Exception {
+        BaldesTokens baldes = new BaldesTokens(100, Duration.ofMinutes(1), relogio);
+        int capacidade = 1000;
+        long tolerancia = INTERVALO * (capacidade - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int admitidas = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (baldes.consumir("pagador", INTERVALO, tolerancia) == 0) {
+                            admitidas++;
+                        }
+                    }
+                    return admitidas;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for (Future<Integer> resultado : resultados) {
+                total += resultado.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(capacidade);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
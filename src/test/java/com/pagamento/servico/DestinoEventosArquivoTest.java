@@ -0,0 +1,81 @@
+package com.pagamento.servico;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pagamento.configuracao.PropriedadesOutbox;
+import com.pagamento.dto.EventoPagamentoDTO;
+import com.pagamento.entidade.EventoPagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.enums.TipoEventoPagamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Destino de Eventos em Arquivo")
+class DestinoEventosArquivoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve acrescentar um evento JSON por linha a cada lote publicado")
+    void deveAcrescentarUmEventoPorLinha() throws Exception {
+        Path arquivo = diretorio.resolve("eventos.ndjson");
+        DestinoEventosArquivo destino = new DestinoEventosArquivo(objectMapper, propriedades(arquivo));
+
+        destino.publicar(Arrays.asList(
+            evento(1L, 10L, TipoEventoPagamento.CRIADO, null, StatusPagamento.PENDENTE_PROCESSAMENTO),
+            evento(2L, 10L, TipoEventoPagamento.STATUS_ATUALIZADO,
+                   StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO)));
+        destino.publicar(Collections.singletonList(
+            evento(3L, 11L, TipoEventoPagamento.CRIADO, null, StatusPagamento.PENDENTE_PROCESSAMENTO)));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertThat(linhas).hasSize(3);
+        JsonNode transicao = objectMapper.readTree(linhas.get(1));
+        assertThat(transicao.get("id").asLong()).isEqualTo(2L);
+        assertThat(transicao.get("pagamentoId").asLong()).isEqualTo(10L);
+        assertThat(transicao.get("tipo").asText()).isEqualTo("status_atualizado");
+        assertThat(transicao.get("metodoPagamento").asText()).isEqualTo("pix");
+        assertThat(transicao.get("statusAnterior").asText()).isEqualTo("Pendente de Processamento");
+        assertThat(transicao.get("status").asText()).isEqualTo("Processado com Sucesso");
+        assertThat(objectMapper.readTree(linhas.get(2)).get("id").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando o arquivo não pode ser gravado")
+    void deveFalharQuandoArquivoNaoPodeSerGravado() {
+        DestinoEventosArquivo destino = new DestinoEventosArquivo(objectMapper, propriedades(diretorio));
+
+        assertThatThrownBy(() -> destino.publicar(Collections.singletonList(
+            evento(1L, 10L, TipoEventoPagamento.CRIADO, null, StatusPagamento.PENDENTE_PROCESSAMENTO))))
+            .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private PropriedadesOutbox propriedades(Path arquivo) {
+        PropriedadesOutbox propriedades = new PropriedadesOutbox();
+        propriedades.setDestino("arquivo");
+        propriedades.setArquivo(arquivo.toString());
+        return propriedades;
+    }
+
+    private EventoPagamentoDTO evento(Long id, Long pagamentoId, TipoEventoPagamento tipo,
+                                      StatusPagamento anterior, StatusPagamento status) {
+        EventoPagamento evento = new EventoPagamento(pagamentoId, tipo, MetodoPagamento.PIX, anterior, status);
+        evento.setId(id);
+        return new EventoPagamentoDTO(evento);
+    }
+}
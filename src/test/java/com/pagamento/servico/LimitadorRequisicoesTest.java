@@ -0,0 +1,125 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesLimiteRequisicoes;
+import com.pagamento.configuracao.PropriedadesLimiteRequisicoes.Limite;
+import com.pagamento.configuracao.PropriedadesLimiteRequisicoes.LimitesOperacao;
+import com.pagamento.excecao.LimiteRequisicoesExcedidoException;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Limitador de Requisições")
+class LimitadorRequisicoesTest {
+
+    private SimpleMeterRegistry registro;
+    private PropriedadesLimiteRequisicoes propriedades;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        // Reposição lenta: nenhum token volta durante o teste
+        propriedades = new PropriedadesLimiteRequisicoes();
+        propriedades.setCriacao(new LimitesOperacao(new Limite(2, 0.5), new Limite(3, 0.5)));
+        propriedades.setBusca(new LimitesOperacao(new Limite(1, 0.25), new Limite(10, 0.5)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar o pagador acima da capacidade sem afetar os demais")
+    void deveRecusarPagadorAcimaDaCapacidade() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        limitador.admitirCriacao("12345678000195", "erp-a");
+        limitador.admitirCriacao("12345678000195", "erp-b");
+
+        assertThatThrownBy(() -> limitador.admitirCriacao("12345678000195", "erp-c"))
+            .isInstanceOf(LimiteRequisicoesExcedidoException.class)
+            .hasMessageContaining("pagador")
+            .extracting("segundosEspera").isEqualTo(2L);
+        assertThatCode(() -> limitador.admitirCriacao("98765432100", "erp-c")).doesNotThrowAnyException();
+        assertThat(registro.get("pagamentos.limite.rejeicoes")
+                .tags("operacao", "criacao", "chave", "pagador")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve limitar o cliente somando as requisições de todos os pagadores")
+    void deveLimitarClienteEntrePagadores() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        limitador.admitirCriacao("11111111111", "erp");
+        limitador.admitirCriacao("22222222222", "erp");
+        limitador.admitirCriacao("33333333333", "erp");
+
+        assertThatThrownBy(() -> limitador.admitirCriacao("44444444444", "erp"))
+            .isInstanceOf(LimiteRequisicoesExcedidoException.class)
+            .hasMessageContaining("cliente");
+    }
+
+    @Test
+    @DisplayName("Deve separar as cotas da criação e da busca")
+    void deveSepararCotasDaCriacaoEDaBusca() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        limitador.admitirBusca("12345678901", "erp");
+        assertThatThrownBy(() -> limitador.admitirBusca("12345678901", "erp"))
+            .isInstanceOf(LimiteRequisicoesExcedidoException.class)
+            .extracting("segundosEspera").isEqualTo(4L);
+
+        assertThatCode(() -> limitador.admitirCriacao("12345678901", "erp")).doesNotThrowAnyException();
+        assertThatCode(() -> limitador.admitirBusca(null, "erp")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve cobrar cada item do lote do pagador e do cliente")
+    void deveCobrarCadaItemDoLote() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        limitador.admitirCriacaoEmLote(Arrays.asList("11111111111", "11111111111", "22222222222"), "erp");
+
+        assertThatThrownBy(() -> limitador.admitirCriacao("11111111111", "outro-erp"))
+            .isInstanceOf(LimiteRequisicoesExcedidoException.class)
+            .hasMessageContaining("pagador");
+        assertThatThrownBy(() -> limitador.admitirCriacao("33333333333", "erp"))
+            .isInstanceOf(LimiteRequisicoesExcedidoException.class)
+            .hasMessageContaining("cliente");
+    }
+
+    @Test
+    @DisplayName("Deve recusar como inválido o lote maior que a capacidade da cota")
+    void deveRecusarLoteMaiorQueCapacidade() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        assertThatThrownBy(() -> limitador.admitirCriacaoEmLote(
+                Arrays.asList("11111111111", "11111111111", "11111111111"), "erp"))
+            .isInstanceOf(PagamentoInvalidoException.class)
+            .hasMessageContaining("no máximo 2");
+        assertThatCode(() -> limitador.admitirCriacao("11111111111", "erp")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Não deve limitar quando desabilitado")
+    void naoDeveLimitarQuandoDesabilitado() {
+        propriedades.setHabilitado(false);
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro));
+
+        for (int i = 0; i < 10; i++) {
+            limitador.admitirCriacao("12345678901", "erp");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar limite sem reposição na inicialização")
+    void deveRecusarLimiteSemReposicao() {
+        propriedades.getBusca().setPagador(new Limite(10, 0));
+
+        assertThatThrownBy(() -> new LimitadorRequisicoes(propriedades, new MetricasPagamento(registro)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("busca:pagador");
+    }
+}
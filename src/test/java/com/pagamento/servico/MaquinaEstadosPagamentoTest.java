@@ -0,0 +1,148 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesTransicoes;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes da Máquina de Estados de Pagamento")
+class MaquinaEstadosPagamentoTest {
+
+    @Nested
+    @DisplayName("Testes das Transições Padrão")
+    class TransicoesPadraoTests {
+
+        private final MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(new PropriedadesTransicoes());
+
+        @Test
+        @DisplayName("Deve permitir as transições padrão para todos os métodos")
+        void devePermitirTransicoesPadraoParaTodosOsMetodos() {
+            for (MetodoPagamento metodo : MetodoPagamento.values()) {
+                assertThat(maquinaEstados.permite(metodo, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO)).isTrue();
+                assertThat(maquinaEstados.permite(metodo, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_FALHA)).isTrue();
+                assertThat(maquinaEstados.permite(metodo, StatusPagamento.PROCESSADO_FALHA, StatusPagamento.PENDENTE_PROCESSAMENTO)).isTrue();
+                assertThat(maquinaEstados.permite(metodo, StatusPagamento.PROCESSADO_FALHA, StatusPagamento.PROCESSADO_SUCESSO)).isFalse();
+                assertThat(maquinaEstados.proximosStatus(metodo, StatusPagamento.PROCESSADO_SUCESSO)).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve calcular os status anteriores a partir da tabela")
+        void deveCalcularStatusAnteriores() {
+            assertThat(maquinaEstados.statusAnteriores(StatusPagamento.PENDENTE_PROCESSAMENTO))
+                .containsExactly(StatusPagamento.PROCESSADO_FALHA);
+            assertThat(maquinaEstados.statusAnteriores(StatusPagamento.PROCESSADO_SUCESSO))
+                .containsExactly(StatusPagamento.PENDENTE_PROCESSAMENTO);
+        }
+
+        @Test
+        @DisplayName("Deve informar status de origem e destino na transição inválida")
+        void deveInformarOrigemEDestinoNaTransicaoInvalida() {
+            assertThatThrownBy(() -> maquinaEstados.validarTransicao(
+                    MetodoPagamento.BOLETO, StatusPagamento.PROCESSADO_FALHA, StatusPagamento.PROCESSADO_SUCESSO))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessage("Transição de status inválida: de 'Processado com Falha' para 'Processado com Sucesso'");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes das Regras por Método")
+    class RegrasPorMetodoTests {
+
+        @Test
+        @DisplayName("Deve aplicar a regra configurada somente ao método informado")
+        void deveAplicarRegraConfiguradaSomenteAoMetodoInformado() {
+            
+            Map<String, String> configuracao = new HashMap<>();
+            configuracao.put("pagamento.transicoes.por-metodo.pix.processado-falha", "");
+            configuracao.put("pagamento.transicoes.por-metodo.boleto.processado-falha", "processado-sucesso,pendente-processamento");
+            PropriedadesTransicoes propriedades = new Binder(new MapConfigurationPropertySource(configuracao))
+                .bind("pagamento.transicoes", Bindable.of(PropriedadesTransicoes.class))
+                .get();
+
+            
+            MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(propriedades);
+
+            
+            assertThat(maquinaEstados.proximosStatus(MetodoPagamento.PIX, StatusPagamento.PROCESSADO_FALHA)).isEmpty();
+            assertThat(maquinaEstados.proximosStatus(MetodoPagamento.BOLETO, StatusPagamento.PROCESSADO_FALHA))
+                .containsExactly(StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+            assertThat(maquinaEstados.proximosStatus(MetodoPagamento.CARTAO_CREDITO, StatusPagamento.PROCESSADO_FALHA))
+                .containsExactly(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            assertThat(maquinaEstados.permite(MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO))
+                .isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve recusar com mensagem de status final quando o método não tem saída")
+        void deveRecusarComMensagemDeStatusFinalQuandoMetodoNaoTemSaida() {
+            
+            PropriedadesTransicoes propriedades = new PropriedadesTransicoes();
+            propriedades.getPorMetodo().put(MetodoPagamento.PIX,
+                Map.of(StatusPagamento.PROCESSADO_FALHA, EnumSet.noneOf(StatusPagamento.class)));
+            MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(propriedades);
+
+            
+            assertThatThrownBy(() -> maquinaEstados.validarTransicao(
+                    MetodoPagamento.PIX, StatusPagamento.PROCESSADO_FALHA, StatusPagamento.PENDENTE_PROCESSAMENTO))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessage("Pagamentos com status 'Processado com Falha' não podem ser alterados");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da Configuração em YAML")
+    class ConfiguracaoYamlTests {
+
+        @Test
+        @DisplayName("Deve manter as transições padrão para todos os métodos na configuração distribuída")
+        void deveManterTransicoesPadraoNaConfiguracaoDistribuida() throws Exception {
+            
+            MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(carregar("application.yml"));
+
+            
+            for (MetodoPagamento metodo : MetodoPagamento.values()) {
+                assertThat(maquinaEstados.proximosStatus(metodo, StatusPagamento.PROCESSADO_FALHA))
+                    .containsExactly(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve tornar a falha do PIX final no perfil pix-falha-final")
+        void deveTornarFalhaDoPixFinalNoPerfil() throws Exception {
+            
+            MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(
+                carregar("application-pix-falha-final.yml"));
+
+            
+            assertThat(maquinaEstados.proximosStatus(MetodoPagamento.PIX, StatusPagamento.PROCESSADO_FALHA)).isEmpty();
+            assertThat(maquinaEstados.proximosStatus(MetodoPagamento.BOLETO, StatusPagamento.PROCESSADO_FALHA))
+                .containsExactly(StatusPagamento.PENDENTE_PROCESSAMENTO);
+        }
+
+        private PropriedadesTransicoes carregar(String arquivo) throws IOException {
+            List<PropertySource<?>> fontes = new YamlPropertySourceLoader().load(arquivo, new ClassPathResource(arquivo));
+            return new Binder(ConfigurationPropertySources.from(fontes))
+                .bind("pagamento.transicoes", Bindable.of(PropriedadesTransicoes.class))
+                .orElseGet(PropriedadesTransicoes::new);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pagamento.servico;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes das Métricas de Pagamento")
+class MetricasPagamentoTest {
+
+    private SimpleMeterRegistry registro;
+    private MetricasPagamento metricas;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        metricas = new MetricasPagamento(registro);
+    }
+
+    @Test
+    @DisplayName("Deve contar transições e rejeições por método e status")
+    void deveContarTransicoesERejeicoesPorMetodoEStatus() {
+        
+        metricas.registrarTransicao(MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+        metricas.registrarTransicao(MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+        metricas.registrarRejeicao(MetodoPagamento.BOLETO, StatusPagamento.PROCESSADO_SUCESSO, StatusPagamento.PROCESSADO_FALHA);
+
+        
+        assertThat(registro.get("pagamentos.transicoes")
+                .tags("metodo", "pix", "de", "PENDENTE_PROCESSAMENTO", "para", "PROCESSADO_SUCESSO")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(registro.get("pagamentos.transicoes.rejeitadas")
+                .tags("metodo", "boleto", "de", "PROCESSADO_SUCESSO", "para", "PROCESSADO_FALHA")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registro.get("pagamentos.transicoes").tag("metodo", "boleto").counters())
+                .allSatisfy(contador -> assertThat(contador.count()).isZero());
+    }
+
+    @Test
+    @DisplayName("Deve expor acertos e falhas do cache monitorado")
+    void deveExporAcertosEFalhasDoCacheMonitorado() {
+        
+        Cache<Long, String> cache = Caffeine.newBuilder().recordStats().build();
+        metricas.monitorarCache(cache, "pagamentos.consulta");
+
+        
+        cache.get(1L, chave -> "pagamento");
+        cache.getIfPresent(1L);
+
+        
+        assertThat(registro.get("cache.gets").tags("cache", "pagamentos.consulta", "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registro.get("cache.gets").tags("cache", "pagamentos.consulta", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,198 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesProcessamento;
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:processamento",
+    "pagamento.outbox.habilitado=false",
+    "pagamento.processamento.processador-simulado=true",
+    "pagamento.processamento.tamanho-lote=7"
+})
+@DisplayName("Testes do Motor de Processamento de Pagamentos")
+class MotorProcessamentoPagamentosTest {
+
+    private static final int PAGAMENTOS = 60;
+    private static final String CPF_LOTE = "50000000000";
+    private static final int TRABALHADORES = 4;
+
+    @Autowired
+    private MotorProcessamentoPagamentos motor;
+
+    @Autowired
+    private RepositorioPagamento repositorioPagamento;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private MetricasPagamento metricas;
+
+    @BeforeEach
+    void setUp() {
+        repositorioPagamento.deleteAllInBatch();
+        List<Pagamento> pagamentos = new ArrayList<>();
+        for (int i = 0; i < PAGAMENTOS; i++) {
+            pagamentos.add(new Pagamento(50000 + i, CPF_LOTE, MetodoPagamento.PIX, null, new BigDecimal("10.00")));
+        }
+        repositorioPagamento.saveAll(pagamentos);
+    }
+
+    @Test
+    @DisplayName("Deve processar cada pagamento pendente exatamente uma vez com trabalhadores concorrentes")
+    void deveProcessarCadaPendenteExatamenteUmaVez() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(TRABALHADORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> execucoes = new ArrayList<>();
+
+
+        try {
+            for (int i = 0; i < TRABALHADORES; i++) {
+                Callable<Integer> trabalhador = () -> {
+                    largada.await();
+                    int total = 0;
+                    for (int reivindicados = motor.processarLote(); reivindicados > 0; reivindicados = motor.processarLote()) {
+                        total += reivindicados;
+                    }
+                    return total;
+                };
+                execucoes.add(executor.submit(trabalhador));
+            }
+            largada.countDown();
+
+            int processados = 0;
+            for (Future<Integer> execucao : execucoes) {
+                processados += execucao.get(30, TimeUnit.SECONDS);
+            }
+
+
+            List<Pagamento> pagamentos = repositorioPagamento.findAll();
+            assertThat(processados).isEqualTo(pagamentos.stream().filter(pagamento -> pagamento.getVersao() == 1L).count());
+            assertThat(repositorioPagamento.countByStatusAndAtivoTrue(StatusPagamento.PENDENTE_PROCESSAMENTO)).isZero();
+            assertThat(pagamentos)
+                .filteredOn(pagamento -> CPF_LOTE.equals(pagamento.getCpfCnpj()))
+                .hasSize(PAGAMENTOS)
+                .allSatisfy(pagamento -> {
+                    assertThat(pagamento.getStatus()).isEqualTo(StatusPagamento.PROCESSADO_SUCESSO);
+                    assertThat(pagamento.getVersao()).isEqualTo(1L);
+                    assertThat(pagamento.getReivindicadoPor()).isNull();
+                });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter reivindicado o lote cujo processador falhou e deixar o trabalhador ocioso")
+    void deveManterReivindicadoLoteComFalhaDoProcessador() {
+        AtomicInteger chamadas = new AtomicInteger();
+        MotorProcessamentoPagamentos motorComFalha = criarMotor(pagamentos -> {
+            chamadas.incrementAndGet();
+            throw new IllegalStateException("Adquirente indisponível");
+        });
+
+        int primeiroLote = motorComFalha.processarLote();
+        int segundoLote = motorComFalha.processarLote();
+
+        assertThat(primeiroLote).isZero();
+        assertThat(segundoLote).isZero();
+        assertThat(chamadas).hasValue(2);
+        List<Pagamento> pagamentos = repositorioPagamento.findAll();
+        assertThat(pagamentos).allSatisfy(pagamento ->
+            assertThat(pagamento.getStatus()).isEqualTo(StatusPagamento.PENDENTE_PROCESSAMENTO));
+        // Cada lote leva pagamentos ainda livres: os do lote com falha só voltam quando a marca expirar
+        assertThat(pagamentos).filteredOn(pagamento -> pagamento.getReivindicadoPor() != null).hasSize(14);
+    }
+
+    @Test
+    @DisplayName("Deve terminar e gravar o lote em andamento ao parar, sem reivindicar outro")
+    void deveTerminarLoteEmAndamentoAoParar() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        MotorProcessamentoPagamentos motorAgendado = criarMotor(pagamentos -> {
+            iniciou.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return aprovar(pagamentos);
+        });
+
+        motorAgendado.start();
+        assertThat(iniciou.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> parada = CompletableFuture.runAsync(motorAgendado::stop);
+        while (motorAgendado.isRunning()) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+        parada.get(10, TimeUnit.SECONDS);
+
+        List<Pagamento> pagamentos = repositorioPagamento.findAll();
+        assertThat(pagamentos).filteredOn(pagamento -> pagamento.getStatus() == StatusPagamento.PROCESSADO_SUCESSO)
+            .hasSize(7)
+            .allSatisfy(pagamento -> assertThat(pagamento.getReivindicadoPor()).isNull());
+        assertThat(pagamentos).filteredOn(pagamento -> pagamento.getStatus() == StatusPagamento.PENDENTE_PROCESSAMENTO)
+            .hasSize(PAGAMENTOS - 7)
+            .allSatisfy(pagamento -> assertThat(pagamento.getReivindicadoPor()).isNull());
+    }
+
+    private MotorProcessamentoPagamentos criarMotor(
+            Function<List<PagamentoReivindicado>, Map<Long, StatusPagamento>> processamento) {
+        PropriedadesProcessamento propriedades = new PropriedadesProcessamento();
+        propriedades.setHabilitado(true);
+        propriedades.setTrabalhadores(1);
+        propriedades.setTamanhoLote(7);
+        propriedades.setIntervaloOcioso(Duration.ofMillis(10));
+        propriedades.setTempoEncerramento(Duration.ofSeconds(10));
+        ProcessadorPagamento processador = new ProcessadorPagamento() {
+            @Override
+            public Set<MetodoPagamento> getMetodosSuportados() {
+                return EnumSet.of(MetodoPagamento.PIX);
+            }
+
+            @Override
+            public Map<Long, StatusPagamento> processar(List<PagamentoReivindicado> pagamentos) {
+                return processamento.apply(pagamentos);
+            }
+        };
+        return new MotorProcessamentoPagamentos(servicoPagamento, repositorioPagamento, propriedades, metricas,
+                Collections.singletonList(processador));
+    }
+
+    private static Map<Long, StatusPagamento> aprovar(List<PagamentoReivindicado> pagamentos) {
+        return pagamentos.stream()
+            .collect(Collectors.toMap(PagamentoReivindicado::getId, pagamento -> StatusPagamento.PROCESSADO_SUCESSO));
+    }
+}
@@ -0,0 +1,257 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesNotificacoes;
+import com.pagamento.dto.NotificacaoStatusResponseDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.LimiteAssinaturasExcedidoException;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.SituacaoPagamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:notificacoes",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false",
+    "pagamento.notificacoes.intervalo-heartbeat=PT0.2S"
+})
+@DisplayName("Testes das Assinaturas SSE de Status")
+class NotificadorStatusPagamentoTest {
+
+    private static final Duration ESPERA = Duration.ofSeconds(10);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<NotificacaoStatusResponseDTO>> TIPO_EVENTO =
+            new ParameterizedTypeReference<ServerSentEvent<NotificacaoStatusResponseDTO>>() {};
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private PlatformTransactionManager gerenciadorTransacao;
+
+    @Nested
+    @DisplayName("Testes do Fluxo GET /api/pagamentos/{id}/eventos")
+    class FluxoEventosTests {
+
+        private WebTestClient cliente;
+
+        @BeforeEach
+        void setUp() {
+            cliente = WebTestClient.bindToServer()
+                    .baseUrl("http://localhost:" + porta + "/api/pagamentos")
+                    .responseTimeout(ESPERA)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Deve enviar o status atual, cada mudança confirmada e encerrar no status final")
+        void deveEnviarMudancasAteStatusFinal() {
+            Long id = criar(MetodoPagamento.BOLETO);
+
+            List<ServerSentEvent<NotificacaoStatusResponseDTO>> eventos = assinar(id)
+                    .doOnNext(evento -> {
+                        if (evento.data().getStatusAnterior() == null) {
+                            emSegundoPlano(() -> {
+                                servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_FALHA);
+                                servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PENDENTE_PROCESSAMENTO);
+                                servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_SUCESSO);
+                            });
+                        }
+                    })
+                    .collectList()
+                    .block(ESPERA);
+
+            assertThat(eventos).extracting(ServerSentEvent::event).containsOnly("status");
+            assertThat(eventos).extracting(evento -> evento.data().getStatus()).containsExactly(
+                "Pendente de Processamento", "Processado com Falha", "Pendente de Processamento", "Processado com Sucesso");
+            assertThat(eventos.get(1).data().getStatusAnterior()).isEqualTo("Pendente de Processamento");
+            assertThat(eventos).extracting(evento -> evento.data().isFinalizado())
+                .containsExactly(false, false, false, true);
+        }
+
+        @Test
+        @DisplayName("Não deve enviar mudança de transação desfeita")
+        void naoDeveEnviarMudancaDesfeita() {
+            Long id = criar(MetodoPagamento.BOLETO);
+            TransactionTemplate transacao = new TransactionTemplate(gerenciadorTransacao);
+
+            List<ServerSentEvent<NotificacaoStatusResponseDTO>> eventos = assinar(id)
+                    .doOnNext(evento -> {
+                        if (evento.data().getStatusAnterior() == null) {
+                            emSegundoPlano(() -> {
+                                transacao.executeWithoutResult(status -> {
+                                    servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_FALHA);
+                                    status.setRollbackOnly();
+                                });
+                                servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_SUCESSO);
+                            });
+                        }
+                    })
+                    .collectList()
+                    .block(ESPERA);
+
+            assertThat(eventos).extracting(evento -> evento.data().getStatus())
+                .containsExactly("Pendente de Processamento", "Processado com Sucesso");
+        }
+
+        @Test
+        @DisplayName("Deve enviar evento de exclusão e encerrar o fluxo")
+        void deveEnviarExclusaoEEncerrar() {
+            Long id = criar(MetodoPagamento.PIX);
+
+            List<ServerSentEvent<NotificacaoStatusResponseDTO>> eventos = assinar(id)
+                    .doOnNext(evento -> {
+                        if ("status".equals(evento.event())) {
+                            emSegundoPlano(() -> servicoPagamento.excluirPagamento(id));
+                        }
+                    })
+                    .collectList()
+                    .block(ESPERA);
+
+            assertThat(eventos).extracting(ServerSentEvent::event).containsExactly("status", "excluido");
+            assertThat(eventos.get(1).data().isFinalizado()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve encerrar logo após o status atual quando o pagamento já está finalizado")
+        void deveEncerrarQuandoJaFinalizado() {
+            Long id = criar(MetodoPagamento.PIX);
+            servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_SUCESSO);
+
+            List<ServerSentEvent<NotificacaoStatusResponseDTO>> eventos = assinar(id).collectList().block(ESPERA);
+
+            assertThat(eventos).hasSize(1);
+            assertThat(eventos.get(0).data().getStatus()).isEqualTo("Processado com Sucesso");
+            assertThat(eventos.get(0).data().isFinalizado()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve enviar heartbeats enquanto o pagamento não muda")
+        void deveEnviarHeartbeats() {
+            Long id = criar(MetodoPagamento.BOLETO);
+
+            List<ServerSentEvent<NotificacaoStatusResponseDTO>> eventos = cliente.get().uri("/{id}/eventos", id)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TIPO_EVENTO)
+                    .getResponseBody()
+                    .take(3)
+                    .collectList()
+                    .block(ESPERA);
+
+            assertThat(eventos.get(0).event()).isEqualTo("status");
+            assertThat(eventos.subList(1, 3)).extracting(ServerSentEvent::comment).containsOnly("heartbeat");
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 para pagamento inexistente")
+        void deveRetornar404ParaPagamentoInexistente() {
+            cliente.get().uri("/{id}/eventos", 999999L)
+                    .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.mensagem").isEqualTo("Pagamento não encontrado com ID: 999999");
+        }
+
+        private Flux<ServerSentEvent<NotificacaoStatusResponseDTO>> assinar(Long id) {
+            return cliente.get().uri("/{id}/eventos", id)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                    .returnResult(TIPO_EVENTO)
+                    .getResponseBody()
+                    .filter(evento -> evento.data() != null);
+        }
+
+        private Long criar(MetodoPagamento metodo) {
+            return servicoPagamento.criarPagamento(
+                new PagamentoRequestDTO(90000, "90000000000", metodo, null, new BigDecimal("20.00"))).getId();
+        }
+
+        private void emSegundoPlano(Runnable acao) {
+            CompletableFuture.runAsync(acao);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Registro de Assinaturas")
+    class RegistroAssinaturasTests {
+
+        private final RepositorioPagamento repositorioPagamento = mock(RepositorioPagamento.class);
+
+        private NotificadorStatusPagamento notificador;
+
+        @BeforeEach
+        void setUp() {
+            PropriedadesNotificacoes propriedades = new PropriedadesNotificacoes();
+            propriedades.setMaximoAssinaturas(2);
+            notificador = new NotificadorStatusPagamento(repositorioPagamento, mock(MaquinaEstadosPagamento.class),
+                    propriedades, new MetricasPagamento(new SimpleMeterRegistry()));
+        }
+
+        @Test
+        @DisplayName("Deve liberar a vaga da assinatura quando o pagamento não existe")
+        void deveLiberarVagaQuandoPagamentoNaoExiste() {
+            when(repositorioPagamento.buscarSituacaoAtivo(anyLong())).thenReturn(Optional.empty());
+
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> notificador.assinar(1L))
+                    .isInstanceOf(PagamentoNaoEncontradoException.class);
+            }
+            assertThat(notificador.getTotalAssinaturas()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve contar as assinaturas abertas e recusar a que excede o limite")
+        void deveContarAssinaturasAbertas() {
+            SituacaoPagamento pendente = situacao();
+            when(repositorioPagamento.buscarSituacaoAtivo(anyLong())).thenReturn(Optional.of(pendente));
+
+            notificador.assinar(1L);
+            notificador.assinar(2L);
+
+            assertThat(notificador.getTotalAssinaturas()).isEqualTo(2);
+            assertThatThrownBy(() -> notificador.assinar(3L))
+                .isInstanceOf(LimiteAssinaturasExcedidoException.class);
+            assertThat(notificador.getTotalAssinaturas()).isEqualTo(2);
+        }
+
+        private SituacaoPagamento situacao() {
+            SituacaoPagamento situacao = mock(SituacaoPagamento.class);
+            when(situacao.getStatus()).thenReturn(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            when(situacao.getMetodoPagamento()).thenReturn(MetodoPagamento.BOLETO);
+            return situacao;
+        }
+    }
+}
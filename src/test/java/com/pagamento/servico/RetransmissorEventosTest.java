@@ -0,0 +1,220 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesOutbox;
+import com.pagamento.dto.EventoPagamentoDTO;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.repositorio.RepositorioEventoPagamento;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false",
+    "pagamento.outbox.destino=memoria",
+    "pagamento.outbox.tamanho-lote=3"
+})
+@DisplayName("Testes da Caixa de Saída de Eventos")
+class RetransmissorEventosTest {
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private RetransmissorEventos retransmissor;
+
+    @Autowired
+    private RepositorioEventoPagamento repositorioEvento;
+
+    @Autowired
+    private DestinoEventosMemoria destino;
+
+    @Autowired
+    private PlatformTransactionManager gerenciadorTransacao;
+
+    @Autowired
+    private MetricasPagamento metricas;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @BeforeEach
+    void setUp() {
+        repositorioEvento.deleteAllInBatch();
+        destino.limpar();
+    }
+
+    @Test
+    @DisplayName("Deve publicar criação, transições e exclusão de um pagamento na ordem em que ocorreram")
+    void devePublicarCicloDeVidaEmOrdem() {
+        Long id = servicoPagamento.criarPagamento(requisicao(MetodoPagamento.BOLETO)).getId();
+        servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_FALHA);
+        servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PENDENTE_PROCESSAMENTO);
+        servicoPagamento.excluirPagamento(id);
+
+        publicarTudo();
+
+        List<EventoPagamentoDTO> eventos = destino.recebidos();
+        assertThat(eventos).extracting(EventoPagamentoDTO::getPagamentoId).containsOnly(id);
+        assertThat(eventos).extracting(EventoPagamentoDTO::getTipo)
+            .containsExactly("pagamento_criado", "status_atualizado", "status_atualizado", "pagamento_excluido");
+        assertThat(eventos).extracting(EventoPagamentoDTO::getStatus)
+            .containsExactly("Pendente de Processamento", "Processado com Falha",
+                             "Pendente de Processamento", "Pendente de Processamento");
+        assertThat(eventos.get(1).getStatusAnterior()).isEqualTo("Pendente de Processamento");
+        assertThat(eventos).extracting(EventoPagamentoDTO::getId).isSorted();
+        assertThat(repositorioEvento.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve publicar em lotes do tamanho configurado e remover os eventos entregues")
+    void devePublicarEmLotes() {
+        List<PagamentoRequestDTO> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            requisicoes.add(requisicao(MetodoPagamento.PIX));
+        }
+        servicoPagamento.criarPagamentosEmLote(requisicoes);
+
+        assertThat(retransmissor.publicarLote()).isEqualTo(3);
+        assertThat(retransmissor.publicarLote()).isEqualTo(3);
+        assertThat(retransmissor.publicarLote()).isEqualTo(1);
+        assertThat(retransmissor.publicarLote()).isZero();
+
+        assertThat(destino.lotes()).containsExactly(3, 3, 1);
+        assertThat(repositorioEvento.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote na caixa de saída e reenviá-lo quando o destino falha")
+    void deveReenviarLoteQuandoDestinoFalha() {
+        Long id = servicoPagamento.criarPagamento(requisicao(MetodoPagamento.BOLETO)).getId();
+        servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_SUCESSO);
+        destino.falharProximaPublicacao();
+        double falhasAntes = falhasPublicacao();
+
+        assertThatThrownBy(() -> retransmissor.publicarLote()).isInstanceOf(IllegalStateException.class);
+        assertThat(repositorioEvento.count()).isEqualTo(2);
+        assertThat(falhasPublicacao()).isEqualTo(falhasAntes + 1);
+
+        assertThat(retransmissor.publicarLote()).isEqualTo(2);
+        assertThat(destino.recebidos()).extracting(EventoPagamentoDTO::getTipo)
+            .containsExactly("pagamento_criado", "status_atualizado");
+        assertThat(repositorioEvento.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento quando a transação da mudança é desfeita")
+    void naoDeveGravarEventoQuandoTransacaoEDesfeita() {
+        TransactionTemplate transacao = new TransactionTemplate(gerenciadorTransacao);
+        PagamentoResponseDTO criado = transacao.execute(status -> {
+            PagamentoResponseDTO pagamento = servicoPagamento.criarPagamento(requisicao(MetodoPagamento.PIX));
+            status.setRollbackOnly();
+            return pagamento;
+        });
+
+        assertThat(criado.getId()).isNotNull();
+        assertThat(repositorioEvento.count()).isZero();
+        assertThat(retransmissor.publicarLote()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retransmitir só entre start e stop do ciclo de vida")
+    void deveRetransmitirSoEnquantoExecutando() {
+        PropriedadesOutbox propriedades = new PropriedadesOutbox();
+        propriedades.setHabilitado(true);
+        RetransmissorEventos agendado = new RetransmissorEventos(repositorioEvento, destino, propriedades, metricas,
+                gerenciadorTransacao);
+        servicoPagamento.criarPagamento(requisicao(MetodoPagamento.PIX));
+
+        agendado.retransmitirPendentes();
+        assertThat(destino.recebidos()).isEmpty();
+
+        agendado.start();
+        agendado.retransmitirPendentes();
+        assertThat(destino.recebidos()).hasSize(1);
+
+        agendado.stop();
+        servicoPagamento.criarPagamento(requisicao(MetodoPagamento.PIX));
+        agendado.retransmitirPendentes();
+        assertThat(agendado.isRunning()).isFalse();
+        assertThat(destino.recebidos()).hasSize(1);
+        assertThat(repositorioEvento.count()).isEqualTo(1);
+    }
+
+    private double falhasPublicacao() {
+        return registro.get("pagamentos.outbox.falhas").counter().count();
+    }
+
+    private void publicarTudo() {
+        while (retransmissor.publicarLote() > 0) {
+            // esvazia a caixa de saída
+        }
+    }
+
+    private PagamentoRequestDTO requisicao(MetodoPagamento metodo) {
+        return new PagamentoRequestDTO(80000, "80000000000", metodo, null, new BigDecimal("15.00"));
+    }
+
+    // Condicional como os destinos da aplicação: o perfil benchmark roda com as classes de teste no classpath
+    // e a varredura de componentes dos benchmarks também encontra esta configuração
+    @TestConfiguration
+    @ConditionalOnProperty(prefix = "pagamento.outbox", name = "destino", havingValue = "memoria")
+    static class ConfiguracaoDestinoMemoria {
+
+        @Bean
+        DestinoEventosMemoria destinoEventosMemoria() {
+            return new DestinoEventosMemoria();
+        }
+    }
+
+    static class DestinoEventosMemoria implements DestinoEventos {
+
+        private final List<List<EventoPagamentoDTO>> lotes = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean falhar;
+
+        @Override
+        public void publicar(List<EventoPagamentoDTO> eventos) {
+            if (falhar) {
+                falhar = false;
+                throw new IllegalStateException("Destino indisponível");
+            }
+            lotes.add(new ArrayList<>(eventos));
+        }
+
+        void falharProximaPublicacao() {
+            falhar = true;
+        }
+
+        List<EventoPagamentoDTO> recebidos() {
+            return lotes.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+
+        List<Integer> lotes() {
+            return lotes.stream().map(List::size).collect(Collectors.toList());
+        }
+
+        void limpar() {
+            lotes.clear();
+        }
+    }
+}
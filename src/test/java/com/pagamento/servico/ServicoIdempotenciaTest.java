@@ -0,0 +1,291 @@
+package com.pagamento.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagamento.configuracao.PropriedadesIdempotencia;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.entidade.ChaveIdempotencia;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.excecao.ConflitoChaveIdempotenciaException;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.excecao.RequisicaoEmAndamentoException;
+import com.pagamento.repositorio.RepositorioChaveIdempotencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Serviço de Idempotência")
+class ServicoIdempotenciaTest {
+
+    @Mock
+    private RepositorioChaveIdempotencia repositorioChaveIdempotencia;
+
+    @Mock
+    private PlatformTransactionManager gerenciadorTransacao;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private PropriedadesIdempotencia propriedades;
+    private ServicoIdempotencia servicoIdempotencia;
+    private PagamentoRequestDTO requisicao;
+    private PagamentoResponseDTO resposta;
+
+    @BeforeEach
+    void setUp() {
+        propriedades = new PropriedadesIdempotencia();
+        servicoIdempotencia = new ServicoIdempotencia(
+            repositorioChaveIdempotencia, gerenciadorTransacao, objectMapper, propriedades);
+
+        requisicao = new PagamentoRequestDTO();
+        requisicao.setCodigoDebito(12345);
+        requisicao.setCpfCnpj("12345678901");
+        requisicao.setMetodoPagamento(MetodoPagamento.PIX);
+        requisicao.setValorPagamento(new BigDecimal("100.50"));
+
+        resposta = new PagamentoResponseDTO();
+        resposta.setId(7L);
+        resposta.setCodigoDebito(12345);
+        resposta.setStatus("Pendente de Processamento");
+    }
+
+    @Nested
+    @DisplayName("Testes de Primeira Execução")
+    class PrimeiraExecucaoTests {
+
+        @Test
+        @DisplayName("Deve registrar a chave e executar a operação uma única vez")
+        void deveRegistrarChaveEExecutarOperacao() {
+
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.empty());
+            when(repositorioChaveIdempotencia.saveAndFlush(any(ChaveIdempotencia.class)))
+                .thenAnswer(invocacao -> invocacao.getArgument(0));
+            AtomicInteger execucoes = new AtomicInteger();
+
+
+            PagamentoResponseDTO resultado = servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                execucoes.incrementAndGet();
+                return resposta;
+            });
+
+
+            assertThat(resultado.getId()).isEqualTo(7L);
+            assertThat(execucoes).hasValue(1);
+
+            ArgumentCaptor<ChaveIdempotencia> captor = ArgumentCaptor.forClass(ChaveIdempotencia.class);
+            verify(repositorioChaveIdempotencia).saveAndFlush(captor.capture());
+            assertThat(captor.getValue().getChave()).isEqualTo("chave-1");
+            assertThat(captor.getValue().getPagamentoId()).isEqualTo(7L);
+            assertThat(captor.getValue().getResposta()).contains("\"id\":7");
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando chave é vazia")
+        void deveLancarExcecaoQuandoChaveVazia() {
+
+            assertThatThrownBy(() -> servicoIdempotencia.executar(" ", requisicao, () -> resposta))
+                .isInstanceOf(PagamentoInvalidoException.class)
+                .hasMessageContaining("Chave de idempotência não pode ser vazia");
+
+            verifyNoInteractions(repositorioChaveIdempotencia);
+        }
+
+        @Test
+        @DisplayName("Deve reaproveitar a resposta quando outra instância grava a chave primeiro")
+        void deveReaproveitarRespostaQuandoOutraInstanciaGravaChavePrimeiro() {
+
+            ChaveIdempotencia chaveSalva = chaveSalvaPara(requisicao);
+            when(repositorioChaveIdempotencia.findById("chave-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(chaveSalva));
+            when(repositorioChaveIdempotencia.saveAndFlush(any(ChaveIdempotencia.class)))
+                .thenThrow(new DataIntegrityViolationException("chave duplicada"));
+            AtomicInteger execucoes = new AtomicInteger();
+
+
+            PagamentoResponseDTO resultado = servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                execucoes.incrementAndGet();
+                return resposta;
+            });
+
+
+            assertThat(resultado.getId()).isEqualTo(7L);
+            assertThat(execucoes).hasValue(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Repetição")
+    class RepeticaoTests {
+
+        @Test
+        @DisplayName("Deve responder do cache sem consultar o banco na repetição")
+        void deveResponderDoCacheSemConsultarBanco() {
+
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.empty());
+            when(repositorioChaveIdempotencia.saveAndFlush(any(ChaveIdempotencia.class)))
+                .thenAnswer(invocacao -> invocacao.getArgument(0));
+            servicoIdempotencia.executar("chave-1", requisicao, () -> resposta);
+
+
+            PagamentoResponseDTO resultado = servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                throw new AssertionError("Operação não deve ser executada novamente");
+            });
+
+
+            assertThat(resultado.getId()).isEqualTo(7L);
+            verify(repositorioChaveIdempotencia, times(1)).findById("chave-1");
+        }
+
+        @Test
+        @DisplayName("Deve recuperar a resposta do banco quando chave não está no cache")
+        void deveRecuperarRespostaDoBanco() {
+
+            ChaveIdempotencia chaveSalva = chaveSalvaPara(requisicao);
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.of(chaveSalva));
+
+
+            PagamentoResponseDTO resultado = servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                throw new AssertionError("Operação não deve ser executada novamente");
+            });
+
+
+            assertThat(resultado.getId()).isEqualTo(7L);
+            assertThat(resultado.getStatus()).isEqualTo("Pendente de Processamento");
+            verify(repositorioChaveIdempotencia, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando chave é reutilizada com outra requisição")
+        void deveLancarExcecaoQuandoChaveReutilizadaComOutraRequisicao() {
+
+            ChaveIdempotencia chaveSalva = chaveSalvaPara(requisicao);
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.of(chaveSalva));
+            requisicao.setValorPagamento(new BigDecimal("999.99"));
+
+
+            assertThatThrownBy(() -> servicoIdempotencia.executar("chave-1", requisicao, () -> resposta))
+                .isInstanceOf(ConflitoChaveIdempotenciaException.class)
+                .hasMessageContaining("Chave de idempotência já utilizada com uma requisição diferente");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Requisições Concorrentes")
+    class RequisicoesConcorrentesTests {
+
+        @Test
+        @DisplayName("Deve executar a operação uma única vez para requisições simultâneas com a mesma chave")
+        void deveExecutarOperacaoUmaUnicaVezParaRequisicoesSimultaneas() throws Exception {
+
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.empty());
+            when(repositorioChaveIdempotencia.saveAndFlush(any(ChaveIdempotencia.class)))
+                .thenAnswer(invocacao -> invocacao.getArgument(0));
+            CountDownLatch operacaoIniciada = new CountDownLatch(1);
+            CountDownLatch liberarOperacao = new CountDownLatch(1);
+            AtomicInteger execucoes = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try {
+
+                Future<PagamentoResponseDTO> primeira = executor.submit(() ->
+                    servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                        execucoes.incrementAndGet();
+                        operacaoIniciada.countDown();
+                        aguardar(liberarOperacao);
+                        return resposta;
+                    }));
+                assertThat(operacaoIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+                Future<PagamentoResponseDTO> segunda = executor.submit(() ->
+                    servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                        execucoes.incrementAndGet();
+                        return resposta;
+                    }));
+                liberarOperacao.countDown();
+
+
+                assertThat(primeira.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7L);
+                assertThat(segunda.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7L);
+                assertThat(execucoes).hasValue(1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando a requisição original excede o tempo de espera")
+        void deveLancarExcecaoQuandoRequisicaoOriginalExcedeTempoEspera() throws Exception {
+
+            propriedades.setTempoEspera(Duration.ofMillis(50));
+            when(repositorioChaveIdempotencia.findById("chave-1")).thenReturn(Optional.empty());
+            when(repositorioChaveIdempotencia.saveAndFlush(any(ChaveIdempotencia.class)))
+                .thenAnswer(invocacao -> invocacao.getArgument(0));
+            CountDownLatch operacaoIniciada = new CountDownLatch(1);
+            CountDownLatch liberarOperacao = new CountDownLatch(1);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+
+                Future<PagamentoResponseDTO> primeira = executor.submit(() ->
+                    servicoIdempotencia.executar("chave-1", requisicao, () -> {
+                        operacaoIniciada.countDown();
+                        aguardar(liberarOperacao);
+                        return resposta;
+                    }));
+                assertThat(operacaoIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+
+                assertThatThrownBy(() -> servicoIdempotencia.executar("chave-1", requisicao, () -> resposta))
+                    .isInstanceOf(RequisicaoEmAndamentoException.class);
+
+                liberarOperacao.countDown();
+                assertThat(primeira.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7L);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private ChaveIdempotencia chaveSalvaPara(PagamentoRequestDTO requisicaoOriginal) {
+        ChaveIdempotencia[] registrada = new ChaveIdempotencia[1];
+        RepositorioChaveIdempotencia repositorioAuxiliar = mock(RepositorioChaveIdempotencia.class);
+        when(repositorioAuxiliar.findById(anyString())).thenReturn(Optional.empty());
+        when(repositorioAuxiliar.saveAndFlush(any(ChaveIdempotencia.class))).thenAnswer(invocacao -> {
+            registrada[0] = invocacao.getArgument(0);
+            return registrada[0];
+        });
+        new ServicoIdempotencia(repositorioAuxiliar, gerenciadorTransacao, objectMapper, new PropriedadesIdempotencia())
+            .executar("chave-1", requisicaoOriginal, () -> resposta);
+        return registrada[0];
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.pagamento.servico;
+
+import com.pagamento.entidade.Pagamento;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
+import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "pagamento.outbox.habilitado=false")
+@DisplayName("Testes de Concorrência na Atualização de Status")
+class ServicoPagamentoConcorrenciaTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private RepositorioPagamento repositorioPagamento;
+
+    private ExecutorService executor;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        id = repositorioPagamento.save(
+            new Pagamento(12345, "12345678901", MetodoPagamento.BOLETO, null, new BigDecimal("100.50"))
+        ).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        repositorioPagamento.deleteById(id);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar exatamente uma transição quando várias threads disputam o mesmo pagamento")
+    void deveAplicarExatamenteUmaTransicaoQuandoVariasThreadsDisputam() throws Exception {
+
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger rejeicoes = new AtomicInteger();
+
+
+        disparar(THREADS, thread -> {
+            StatusPagamento destino = thread % 2 == 0
+                ? StatusPagamento.PROCESSADO_SUCESSO
+                : StatusPagamento.PROCESSADO_FALHA;
+            try {
+                servicoPagamento.atualizarStatusPagamento(id, destino);
+                sucessos.incrementAndGet();
+            } catch (TransicaoStatusInvalidaException | ConflitoAtualizacaoException ex) {
+                rejeicoes.incrementAndGet();
+            }
+        });
+
+
+        Pagamento pagamento = repositorioPagamento.findById(id).orElseThrow(IllegalStateException::new);
+        assertThat(sucessos).hasValue(1);
+        assertThat(rejeicoes).hasValue(THREADS - 1);
+        assertThat(pagamento.getStatus()).isNotEqualTo(StatusPagamento.PENDENTE_PROCESSAMENTO);
+        assertThat(pagamento.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve perder atualizações quando várias threads alternam o status repetidamente")
+    void naoDevePerderAtualizacoesQuandoThreadsAlternamStatus() throws Exception {
+
+        AtomicInteger sucessos = new AtomicInteger();
+
+
+        disparar(THREADS, thread -> {
+            for (int i = 0; i < 20; i++) {
+                StatusPagamento atual = servicoPagamento.obterPagamentoPorId(id).getStatus()
+                    .equals(StatusPagamento.PENDENTE_PROCESSAMENTO.getDescricao())
+                    ? StatusPagamento.PENDENTE_PROCESSAMENTO
+                    : StatusPagamento.PROCESSADO_FALHA;
+                StatusPagamento destino = atual == StatusPagamento.PENDENTE_PROCESSAMENTO
+                    ? StatusPagamento.PROCESSADO_FALHA
+                    : StatusPagamento.PENDENTE_PROCESSAMENTO;
+                try {
+                    servicoPagamento.atualizarStatusPagamento(id, destino);
+                    sucessos.incrementAndGet();
+                } catch (TransicaoStatusInvalidaException | ConflitoAtualizacaoException ex) {
+                    // outra thread aplicou a mesma transição antes
+                }
+            }
+        });
+
+
+        Pagamento pagamento = repositorioPagamento.findById(id).orElseThrow(IllegalStateException::new);
+        assertThat(sucessos.get()).isPositive();
+        assertThat(pagamento.getVersao()).isEqualTo(sucessos.longValue());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas uma atualização quando todas informam a mesma versão em If-Match")
+    void deveAceitarApenasUmaAtualizacaoComMesmaVersao() throws Exception {
+
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger versoesDivergentes = new AtomicInteger();
+
+
+        disparar(THREADS, thread -> {
+            try {
+                servicoPagamento.atualizarStatusPagamento(id, StatusPagamento.PROCESSADO_FALHA, 0L);
+                sucessos.incrementAndGet();
+            } catch (VersaoPagamentoDivergenteException | TransicaoStatusInvalidaException
+                     | ConflitoAtualizacaoException ex) {
+                versoesDivergentes.incrementAndGet();
+            }
+        });
+
+
+        assertThat(sucessos).hasValue(1);
+        assertThat(versoesDivergentes).hasValue(THREADS - 1);
+    }
+
+    private void disparar(int threads, TarefaConcorrente tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Void>> execucoes = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            Callable<Void> execucao = () -> {
+                largada.await();
+                tarefa.executar(thread);
+                return null;
+            };
+            execucoes.add(executor.submit(execucao));
+        }
+
+        largada.countDown();
+        for (Future<Void> execucao : execucoes) {
+            execucao.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TarefaConcorrente {
+        void executar(int thread) throws Exception;
+    }
+}
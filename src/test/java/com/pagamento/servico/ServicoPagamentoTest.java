@@ -1,14 +1,32 @@
 package com.pagamento.servico;
 
+import com.pagamento.configuracao.PropriedadesCacheConsulta;
+import com.pagamento.configuracao.PropriedadesConcorrencia;
+import com.pagamento.configuracao.PropriedadesLote;
+import com.pagamento.configuracao.PropriedadesPaginacao;
+import com.pagamento.configuracao.PropriedadesTransicoes;
+import com.pagamento.dto.EstatisticasCacheResponseDTO;
+import com.pagamento.dto.ItemLoteResponseDTO;
 import com.pagamento.dto.PagamentoRequestDTO;
 import com.pagamento.dto.PagamentoResponseDTO;
+import com.pagamento.dto.PaginaPagamentosResponseDTO;
+import com.pagamento.dto.RejeicaoStatusResponseDTO;
+import com.pagamento.dto.ResultadoAtualizacaoStatusLoteResponseDTO;
+import com.pagamento.dto.ResultadoLoteResponseDTO;
+import com.pagamento.dto.TransicoesPagamentoResponseDTO;
 import com.pagamento.entidade.Pagamento;
 import com.pagamento.enums.MetodoPagamento;
 import com.pagamento.enums.StatusPagamento;
+import com.pagamento.excecao.ConflitoAtualizacaoException;
 import com.pagamento.excecao.PagamentoInvalidoException;
 import com.pagamento.excecao.PagamentoNaoEncontradoException;
 import com.pagamento.excecao.TransicaoStatusInvalidaException;
+import com.pagamento.excecao.VersaoPagamentoDivergenteException;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import com.pagamento.repositorio.ArquivoPagamentos;
 import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.SituacaoPagamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,12 +34,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +67,42 @@ class ServicoPagamentoTest {
     @Mock
     private RepositorioPagamento repositorioPagamento;
 
+    @Spy
+    private PropriedadesPaginacao propriedadesPaginacao = new PropriedadesPaginacao();
+
+    @Spy
+    private PropriedadesLote propriedadesLote = new PropriedadesLote();
+
+    @Mock
+    private ServicoIdempotencia servicoIdempotencia;
+
+    @Spy
+    private PropriedadesConcorrencia propriedadesConcorrencia = new PropriedadesConcorrencia();
+
+    @Spy
+    private PropriedadesCacheConsulta propriedadesCacheConsulta = new PropriedadesCacheConsulta();
+
+    @Spy
+    private MaquinaEstadosPagamento maquinaEstados = new MaquinaEstadosPagamento(transicoesComPixRestrito());
+
+    @Spy
+    private RegrasPagamento regras = new RegrasPagamento();
+
+    @Spy
+    private MetricasPagamento metricas = new MetricasPagamento(new SimpleMeterRegistry());
+
+    @Mock
+    private CaixaSaidaEventos caixaSaida;
+
+    @Mock
+    private ResumosPagadores resumos;
+
+    @Mock
+    private ArquivoPagamentos arquivo;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ServicoPagamento servicoPagamento;
 
@@ -75,6 +144,7 @@ class ServicoPagamentoTest {
             assertThat(resultado.getStatus()).isEqualTo("Pendente de Processamento");
 
             verify(repositorioPagamento).save(any(Pagamento.class));
+            verify(caixaSaida).registrarCriacao(Collections.singletonList(pagamento));
         }
 
         @Test
@@ -123,6 +193,106 @@ class ServicoPagamentoTest {
                 .isInstanceOf(PagamentoInvalidoException.class)
                 .hasMessageContaining("Número do cartão não deve ser informado para pagamentos que não sejam com cartão");
         }
+
+        @Test
+        @DisplayName("Deve delegar criação com chave de idempotência ao serviço de idempotência")
+        @SuppressWarnings("unchecked")
+        void deveDelegarCriacaoComChaveDeIdempotencia() {
+            
+            when(repositorioPagamento.save(any(Pagamento.class))).thenReturn(pagamento);
+            when(servicoIdempotencia.executar(eq("chave-123"), eq(pagamentoRequestDTO), any()))
+                .thenAnswer(invocacao -> ((Supplier<PagamentoResponseDTO>) invocacao.getArgument(2)).get());
+
+            
+            PagamentoResponseDTO resultado = servicoPagamento.criarPagamento(pagamentoRequestDTO, "chave-123");
+
+            
+            assertThat(resultado.getId()).isEqualTo(1L);
+            verify(servicoIdempotencia).executar(eq("chave-123"), eq(pagamentoRequestDTO), any());
+            verify(repositorioPagamento).save(any(Pagamento.class));
+        }
+
+        @Test
+        @DisplayName("Deve validar requisição antes de registrar a chave de idempotência")
+        void deveValidarRequisicaoAntesDeRegistrarChave() {
+            
+            pagamentoRequestDTO.setMetodoPagamento(MetodoPagamento.CARTAO_CREDITO);
+            pagamentoRequestDTO.setNumeroCartao(null);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.criarPagamento(pagamentoRequestDTO, "chave-123"))
+                .isInstanceOf(PagamentoInvalidoException.class);
+
+            verifyNoInteractions(servicoIdempotencia);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Criação de Pagamentos em Lote")
+    class CriacaoLoteTests {
+
+        @Test
+        @DisplayName("Deve criar os itens válidos e rejeitar os inválidos informando o motivo")
+        @SuppressWarnings("unchecked")
+        void deveCriarItensValidosERejeitarInvalidos() {
+            
+            PagamentoRequestDTO cartaoSemNumero = new PagamentoRequestDTO(
+                54321, "12345678901", MetodoPagamento.CARTAO_CREDITO, null, new BigDecimal("10.00"));
+            PagamentoRequestDTO cpfInvalido = new PagamentoRequestDTO(
+                54322, "123", MetodoPagamento.PIX, null, new BigDecimal("10.00"));
+            
+            when(repositorioPagamento.saveAll(anyList())).thenAnswer(invocacao -> {
+                List<Pagamento> pagamentos = invocacao.getArgument(0);
+                long id = 10L;
+                for (Pagamento p : pagamentos) {
+                    p.setId(id++);
+                }
+                return pagamentos;
+            });
+
+            
+            ResultadoLoteResponseDTO resultado = servicoPagamento.criarPagamentosEmLote(
+                Arrays.asList(pagamentoRequestDTO, cartaoSemNumero, cpfInvalido, null));
+
+            
+            assertThat(resultado.getTotalRecebido()).isEqualTo(4);
+            assertThat(resultado.getTotalCriado()).isEqualTo(1);
+            assertThat(resultado.getTotalRejeitado()).isEqualTo(3);
+            assertThat(resultado.getItens()).extracting(ItemLoteResponseDTO::getIndice).containsExactly(0, 1, 2, 3);
+            assertThat(resultado.getItens().get(0).isCriado()).isTrue();
+            assertThat(resultado.getItens().get(0).getPagamento().getId()).isEqualTo(10L);
+            assertThat(resultado.getItens().get(1).getErros())
+                .containsExactly("Número do cartão é obrigatório para pagamentos com cartão de crédito ou débito");
+            assertThat(resultado.getItens().get(2).getErros())
+                .containsExactly("cpfCnpj: CPF deve ter 11 dígitos ou CNPJ deve ter 14 dígitos");
+            assertThat(resultado.getItens().get(3).isCriado()).isFalse();
+
+            verify(repositorioPagamento).saveAll(argThat(pagamentos -> ((List<Pagamento>) pagamentos).size() == 1));
+            verify(caixaSaida).registrarCriacao(argThat(pagamentos -> pagamentos.size() == 1));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando o lote está vazio")
+        void deveLancarExcecaoQuandoLoteVazio() {
+            
+            assertThatThrownBy(() -> servicoPagamento.criarPagamentosEmLote(new ArrayList<>()))
+                .isInstanceOf(PagamentoInvalidoException.class)
+                .hasMessageContaining("ao menos um pagamento");
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando o lote excede o tamanho máximo")
+        void deveLancarExcecaoQuandoLoteExcedeTamanhoMaximo() {
+            
+            propriedadesLote.setTamanhoMaximo(1);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.criarPagamentosEmLote(
+                    Arrays.asList(pagamentoRequestDTO, pagamentoRequestDTO)))
+                .isInstanceOf(PagamentoInvalidoException.class)
+                .hasMessageContaining("no máximo 1 pagamentos");
+            verify(repositorioPagamento, never()).saveAll(anyList());
+        }
     }
 
     @Nested
@@ -130,37 +300,86 @@ class ServicoPagamentoTest {
     class ListagemPagamentosTests {
 
         @Test
-        @DisplayName("Deve listar todos os pagamentos ativos")
+        @DisplayName("Deve listar a primeira página de pagamentos ativos")
         void deveListarTodosPagamentosAtivos() {
             
             Pagamento pagamento2 = new Pagamento(54321, "98765432100", MetodoPagamento.BOLETO, null, new BigDecimal("200.00"));
             pagamento2.setId(2L);
             
-            List<Pagamento> pagamentos = Arrays.asList(pagamento, pagamento2);
-            when(repositorioPagamento.findByAtivoTrue()).thenReturn(pagamentos);
+            List<PagamentoResponseDTO> pagamentos = Arrays.asList(
+                new PagamentoResponseDTO(pagamento), new PagamentoResponseDTO(pagamento2));
+            when(repositorioPagamento.buscarPaginaAtivos(0L, PageRequest.of(0, 51))).thenReturn(pagamentos);
 
             
-            List<PagamentoResponseDTO> resultado = servicoPagamento.listarTodosPagamentos();
+            PaginaPagamentosResponseDTO resultado = servicoPagamento.listarTodosPagamentos(null, null);
 
             
-            assertThat(resultado).hasSize(2);
-            assertThat(resultado.get(0).getId()).isEqualTo(1L);
-            assertThat(resultado.get(1).getId()).isEqualTo(2L);
+            assertThat(resultado.getPagamentos()).hasSize(2);
+            assertThat(resultado.getPagamentos().get(0).getId()).isEqualTo(1L);
+            assertThat(resultado.getPagamentos().get(1).getId()).isEqualTo(2L);
+            assertThat(resultado.getTamanhoPagina()).isEqualTo(50);
+            assertThat(resultado.getProximoCursor()).isNull();
             
-            verify(repositorioPagamento).findByAtivoTrue();
+            verify(repositorioPagamento).buscarPaginaAtivos(0L, PageRequest.of(0, 51));
         }
 
         @Test
-        @DisplayName("Deve retornar lista vazia quando não há pagamentos ativos")
+        @DisplayName("Deve retornar página vazia quando não há pagamentos ativos")
         void deveRetornarListaVaziaQuandoNaoHaPagamentosAtivos() {
             
-            when(repositorioPagamento.findByAtivoTrue()).thenReturn(Arrays.asList());
+            when(repositorioPagamento.buscarPaginaAtivos(anyLong(), any(Pageable.class))).thenReturn(Arrays.asList());
+
+            
+            PaginaPagamentosResponseDTO resultado = servicoPagamento.listarTodosPagamentos(null, null);
+
+            
+            assertThat(resultado.getPagamentos()).isEmpty();
+            assertThat(resultado.isPossuiProximaPagina()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve gerar cursor da próxima página quando há mais registros")
+        void deveGerarCursorDaProximaPaginaQuandoHaMaisRegistros() {
+            
+            Pagamento pagamento2 = new Pagamento(54321, "98765432100", MetodoPagamento.BOLETO, null, new BigDecimal("200.00"));
+            pagamento2.setId(2L);
+            when(repositorioPagamento.buscarPaginaAtivos(0L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(new PagamentoResponseDTO(pagamento), new PagamentoResponseDTO(pagamento2)));
+            when(repositorioPagamento.buscarPaginaAtivos(1L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(new PagamentoResponseDTO(pagamento2)));
+
+            
+            PaginaPagamentosResponseDTO primeiraPagina = servicoPagamento.listarTodosPagamentos(null, 1);
+            PaginaPagamentosResponseDTO segundaPagina = servicoPagamento.listarTodosPagamentos(primeiraPagina.getProximoCursor(), 1);
+
+            
+            assertThat(primeiraPagina.getPagamentos()).extracting(PagamentoResponseDTO::getId).containsExactly(1L);
+            assertThat(primeiraPagina.getProximoCursor()).isNotNull();
+            assertThat(segundaPagina.getPagamentos()).extracting(PagamentoResponseDTO::getId).containsExactly(2L);
+            assertThat(segundaPagina.getProximoCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve limitar o tamanho da página ao máximo configurado")
+        void deveLimitarTamanhoDaPaginaAoMaximoConfigurado() {
+            
+            when(repositorioPagamento.buscarPaginaAtivos(anyLong(), any(Pageable.class))).thenReturn(Arrays.asList());
 
             
-            List<PagamentoResponseDTO> resultado = servicoPagamento.listarTodosPagamentos();
+            PaginaPagamentosResponseDTO resultado = servicoPagamento.listarTodosPagamentos(null, 100000);
+
+            
+            assertThat(resultado.getTamanhoPagina()).isEqualTo(500);
+            verify(repositorioPagamento).buscarPaginaAtivos(0L, PageRequest.of(0, 501));
+        }
 
+        @Test
+        @DisplayName("Deve lançar exceção quando o cursor é inválido")
+        void deveLancarExcecaoQuandoCursorInvalido() {
             
-            assertThat(resultado).isEmpty();
+            assertThatThrownBy(() -> servicoPagamento.listarTodosPagamentos("cursor-invalido", null))
+                .isInstanceOf(PagamentoInvalidoException.class)
+                .hasMessageContaining("Cursor de paginação inválido");
         }
     }
 
@@ -172,26 +391,45 @@ class ServicoPagamentoTest {
         @DisplayName("Deve buscar pagamentos com filtros")
         void deveBuscarPagamentosComFiltros() {
             
-            List<Pagamento> pagamentos = Arrays.asList(pagamento);
-            when(repositorioPagamento.encontrarComFiltros(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO))
+            List<PagamentoResponseDTO> pagamentos = Arrays.asList(new PagamentoResponseDTO(pagamento));
+            when(repositorioPagamento.buscarPaginaComFiltros(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO,
+                    0L, 51))
                 .thenReturn(pagamentos);
 
             
-            List<PagamentoResponseDTO> resultado = servicoPagamento.buscarPagamentos(
-                12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO);
+            PaginaPagamentosResponseDTO resultado = servicoPagamento.buscarPagamentos(
+                12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO, null, null);
+
+            
+            assertThat(resultado.getPagamentos()).hasSize(1);
+            assertThat(resultado.getPagamentos().get(0).getId()).isEqualTo(1L);
+            
+            verify(repositorioPagamento).buscarPaginaComFiltros(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO,
+                    0L, 51);
+        }
+
+        @Test
+        @DisplayName("Deve exportar pagamentos em fluxo a partir da projeção")
+        void deveExportarPagamentosEmFluxoAPartirDaProjecao() {
+            
+            Pagamento pagamento2 = new Pagamento(54321, "12345678901", MetodoPagamento.BOLETO, null, new BigDecimal("200.00"));
+            pagamento2.setId(2L);
+            when(repositorioPagamento.transmitirComFiltros(null, "12345678901", null))
+                .thenReturn(Stream.of(new PagamentoResponseDTO(pagamento), new PagamentoResponseDTO(pagamento2)));
+            List<PagamentoResponseDTO> exportados = new ArrayList<>();
 
             
-            assertThat(resultado).hasSize(1);
-            assertThat(resultado.get(0).getId()).isEqualTo(1L);
+            servicoPagamento.exportarPagamentos(null, "12345678901", null, exportados::add);
+
             
-            verify(repositorioPagamento).encontrarComFiltros(12345, "12345678901", StatusPagamento.PENDENTE_PROCESSAMENTO);
+            assertThat(exportados).extracting(PagamentoResponseDTO::getId).containsExactly(1L, 2L);
         }
 
         @Test
         @DisplayName("Deve obter pagamento por ID")
         void deveObterPagamentoPorId() {
             
-            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)));
 
             
             PagamentoResponseDTO resultado = servicoPagamento.obterPagamentoPorId(1L);
@@ -200,14 +438,14 @@ class ServicoPagamentoTest {
             assertThat(resultado).isNotNull();
             assertThat(resultado.getId()).isEqualTo(1L);
             
-            verify(repositorioPagamento).findByIdAndAtivoTrue(1L);
+            verify(repositorioPagamento).buscarRespostaAtivaPorId(1L);
         }
 
         @Test
         @DisplayName("Deve lançar exceção quando pagamento não é encontrado por ID")
         void deveLancarExcecaoQuandoPagamentoNaoEncontradoPorId() {
             
-            when(repositorioPagamento.findByIdAndAtivoTrue(999L)).thenReturn(Optional.empty());
+            when(repositorioPagamento.buscarRespostaAtivaPorId(999L)).thenReturn(Optional.empty());
 
             
             assertThatThrownBy(() -> servicoPagamento.obterPagamentoPorId(999L))
@@ -215,6 +453,140 @@ class ServicoPagamentoTest {
         }
     }
 
+    @Nested
+    @DisplayName("Testes do Cache de Consulta por ID")
+    class CacheConsultaTests {
+
+        @Test
+        @DisplayName("Deve responder a consultas repetidas sem acessar o banco")
+        void deveResponderConsultasRepetidasSemAcessarBanco() {
+            
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)));
+
+            
+            servicoPagamento.obterPagamentoPorId(1L);
+            servicoPagamento.obterPagamentoPorId(1L);
+            PagamentoResponseDTO resultado = servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            assertThat(resultado.getId()).isEqualTo(1L);
+            verify(repositorioPagamento, times(1)).buscarRespostaAtivaPorId(1L);
+
+            EstatisticasCacheResponseDTO estatisticas = servicoPagamento.obterEstatisticasCache();
+            assertThat(estatisticas.getAcertos()).isEqualTo(2L);
+            assertThat(estatisticas.getFalhas()).isEqualTo(1L);
+            assertThat(estatisticas.getTamanho()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Não deve guardar em cache pagamento não encontrado")
+        void naoDeveGuardarEmCachePagamentoNaoEncontrado() {
+            
+            when(repositorioPagamento.buscarRespostaAtivaPorId(999L)).thenReturn(Optional.empty());
+
+            
+            assertThatThrownBy(() -> servicoPagamento.obterPagamentoPorId(999L))
+                .isInstanceOf(PagamentoNaoEncontradoException.class);
+            assertThatThrownBy(() -> servicoPagamento.obterPagamentoPorId(999L))
+                .isInstanceOf(PagamentoNaoEncontradoException.class);
+
+            
+            verify(repositorioPagamento, times(2)).buscarRespostaAtivaPorId(999L);
+        }
+
+        @Test
+        @DisplayName("Deve descartar o pagamento do cache após atualização de status")
+        void deveDescartarPagamentoDoCacheAposAtualizacaoDeStatus() {
+            
+            Pagamento pagamentoAtualizado = new Pagamento(12345, "12345678901", MetodoPagamento.PIX, null, new BigDecimal("100.50"));
+            pagamentoAtualizado.setId(1L);
+            pagamentoAtualizado.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L))
+                .thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)))
+                .thenReturn(Optional.of(new PagamentoResponseDTO(pagamentoAtualizado)));
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+            when(repositorioPagamento.compararEAtualizarStatus(any(), any(), any(), any(), any())).thenReturn(1);
+            servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO);
+            PagamentoResponseDTO resultado = servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            assertThat(resultado.getStatus()).isEqualTo("Processado com Sucesso");
+            verify(repositorioPagamento, times(3)).buscarRespostaAtivaPorId(1L);
+        }
+
+        @Test
+        @DisplayName("Deve descartar o pagamento do cache após exclusão")
+        void deveDescartarPagamentoDoCacheAposExclusao() {
+            
+            pagamento.setStatus(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L))
+                .thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)))
+                .thenReturn(Optional.empty());
+            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
+            servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            servicoPagamento.excluirPagamento(1L);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.obterPagamentoPorId(1L))
+                .isInstanceOf(PagamentoNaoEncontradoException.class);
+        }
+
+        @Test
+        @DisplayName("Deve descartar do cache os pagamentos atualizados em lote")
+        void deveDescartarDoCachePagamentosAtualizadosEmLote() {
+            
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)));
+            when(repositorioPagamento.bloquearCandidatosParaTransicao(anyCollection(), anyCollection()))
+                .thenReturn(Arrays.asList(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+            servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            servicoPagamento.atualizarStatusEmLote(Arrays.asList(1L), StatusPagamento.PROCESSADO_SUCESSO);
+            servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            verify(repositorioPagamento, times(2)).buscarRespostaAtivaPorId(1L);
+        }
+
+        @Test
+        @DisplayName("Deve obter a versão do pagamento em cache sem consultar o banco")
+        void deveObterVersaoDoCacheSemConsultarBanco() {
+            
+            pagamento.setVersao(3L);
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)));
+            servicoPagamento.obterPagamentoPorId(1L);
+
+            
+            Long versao = servicoPagamento.obterVersaoPagamento(1L);
+
+            
+            assertThat(versao).isEqualTo(3L);
+            verify(repositorioPagamento, never()).buscarVersaoAtiva(any());
+        }
+
+        @Test
+        @DisplayName("Deve obter só a versão no banco quando o pagamento não está em cache")
+        void deveObterSoVersaoNoBancoQuandoForaDoCache() {
+            
+            when(repositorioPagamento.buscarVersaoAtiva(1L)).thenReturn(Optional.of(5L));
+            when(arquivo.buscarAtivo(999L)).thenReturn(Optional.empty());
+
+            
+            assertThat(servicoPagamento.obterVersaoPagamento(1L)).isEqualTo(5L);
+            assertThatThrownBy(() -> servicoPagamento.obterVersaoPagamento(999L))
+                .isInstanceOf(PagamentoNaoEncontradoException.class);
+
+            
+            verify(repositorioPagamento, never()).buscarRespostaAtivaPorId(any());
+        }
+    }
+
     @Nested
     @DisplayName("Testes de Atualização de Status")
     class AtualizacaoStatusTests {
@@ -223,33 +595,49 @@ class ServicoPagamentoTest {
         @DisplayName("Deve atualizar status de PENDENTE para PROCESSADO_SUCESSO")
         void deveAtualizarStatusDePendenteParaProcessadoSucesso() {
             
-            pagamento.setStatus(StatusPagamento.PENDENTE_PROCESSAMENTO);
             Pagamento pagamentoAtualizado = new Pagamento(12345, "12345678901", MetodoPagamento.PIX, null, new BigDecimal("100.50"));
             pagamentoAtualizado.setId(1L);
             pagamentoAtualizado.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
+            pagamentoAtualizado.setVersao(1L);
             
-            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
-            when(repositorioPagamento.save(pagamento)).thenReturn(pagamentoAtualizado);
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+            when(repositorioPagamento.compararEAtualizarStatus(eq(1L), eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(0L),
+                    eq(StatusPagamento.PROCESSADO_SUCESSO), any())).thenReturn(1);
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamentoAtualizado)));
 
             
             PagamentoResponseDTO resultado = servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO);
 
             
             assertThat(resultado.getStatus()).isEqualTo("Processado com Sucesso");
-            verify(repositorioPagamento).save(pagamento);
+            assertThat(resultado.getVersao()).isEqualTo(1L);
+            verify(repositorioPagamento, never()).save(any(Pagamento.class));
+            verify(metricas).registrarTransicao(
+                MetodoPagamento.BOLETO, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+            verify(caixaSaida).registrarTransicao(
+                1L, MetodoPagamento.BOLETO, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+            verify(resumos).aplicar(argThat(variacoes -> {
+                VariacoesResumoPagador.Variacao variacao = variacoes.porPagador().get("12345678901");
+                return variacao.getSaldoAberto().compareTo(new BigDecimal("-100.50")) == 0
+                    && variacao.getQuantidadePendentes() == -1
+                    && variacao.getDataUltimoPagamento() != null;
+            }));
         }
 
         @Test
         @DisplayName("Deve atualizar status de PROCESSADO_FALHA para PENDENTE_PROCESSAMENTO")
         void deveAtualizarStatusDeProcessadoFalhaParaPendente() {
             
-            pagamento.setStatus(StatusPagamento.PROCESSADO_FALHA);
             Pagamento pagamentoAtualizado = new Pagamento(12345, "12345678901", MetodoPagamento.PIX, null, new BigDecimal("100.50"));
             pagamentoAtualizado.setId(1L);
             pagamentoAtualizado.setStatus(StatusPagamento.PENDENTE_PROCESSAMENTO);
             
-            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
-            when(repositorioPagamento.save(pagamento)).thenReturn(pagamentoAtualizado);
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PROCESSADO_FALHA, 3L)));
+            when(repositorioPagamento.compararEAtualizarStatus(eq(1L), eq(StatusPagamento.PROCESSADO_FALHA), eq(3L),
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO), any())).thenReturn(1);
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamentoAtualizado)));
 
             
             PagamentoResponseDTO resultado = servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PENDENTE_PROCESSAMENTO);
@@ -262,8 +650,8 @@ class ServicoPagamentoTest {
         @DisplayName("Deve lançar exceção ao tentar alterar status PROCESSADO_SUCESSO")
         void deveLancarExcecaoAoTentarAlterarStatusProcessadoSucesso() {
             
-            pagamento.setStatus(StatusPagamento.PROCESSADO_SUCESSO);
-            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PROCESSADO_SUCESSO, 0L)));
 
             
             assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_FALHA))
@@ -275,12 +663,317 @@ class ServicoPagamentoTest {
         @DisplayName("Deve lançar exceção para transição inválida")
         void deveLancarExcecaoParaTransicaoInvalida() {
             
-            pagamento.setStatus(StatusPagamento.PROCESSADO_FALHA);
-            when(repositorioPagamento.findByIdAndAtivoTrue(1L)).thenReturn(Optional.of(pagamento));
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PROCESSADO_FALHA, 0L)));
 
             
             assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO))
                 .isInstanceOf(TransicaoStatusInvalidaException.class);
+            verify(metricas).registrarRejeicao(
+                MetodoPagamento.BOLETO, StatusPagamento.PROCESSADO_FALHA, StatusPagamento.PROCESSADO_SUCESSO);
+            verify(metricas, never()).registrarTransicao(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve impedir que pagamento PIX com falha volte para pendente")
+        void deveImpedirQuePagamentoPixComFalhaVolteParaPendente() {
+            
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PROCESSADO_FALHA, MetodoPagamento.PIX, 0L)));
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PENDENTE_PROCESSAMENTO))
+                .isInstanceOf(TransicaoStatusInvalidaException.class)
+                .hasMessageContaining("Pagamentos com status 'Processado com Falha' não podem ser alterados");
+            verify(repositorioPagamento, never()).compararEAtualizarStatus(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve listar os próximos status permitidos para o método do pagamento")
+        void deveListarProximosStatusPermitidos() {
+            
+            when(repositorioPagamento.buscarRespostaAtivaPorId(1L)).thenReturn(Optional.of(new PagamentoResponseDTO(pagamento)));
+
+            
+            TransicoesPagamentoResponseDTO transicoes = servicoPagamento.obterTransicoesPermitidas(1L);
+
+            
+            assertThat(transicoes.getId()).isEqualTo(1L);
+            assertThat(transicoes.getStatusAtual()).isEqualTo("Pendente de Processamento");
+            assertThat(transicoes.getProximosStatus()).containsExactly("Processado com Sucesso", "Processado com Falha");
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando pagamento não existe")
+        void deveLancarExcecaoQuandoPagamentoNaoExiste() {
+            
+            when(repositorioPagamento.buscarSituacaoAtivo(999L)).thenReturn(Optional.empty());
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(999L, StatusPagamento.PROCESSADO_SUCESSO))
+                .isInstanceOf(PagamentoNaoEncontradoException.class);
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando versão informada não é a atual")
+        void deveLancarExcecaoQuandoVersaoInformadaNaoEAtual() {
+            
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 2L)));
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO, 1L))
+                .isInstanceOf(VersaoPagamentoDivergenteException.class)
+                .hasMessageContaining("versão 2");
+
+            verify(repositorioPagamento, never()).compararEAtualizarStatus(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve reler e validar novamente quando outra atualização vence a corrida")
+        void deveRelerEValidarNovamenteQuandoOutraAtualizacaoVenceCorrida() {
+            
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PROCESSADO_SUCESSO, 1L)));
+            when(repositorioPagamento.compararEAtualizarStatus(eq(1L), eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(0L),
+                    eq(StatusPagamento.PROCESSADO_FALHA), any())).thenReturn(0);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_FALHA))
+                .isInstanceOf(TransicaoStatusInvalidaException.class);
+
+            verify(repositorioPagamento, times(2)).buscarSituacaoAtivo(1L);
+        }
+
+        @Test
+        @DisplayName("Deve lançar conflito após esgotar as tentativas")
+        void deveLancarConflitoAposEsgotarTentativas() {
+            
+            propriedadesConcorrencia.setMaximoTentativas(2);
+            when(repositorioPagamento.buscarSituacaoAtivo(1L))
+                .thenReturn(Optional.of(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+            when(repositorioPagamento.compararEAtualizarStatus(any(), any(), any(), any(), any())).thenReturn(0);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusPagamento(1L, StatusPagamento.PROCESSADO_SUCESSO))
+                .isInstanceOf(ConflitoAtualizacaoException.class);
+
+            verify(repositorioPagamento, times(2)).compararEAtualizarStatus(any(), any(), any(), any(), any());
+            verifyNoInteractions(caixaSaida);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Atualização de Status em Lote")
+    class AtualizacaoStatusLoteTests {
+
+        @Test
+        @DisplayName("Deve atualizar os elegíveis e informar o motivo de cada rejeição")
+        void deveAtualizarElegiveisEInformarMotivoDasRejeicoes() {
+            
+            Set<StatusPagamento> anteriores = EnumSet.of(StatusPagamento.PENDENTE_PROCESSAMENTO);
+            when(repositorioPagamento.bloquearCandidatosParaTransicao(anyCollection(), eq(anteriores)))
+                .thenReturn(Arrays.asList(
+                    situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L),
+                    situacao(2L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+            when(repositorioPagamento.buscarSituacaoAtivos(Arrays.asList(3L, 999L)))
+                .thenReturn(Arrays.asList(situacao(3L, StatusPagamento.PROCESSADO_SUCESSO, 0L)));
+
+            
+            ResultadoAtualizacaoStatusLoteResponseDTO resultado = servicoPagamento.atualizarStatusEmLote(
+                Arrays.asList(1L, 2L, 3L, 999L, 2L), StatusPagamento.PROCESSADO_FALHA);
+
+            
+            assertThat(resultado.getStatus()).isEqualTo("Processado com Falha");
+            assertThat(resultado.getAtualizados()).containsExactly(1L, 2L);
+            assertThat(resultado.getRejeitados())
+                .extracting(RejeicaoStatusResponseDTO::getId, RejeicaoStatusResponseDTO::getMotivo)
+                .containsExactly(
+                    tuple(3L, "Pagamentos com status 'Processado com Sucesso' não podem ser alterados"),
+                    tuple(999L, "Pagamento não encontrado com ID: 999"));
+
+            verify(repositorioPagamento).atualizarStatusEmLote(
+                eq(Arrays.asList(1L, 2L)), eq(anteriores), eq(StatusPagamento.PROCESSADO_FALHA), any());
+            verify(caixaSaida).registrarTransicao(
+                1L, MetodoPagamento.BOLETO, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_FALHA);
+            verify(caixaSaida).registrarTransicao(
+                2L, MetodoPagamento.BOLETO, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_FALHA);
+            verify(caixaSaida, never()).registrarTransicao(eq(3L), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve usar PROCESSADO_FALHA como único status anterior ao voltar para PENDENTE")
+        void deveUsarProcessadoFalhaComoStatusAnteriorDePendente() {
+            
+            when(repositorioPagamento.bloquearCandidatosParaTransicao(anyCollection(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+            when(repositorioPagamento.buscarSituacaoAtivos(Arrays.asList(1L)))
+                .thenReturn(Arrays.asList(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, 0L)));
+
+            
+            ResultadoAtualizacaoStatusLoteResponseDTO resultado = servicoPagamento.atualizarStatusEmLote(
+                Arrays.asList(1L), StatusPagamento.PENDENTE_PROCESSAMENTO);
+
+            
+            assertThat(resultado.getAtualizados()).isEmpty();
+            assertThat(resultado.getRejeitados().get(0).getMotivo())
+                .isEqualTo("Transição de status inválida: de 'Pendente de Processamento' para 'Pendente de Processamento'");
+            verify(repositorioPagamento).bloquearCandidatosParaTransicao(
+                anyCollection(), eq(EnumSet.of(StatusPagamento.PROCESSADO_FALHA)));
+            verify(repositorioPagamento, never()).atualizarStatusEmLote(anyCollection(), anyCollection(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve aplicar a regra do método de pagamento a cada candidato bloqueado")
+        void deveAplicarRegraDoMetodoACadaCandidatoBloqueado() {
+            
+            when(repositorioPagamento.bloquearCandidatosParaTransicao(anyCollection(), anyCollection()))
+                .thenReturn(Arrays.asList(
+                    situacao(1L, StatusPagamento.PROCESSADO_FALHA, MetodoPagamento.BOLETO, 0L),
+                    situacao(2L, StatusPagamento.PROCESSADO_FALHA, MetodoPagamento.PIX, 0L)));
+            when(repositorioPagamento.buscarSituacaoAtivos(Arrays.asList(2L)))
+                .thenReturn(Arrays.asList(situacao(2L, StatusPagamento.PROCESSADO_FALHA, MetodoPagamento.PIX, 0L)));
+
+            
+            ResultadoAtualizacaoStatusLoteResponseDTO resultado = servicoPagamento.atualizarStatusEmLote(
+                Arrays.asList(1L, 2L), StatusPagamento.PENDENTE_PROCESSAMENTO);
+
+            
+            assertThat(resultado.getAtualizados()).containsExactly(1L);
+            assertThat(resultado.getRejeitados())
+                .extracting(RejeicaoStatusResponseDTO::getId, RejeicaoStatusResponseDTO::getMotivo)
+                .containsExactly(tuple(2L, "Pagamentos com status 'Processado com Falha' não podem ser alterados"));
+            verify(repositorioPagamento).atualizarStatusEmLote(
+                eq(Arrays.asList(1L)), anyCollection(), eq(StatusPagamento.PENDENTE_PROCESSAMENTO), any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando o lote excede o tamanho máximo")
+        void deveLancarExcecaoQuandoLoteDeIdsExcedeTamanhoMaximo() {
+            
+            propriedadesLote.setTamanhoMaximo(1);
+
+            
+            assertThatThrownBy(() -> servicoPagamento.atualizarStatusEmLote(
+                    Arrays.asList(1L, 2L), StatusPagamento.PROCESSADO_SUCESSO))
+                .isInstanceOf(PagamentoInvalidoException.class)
+                .hasMessageContaining("no máximo 1 IDs");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Processamento Assíncrono")
+    class ProcessamentoAssincronoTests {
+
+        @Test
+        @DisplayName("Deve buscar novos candidatos quando outro trabalhador reivindica os primeiros")
+        void deveBuscarNovosCandidatosQuandoOutroTrabalhadorReivindica() {
+            
+            Set<MetodoPagamento> metodos = EnumSet.of(MetodoPagamento.PIX);
+            when(repositorioPagamento.buscarDisponiveisParaProcessamento(
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(metodos), any(), eq(PageRequest.of(0, 10))))
+                .thenReturn(Arrays.asList(1L, 2L), Arrays.asList(3L));
+            when(repositorioPagamento.reivindicar(anyCollection(), eq(StatusPagamento.PENDENTE_PROCESSAMENTO),
+                    eq("marca"), any(), any()))
+                .thenReturn(0, 1);
+            List<PagamentoReivindicado> reivindicados = Arrays.asList(reivindicado(3L, MetodoPagamento.PIX));
+            when(repositorioPagamento.buscarReivindicados("marca")).thenReturn(reivindicados);
+
+            
+            List<PagamentoReivindicado> lote = servicoPagamento.reivindicarParaProcessamento(
+                "marca", metodos, 10, Duration.ofMinutes(5));
+
+            
+            assertThat(lote).isSameAs(reivindicados);
+            verify(repositorioPagamento).reivindicar(eq(Arrays.asList(3L)), any(), eq("marca"), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve retornar lote vazio quando não há pagamentos pendentes")
+        void deveRetornarLoteVazioQuandoNaoHaPendentes() {
+            
+            when(repositorioPagamento.buscarDisponiveisParaProcessamento(any(), anyCollection(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+            
+            List<PagamentoReivindicado> lote = servicoPagamento.reivindicarParaProcessamento(
+                "marca", EnumSet.allOf(MetodoPagamento.class), 10, Duration.ofMinutes(5));
+
+            
+            assertThat(lote).isEmpty();
+            verify(repositorioPagamento, never()).reivindicar(anyCollection(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve gravar os resultados por status, registrar os eventos e manter reivindicados os pagamentos sem resultado válido")
+        void deveGravarResultadosEManterReivindicadosPagamentosSemResultado() {
+            
+            List<PagamentoReivindicado> lote = Arrays.asList(
+                reivindicado(1L, MetodoPagamento.PIX),
+                reivindicado(2L, MetodoPagamento.PIX),
+                reivindicado(3L, MetodoPagamento.BOLETO),
+                reivindicado(4L, MetodoPagamento.BOLETO));
+            Map<Long, StatusPagamento> resultados = new HashMap<>();
+            resultados.put(1L, StatusPagamento.PROCESSADO_SUCESSO);
+            resultados.put(2L, StatusPagamento.PROCESSADO_FALHA);
+            resultados.put(3L, StatusPagamento.PENDENTE_PROCESSAMENTO);
+            when(repositorioPagamento.concluirProcessamento(anyCollection(), eq("marca"),
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO), any(), any()))
+                .thenReturn(1);
+            when(repositorioPagamento.bloquearReivindicadosPendentes(anyCollection(), eq("marca"),
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO)))
+                .thenReturn(Arrays.asList(
+                    situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, MetodoPagamento.PIX, 0L),
+                    situacao(2L, StatusPagamento.PENDENTE_PROCESSAMENTO, MetodoPagamento.PIX, 0L)));
+
+            
+            int concluidos = servicoPagamento.concluirProcessamento("marca", lote, resultados);
+
+            
+            assertThat(concluidos).isEqualTo(2);
+            verify(repositorioPagamento).concluirProcessamento(eq(Arrays.asList(1L)), eq("marca"),
+                eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(StatusPagamento.PROCESSADO_SUCESSO), any());
+            verify(repositorioPagamento).concluirProcessamento(eq(Arrays.asList(2L)), eq("marca"),
+                eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(StatusPagamento.PROCESSADO_FALHA), any());
+            verify(repositorioPagamento).liberarReivindicacao(Arrays.asList(1L, 2L), "marca");
+            verify(metricas).registrarTransicao(MetodoPagamento.PIX,
+                StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO, 1);
+            verify(caixaSaida).registrarTransicao(
+                1L, MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+            verify(caixaSaida).registrarTransicao(
+                2L, MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_FALHA);
+            verifyNoMoreInteractions(caixaSaida);
+        }
+
+        @Test
+        @DisplayName("Não deve concluir nem registrar evento de pagamento alterado por outro caminho durante o processamento")
+        void naoDeveConcluirPagamentoAlteradoDuranteProcessamento() {
+            
+            List<PagamentoReivindicado> lote = Arrays.asList(
+                reivindicado(1L, MetodoPagamento.PIX),
+                reivindicado(2L, MetodoPagamento.PIX));
+            Map<Long, StatusPagamento> resultados = new HashMap<>();
+            resultados.put(1L, StatusPagamento.PROCESSADO_SUCESSO);
+            resultados.put(2L, StatusPagamento.PROCESSADO_SUCESSO);
+            when(repositorioPagamento.bloquearReivindicadosPendentes(anyCollection(), eq("marca"),
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO)))
+                .thenReturn(Arrays.asList(situacao(1L, StatusPagamento.PENDENTE_PROCESSAMENTO, MetodoPagamento.PIX, 0L)));
+            when(repositorioPagamento.concluirProcessamento(anyCollection(), eq("marca"),
+                    eq(StatusPagamento.PENDENTE_PROCESSAMENTO), any(), any()))
+                .thenReturn(1);
+
+            
+            int concluidos = servicoPagamento.concluirProcessamento("marca", lote, resultados);
+
+            
+            assertThat(concluidos).isEqualTo(1);
+            verify(repositorioPagamento).concluirProcessamento(eq(Arrays.asList(1L)), eq("marca"),
+                eq(StatusPagamento.PENDENTE_PROCESSAMENTO), eq(StatusPagamento.PROCESSADO_SUCESSO), any());
+            verify(caixaSaida).registrarTransicao(
+                1L, MetodoPagamento.PIX, StatusPagamento.PENDENTE_PROCESSAMENTO, StatusPagamento.PROCESSADO_SUCESSO);
+            verifyNoMoreInteractions(caixaSaida);
+            verify(repositorioPagamento).liberarReivindicacao(Arrays.asList(1L, 2L), "marca");
         }
     }
 
@@ -302,6 +995,13 @@ class ServicoPagamentoTest {
             // Assert
             assertThat(pagamento.getAtivo()).isFalse();
             verify(repositorioPagamento).save(pagamento);
+            verify(caixaSaida).registrarExclusao(pagamento);
+            verify(resumos).aplicar(argThat(variacoes -> {
+                VariacoesResumoPagador.Variacao variacao = variacoes.porPagador().get("12345678901");
+                return variacao.getSaldoAberto().compareTo(new BigDecimal("-100.50")) == 0
+                    && variacao.getQuantidadePendentes() == -1
+                    && variacao.getDataUltimoPagamento() == null;
+            }));
         }
 
         @Test
@@ -315,6 +1015,7 @@ class ServicoPagamentoTest {
             assertThatThrownBy(() -> servicoPagamento.excluirPagamento(1L))
                 .isInstanceOf(PagamentoInvalidoException.class)
                 .hasMessageContaining("Só é possível excluir pagamentos com status 'Pendente de Processamento'");
+            verifyNoInteractions(caixaSaida);
         }
 
         @Test
@@ -328,4 +1029,57 @@ class ServicoPagamentoTest {
                 .isInstanceOf(PagamentoNaoEncontradoException.class);
         }
     }
+
+    private SituacaoPagamento situacao(Long id, StatusPagamento status, Long versao) {
+        return situacao(id, status, MetodoPagamento.BOLETO, versao);
+    }
+
+    private SituacaoPagamento situacao(Long id, StatusPagamento status, MetodoPagamento metodo, Long versao) {
+        return new SituacaoPagamento() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public StatusPagamento getStatus() {
+                return status;
+            }
+
+            @Override
+            public MetodoPagamento getMetodoPagamento() {
+                return metodo;
+            }
+
+            @Override
+            public Long getVersao() {
+                return versao;
+            }
+
+            @Override
+            public String getCpfCnpj() {
+                return "12345678901";
+            }
+
+            @Override
+            public BigDecimal getValorPagamento() {
+                return new BigDecimal("100.50");
+            }
+        };
+    }
+
+    private PagamentoReivindicado reivindicado(Long id, MetodoPagamento metodo) {
+        PagamentoReivindicado pagamento = mock(PagamentoReivindicado.class);
+        lenient().when(pagamento.getId()).thenReturn(id);
+        lenient().when(pagamento.getMetodoPagamento()).thenReturn(metodo);
+        return pagamento;
+    }
+
+    private static PropriedadesTransicoes transicoesComPixRestrito() {
+        PropriedadesTransicoes propriedades = new PropriedadesTransicoes();
+        Map<StatusPagamento, Set<StatusPagamento>> pix = new EnumMap<>(StatusPagamento.class);
+        pix.put(StatusPagamento.PROCESSADO_FALHA, EnumSet.noneOf(StatusPagamento.class));
+        propriedades.getPorMetodo().put(MetodoPagamento.PIX, pix);
+        return propriedades;
+    }
 }
@@ -0,0 +1,84 @@
+package com.pagamento.servico;
+
+import com.pagamento.dto.RelatorioPagamentosResponseDTO;
+import com.pagamento.dto.TotalGrupoResponseDTO;
+import com.pagamento.enums.AgrupamentoRelatorio;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.excecao.PagamentoInvalidoException;
+import com.pagamento.repositorio.RepositorioPagamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Serviço de Relatórios de Pagamento")
+class ServicoRelatorioPagamentosTest {
+
+    @Mock
+    private RepositorioPagamento repositorioPagamento;
+
+    @InjectMocks
+    private ServicoRelatorioPagamentos servicoRelatorio;
+
+    @Test
+    @DisplayName("Deve consultar o período em dias inteiros e somar os grupos retornados pelo banco")
+    void deveConsultarPeriodoEmDiasInteiros() {
+        
+        when(repositorioPagamento.totalizar(AgrupamentoRelatorio.METODO, "12345678901",
+                LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0)))
+            .thenReturn(Arrays.asList(
+                new TotalGrupoResponseDTO(MetodoPagamento.BOLETO, 2L, new BigDecimal("30.00")),
+                new TotalGrupoResponseDTO(MetodoPagamento.PIX, 3L, new BigDecimal("12.50"))));
+
+        
+        RelatorioPagamentosResponseDTO relatorio = servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.METODO,
+                "12345678901", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+        
+        assertThat(relatorio.getQuantidadeTotal()).isEqualTo(5L);
+        assertThat(relatorio.getValorTotal()).isEqualByComparingTo("42.50");
+        assertThat(relatorio.getGrupos()).extracting(TotalGrupoResponseDTO::getGrupo).containsExactly("boleto", "pix");
+        assertThat(relatorio.getDataFinal()).isEqualTo(LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    @DisplayName("Deve consultar sem limites de período quando as datas não são informadas")
+    void deveConsultarSemPeriodo() {
+        
+        when(repositorioPagamento.totalizar(AgrupamentoRelatorio.STATUS, null, null, null))
+            .thenReturn(Arrays.asList());
+
+        
+        RelatorioPagamentosResponseDTO relatorio =
+                servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.STATUS, null, null, null);
+
+        
+        assertThat(relatorio.getQuantidadeTotal()).isZero();
+        assertThat(relatorio.getValorTotal()).isEqualByComparingTo("0");
+        assertThat(relatorio.getGrupos()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com data inicial posterior à final")
+    void deveRejeitarPeriodoInvertido() {
+        
+        assertThatThrownBy(() -> servicoRelatorio.gerarRelatorio(AgrupamentoRelatorio.DIA, null,
+                LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 1)))
+            .isInstanceOf(PagamentoInvalidoException.class)
+            .hasMessage("Data inicial deve ser anterior ou igual à data final");
+
+        verify(repositorioPagamento, never()).totalizar(any(), any(), any(), any());
+    }
+}
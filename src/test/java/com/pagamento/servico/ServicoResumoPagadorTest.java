@@ -0,0 +1,263 @@
+package com.pagamento.servico;
+
+import com.pagamento.configuracao.PropriedadesResumos;
+import com.pagamento.dto.PagamentoRequestDTO;
+import com.pagamento.dto.ResumoPagadorResponseDTO;
+import com.pagamento.dto.VerificacaoResumosResponseDTO;
+import com.pagamento.entidade.EventoPagamento;
+import com.pagamento.entidade.ResumoPagador;
+import com.pagamento.enums.MetodoPagamento;
+import com.pagamento.enums.StatusPagamento;
+import com.pagamento.enums.TipoEventoPagamento;
+import com.pagamento.excecao.PagamentoNaoEncontradoException;
+import com.pagamento.repositorio.PagamentoReivindicado;
+import com.pagamento.repositorio.RepositorioEventoPagamento;
+import com.pagamento.repositorio.RepositorioPagamento;
+import com.pagamento.repositorio.RepositorioResumoPagador;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:resumos",
+    "pagamento.v2.habilitado=false",
+    "pagamento.outbox.habilitado=false",
+    "pagamento.resumos.verificacao-habilitada=false"
+})
+@DisplayName("Testes do Resumo por Pagador")
+class ServicoResumoPagadorTest {
+
+    @Autowired
+    private ServicoPagamento servicoPagamento;
+
+    @Autowired
+    private ServicoResumoPagador servicoResumo;
+
+    @Autowired
+    private RepositorioPagamento repositorioPagamento;
+
+    @Autowired
+    private RepositorioResumoPagador repositorioResumo;
+
+    @Autowired
+    private RepositorioEventoPagamento repositorioEvento;
+
+    @Autowired
+    private PropriedadesResumos propriedades;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager gerenciadorTransacao;
+
+    @Test
+    @DisplayName("Deve manter saldo em aberto, pendentes e último pagamento em cada mudança")
+    void deveManterResumoEmCadaMudanca() {
+        String cpfCnpj = "61000000000";
+        Long pago = criar(cpfCnpj, MetodoPagamento.BOLETO, "100.00");
+        Long falho = criar(cpfCnpj, MetodoPagamento.BOLETO, "40.00");
+        Long excluido = criar(cpfCnpj, MetodoPagamento.BOLETO, "15.50");
+        servicoPagamento.criarPagamentosEmLote(Arrays.asList(
+            requisicao(cpfCnpj, MetodoPagamento.BOLETO, "10.00"),
+            requisicao(cpfCnpj, MetodoPagamento.BOLETO, "5.00")));
+
+        servicoPagamento.atualizarStatusPagamento(pago, StatusPagamento.PROCESSADO_SUCESSO);
+        servicoPagamento.atualizarStatusEmLote(List.of(falho), StatusPagamento.PROCESSADO_FALHA);
+        servicoPagamento.excluirPagamento(excluido);
+
+        ResumoPagadorResponseDTO resumo = servicoResumo.obterResumo(cpfCnpj);
+        assertThat(resumo.getSaldoAberto()).isEqualByComparingTo("55.00");
+        assertThat(resumo.getQuantidadePendentes()).isEqualTo(2);
+        assertThat(resumo.getDataUltimoPagamento())
+            .isEqualTo(repositorioPagamento.findById(pago).orElseThrow().getDataAtualizacao());
+        assertConfereComPagamentos(cpfCnpj);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o resumo na conclusão do motor de processamento")
+    void deveAtualizarResumoNaConclusaoDoProcessamento() {
+        String cpfCnpj = "62000000000";
+        Long aprovado = criar(cpfCnpj, MetodoPagamento.PIX, "20.00");
+        Long recusado = criar(cpfCnpj, MetodoPagamento.CARTAO_CREDITO, "30.00");
+
+        List<PagamentoReivindicado> lote = servicoPagamento.reivindicarParaProcessamento(
+            "trabalhador-resumo", EnumSet.of(MetodoPagamento.PIX, MetodoPagamento.CARTAO_CREDITO), 1000,
+            Duration.ofMinutes(5));
+        Map<Long, StatusPagamento> resultados = new HashMap<>();
+        resultados.put(aprovado, StatusPagamento.PROCESSADO_SUCESSO);
+        resultados.put(recusado, StatusPagamento.PROCESSADO_FALHA);
+        servicoPagamento.concluirProcessamento("trabalhador-resumo", lote, resultados);
+
+        ResumoPagadorResponseDTO resumo = servicoResumo.obterResumo(cpfCnpj);
+        assertThat(resumo.getSaldoAberto()).isEqualByComparingTo("30.00");
+        assertThat(resumo.getQuantidadePendentes()).isZero();
+        assertThat(resumo.getDataUltimoPagamento()).isNotNull();
+        assertConfereComPagamentos(cpfCnpj);
+    }
+
+    @Test
+    @DisplayName("Deve registrar um único evento e variação quando o pagamento reivindicado muda por outro caminho")
+    void deveIgnorarNaConclusaoPagamentoAlteradoDuranteProcessamento() {
+        String cpfCnpj = "62500000000";
+        Long alterado = criar(cpfCnpj, MetodoPagamento.PIX, "25.00");
+        Long aprovado = criar(cpfCnpj, MetodoPagamento.PIX, "5.00");
+
+        List<PagamentoReivindicado> lote = servicoPagamento.reivindicarParaProcessamento(
+            "trabalhador-concorrente", EnumSet.of(MetodoPagamento.PIX), 1000, Duration.ofMinutes(5));
+        assertThat(lote).extracting(PagamentoReivindicado::getId).contains(alterado, aprovado);
+        servicoPagamento.atualizarStatusPagamento(alterado, StatusPagamento.PROCESSADO_FALHA);
+
+        Map<Long, StatusPagamento> resultados = new HashMap<>();
+        resultados.put(alterado, StatusPagamento.PROCESSADO_SUCESSO);
+        resultados.put(aprovado, StatusPagamento.PROCESSADO_SUCESSO);
+        int concluidos = servicoPagamento.concluirProcessamento("trabalhador-concorrente", lote, resultados);
+
+        assertThat(concluidos).isEqualTo(1);
+        assertThat(repositorioPagamento.findById(alterado).orElseThrow().getStatus())
+            .isEqualTo(StatusPagamento.PROCESSADO_FALHA);
+        assertThat(repositorioEvento.findAll())
+            .filteredOn(evento -> evento.getPagamentoId().equals(alterado)
+                && evento.getTipo() == TipoEventoPagamento.STATUS_ATUALIZADO)
+            .extracting(EventoPagamento::getStatus)
+            .containsExactly(StatusPagamento.PROCESSADO_FALHA);
+        ResumoPagadorResponseDTO resumo = servicoResumo.obterResumo(cpfCnpj);
+        assertThat(resumo.getSaldoAberto()).isEqualByComparingTo("25.00");
+        assertThat(resumo.getQuantidadePendentes()).isZero();
+        assertConfereComPagamentos(cpfCnpj);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar o resumo quando a transação da mudança é desfeita")
+    void naoDeveAlterarResumoQuandoTransacaoEDesfeita() {
+        String cpfCnpj = "63000000000";
+        criar(cpfCnpj, MetodoPagamento.PIX, "10.00");
+
+        new TransactionTemplate(gerenciadorTransacao).executeWithoutResult(status -> {
+            criar(cpfCnpj, MetodoPagamento.PIX, "99.00");
+            status.setRollbackOnly();
+        });
+
+        assertThat(servicoResumo.obterResumo(cpfCnpj).getSaldoAberto()).isEqualByComparingTo("10.00");
+        assertConfereComPagamentos(cpfCnpj);
+    }
+
+    @Test
+    @DisplayName("Deve criar um único resumo quando o primeiro pagamento do pagador chega em paralelo")
+    void deveCriarResumoUnicoEmCriacoesConcorrentes() throws Exception {
+        String cpfCnpj = "64000000000";
+        int concorrentes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(concorrentes);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futuros = new ArrayList<>();
+            for (int i = 0; i < concorrentes; i++) {
+                Callable<Long> criacao = () -> {
+                    largada.await();
+                    return criar(cpfCnpj, MetodoPagamento.PIX, "1.00");
+                };
+                futuros.add(executor.submit(criacao));
+            }
+            largada.countDown();
+            for (Future<Long> futuro : futuros) {
+                assertThat(futuro.get(10, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ResumoPagadorResponseDTO resumo = servicoResumo.obterResumo(cpfCnpj);
+        assertThat(resumo.getSaldoAberto()).isEqualByComparingTo("8.00");
+        assertThat(resumo.getQuantidadePendentes()).isEqualTo(concorrentes);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para pagador sem resumo")
+    void deveLancarExcecaoParaPagadorSemResumo() {
+        assertThatThrownBy(() -> servicoResumo.obterResumo("00000000000"))
+            .isInstanceOf(PagamentoNaoEncontradoException.class)
+            .hasMessage("Resumo não encontrado para o CPF/CNPJ: 00000000000");
+    }
+
+    @Test
+    @DisplayName("Deve encontrar e reparar resumos divergentes da tabela de pagamentos")
+    void deveRepararResumosDivergentes() {
+        String alterado = "65000000000";
+        String ausente = "66000000000";
+        criar(alterado, MetodoPagamento.PIX, "10.00");
+        criar(ausente, MetodoPagamento.PIX, "20.00");
+        servicoResumo.verificarResumos();
+
+        jdbcTemplate.update("UPDATE payer_summaries SET saldo_aberto = 999, quantidade_pendentes = 7 WHERE cpf_cnpj = ?",
+            alterado);
+        jdbcTemplate.update("DELETE FROM payer_summaries WHERE cpf_cnpj = ?", ausente);
+
+        VerificacaoResumosResponseDTO verificacao = servicoResumo.verificarResumos();
+
+        assertThat(verificacao.getDivergentes()).isEqualTo(2);
+        assertThat(verificacao.getReparados()).isEqualTo(2);
+        assertConfereComPagamentos(alterado);
+        assertConfereComPagamentos(ausente);
+        assertThat(servicoResumo.verificarResumos().getDivergentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve apenas contar as divergências quando o reparo está desabilitado")
+    void deveApenasContarDivergenciasSemReparo() {
+        String cpfCnpj = "67000000000";
+        criar(cpfCnpj, MetodoPagamento.PIX, "10.00");
+        servicoResumo.verificarResumos();
+        jdbcTemplate.update("UPDATE payer_summaries SET quantidade_pendentes = 3 WHERE cpf_cnpj = ?", cpfCnpj);
+
+        propriedades.setReparar(false);
+        try {
+            VerificacaoResumosResponseDTO verificacao = servicoResumo.verificarResumos();
+
+            assertThat(verificacao.getDivergentes()).isEqualTo(1);
+            assertThat(verificacao.getReparados()).isZero();
+            assertThat(repositorioResumo.findById(cpfCnpj).orElseThrow().getQuantidadePendentes()).isEqualTo(3);
+        } finally {
+            propriedades.setReparar(true);
+            servicoResumo.verificarResumos();
+        }
+    }
+
+    private void assertConfereComPagamentos(String cpfCnpj) {
+        ResumoPagador resumo = repositorioResumo.findById(cpfCnpj).orElseThrow();
+        assertThat(repositorioPagamento.calcularResumo(cpfCnpj)).hasValueSatisfying(calculado -> {
+            assertThat(resumo.getSaldoAberto()).isEqualByComparingTo(calculado.getSaldoAberto());
+            assertThat(resumo.getQuantidadePendentes()).isEqualTo(calculado.getQuantidadePendentes());
+            assertThat(resumo.getDataUltimoPagamento()).isEqualTo(calculado.getDataUltimoPagamento());
+        });
+    }
+
+    private Long criar(String cpfCnpj, MetodoPagamento metodo, String valor) {
+        return servicoPagamento.criarPagamento(requisicao(cpfCnpj, metodo, valor)).getId();
+    }
+
+    private PagamentoRequestDTO requisicao(String cpfCnpj, MetodoPagamento metodo, String valor) {
+        String numeroCartao = metodo == MetodoPagamento.CARTAO_CREDITO ? "4111111111111111" : null;
+        return new PagamentoRequestDTO(60000, cpfCnpj, metodo, numeroCartao, new BigDecimal(valor));
+    }
+}